@@ -22,8 +22,6 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.holywordapp.KJVBibleDBHelper;
-
 import java.util.Calendar;
 import java.util.Locale;
 import java.util.Random;
@@ -128,38 +126,17 @@ public class AlarmActivity extends AppCompatActivity {
             String currentLanguage = prefs.getString("language", "en");
             boolean isTelugu = "te".equals(currentLanguage);
             
-            KJVBibleDBHelper dbHelper = new KJVBibleDBHelper(this);
-
-            // Get a random verse from popular books
-            String[] popularBooks = {"John", "Matthew", "Psalms", "Proverbs", "Romans", "Ephesians", "Philippians", "Colossians"};
-            Random random = new Random();
-            String randomBook = popularBooks[random.nextInt(popularBooks.length)];
-
-            // Get a random chapter (1-10 for most books)
-            int randomChapter = random.nextInt(10) + 1;
-
-            // Get verses for the chapter
-            java.util.List<com.holywordapp.Verse> verses = dbHelper.getVersesForChapterRange(randomBook, randomChapter);
-
-            if (verses != null && !verses.isEmpty()) {
-                // Get a random verse from the chapter
-                com.holywordapp.Verse randomVerse = verses.get(random.nextInt(verses.size()));
+            // A random verse from the daily verse pack, which has both languages side by side
+            DailyVersePack pack = DailyVersePack.get(this);
+            DailyVersePack.Entry verse = pack != null ? pack.get(new Random().nextInt(pack.size())) : null;
 
+            if (verse != null) {
                 if (isTelugu) {
-                    // Try to get Telugu verse if available
-                    String teluguVerse = getTeluguVerse(randomBook, randomChapter, randomVerse.getVerseNumber());
-                    if (teluguVerse != null && !teluguVerse.isEmpty()) {
-                        bibleVerseText.setText(teluguVerse);
-                        bibleReferenceText.setText(getTeluguReference(randomBook) + " " + randomChapter + ":" + randomVerse.getVerseNumber());
-                    } else {
-                        // Fallback to English if Telugu not available
-                        bibleVerseText.setText(randomVerse.getVerseText());
-                        bibleReferenceText.setText(randomBook + " " + randomChapter + ":" + randomVerse.getVerseNumber());
-                    }
+                    bibleVerseText.setText(verse.teluguText());
+                    bibleReferenceText.setText(verse.teluguReference);
                 } else {
-                    // English verse
-                    bibleVerseText.setText(randomVerse.getVerseText());
-                    bibleReferenceText.setText(randomBook + " " + randomChapter + ":" + randomVerse.getVerseNumber());
+                    bibleVerseText.setText(verse.englishText);
+                    bibleReferenceText.setText(verse.englishReference);
                 }
             } else {
                 // Fallback verses based on language
@@ -172,8 +149,6 @@ public class AlarmActivity extends AppCompatActivity {
                 }
             }
 
-            dbHelper.close();
-
         } catch (Exception e) {
             Log.e("AlarmActivity", "Error loading bible verse", e);
             // Fallback verses based on language
@@ -191,35 +166,6 @@ public class AlarmActivity extends AppCompatActivity {
         }
     }
     
-    private String getTeluguVerse(String book, int chapter, int verse) {
-        // This would ideally load from a Telugu Bible database
-        // For now, return some common Telugu verses
-        String[] teluguVerses = {
-            "దేవుడు లోకమును ఎంత ప్రేమించెనో, తన ఏకైక కుమారుడైన యేసుక్రీస్తును ఇచ్చెను. అతనిమీద విశ్వాసముంచువాడెవడును నశింపక నిత్యజీవమును పొందును.",
-            "యేసు నాకు మార్గమును, సత్యమును, జీవమును. నా ద్వారానే తప్ప యెవడును తండ్రియొద్దకు రాడు.",
-            "నేను నిన్ను ప్రేమించుచున్నాను, నీవు నన్ను ప్రేమించుము.",
-            "దేవుడు మన ప్రేమకు ముందుగా మనలను ప్రేమించెను.",
-            "యేసు క్రీస్తు నిన్ను ప్రేమించుచున్నాడు, నీవు నన్ను ప్రేమించుము."
-        };
-        Random random = new Random();
-        return teluguVerses[random.nextInt(teluguVerses.length)];
-    }
-    
-    private String getTeluguReference(String book) {
-        // Convert English book names to Telugu
-        switch (book) {
-            case "John": return "యోహాను";
-            case "Matthew": return "మత్తయి";
-            case "Psalms": return "కీర్తనలు";
-            case "Proverbs": return "సామెతలు";
-            case "Romans": return "రోమీయులకు";
-            case "Ephesians": return "ఎఫెసీయులకు";
-            case "Philippians": return "ఫిలిప్పీయులకు";
-            case "Colossians": return "కొలస్సయులకు";
-            default: return book;
-        }
-    }
-    
     private void snoozeAlarm() {
         try {
             // Stop current alarm
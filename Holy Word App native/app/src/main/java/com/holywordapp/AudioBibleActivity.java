@@ -7,8 +7,8 @@ import android.content.ServiceConnection;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 import android.media.MediaPlayer;
+import android.media.session.PlaybackState;
 import android.os.Bundle;
-import android.os.Handler;
 import android.os.IBinder;
 import android.view.MenuItem;
 import android.view.View;
@@ -21,6 +21,7 @@ import android.widget.SeekBar;
 import android.widget.Spinner;
 import android.widget.TextView;
 import android.widget.Toast;
+import android.app.AlertDialog;
 import android.app.ProgressDialog;
 
 import androidx.appcompat.app.AppCompatActivity;
@@ -31,7 +32,13 @@ import com.holywordapp.KJVBibleDBHelper;
 import com.holywordapp.BibleVerse;
 import com.holywordapp.Verse;
 
-import java.io.IOException;
+import com.holywordapp.audio.AudioCache;
+import com.holywordapp.audio.AudioDownloadManager;
+import com.holywordapp.audio.ChapterAudio;
+import com.holywordapp.audio.PlaybackConnection;
+import com.holywordapp.audio.PlaybackProgress;
+import com.holywordapp.audio.PlaybackService;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,11 +55,11 @@ public class AudioBibleActivity extends AppCompatActivity {
     private TextView tvAudioTitle, tvCurrentTime, tvTotalTime;
     private ImageButton btnPlayPause, btnPreviousChapter, btnNextChapter, btnCloseAudio;
     private SeekBar seekBarAudio;
+    private TextView tvDownloadStatus;
 
     // Audio state
-    private MediaPlayer mediaPlayer;
-    private Handler audioHandler = new Handler();
-    private boolean isAudioPrepared = false;
+    private PlaybackConnection playback;
+    private PlaybackProgress audioProgress;
     private boolean isAutoPlayNext = true;
     private ProgressDialog progressDialog;
 
@@ -61,38 +68,11 @@ public class AudioBibleActivity extends AppCompatActivity {
     private String selectedBook;
     private int selectedChapter;
 
-    // Audio Bible data
-    private String[] versionCodes = {"1", "29"}; // English, Telugu
-    private int selectedVersionIndex = 1; // Default to Telugu
-
-    // Book arrays
-    public static final String[] BOOKS_IN_ORDER = {
-            "ఆదికాండము", "నిర్గమకాండము", "లేవీయకాండము", "సంఖ్యాకాండము", "ద్వితీయోపదేశకాండమ",
-            "యెహొషువ", "న్యాయాధిపతులు", "రూతు", "సమూయేలు మొదటి గ్రంథము", "సమూయేలు రెండవ గ్రంథము",
-            "రాజులు మొదటి గ్రంథము", "రాజులు రెండవ గ్రంథము", "దినవృత్తాంతములు మొదటి గ్రంథము", "దినవృత్తాంతములు రెండవ గ్రంథము",
-            "ఎజ్రా", "నెహెమ్యా", "ఎస్తేరు", "యోబు గ్రంథము", "కీర్తనల గ్రంథము", "సామెతలు",
-            "ప్రసంగి", "పరమగీతము", "యెషయా గ్రంథము", "యిర్మీయా", "విలాపవాక్యములు", "యెహెజ్కేలు", "దానియేలు",
-            "హొషేయ", "యోవేలు", "ఆమోసు", "ఓబద్యా", "యోనా", "మీకా", "నహూము", "హబక్కూకు",
-            "జెఫన్యా", "హగ్గయి", "జెకర్యా", "మలాకీ", "మత్తయి సువార్త", "మార్కు సువార్త",
-            "లూకా సువార్త", "యోహాను సువార్త", "అపొస్తలుల కార్యములు", "రోమీయులకు",
-            "1 కొరింథీయులకు", "2 కొరింథీయులకు", "గలతీయులకు", "ఎఫెసీయులకు",
-            "ఫిలిప్పీయులకు", "కొలొస్సయులకు", "1 థెస్సలొనీకయులకు", "2 థెస్సలొనీకయులకు",
-            "1 తిమోతికి", "2 తిమోతికి", "తీతుకు", "ఫిలేమోనుకు", "హెబ్రీయులకు", "యాకోబు",
-            "1 పేతురు", "2 పేతురు", "1 యోహాను", "2 యోహాను", "3 యోహాను", "యూదా", "ప్రకటన గ్రంథము"
-    };
-
-    public static final String[] ENGLISH_BOOKS_IN_ORDER = {
-            "Genesis", "Exodus", "Leviticus", "Numbers", "Deuteronomy", "Joshua", "Judges",
-            "Ruth", "1 Samuel", "2 Samuel", "1 Kings", "2 Kings", "1 Chronicles", "2 Chronicles",
-            "Ezra", "Nehemiah", "Esther", "Job", "Psalms", "Proverbs", "Ecclesiastes",
-            "Song of Solomon", "Isaiah", "Jeremiah", "Lamentations", "Ezekiel", "Daniel",
-            "Hosea", "Joel", "Amos", "Obadiah", "Jonah", "Micah", "Nahum", "Habakkuk",
-            "Zephaniah", "Haggai", "Zechariah", "Malachi", "Matthew", "Mark", "Luke",
-            "John", "Acts", "Romans", "1 Corinthians", "2 Corinthians", "Galatians",
-            "Ephesians", "Philippians", "Colossians", "1 Thessalonians", "2 Thessalonians",
-            "1 Timothy", "2 Timothy", "Titus", "Philemon", "Hebrews", "James", "1 Peter",
-            "2 Peter", "1 John", "2 John", "3 John", "Jude", "Revelation"
-    };
+    // Spinner entries in canonical order; BookRegistry owns the names and their aliases
+    public static final String[] BOOKS_IN_ORDER = BookRegistry.displayNames(false);
+    public static final String[] ENGLISH_BOOKS_IN_ORDER = BookRegistry.displayNames(true);
+    // Genesis to Malachi; Matthew is book 40
+    private static final int OLD_TESTAMENT_BOOKS = 39;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -143,6 +123,7 @@ public class AudioBibleActivity extends AppCompatActivity {
         btnNextChapter = findViewById(R.id.btn_next_chapter);
         btnCloseAudio = findViewById(R.id.btn_close_audio);
         seekBarAudio = findViewById(R.id.seek_bar_audio);
+        tvDownloadStatus = findViewById(R.id.tv_download_status);
 
         // Set initial language button text
         btnTranslate.setText("EN");
@@ -184,9 +165,78 @@ public class AudioBibleActivity extends AppCompatActivity {
         // Setup play button
         Button btnPlay = findViewById(R.id.btn_play);
         btnPlay.setOnClickListener(v -> playAudio());
+
+        // Setup offline download button
+        Button btnDownload = findViewById(R.id.btn_download_offline);
+        btnDownload.setOnClickListener(v -> showDownloadDialog());
     }
 
+    private void showDownloadDialog() {
+        int bookNumber = BookRegistry.ordinal(selectedBook);
+        if (bookNumber == -1) {
+            Toast.makeText(this, "Invalid book selection", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        boolean oldTestament = bookNumber <= OLD_TESTAMENT_BOOKS;
+        AudioDownloadManager downloads = AudioDownloadManager.getInstance(this);
+
+        List<String> options = new ArrayList<>();
+        options.add("This book (" + selectedBook + ")");
+        options.add(oldTestament ? "Whole Old Testament" : "Whole New Testament");
+        if (downloads.isDownloading()) {
+            options.add("Cancel downloads");
+        }
+
+        AlertDialog.Builder builder = new AlertDialog.Builder(this);
+        builder.setTitle("Download for Offline");
+        builder.setItems(options.toArray(new String[0]), (dialog, which) -> {
+            if (which == 2) {
+                downloads.cancelAll();
+                tvDownloadStatus.setVisibility(View.GONE);
+                Toast.makeText(this, "Downloads cancelled", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            if (!isNetworkAvailable()) {
+                Toast.makeText(this, "No internet connection. Please check your network and try again.", Toast.LENGTH_LONG).show();
+                return;
+            }
+            int queued = which == 0
+                    ? downloads.downloadBook(isEnglishMode, bookNumber)
+                    : downloads.downloadBooks(isEnglishMode,
+                            oldTestament ? 1 : OLD_TESTAMENT_BOOKS + 1,
+                            oldTestament ? OLD_TESTAMENT_BOOKS : BookRegistry.BOOK_COUNT);
+            if (queued == AudioDownloadManager.DOES_NOT_FIT) {
+                Toast.makeText(this, "Not enough offline storage for this download", Toast.LENGTH_LONG).show();
+            } else if (queued == 0) {
+                Toast.makeText(this, "Already available offline", Toast.LENGTH_SHORT).show();
+            } else {
+                tvDownloadStatus.setVisibility(View.VISIBLE);
+                tvDownloadStatus.setText("Downloading " + queued + " chapters...");
+            }
+        });
+        builder.setNegativeButton("Close", null);
+        builder.show();
+    }
+
+    private final AudioDownloadManager.Listener downloadListener = new AudioDownloadManager.Listener() {
+        @Override
+        public void onProgress(int finishedChapters, int totalChapters, long bytesDownloaded) {
+            tvDownloadStatus.setVisibility(View.VISIBLE);
+            tvDownloadStatus.setText("Downloaded " + finishedChapters + " of " + totalChapters +
+                    " chapters (" + bytesDownloaded / (1024 * 1024) + " MB)");
+        }
+
+        @Override
+        public void onBatchFinished(int downloadedChapters, int failedChapters) {
+            tvDownloadStatus.setText(failedChapters == 0
+                    ? downloadedChapters + " chapters available offline"
+                    : downloadedChapters + " chapters downloaded, " + failedChapters + " failed");
+        }
+    };
+
     private void setupAudioPlayer() {
+        playback = new PlaybackConnection(this, audioListener);
+        audioProgress = new PlaybackProgress(this::updateProgress);
         btnPlayPause.setOnClickListener(v -> togglePlayPause());
         btnPreviousChapter.setOnClickListener(v -> playPreviousChapter());
         btnNextChapter.setOnClickListener(v -> playNextChapter());
@@ -195,8 +245,9 @@ public class AudioBibleActivity extends AppCompatActivity {
         seekBarAudio.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
             @Override
             public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
-                if (fromUser && mediaPlayer != null && isAudioPrepared) {
-                    mediaPlayer.seekTo(progress);
+                PlaybackService service = playback.get();
+                if (fromUser && service != null && service.isPrepared()) {
+                    service.seekTo(progress);
                     updateCurrentTime(progress);
                 }
             }
@@ -227,7 +278,7 @@ public class AudioBibleActivity extends AppCompatActivity {
         List<Integer> chapters;
         if (isEnglishMode) {
             // Use KJV database for English
-            String mappedBookName = mapToKJVBookName(selectedBook);
+            String mappedBookName = BookRegistry.toKjvName(selectedBook);
             chapters = kjvDbHelper.getChaptersForBook(mappedBookName);
         } else {
             // Use Telugu database
@@ -261,9 +312,6 @@ public class AudioBibleActivity extends AppCompatActivity {
             getSupportActionBar().setSubtitle("Listen to the Word of God - " + (isEnglishMode ? "English" : "Telugu"));
         }
         
-        // Update selected version index for audio
-        selectedVersionIndex = isEnglishMode ? 0 : 1;
-        
         // Reload book spinner
         String[] booksToUse = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
         ArrayAdapter<String> bookAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, booksToUse);
@@ -280,9 +328,10 @@ public class AudioBibleActivity extends AppCompatActivity {
     }
 
     private void togglePlayPause() {
-        if (mediaPlayer == null) {
+        PlaybackService service = playback.get();
+        if (service == null || service.getChapter() == null) {
             playAudio();
-        } else if (mediaPlayer.isPlaying()) {
+        } else if (service.isPlaying()) {
             pauseAudio();
         } else {
             resumeAudio();
@@ -294,124 +343,144 @@ public class AudioBibleActivity extends AppCompatActivity {
             Toast.makeText(this, "Please select a book and chapter", Toast.LENGTH_SHORT).show();
             return;
         }
-        
-        // Check network connectivity
-        if (!isNetworkAvailable()) {
-            Toast.makeText(this, "No internet connection. Please check your network and try again.", Toast.LENGTH_LONG).show();
-            return;
-        }
-
-        // Stop any existing audio
-        stopAudio();
 
         // Get book number for audio URL
-        int bookNumber = getBookNumber(selectedBook);
+        int bookNumber = BookRegistry.ordinal(selectedBook);
         if (bookNumber == -1) {
             Toast.makeText(this, "Invalid book selection", Toast.LENGTH_SHORT).show();
             return;
         }
+        ChapterAudio chapter = new ChapterAudio(isEnglishMode, bookNumber, selectedChapter);
 
-        // Construct audio URL - using the same format as BibleActivity
-        String versionCode = versionCodes[selectedVersionIndex];
-        String audioUrl;
-        
-        if (versionCode.equals("29")) {
-            // Telugu audio
-            audioUrl = String.format("http://audio4.wordfree.net/bibles/app/audio/%s/%d/%d.mp3", 
-                versionCode, bookNumber, selectedChapter);
-        } else {
-            // English audio
-            audioUrl = String.format("http://kjv.wordfree.net/bibles/app/audio/%s/%d/%d.mp3", 
-                versionCode, bookNumber, selectedChapter);
+        // Check network connectivity; chapters played before or downloaded are on disk
+        if (!isNetworkAvailable() && !AudioCache.getInstance(this).isCached(chapter)
+                && !AudioDownloadManager.getInstance(this).isDownloaded(chapter)) {
+            Toast.makeText(this, "No internet connection. Please check your network and try again.", Toast.LENGTH_LONG).show();
+            return;
         }
 
-        try {
-            // Show loading dialog
-            if (progressDialog == null) {
-                progressDialog = new ProgressDialog(this);
-                progressDialog.setMessage("Loading audio...");
-                progressDialog.setCancelable(false);
-            }
-            progressDialog.show();
-            
-            mediaPlayer = new MediaPlayer();
-            mediaPlayer.setDataSource(audioUrl);
-            mediaPlayer.setOnPreparedListener(mp -> {
-                isAudioPrepared = true;
-                mp.start();
-                btnPlayPause.setImageResource(android.R.drawable.ic_media_pause);
-                layoutAudioPlayer.setVisibility(View.VISIBLE);
-                startProgressUpdate();
-                
-                // Hide loading dialog
-                if (progressDialog != null && progressDialog.isShowing()) {
-                    progressDialog.dismiss();
-                }
-            });
-            mediaPlayer.setOnCompletionListener(mp -> {
-                btnPlayPause.setImageResource(android.R.drawable.ic_media_play);
-                if (isAutoPlayNext) {
-                    playNextChapter();
-                }
-            });
-            mediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                // Hide loading dialog
-                if (progressDialog != null && progressDialog.isShowing()) {
-                    progressDialog.dismiss();
-                }
-                
-                String errorMessage = "Error playing audio";
-                switch (what) {
-                    case MediaPlayer.MEDIA_ERROR_SERVER_DIED:
-                        errorMessage = "Audio server error. Please try again.";
-                        break;
-                    case MediaPlayer.MEDIA_ERROR_IO:
-                        errorMessage = "Network error. Please check your internet connection.";
-                        break;
-                    case MediaPlayer.MEDIA_ERROR_MALFORMED:
-                        errorMessage = "Audio format error.";
-                        break;
-                    case MediaPlayer.MEDIA_ERROR_UNSUPPORTED:
-                        errorMessage = "Audio format not supported.";
-                        break;
-                    case MediaPlayer.MEDIA_ERROR_TIMED_OUT:
-                        errorMessage = "Connection timeout. Please try again.";
-                        break;
-                    default:
-                        errorMessage = "Audio playback error. Please try again.";
-                        break;
-                }
-                Toast.makeText(this, errorMessage, Toast.LENGTH_LONG).show();
-                return true;
-            });
-            mediaPlayer.prepareAsync();
-        } catch (IOException e) {
-            Toast.makeText(this, "Error loading audio: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+        // Show loading dialog
+        if (progressDialog == null) {
+            progressDialog = new ProgressDialog(this);
+            progressDialog.setMessage("Loading audio...");
+            progressDialog.setCancelable(false);
         }
+        progressDialog.show();
+
+        playback.run(service -> {
+            service.setAutoAdvance(isAutoPlayNext);
+            service.playChapter(chapter, true);
+        });
     }
 
-    private void pauseAudio() {
-        if (mediaPlayer != null && mediaPlayer.isPlaying()) {
-            mediaPlayer.pause();
+    private final PlaybackService.Listener audioListener = new PlaybackService.Listener() {
+        @Override
+        public void onChapterPrepared(ChapterAudio chapter, int durationMillis, boolean playing) {
+            // Streams such as the devotional have their own controls
+            if (chapter == null) return;
+            layoutAudioPlayer.setVisibility(View.VISIBLE);
+            showChapter(chapter, durationMillis);
+
+            // Hide loading dialog
+            dismissProgressDialog();
+        }
+
+        @Override
+        public void onChapterAdvanced(ChapterAudio chapter, int durationMillis) {
+            // The next chapter is already playing; move the chapter spinner along with it
+            showChapter(chapter, durationMillis);
+        }
+
+        @Override
+        public void onPlaybackCompleted(ChapterAudio chapter) {
+            // The service moves on to the next chapter itself when auto-play is on
+            if (chapter == null) return;
+            btnPlayPause.setImageResource(android.R.drawable.ic_media_play);
+        }
+
+        @Override
+        public void onPlaybackStateChanged(PlaybackState state) {
+            PlaybackService service = playback.get();
+            if (service == null || service.isStreamLoaded()) return;
+            boolean playing = state.getState() == PlaybackState.STATE_PLAYING;
+            btnPlayPause.setImageResource(playing ? android.R.drawable.ic_media_pause : android.R.drawable.ic_media_play);
+            if (service.isPrepared()) {
+                audioProgress.update(state);
+            } else {
+                audioProgress.stop();
+            }
+        }
+
+        @Override
+        public void onError(ChapterAudio chapter, int what, int extra) {
+            if (chapter == null) return;
+            // Hide loading dialog
+            dismissProgressDialog();
             btnPlayPause.setImageResource(android.R.drawable.ic_media_play);
+
+            String errorMessage = "Error playing audio";
+            switch (what) {
+                case MediaPlayer.MEDIA_ERROR_SERVER_DIED:
+                    errorMessage = "Audio server error. Please try again.";
+                    break;
+                case MediaPlayer.MEDIA_ERROR_IO:
+                    errorMessage = "Network error. Please check your internet connection.";
+                    break;
+                case MediaPlayer.MEDIA_ERROR_MALFORMED:
+                    errorMessage = "Audio format error.";
+                    break;
+                case MediaPlayer.MEDIA_ERROR_UNSUPPORTED:
+                    errorMessage = "Audio format not supported.";
+                    break;
+                case MediaPlayer.MEDIA_ERROR_TIMED_OUT:
+                    errorMessage = "Connection timeout. Please try again.";
+                    break;
+                default:
+                    errorMessage = "Audio playback error. Please try again.";
+                    break;
+            }
+            Toast.makeText(AudioBibleActivity.this, errorMessage, Toast.LENGTH_LONG).show();
+        }
+    };
+
+    /**
+     * Follow the chapter the service is playing, which may have been started from another screen
+     */
+    private void showChapter(ChapterAudio chapter, int durationMillis) {
+        seekBarAudio.setMax(durationMillis);
+        updateTotalTime(durationMillis);
+        if (selectedBook != null && chapter.isEnglishMode == isEnglishMode && chapter.book == BookRegistry.ordinal(selectedBook)) {
+            selectedChapter = chapter.chapter;
+            int index = getCurrentChapters().indexOf(selectedChapter);
+            if (index >= 0) {
+                chapterSpinner.setSelection(index);
+            }
+            updateAudioTitle();
+        } else {
+            tvAudioTitle.setText(chapter.title());
         }
     }
 
-    private void resumeAudio() {
-        if (mediaPlayer != null && !mediaPlayer.isPlaying()) {
-            mediaPlayer.start();
-            btnPlayPause.setImageResource(android.R.drawable.ic_media_pause);
+    private void dismissProgressDialog() {
+        if (progressDialog != null && progressDialog.isShowing()) {
+            progressDialog.dismiss();
         }
     }
 
+    // The play button follows the state the service reports back
+
+    private void pauseAudio() {
+        playback.run(PlaybackService::pause);
+    }
+
+    private void resumeAudio() {
+        playback.run(PlaybackService::start);
+    }
+
     private void stopAudio() {
-        if (mediaPlayer != null) {
-            mediaPlayer.stop();
-            mediaPlayer.release();
-            mediaPlayer = null;
-            isAudioPrepared = false;
-            btnPlayPause.setImageResource(android.R.drawable.ic_media_play);
-        }
+        playback.run(PlaybackService::stop);
+        audioProgress.stop();
+        btnPlayPause.setImageResource(android.R.drawable.ic_media_play);
     }
 
     private void playPreviousChapter() {
@@ -447,7 +516,7 @@ public class AudioBibleActivity extends AppCompatActivity {
         if (selectedBook == null) return new ArrayList<>();
 
         if (isEnglishMode) {
-            String mappedBookName = mapToKJVBookName(selectedBook);
+            String mappedBookName = BookRegistry.toKjvName(selectedBook);
             return kjvDbHelper.getChaptersForBook(mappedBookName);
         } else {
             return dbHelper.getChapters(selectedBook);
@@ -460,24 +529,9 @@ public class AudioBibleActivity extends AppCompatActivity {
         }
     }
 
-    private void startProgressUpdate() {
-        audioHandler.postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                if (mediaPlayer != null && isAudioPrepared) {
-                    int currentPosition = mediaPlayer.getCurrentPosition();
-                    int totalDuration = mediaPlayer.getDuration();
-                    
-                    seekBarAudio.setMax(totalDuration);
-                    seekBarAudio.setProgress(currentPosition);
-                    
-                    updateCurrentTime(currentPosition);
-                    updateTotalTime(totalDuration);
-                    
-                    audioHandler.postDelayed(this, 1000);
-                }
-            }
-        }, 1000);
+    private void updateProgress(int milliseconds) {
+        seekBarAudio.setProgress(milliseconds);
+        updateCurrentTime(milliseconds);
     }
 
     private void updateCurrentTime(int milliseconds) {
@@ -492,43 +546,6 @@ public class AudioBibleActivity extends AppCompatActivity {
         tvTotalTime.setText(String.format("%02d:%02d", minutes, seconds));
     }
 
-    private int getBookNumber(String bookName) {
-        String[] books = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
-        for (int i = 0; i < books.length; i++) {
-            if (books[i].equals(bookName)) {
-                return i + 1; // Book numbers start from 1
-            }
-        }
-        return -1;
-    }
-
-    /**
-     * Map standard English book names to KJV database format
-     */
-    private String mapToKJVBookName(String standardBookName) {
-        switch (standardBookName) {
-            case "1 Samuel": return "I Samuel";
-            case "2 Samuel": return "II Samuel";
-            case "1 Kings": return "I Kings";
-            case "2 Kings": return "II Kings";
-            case "1 Chronicles": return "I Chronicles";
-            case "2 Chronicles": return "II Chronicles";
-            case "1 Corinthians": return "I Corinthians";
-            case "2 Corinthians": return "II Corinthians";
-            case "1 Thessalonians": return "I Thessalonians";
-            case "2 Thessalonians": return "II Thessalonians";
-            case "1 Timothy": return "I Timothy";
-            case "2 Timothy": return "II Timothy";
-            case "1 Peter": return "I Peter";
-            case "2 Peter": return "II Peter";
-            case "1 John": return "I John";
-            case "2 John": return "II John";
-            case "3 John": return "III John";
-            case "Revelation": return "Revelation of John";
-            default: return standardBookName;
-        }
-    }
-
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         if (item.getItemId() == android.R.id.home) {
@@ -547,15 +564,35 @@ public class AudioBibleActivity extends AppCompatActivity {
         return false;
     }
 
+    @Override
+    protected void onResume() {
+        super.onResume();
+        AudioDownloadManager.getInstance(this).setListener(downloadListener);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        AudioDownloadManager.getInstance(this).setListener(null);
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        playback.attach();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Playback carries on in the service; only the controls stop following it
+        audioProgress.stop();
+        playback.detach();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        stopAudio();
-        if (dbHelper != null) {
-            dbHelper.close();
-        }
-        if (kjvDbHelper != null) {
-            kjvDbHelper.close();
-        }
+        dismissProgressDialog();
     }
 }
\ No newline at end of file
@@ -5,9 +5,8 @@ import android.content.Intent;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.graphics.Color;
-import android.media.MediaPlayer;
+import android.media.session.PlaybackState;
 import android.os.Bundle;
-import android.os.Handler;
 import android.app.PictureInPictureParams;
 import android.util.Rational;
 import android.content.res.Configuration;
@@ -20,6 +19,7 @@ import android.widget.ArrayAdapter;
 import android.widget.EditText;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
+import android.widget.ProgressBar;
 import android.widget.SeekBar;
 import android.widget.Spinner;
 import android.widget.TextView;
@@ -37,12 +37,18 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.holywordapp.audio.ChapterAudio;
+import com.holywordapp.audio.PlaybackConnection;
+import com.holywordapp.audio.PlaybackProgress;
+import com.holywordapp.audio.PlaybackService;
+import com.holywordapp.search.SearchActivity;
 import com.holywordapp.utils.LanguageManager;
 import com.holywordapp.SettingsActivity;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class BibleActivity extends AppCompatActivity {
@@ -51,6 +57,8 @@ public class BibleActivity extends AppCompatActivity {
     RecyclerView verseRecyclerView;
     BibleVerseAdapter verseAdapter;
     BibleDBHelper dbHelper;
+    KJVBibleDBHelper kjvDbHelper;
+    BibleChapterLoader chapterLoader;
     NotesDBHelper notesDBHelper;
     CrossReferenceDBHelper crossReferenceDBHelper;
 
@@ -58,6 +66,21 @@ public class BibleActivity extends AppCompatActivity {
     private BibleVerse selectedVerse;
     private String selectedBook;
     private int selectedChapter;
+    private ProgressBar progressVerses;
+
+    // Position to restore once the other translation's book and chapter have loaded
+    private int restoreChapter = 0;
+    private int restoreVerse = 0;
+    // Chapter of the latest verse request, so the spinner echoing a selection does not load it twice
+    private long requestedChapterKey = -1;
+    private boolean fullyDrawnReported = false;
+    // Both translations side by side; every chapter load already carries the other translation
+    private boolean isParallelMode = false;
+    private static final String PREFS_NAME = "app_prefs";
+    private static final String KEY_PARALLEL_READER = "parallel_reader";
+    // Most recent notes offered in the Add to Note dialog
+    private static final int ADD_TO_NOTE_LIMIT = 50;
+    private final ExecutorService notesExecutor = Executors.newSingleThreadExecutor();
 
     // Add navigation intent data
     private String navBookName;
@@ -70,6 +93,7 @@ public class BibleActivity extends AppCompatActivity {
     private ImageButton btnHighlight, btnShareText, btnShareImage, btnCopy;
     private ImageButton btnAddNote;
     private ImageButton btnCrossReferences;
+    private ImageButton btnSearch;
     private int[] availableColors = new int[] {
         0xFFFFFF00, // Yellow
         0xFF00FF00, // Green
@@ -85,13 +109,11 @@ public class BibleActivity extends AppCompatActivity {
     private TextView tvAudioTitle, tvCurrentTime, tvTotalTime;
     private ImageButton btnPlayPause, btnPreviousChapter, btnNextChapter, btnCloseAudio;
     private SeekBar seekBarAudio;
-    private MediaPlayer mediaPlayer;
-    private Handler audioHandler = new Handler();
-    private boolean isAudioPrepared = false;
+    private PlaybackConnection playback;
+    private PlaybackProgress audioProgress;
     private boolean isAutoPlayNext = true;
 
     // Audio Bible data
-    private String[] versionCodes = {"1", "29"}; // English, Telugu
     private int selectedVersionIndex = 1; // Default to Telugu
     
     // Language state
@@ -102,68 +124,9 @@ public class BibleActivity extends AppCompatActivity {
     private boolean isInPictureInPictureMode = false;
     private PictureInPictureParams.Builder pipParamsBuilder;
 
-    public static final String[] BOOKS_IN_ORDER = {
-            "ఆదికాండము", "నిర్గమకాండము", "లేవీయకాండము", "సంఖ్యాకాండము", "ద్వితీయోపదేశకాండమ",
-            "యెహొషువ", "న్యాయాధిపతులు", "రూతు", "సమూయేలు మొదటి గ్రంథము", "సమూయేలు రెండవ గ్రంథము",
-            "రాజులు మొదటి గ్రంథము", "రాజులు రెండవ గ్రంథము", "దినవృత్తాంతములు మొదటి గ్రంథము", "దినవృత్తాంతములు రెండవ గ్రంథము",
-            "ఎజ్రా", "నెహెమ్యా", "ఎస్తేరు", "యోబు గ్రంథము", "కీర్తనల గ్రంథము", "సామెతలు",
-            "ప్రసంగి", "పరమగీతము", "యెషయా గ్రంథము", "యిర్మీయా", "విలాపవాక్యములు", "యెహెజ్కేలు", "దానియేలు",
-            "హొషేయ", "యోవేలు", "ఆమోసు", "ఓబద్యా", "యోనా", "మీకా", "నహూము", "హబక్కూకు",
-            "జెఫన్యా", "హగ్గయి", "జెకర్యా", "మలాకీ", "మత్తయి సువార్త", "మార్కు సువార్త",
-            "లూకా సువార్త", "యోహాను సువార్త", "అపొస్తలుల కార్యములు", "రోమీయులకు",
-            "1 కొరింథీయులకు", "2 కొరింథీయులకు", "గలతీయులకు", "ఎఫెసీయులకు",
-            "ఫిలిప్పీయులకు", "కొలొస్సయులకు", "1 థెస్సలొనీకయులకు", "2 థెస్సలొనీకయులకు",
-            "1 తిమోతికి", "2 తిమోతికి", "తీతుకు", "ఫిలేమోనుకు", "హెబ్రీయులకు", "యాకోబు",
-            "1 పేతురు", "2 పేతురు", "1 యోహాను", "2 యోహాను", "3 యోహాను", "యూదా", "ప్రకటన గ్రంథము"
-    };
-
-    // English book names in the same order
-    public static final String[] ENGLISH_BOOKS_IN_ORDER = {
-            "Genesis", "Exodus", "Leviticus", "Numbers", "Deuteronomy", "Joshua", "Judges",
-            "Ruth", "1 Samuel", "2 Samuel", "1 Kings", "2 Kings", "1 Chronicles", "2 Chronicles",
-            "Ezra", "Nehemiah", "Esther", "Job", "Psalms", "Proverbs", "Ecclesiastes",
-            "Song of Solomon", "Isaiah", "Jeremiah", "Lamentations", "Ezekiel", "Daniel",
-            "Hosea", "Joel", "Amos", "Obadiah", "Jonah", "Micah", "Nahum", "Habakkuk",
-            "Zephaniah", "Haggai", "Zechariah", "Malachi", "Matthew", "Mark", "Luke",
-            "John", "Acts", "Romans", "1 Corinthians", "2 Corinthians", "Galatians",
-            "Ephesians", "Philippians", "Colossians", "1 Thessalonians", "2 Thessalonians",
-            "1 Timothy", "2 Timothy", "Titus", "Philemon", "Hebrews", "James", "1 Peter",
-            "2 Peter", "1 John", "2 John", "3 John", "Jude", "Revelation"
-    };
-
-    // Chapters per book for audio Bible
-    private int[] chaptersPerBook = {
-            50, 40, 27, 36, 34, 24, 21, 4, 31, 24, 22, 25, 29, 36, 10, 13, 10, 42, 150, 31, 12, 8,
-            66, 52, 5, 48, 12, 14, 3, 9, 1, 4, 7, 3, 3, 3, 2, 14, 4, 28, 16, 24, 21, 28, 16, 16, 13,
-            6, 6, 4, 4, 5, 3, 6, 4, 3, 1, 13, 5, 5, 3, 5, 1, 1, 1, 22
-    };
-
-    /**
-     * Map standard English book names to KJV database format
-     */
-    private String mapToKJVBookName(String standardBookName) {
-        switch (standardBookName) {
-            case "1 Samuel": return "I Samuel";
-            case "2 Samuel": return "II Samuel";
-            case "1 Kings": return "I Kings";
-            case "2 Kings": return "II Kings";
-            case "1 Chronicles": return "I Chronicles";
-            case "2 Chronicles": return "II Chronicles";
-            case "1 Corinthians": return "I Corinthians";
-            case "2 Corinthians": return "II Corinthians";
-            case "1 Thessalonians": return "I Thessalonians";
-            case "2 Thessalonians": return "II Thessalonians";
-            case "1 Timothy": return "I Timothy";
-            case "2 Timothy": return "II Timothy";
-            case "1 Peter": return "I Peter";
-            case "2 Peter": return "II Peter";
-            case "1 John": return "I John";
-            case "2 John": return "II John";
-            case "3 John": return "III John";
-            case "Revelation": return "Revelation of John";
-            default: return standardBookName;
-        }
-    }
+    // Spinner entries in canonical order; BookRegistry owns the names and their aliases
+    public static final String[] BOOKS_IN_ORDER = BookRegistry.displayNames(false);
+    public static final String[] ENGLISH_BOOKS_IN_ORDER = BookRegistry.displayNames(true);
 
     List<BibleVerse> verses = new ArrayList<>();
     private List<BibleVerse> versesToAddToNote = new ArrayList<>();
@@ -183,6 +146,7 @@ public class BibleActivity extends AppCompatActivity {
         verseSpinner = findViewById(R.id.spinnerVerse);
         verseRecyclerView = findViewById(R.id.recyclerViewVerses);
         btnTranslate = findViewById(R.id.btnTranslate);
+        progressVerses = findViewById(R.id.progressVerses);
 
         // Multi-verse action bar
         layoutMultiVerseActions = findViewById(R.id.layoutMultiVerseActions);
@@ -192,6 +156,7 @@ public class BibleActivity extends AppCompatActivity {
         btnCopy = findViewById(R.id.btnCopy);
         btnAddNote = findViewById(R.id.btnAddNote);
         btnCrossReferences = findViewById(R.id.btnCrossReferences);
+        btnSearch = findViewById(R.id.btnSearch);
 
         // Audio player views
         layoutAudioPlayer = findViewById(R.id.layoutAudioPlayer);
@@ -205,11 +170,19 @@ public class BibleActivity extends AppCompatActivity {
         seekBarAudio = findViewById(R.id.seekBarAudio);
 
         dbHelper = new BibleDBHelper(this);
+        kjvDbHelper = new KJVBibleDBHelper(this);
         notesDBHelper = new NotesDBHelper(this);
+        chapterLoader = new BibleChapterLoader(this, notesDBHelper);
+        chapterLoader.getLoading().observe(this, loading ->
+                progressVerses.setVisibility(Boolean.TRUE.equals(loading) ? View.VISIBLE : View.GONE));
+        chapterLoader.getBookResult().observe(this, this::onBookLoaded);
+        chapterLoader.getChapterResult().observe(this, this::onChapterLoaded);
+        chapterLoader.getFailedRequest().observe(this, this::onLoadFailed);
         crossReferenceDBHelper = new CrossReferenceDBHelper(this);
 
         // Check if we need to navigate to a specific verse and store parameters
         checkForNavigationParameters();
+        isParallelMode = getSharedPreferences(PREFS_NAME, MODE_PRIVATE).getBoolean(KEY_PARALLEL_READER, false);
 
         // Set book spinner with correct language
         String[] initialBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
@@ -227,45 +200,9 @@ public class BibleActivity extends AppCompatActivity {
                 
                 String[] currentBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
                 selectedBook = currentBooks[position];
-                
-                if (isEnglishMode) {
-                    // Use KJV database for English
-                    KJVBibleDBHelper kjvDbHelper = new KJVBibleDBHelper(BibleActivity.this);
-                    String mappedBookName = mapToKJVBookName(selectedBook);
-                    List<Integer> chapters = kjvDbHelper.getChaptersForBook(mappedBookName);
-                    kjvDbHelper.close();
-                    
-                    ArrayAdapter<Integer> chapAdapter = new ArrayAdapter<>(BibleActivity.this, android.R.layout.simple_spinner_item, chapters);
-                    chapAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-                    chapterSpinner.setAdapter(chapAdapter);
-                } else {
-                    // Use Telugu database
-                    List<Integer> chapters = dbHelper.getChapters(selectedBook);
-                    ArrayAdapter<Integer> chapAdapter = new ArrayAdapter<>(BibleActivity.this, android.R.layout.simple_spinner_item, chapters);
-                    chapAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-                    chapterSpinner.setAdapter(chapAdapter);
-                }
 
-                // If we have navigation parameters and this is the right book, select the chapter
-                if (hasNavigationParams && selectedBook.equals(navBookName)) {
-                    // Find and select the correct chapter
-                    List<Integer> chapters;
-                    if (isEnglishMode) {
-                        KJVBibleDBHelper kjvDbHelper = new KJVBibleDBHelper(BibleActivity.this);
-                        String mappedBookName = mapToKJVBookName(selectedBook);
-                        chapters = kjvDbHelper.getChaptersForBook(mappedBookName);
-                        kjvDbHelper.close();
-                    } else {
-                        chapters = dbHelper.getChapters(selectedBook);
-                    }
-                    
-                    for (int i = 0; i < chapters.size(); i++) {
-                        if (chapters.get(i) == navChapter) {
-                            chapterSpinner.setSelection(i);
-                            break;
-                        }
-                    }
-                }
+                // Chapters arrive in onBookLoaded; a newer selection supersedes this one
+                chapterLoader.loadBook(position + 1, isEnglishMode);
             }
 
             @Override
@@ -282,43 +219,8 @@ public class BibleActivity extends AppCompatActivity {
                 
                 selectedChapter = (int) chapterSpinner.getSelectedItem();
 
-                if (isEnglishMode) {
-                    // Use KJV database for English
-                    KJVBibleDBHelper kjvDbHelper = new KJVBibleDBHelper(BibleActivity.this);
-                    String mappedBookName = mapToKJVBookName(selectedBook);
-                    List<Verse> kjvVerses = kjvDbHelper.getVersesForChapterRange(mappedBookName, selectedChapter);
-                    kjvDbHelper.close();
-                    
-                    // Convert KJV verses to BibleVerse format
-                    verses.clear();
-                    for (Verse kjvVerse : kjvVerses) {
-                        BibleVerse bibleVerse = new BibleVerse(kjvVerse.getVerseNumber(), kjvVerse.getVerseText());
-                        verses.add(bibleVerse);
-                    }
-                } else {
-                    // Use Telugu database
-                    verses = dbHelper.getVerses(selectedBook, selectedChapter);
-                }
-                
-                setupVerseAdapter();
-
-                List<Integer> verseNums = new ArrayList<>();
-                for (BibleVerse v : verses) verseNums.add(v.verseNum);
-                ArrayAdapter<Integer> verseAdapterSpinner = new ArrayAdapter<>(BibleActivity.this, android.R.layout.simple_spinner_item, verseNums);
-                verseAdapterSpinner.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
-                verseSpinner.setAdapter(verseAdapterSpinner);
-
-                // If we have navigation parameters and this is the right chapter, select the verse
-                if (hasNavigationParams && selectedBook.equals(navBookName) && selectedChapter == navChapter) {
-                    for (int i = 0; i < verseNums.size(); i++) {
-                        if (verseNums.get(i) == navVerse) {
-                            verseSpinner.setSelection(i);
-                            break;
-                        }
-                    }
-                    // Reset navigation flag after we've navigated
-                    hasNavigationParams = false;
-                }
+                // Verses and highlights arrive in onChapterLoaded
+                requestCurrentChapter(false);
             }
 
             @Override
@@ -338,12 +240,9 @@ public class BibleActivity extends AppCompatActivity {
 
         // Start the navigation at the appropriate book if needed
         if (hasNavigationParams) {
-            String[] currentBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
-            for (int i = 0; i < currentBooks.length; i++) {
-                if (currentBooks[i].equals(navBookName)) {
-                    bookSpinner.setSelection(i);
-                    break;
-                }
+            int bookIndex = BookRegistry.ordinal(navBookName) - 1;
+            if (bookIndex >= 0) {
+                bookSpinner.setSelection(bookIndex);
             }
         }
 
@@ -355,6 +254,13 @@ public class BibleActivity extends AppCompatActivity {
         btnAddNote.setOnClickListener(v -> addSelectedVersesToNote());
         btnCrossReferences.setOnClickListener(v -> showCrossReferencesForSelectedVerses());
         
+        // Setup search button listener
+        btnSearch.setOnClickListener(v -> {
+            Intent intent = new Intent(this, SearchActivity.class);
+            intent.putExtra("IS_ENGLISH_MODE", isEnglishMode);
+            startActivity(intent);
+        });
+
         // Setup translate button listener
         btnTranslate.setOnClickListener(v -> toggleLanguage());
         
@@ -374,6 +280,8 @@ public class BibleActivity extends AppCompatActivity {
     }
 
     private void setupAudioPlayerListeners() {
+        playback = new PlaybackConnection(this, audioListener);
+        audioProgress = new PlaybackProgress(this::showAudioPosition);
         btnPlayPause.setOnClickListener(v -> toggleAudioPlayPause());
         btnPreviousChapter.setOnClickListener(v -> playPreviousChapter());
         btnNextChapter.setOnClickListener(v -> playNextChapter());
@@ -382,8 +290,9 @@ public class BibleActivity extends AppCompatActivity {
         seekBarAudio.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
             @Override
             public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
-                if (fromUser && isAudioPrepared && mediaPlayer != null) {
-                    mediaPlayer.seekTo(progress);
+                PlaybackService service = playback.get();
+                if (fromUser && service != null && service.isPrepared()) {
+                    service.seekTo(progress);
                     tvCurrentTime.setText(formatTime(progress));
                 }
             }
@@ -392,18 +301,15 @@ public class BibleActivity extends AppCompatActivity {
         });
     }
 
-    private void setupVerseAdapter() {
+    private void setupVerseAdapter(int[] highlightColors, int[] referenceCounts, String[] parallelTexts) {
         verseAdapter = new BibleVerseAdapter(verses);
         verseRecyclerView.setLayoutManager(new LinearLayoutManager(BibleActivity.this));
         verseRecyclerView.setAdapter(verseAdapter);
-
-        // Load highlight colors from DB
-        List<Integer> highlightColors = new ArrayList<>();
-        for (BibleVerse v : verses) {
-            int color = notesDBHelper.getVerseHighlightColor(selectedBook, selectedChapter, v.verseNum);
-            highlightColors.add(color);
-        }
         verseAdapter.setHighlightColors(highlightColors);
+        verseAdapter.setReferenceCounts(referenceCounts);
+        verseAdapter.setParallelTexts(parallelTexts);
+        verseAdapter.setParallelMode(isParallelMode);
+        verseAdapter.setOnReferenceCountClickListener((verse, position) -> showCrossReferencesForVerse(verse));
 
         verseAdapter.setOnSelectionChangedListener(selectedPositions -> {
             if (selectedPositions != null && !selectedPositions.isEmpty()) {
@@ -428,6 +334,7 @@ public class BibleActivity extends AppCompatActivity {
         getMenuInflater().inflate(R.menu.menu_bible, menu);
         addToNoteMenuItem = menu.findItem(R.id.action_add_to_note);
         addToNoteMenuItem.setVisible(false); // Initially hidden until a verse is long-clicked
+        menu.findItem(R.id.action_parallel).setChecked(isParallelMode);
         return true;
     }
 
@@ -451,6 +358,9 @@ public class BibleActivity extends AppCompatActivity {
             Intent intent = new Intent(BibleActivity.this, NotesActivity.class);
             startActivity(intent);
             return true;
+        } else if (id == R.id.action_parallel) {
+            toggleParallelMode(item);
+            return true;
         } else if (id == R.id.action_settings) {
             openSettings();
             return true;
@@ -476,27 +386,7 @@ public class BibleActivity extends AppCompatActivity {
     }
     
     private void showLoadingMessage() {
-        // Find book index using correct language array
-        int bookIndex = -1;
-        String[] currentBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
-        for (int i = 0; i < currentBooks.length; i++) {
-            if (currentBooks[i].equals(selectedBook)) {
-                bookIndex = i;
-                break;
-            }
-        }
-        
-        if (bookIndex != -1) {
-            int bookApiIndex = bookIndex + 1;
-            // Use English version (0) for English mode, Telugu version (1) for Telugu mode
-            int versionIndex = isEnglishMode ? 0 : 1;
-            String versionCode = versionCodes[versionIndex];
-            String testUrl = "http://kjv.wordfree.net/bibles/app/audio/" + versionCode + "/" + bookApiIndex + "/" + selectedChapter + ".mp3";
-            if (versionCode.equals("29")) {
-                testUrl = "http://audio4.wordfree.net/bibles/app/audio/" + versionCode + "/" + bookApiIndex + "/" + selectedChapter + ".mp3";
-            }
-            Toast.makeText(this, "Loading audio...", Toast.LENGTH_SHORT).show();
-        }
+        Toast.makeText(this, "Loading audio...", Toast.LENGTH_SHORT).show();
     }
 
     private void updateAudioTitle() {
@@ -507,107 +397,116 @@ public class BibleActivity extends AppCompatActivity {
     private void loadAudioChapter(int chapter, boolean autoPlay) {
         resetAudioPlayer();
         setAudioControlsEnabled(false);
-        isAudioPrepared = false;
 
-        // Find book index using correct language array
-        int bookIndex = -1;
-        String[] currentBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
-        for (int i = 0; i < currentBooks.length; i++) {
-            if (currentBooks[i].equals(selectedBook)) {
-                bookIndex = i;
-                break;
-            }
-        }
+        // Canonical ordinal of the selected book, whatever language its name is in
+        int book = BookRegistry.ordinal(selectedBook);
 
-        if (bookIndex == -1 || chapter < 1 || chapter > chaptersPerBook[bookIndex]) {
+        if (book == -1 || chapter < 1 || chapter > Versification.get(this, isEnglishMode).chapterCount(book)) {
             Toast.makeText(this, "Invalid chapter for audio", Toast.LENGTH_SHORT).show();
             btnPlayPause.setImageResource(R.drawable.ic_play_vector);
             return;
         }
 
-        int bookApiIndex = bookIndex + 1;
-        // Use English version (0) for English mode, Telugu version (1) for Telugu mode
-        int versionIndex = isEnglishMode ? 0 : 1;
-        String versionCode = versionCodes[versionIndex];
-        String audioUrl = "http://kjv.wordfree.net/bibles/app/audio/" + versionCode + "/" + bookApiIndex + "/" + chapter + ".mp3";
-        if (versionCode.equals("29")) {
-            audioUrl = "http://audio4.wordfree.net/bibles/app/audio/" + versionCode + "/" + bookApiIndex + "/" + chapter + ".mp3";
-        }
-
-        mediaPlayer = new MediaPlayer();
-        try {
-            mediaPlayer.setDataSource(audioUrl);
-            mediaPlayer.setOnPreparedListener(mp -> {
-                isAudioPrepared = true;
-                setAudioControlsEnabled(true);
-                seekBarAudio.setMax(mp.getDuration());
-                tvTotalTime.setText(formatTime(mp.getDuration()));
-                tvCurrentTime.setText(formatTime(0));
-                seekBarAudio.setProgress(0);
-
-                if (autoPlay) {
-                    mp.start();
-                    btnPlayPause.setImageResource(R.drawable.ic_pause_vector);
-                    audioHandler.post(updateAudioSeekBar);
-                } else {
-                    btnPlayPause.setImageResource(R.drawable.ic_play_vector);
-                }
-            });
+        ChapterAudio target = new ChapterAudio(isEnglishMode, book, chapter);
+        playback.run(service -> {
+            service.setAutoAdvance(isAutoPlayNext);
+            service.playChapter(target, autoPlay);
+        });
+    }
 
-            mediaPlayer.setOnCompletionListener(mp -> {
-                btnPlayPause.setImageResource(R.drawable.ic_play_vector);
-                audioHandler.removeCallbacks(updateAudioSeekBar);
-                if (mediaPlayer != null && isAudioPrepared) {
-                    try {
-                        seekBarAudio.setProgress(0);
-                        tvCurrentTime.setText(formatTime(0));
-                    } catch (Exception e) { /* Ignore */ }
-                }
-                isAudioPrepared = false;
+    private final PlaybackService.Listener audioListener = new PlaybackService.Listener() {
+        @Override
+        public void onChapterPrepared(ChapterAudio chapter, int durationMillis, boolean playing) {
+            // Streams such as the devotional have their own controls
+            if (chapter == null) return;
+            showAudioChapter(chapter);
+            setAudioControlsEnabled(true);
+            showAudioDuration(durationMillis);
+        }
 
-                // Auto-play next chapter
-                if (isAutoPlayNext) {
-                    playNextChapter();
-                }
-            });
+        @Override
+        public void onChapterAdvanced(ChapterAudio chapter, int durationMillis) {
+            // The next chapter is already playing; only the controls need to catch up
+            showAudioChapter(chapter);
+            setAudioControlsEnabled(true);
+            showAudioDuration(durationMillis);
+        }
 
-            mediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                String errorMsg = "Audio Error: " + what + " (Extra: " + extra + ")";
-                Toast.makeText(BibleActivity.this, errorMsg, Toast.LENGTH_LONG).show();
-                resetAudioPlayer();
-                setAudioControlsEnabled(false);
-                btnPlayPause.setImageResource(R.drawable.ic_play_vector);
-                return true;
-            });
+        @Override
+        public void onPlaybackCompleted(ChapterAudio chapter) {
+            // The service moves on to the next chapter itself when auto-play is on
+            if (chapter == null) return;
+            btnPlayPause.setImageResource(R.drawable.ic_play_vector);
+            audioProgress.stop();
+            seekBarAudio.setProgress(0);
+            tvCurrentTime.setText(formatTime(0));
+        }
 
-            mediaPlayer.prepareAsync();
+        @Override
+        public void onPlaybackStateChanged(PlaybackState state) {
+            PlaybackService service = playback.get();
+            if (service == null || service.isStreamLoaded()) return;
+            boolean playing = state.getState() == PlaybackState.STATE_PLAYING;
+            btnPlayPause.setImageResource(playing ? R.drawable.ic_pause_vector : R.drawable.ic_play_vector);
+            if (service.isPrepared()) {
+                audioProgress.update(state);
+            } else {
+                audioProgress.stop();
+            }
+        }
 
-        } catch (IOException e) {
-            Toast.makeText(this, "Cannot load audio: " + e.getMessage(), Toast.LENGTH_LONG).show();
+        @Override
+        public void onError(ChapterAudio chapter, int what, int extra) {
+            if (chapter == null) return;
+            String errorMsg = "Audio Error: " + what + " (Extra: " + extra + ")";
+            Toast.makeText(BibleActivity.this, errorMsg, Toast.LENGTH_LONG).show();
             resetAudioPlayer();
             setAudioControlsEnabled(false);
             btnPlayPause.setImageResource(R.drawable.ic_play_vector);
         }
+    };
+
+    /**
+     * Follow the chapter the service is playing, which may have been started from another screen
+     */
+    private void showAudioChapter(ChapterAudio chapter) {
+        layoutAudioPlayer.setVisibility(View.VISIBLE);
+        if (selectedBook != null && chapter.isEnglishMode == isEnglishMode && chapter.book == BookRegistry.ordinal(selectedBook)) {
+            selectedChapter = chapter.chapter;
+            updateAudioTitle();
+        } else {
+            tvAudioTitle.setText(chapter.title());
+        }
+    }
+
+    private void showAudioPosition(int millis) {
+        seekBarAudio.setProgress(millis);
+        tvCurrentTime.setText(formatTime(millis));
+    }
+
+    private void showAudioDuration(int durationMillis) {
+        seekBarAudio.setMax(durationMillis);
+        tvTotalTime.setText(formatTime(durationMillis));
+        tvCurrentTime.setText(formatTime(0));
+        seekBarAudio.setProgress(0);
     }
 
     private void toggleAudioPlayPause() {
-        if (mediaPlayer == null) {
+        PlaybackService service = playback.get();
+        if (service == null || service.getChapter() == null) {
             loadAudioChapter(selectedChapter, true);
             return;
         }
-        if (!isAudioPrepared) {
+        if (!service.isPrepared()) {
             Toast.makeText(this, "Audio loading...", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        if (mediaPlayer.isPlaying()) {
-            mediaPlayer.pause();
-            btnPlayPause.setImageResource(R.drawable.ic_play_vector);
-            audioHandler.removeCallbacks(updateAudioSeekBar);
+        // The button follows the state the service reports back
+        if (service.isPlaying()) {
+            service.pause();
         } else {
-            mediaPlayer.start();
-            btnPlayPause.setImageResource(R.drawable.ic_pause_vector);
-            audioHandler.post(updateAudioSeekBar);
+            service.start();
         }
     }
 
@@ -622,19 +521,12 @@ public class BibleActivity extends AppCompatActivity {
     }
 
     private void playNextChapter() {
-        // Find book index using correct language array
-        int bookIndex = -1;
-        String[] currentBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
-        for (int i = 0; i < currentBooks.length; i++) {
-            if (currentBooks[i].equals(selectedBook)) {
-                bookIndex = i;
-                break;
-            }
-        }
+        // Canonical index of the selected book, whatever language its name is in
+        int bookIndex = BookRegistry.ordinal(selectedBook) - 1;
 
         if (bookIndex == -1) return;
 
-        int maxChapters = chaptersPerBook[bookIndex];
+        int maxChapters = Versification.get(this, isEnglishMode).chapterCount(bookIndex + 1);
         if (selectedChapter < maxChapters) {
             selectedChapter++;
             updateAudioTitle();
@@ -645,6 +537,7 @@ public class BibleActivity extends AppCompatActivity {
     }
 
     private void closeAudioPlayer() {
+        playback.run(PlaybackService::stop);
         resetAudioPlayer();
         if (!isInPictureInPictureMode) {
             layoutAudioPlayer.setVisibility(View.GONE);
@@ -660,18 +553,7 @@ public class BibleActivity extends AppCompatActivity {
     }
 
     private void resetAudioPlayer() {
-        if (mediaPlayer != null) {
-            audioHandler.removeCallbacks(updateAudioSeekBar);
-            try {
-                if (mediaPlayer.isPlaying()) {
-                    mediaPlayer.stop();
-                }
-                mediaPlayer.reset();
-                mediaPlayer.release();
-            } catch (Exception e) { /* Ignore */ }
-            mediaPlayer = null;
-        }
-        isAudioPrepared = false;
+        audioProgress.stop();
         seekBarAudio.setProgress(0);
         tvCurrentTime.setText("00:00");
         tvTotalTime.setText("00:00");
@@ -682,36 +564,12 @@ public class BibleActivity extends AppCompatActivity {
         seekBarAudio.setEnabled(enabled);
         btnPreviousChapter.setEnabled(enabled && selectedChapter > 1);
         
-        // Find book index for next button using correct language array
-        int bookIndex = -1;
-        String[] currentBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
-        for (int i = 0; i < currentBooks.length; i++) {
-            if (currentBooks[i].equals(selectedBook)) {
-                bookIndex = i;
-                break;
-            }
-        }
-        boolean canGoNext = enabled && bookIndex != -1 && selectedChapter < chaptersPerBook[bookIndex];
+        // Canonical index of the selected book for the next button
+        int bookIndex = BookRegistry.ordinal(selectedBook) - 1;
+        boolean canGoNext = enabled && bookIndex != -1 && selectedChapter < Versification.get(this, isEnglishMode).chapterCount(bookIndex + 1);
         btnNextChapter.setEnabled(canGoNext);
     }
 
-    private final Runnable updateAudioSeekBar = new Runnable() {
-        public void run() {
-            if (isAudioPrepared && mediaPlayer != null && mediaPlayer.isPlaying()) {
-                try {
-                    int current = mediaPlayer.getCurrentPosition();
-                    seekBarAudio.setProgress(current);
-                    tvCurrentTime.setText(formatTime(current));
-                    audioHandler.postDelayed(this, 500);
-                } catch (IllegalStateException e) {
-                    audioHandler.removeCallbacks(this);
-                }
-            } else {
-                audioHandler.removeCallbacks(this);
-            }
-        }
-    };
-
     private String formatTime(int millis) {
         if (millis < 0) millis = 0;
         long minutes = TimeUnit.MILLISECONDS.toMinutes(millis);
@@ -719,15 +577,25 @@ public class BibleActivity extends AppCompatActivity {
         return String.format("%02d:%02d", minutes, seconds);
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        playback.attach();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Playback carries on in the service; only the controls stop following it
+        audioProgress.stop();
+        playback.detach();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        resetAudioPlayer();
-        
-        // Close database connections
-        if (crossReferenceDBHelper != null) {
-            crossReferenceDBHelper.close();
-        }
+        chapterLoader.shutdown();
+        notesExecutor.shutdownNow();
     }
     
     @Override
@@ -752,7 +620,7 @@ public class BibleActivity extends AppCompatActivity {
     public void onUserLeaveHint() {
         super.onUserLeaveHint();
         // Enter PiP mode when user leaves the app and audio is playing
-        if (mediaPlayer != null && mediaPlayer.isPlaying() && 
+        if (playback.get() != null && playback.get().isPlaying() && 
             android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.O) {
             startPictureInPictureMode();
         }
@@ -860,25 +728,39 @@ public class BibleActivity extends AppCompatActivity {
         if (intent != null && intent.hasExtra("BOOK_NAME") &&
                 intent.hasExtra("CHAPTER") && intent.hasExtra("VERSE")) {
 
-            navBookName = intent.getStringExtra("BOOK_NAME");
-            navChapter = intent.getIntExtra("CHAPTER", 1);
-            navVerse = intent.getIntExtra("VERSE", 1);
-            
             // Check if language mode is specified
             if (intent.hasExtra("IS_ENGLISH_MODE")) {
                 isEnglishMode = intent.getBooleanExtra("IS_ENGLISH_MODE", false);
             }
+
+            // Callers may pass any alias; the spinner shows the display name of the current language
+            navBookName = BookRegistry.toDisplayName(intent.getStringExtra("BOOK_NAME"), isEnglishMode);
+            navChapter = intent.getIntExtra("CHAPTER", 1);
+            navVerse = intent.getIntExtra("VERSE", 1);
             
             hasNavigationParams = true;
         }
     }
 
+    /**
+     * Load the most recent note titles off the main thread, then offer them in the dialog
+     */
     private void showAddToNoteDialog() {
+        notesExecutor.execute(() -> {
+            // Only titles are shown, so load note summaries without their verses
+            List<Note> notes = notesDBHelper.getNotesPage(Long.MAX_VALUE, ADD_TO_NOTE_LIMIT);
+            runOnUiThread(() -> {
+                if (!isFinishing() && !isDestroyed()) {
+                    showAddToNoteDialog(notes);
+                }
+            });
+        });
+    }
+
+    private void showAddToNoteDialog(List<Note> notes) {
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         builder.setTitle("Add to Note");
 
-        // Get all notes
-        List<Note> notes = notesDBHelper.getAllNotes();
         List<String> noteOptions = new ArrayList<>();
         noteOptions.add("Create New Note");
 
@@ -980,9 +862,12 @@ public class BibleActivity extends AppCompatActivity {
         builder.setItems(colorNames, (dialog, which) -> {
             int color = availableColors[which];
             List<Integer> selectedPositions = new ArrayList<>(verseAdapter.getSelectedPositions());
+            int[] verseNums = new int[selectedPositions.size()];
+            for (int i = 0; i < selectedPositions.size(); i++) {
+                verseNums[i] = verses.get(selectedPositions.get(i)).verseNum;
+            }
+            notesDBHelper.setVerseHighlightColors(selectedBook, selectedChapter, verseNums, color);
             for (int pos : selectedPositions) {
-                BibleVerse v = verses.get(pos);
-                notesDBHelper.setVerseHighlightColor(selectedBook, selectedChapter, v.verseNum, color);
                 verseAdapter.setHighlightColor(pos, color);
             }
             Toast.makeText(this, "Highlight color applied", Toast.LENGTH_SHORT).show();
@@ -1073,8 +958,20 @@ public class BibleActivity extends AppCompatActivity {
     }
 
     private void showCrossReferencesForVerse(BibleVerse verse) {
-        // Get cross references from database with language support
-        List<CrossReference.Reference> references = crossReferenceDBHelper.getCrossReferences(selectedBook, selectedChapter, verse.verseNum, isEnglishMode);
+        // Both lookups run on the loader's thread; the graph may still be building on first use
+        chapterLoader.loadCrossReferences(selectedBook, selectedChapter, verse.verseNum, isEnglishMode, result -> {
+            if (!isFinishing() && !isDestroyed()) {
+                showCrossReferencesDialog(verse, result);
+            }
+        });
+    }
+
+    private void showCrossReferencesDialog(BibleVerse verse, BibleChapterLoader.CrossReferenceResult result) {
+        List<CrossReference.Reference> references = new ArrayList<>(result.references);
+        // Verses pointing at this one follow the verse's own references
+        List<CrossReference.Reference> referencedBy = result.referencedBy;
+        int referenceCount = references.size();
+        references.addAll(referencedBy);
 
         if (references.isEmpty()) {
             Toast.makeText(this, "No cross references found for this verse", Toast.LENGTH_SHORT).show();
@@ -1091,9 +988,11 @@ public class BibleActivity extends AppCompatActivity {
         TextView tvSourceText = dialogView.findViewById(R.id.tvSourceText);
         RecyclerView rvCrossReferences = dialogView.findViewById(R.id.rvCrossReferences);
         TextView tvNoReferences = dialogView.findViewById(R.id.tvNoReferences);
+        TextView tvCrossRefTitle = dialogView.findViewById(R.id.tvCrossRefTitle);
+        tvCrossRefTitle.setText("Cross References (" + referenceCount + ") · Referenced by (" + referencedBy.size() + ")");
 
         // Set source verse info
-        tvSourceVerse.setText(selectedBook + " " + selectedChapter + ":" + verse.verseNum);
+        tvSourceVerse.setText(result.bookName + " " + result.chapter + ":" + result.verse);
         tvSourceText.setText(verse.verseText);
 
         // Set up RecyclerView
@@ -1119,48 +1018,52 @@ public class BibleActivity extends AppCompatActivity {
     }
 
     private void navigateToVerse(String book, int chapter, int verse) {
-        // Find the book index based on current language
-        int bookIndex = -1;
-        String[] currentBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
-        
-        for (int i = 0; i < currentBooks.length; i++) {
-            if (currentBooks[i].equals(book)) {
-                bookIndex = i;
-                break;
-            }
-        }
-
-        if (bookIndex == -1) {
+        // Any alias resolves; the spinner shows the name in the current language
+        int bookIndex = BookRegistry.ordinal(book) - 1;
+        if (bookIndex < 0) {
             Toast.makeText(this, "Book not found: " + book, Toast.LENGTH_SHORT).show();
             return;
         }
+        String[] currentBooks = isEnglishMode ? ENGLISH_BOOKS_IN_ORDER : BOOKS_IN_ORDER;
 
         // Set navigation parameters
-        navBookName = book;
+        navBookName = currentBooks[bookIndex];
         navChapter = chapter;
         navVerse = verse;
         hasNavigationParams = true;
 
-        // Update book spinner - this will trigger the chapter loading
+        // Load directly: selecting the book already shown would not fire the spinner listener.
+        // onBookLoaded and onChapterLoaded then select the chapter and scroll to the verse.
         bookSpinner.setSelection(bookIndex);
-
-        // Wait for the spinners to update and then scroll to the verse
-        new Handler().postDelayed(() -> {
-            if (verses != null) {
-                for (int i = 0; i < verses.size(); i++) {
-                    if (verses.get(i).verseNum == verse) {
-                        verseRecyclerView.scrollToPosition(i);
-                        // Highlight the verse briefly
-                        verseAdapter.highlightVerseTemporarily(i);
-                        break;
-                    }
-                }
-            }
-        }, 1000);
+        selectedBook = currentBooks[bookIndex];
+        chapterLoader.loadBook(bookIndex + 1, isEnglishMode);
 
         Toast.makeText(this, "Navigated to " + book + " " + chapter + ":" + verse, Toast.LENGTH_SHORT).show();
     }
     
+    /**
+     * Show or hide the other translation's column. Chapters are loaded with it only while it is
+     * shown, so the first time it is turned on for a chapter its texts are loaded then.
+     */
+    private void toggleParallelMode(MenuItem item) {
+        isParallelMode = !isParallelMode;
+        item.setChecked(isParallelMode);
+        getSharedPreferences(PREFS_NAME, MODE_PRIVATE).edit().putBoolean(KEY_PARALLEL_READER, isParallelMode).apply();
+        if (verseAdapter == null) {
+            return;
+        }
+        verseAdapter.setParallelMode(isParallelMode);
+        if (isParallelMode && !verseAdapter.hasParallelTexts() && verses != null && !verses.isEmpty()) {
+            BibleVerseAdapter adapter = verseAdapter;
+            chapterLoader.loadParallelTexts(bookSpinner.getSelectedItemPosition() + 1, selectedChapter, isEnglishMode, verses, texts -> {
+                // Dropped if another chapter was bound meanwhile
+                if (adapter == verseAdapter) {
+                    adapter.setParallelTexts(texts);
+                }
+            });
+        }
+    }
+
     private void toggleLanguage() {
         isEnglishMode = !isEnglishMode;
         
@@ -1172,17 +1075,13 @@ public class BibleActivity extends AppCompatActivity {
             getSupportActionBar().setSubtitle("Read & Listen - " + (isEnglishMode ? "English" : "Telugu"));
         }
         
-        // Set language switching flag
-        isLanguageSwitching = true;
+        // Mute the spinner listeners until the chapter arrives in the new language (onChapterLoaded);
+        // with no book selected nothing reloads, so there is nothing to wait for
+        isLanguageSwitching = selectedBook != null;
         
         // Reload current book data with new language
         reloadCurrentBookData();
         
-        // Reset the flag after a short delay
-        new Handler().postDelayed(() -> {
-            isLanguageSwitching = false;
-        }, 1000);
-        
         Toast.makeText(this, 
             isEnglishMode ? "Switched to English Bible" : "Switched to Telugu Bible", 
             Toast.LENGTH_SHORT).show();
@@ -1217,86 +1116,104 @@ public class BibleActivity extends AppCompatActivity {
     
     private void loadChaptersForCurrentBook() {
         if (selectedBook == null) return;
-        
-        // Store current chapter to maintain position
-        int currentChapter = selectedChapter;
-        
-        List<Integer> chapters;
-        if (isEnglishMode) {
-            // Use KJV database for English
-            KJVBibleDBHelper kjvDbHelper = new KJVBibleDBHelper(this);
-            String mappedBookName = mapToKJVBookName(selectedBook);
-            chapters = kjvDbHelper.getChaptersForBook(mappedBookName);
-            kjvDbHelper.close();
-        } else {
-            // Use Telugu database
-            chapters = dbHelper.getChapters(selectedBook);
+
+        // Keep the reader on the same chapter and verse in the other translation
+        restoreChapter = selectedChapter;
+        restoreVerse = verseSpinner.getSelectedItem() != null ? (int) verseSpinner.getSelectedItem() : 1;
+        chapterLoader.loadBook(bookSpinner.getSelectedItemPosition() + 1, isEnglishMode);
+    }
+
+    private void requestCurrentChapter(boolean force) {
+        if (selectedBook == null || selectedChapter <= 0) return;
+        int book = bookSpinner.getSelectedItemPosition() + 1;
+        long key = (isEnglishMode ? 1L << 32 : 0L) | VerseId.chapterStart(book, selectedChapter);
+        if (!force && key == requestedChapterKey) {
+            return;
         }
-        
+        requestedChapterKey = key;
+        chapterLoader.loadChapter(book, selectedBook, selectedChapter, isEnglishMode, isParallelMode);
+    }
+
+    /**
+     * Bind the chapter list of the selected book and pick the chapter to open
+     */
+    private void onBookLoaded(BibleChapterLoader.BookResult result) {
+        if (!chapterLoader.isCurrent(result.requestId)) {
+            return; // A newer selection is already loading
+        }
+        List<Integer> chapters = result.chapters;
         if (chapters.isEmpty()) {
+            isLanguageSwitching = false;
             Toast.makeText(this, "No chapters found for " + selectedBook, Toast.LENGTH_SHORT).show();
             return;
         }
-        
+
         ArrayAdapter<Integer> chapAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, chapters);
         chapAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         chapterSpinner.setAdapter(chapAdapter);
-        
-        // Try to maintain the same chapter, or use first chapter if not available
-        if (currentChapter > 0 && chapters.contains(currentChapter)) {
-            selectedChapter = currentChapter;
-            int chapterIndex = chapters.indexOf(currentChapter);
-            chapterSpinner.setSelection(chapterIndex);
-        } else if (chapters.size() > 0) {
-            selectedChapter = chapters.get(0);
+
+        int chapter = chapters.get(0);
+        if (hasNavigationParams && selectedBook.equals(navBookName) && chapters.contains(navChapter)) {
+            chapter = navChapter;
+        } else if (restoreChapter > 0 && chapters.contains(restoreChapter)) {
+            chapter = restoreChapter;
         }
-        
-        loadVersesForCurrentChapter();
+        restoreChapter = 0;
+        chapterSpinner.setSelection(chapters.indexOf(chapter));
+
+        // The spinner listener may not fire (same position, or muted while switching language)
+        selectedChapter = chapter;
+        requestCurrentChapter(true);
     }
-    
-    private void loadVersesForCurrentChapter() {
-        if (selectedBook == null || selectedChapter <= 0) return;
-        
-        // Store current verse to maintain position
-        int currentVerse = 1; // Default to first verse
-        if (verseSpinner.getSelectedItem() != null) {
-            currentVerse = (int) verseSpinner.getSelectedItem();
+
+    /**
+     * A book or chapter load threw: release the spinners and let the same selection be retried
+     */
+    private void onLoadFailed(Integer requestId) {
+        if (requestId == null || !chapterLoader.isCurrent(requestId)) {
+            return;
         }
-        
-        if (isEnglishMode) {
-            // Use KJV database for English
-            KJVBibleDBHelper kjvDbHelper = new KJVBibleDBHelper(this);
-            String mappedBookName = mapToKJVBookName(selectedBook);
-            List<Verse> kjvVerses = kjvDbHelper.getVersesForChapterRange(mappedBookName, selectedChapter);
-            kjvDbHelper.close();
-            
-            // Convert KJV verses to BibleVerse format
-            verses.clear();
-            for (Verse kjvVerse : kjvVerses) {
-                BibleVerse bibleVerse = new BibleVerse(kjvVerse.getVerseNumber(), kjvVerse.getVerseText());
-                verses.add(bibleVerse);
-            }
-        } else {
-            // Use Telugu database
-            verses = dbHelper.getVerses(selectedBook, selectedChapter);
+        isLanguageSwitching = false;
+        requestedChapterKey = -1;
+        Toast.makeText(this, "Could not load " + selectedBook + " " + selectedChapter, Toast.LENGTH_SHORT).show();
+    }
+
+    /**
+     * Bind a loaded chapter: verses, highlights and the verse spinner
+     */
+    private void onChapterLoaded(BibleChapterLoader.ChapterResult result) {
+        if (!chapterLoader.isCurrent(result.requestId)) {
+            return;
         }
-        
-        setupVerseAdapter();
-        
-        // Update verse spinner
+        // The reload after a language switch has landed; the spinners are live again
+        isLanguageSwitching = false;
+        verses = result.verses;
+        setupVerseAdapter(result.highlightColors, result.referenceCounts, result.parallelTexts);
+        if (!fullyDrawnReported) {
+            // The reader is usable once the first chapter is bound; startup metrics end here
+            reportFullyDrawn();
+            fullyDrawnReported = true;
+        }
+
         List<Integer> verseNums = new ArrayList<>();
         for (BibleVerse v : verses) verseNums.add(v.verseNum);
         ArrayAdapter<Integer> verseAdapterSpinner = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, verseNums);
         verseAdapterSpinner.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
         verseSpinner.setAdapter(verseAdapterSpinner);
-        
-        // Try to maintain the same verse, or use first verse if not available
-        if (verseNums.contains(currentVerse)) {
-            int verseIndex = verseNums.indexOf(currentVerse);
-            verseSpinner.setSelection(verseIndex);
-        } else if (verseNums.size() > 0) {
-            verseSpinner.setSelection(0);
+
+        if (hasNavigationParams && selectedBook.equals(navBookName) && result.chapter == navChapter) {
+            int index = verseNums.indexOf(navVerse);
+            if (index >= 0) {
+                verseSpinner.setSelection(index);
+                verseRecyclerView.scrollToPosition(index);
+                verseAdapter.highlightVerseTemporarily(index);
+            }
+            // Reset navigation flag after we've navigated
+            hasNavigationParams = false;
+        } else if (restoreVerse > 0 && verseNums.contains(restoreVerse)) {
+            verseSpinner.setSelection(verseNums.indexOf(restoreVerse));
         }
+        restoreVerse = 0;
     }
 
     private void openSettings() {
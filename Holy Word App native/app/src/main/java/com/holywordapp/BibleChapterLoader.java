@@ -0,0 +1,308 @@
+package com.holywordapp;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Loads what the reader needs for a book or a chapter off the main thread.
+ *
+ * Every request gets a new id and supersedes the ones before it: a queued load that has not
+ * started is cancelled, and one already running is dropped instead of published. Spinning
+ * quickly through the book list therefore costs at most one wasted query, and the activity
+ * only ever binds results for the selection currently on screen.
+ */
+public class BibleChapterLoader {
+    private static final String TAG = "BibleChapterLoader";
+
+    /** Chapter numbers of a book */
+    public static final class BookResult {
+        public final int requestId;
+        public final int book;
+        public final boolean isEnglishMode;
+        public final List<Integer> chapters;
+
+        BookResult(int requestId, int book, boolean isEnglishMode, List<Integer> chapters) {
+            this.requestId = requestId;
+            this.book = book;
+            this.isEnglishMode = isEnglishMode;
+            this.chapters = chapters;
+        }
+    }
+
+    /**
+     * Verses of a chapter with the highlight color, cross reference count and other translation's
+     * text of each, in the same order
+     */
+    public static final class ChapterResult {
+        public final int requestId;
+        public final int book;
+        public final int chapter;
+        public final boolean isEnglishMode;
+        public final List<BibleVerse> verses;
+        public final int[] highlightColors;
+        public final int[] referenceCounts;
+        /**
+         * Same verse in the other translation (KJV for Telugu and vice versa), null where it has
+         * none; the array itself is null unless the chapter was loaded with its parallel
+         */
+        public final String[] parallelTexts;
+
+        ChapterResult(int requestId, int book, int chapter, boolean isEnglishMode, List<BibleVerse> verses,
+                      int[] highlightColors, int[] referenceCounts, String[] parallelTexts) {
+            this.requestId = requestId;
+            this.book = book;
+            this.chapter = chapter;
+            this.isEnglishMode = isEnglishMode;
+            this.verses = verses;
+            this.highlightColors = highlightColors;
+            this.referenceCounts = referenceCounts;
+            this.parallelTexts = parallelTexts;
+        }
+    }
+
+    /** A verse's own cross references and the verses that refer to it */
+    public static final class CrossReferenceResult {
+        public final String bookName;
+        public final int chapter;
+        public final int verse;
+        public final List<CrossReference.Reference> references;
+        public final List<CrossReference.Reference> referencedBy;
+
+        CrossReferenceResult(String bookName, int chapter, int verse,
+                             List<CrossReference.Reference> references, List<CrossReference.Reference> referencedBy) {
+            this.bookName = bookName;
+            this.chapter = chapter;
+            this.verse = verse;
+            this.references = references;
+            this.referencedBy = referencedBy;
+        }
+    }
+
+    private final Context context;
+    private final ChapterCache chapterCache;
+    private final NotesDBHelper notesDBHelper;
+    private final CrossReferenceDBHelper crossReferenceDBHelper;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicInteger latestRequest = new AtomicInteger();
+    private Future<?> pending;
+
+    private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
+    private final MutableLiveData<BookResult> bookResult = new MutableLiveData<>();
+    private final MutableLiveData<ChapterResult> chapterResult = new MutableLiveData<>();
+    private final MutableLiveData<Integer> failedRequest = new MutableLiveData<>();
+
+    public BibleChapterLoader(Context context, NotesDBHelper notesDBHelper) {
+        this.context = context.getApplicationContext();
+        this.chapterCache = ChapterCache.getInstance(context);
+        this.notesDBHelper = notesDBHelper;
+        this.crossReferenceDBHelper = new CrossReferenceDBHelper(context);
+    }
+
+    public LiveData<Boolean> getLoading() {
+        return loading;
+    }
+
+    public LiveData<BookResult> getBookResult() {
+        return bookResult;
+    }
+
+    public LiveData<ChapterResult> getChapterResult() {
+        return chapterResult;
+    }
+
+    /**
+     * Id of a book or chapter load that threw instead of delivering its result
+     */
+    public LiveData<Integer> getFailedRequest() {
+        return failedRequest;
+    }
+
+    /**
+     * Chapter list of a book (1-based ordinal). Call from the main thread.
+     */
+    public int loadBook(int book, boolean isEnglishMode) {
+        return submit(requestId -> {
+            List<Integer> chapters = Versification.get(context, isEnglishMode).chapterList(book);
+            if (isCurrent(requestId)) {
+                bookResult.postValue(new BookResult(requestId, book, isEnglishMode, chapters));
+            }
+        });
+    }
+
+    /**
+     * Verses, highlights and cross reference counts of a chapter, and with withParallel the same
+     * chapter of the other translation for the parallel columns. Highlights are stored under the
+     * book name shown in the reader, so it is passed alongside the ordinal. Call from the main thread.
+     */
+    public int loadChapter(int book, String bookName, int chapter, boolean isEnglishMode, boolean withParallel) {
+        return submit(requestId -> {
+            List<BibleVerse> verses = chapterCache.getChapter(book, chapter, isEnglishMode);
+            List<BibleVerse> parallel = withParallel ? chapterCache.getChapter(book, chapter, !isEnglishMode) : null;
+            if (!isCurrent(requestId)) {
+                return;
+            }
+            chapterCache.prefetchAround(book, chapter, isEnglishMode);
+
+            int maxVerse = 0;
+            for (BibleVerse v : verses) maxVerse = Math.max(maxVerse, v.verseNum);
+            int[] chapterColors = notesDBHelper.getHighlightsForChapter(bookName, chapter, maxVerse);
+            int[] chapterCounts = crossReferenceDBHelper.getChapterReferenceCounts(bookName, chapter, maxVerse);
+            int[] highlightColors = new int[verses.size()];
+            int[] referenceCounts = new int[verses.size()];
+            for (int i = 0; i < verses.size(); i++) {
+                int verseNum = verses.get(i).verseNum;
+                highlightColors[i] = verseNum >= 1 ? chapterColors[verseNum - 1] : NotesDBHelper.NO_HIGHLIGHT;
+                referenceCounts[i] = verseNum >= 1 ? chapterCounts[verseNum - 1] : 0;
+            }
+
+            if (isCurrent(requestId)) {
+                chapterResult.postValue(new ChapterResult(requestId, book, chapter, isEnglishMode,
+                        verses.isEmpty() ? Collections.emptyList() : verses, highlightColors, referenceCounts,
+                        parallel != null ? alignByVerse(verses, parallel) : null));
+            }
+        });
+    }
+
+    /**
+     * The other translation's text for verses already on screen, for when parallel columns are
+     * turned on after the chapter was loaded without them. Delivered on the main thread and, like
+     * cross references, supersedes nothing. Call from the main thread.
+     */
+    public void loadParallelTexts(int book, int chapter, boolean isEnglishMode, List<BibleVerse> verses,
+                                  Consumer<String[]> callback) {
+        execute(() -> {
+            try {
+                String[] texts = alignByVerse(verses, chapterCache.getChapter(book, chapter, !isEnglishMode));
+                mainHandler.post(() -> callback.accept(texts));
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading parallel chapter " + book + ":" + chapter + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Cross references of one verse in both directions, delivered to the callback on the main
+     * thread. Unlike book and chapter loads it supersedes nothing; it runs after whatever load is
+     * already queued. Call from the main thread.
+     */
+    public void loadCrossReferences(String bookName, int chapter, int verse, boolean isEnglishMode,
+                                    Consumer<CrossReferenceResult> callback) {
+        execute(() -> {
+            try {
+                List<CrossReference.Reference> references = crossReferenceDBHelper.getCrossReferences(bookName, chapter, verse, isEnglishMode);
+                List<CrossReference.Reference> referencedBy = crossReferenceDBHelper.getReferencedBy(bookName, chapter, verse, isEnglishMode);
+                CrossReferenceResult result = new CrossReferenceResult(bookName, chapter, verse, references, referencedBy);
+                mainHandler.post(() -> callback.accept(result));
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading cross references of " + bookName + " " + chapter + ":" + verse + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Text of the parallel verse with the same number as each verse. The two versifications
+     * occasionally split a chapter differently; a parallel verse with no counterpart is appended,
+     * numbered, to the row before it so no text is dropped.
+     */
+    static String[] alignByVerse(List<BibleVerse> verses, List<BibleVerse> parallel) {
+        String[] aligned = new String[verses.size()];
+        if (verses.isEmpty() || parallel.isEmpty()) {
+            return aligned;
+        }
+        int maxVerse = 0;
+        for (BibleVerse v : verses) maxVerse = Math.max(maxVerse, v.verseNum);
+        // Row of each verse number in this chapter, -1 where the primary translation has none
+        int[] rowOf = new int[maxVerse + 1];
+        Arrays.fill(rowOf, -1);
+        for (int i = 0; i < verses.size(); i++) {
+            int verseNum = verses.get(i).verseNum;
+            if (verseNum >= 0) rowOf[verseNum] = i;
+        }
+
+        int lastRow = -1;
+        for (BibleVerse v : parallel) {
+            int row = v.verseNum >= 0 && v.verseNum <= maxVerse ? rowOf[v.verseNum] : -1;
+            if (row >= 0) {
+                aligned[row] = aligned[row] == null ? v.verseText : aligned[row] + " " + v.verseText;
+                lastRow = row;
+            } else {
+                int target = lastRow >= 0 ? lastRow : 0;
+                String numbered = "[" + v.verseNum + "] " + v.verseText;
+                aligned[target] = aligned[target] == null ? numbered : aligned[target] + " " + numbered;
+            }
+        }
+        return aligned;
+    }
+
+    /**
+     * Whether a result belongs to the newest request; older ones must not be bound
+     */
+    public boolean isCurrent(int requestId) {
+        return requestId == latestRequest.get();
+    }
+
+    public void shutdown() {
+        latestRequest.incrementAndGet();
+        executor.shutdownNow();
+    }
+
+    private interface Task {
+        void run(int requestId);
+    }
+
+    private int submit(Task task) {
+        int requestId = latestRequest.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false); // Not started yet: skip it entirely
+        }
+        if (executor.isShutdown()) {
+            return requestId; // The activity is going away; nothing would be bound anyway
+        }
+        loading.setValue(true);
+        pending = executor.submit(() -> {
+            if (!isCurrent(requestId)) {
+                return;
+            }
+            try {
+                task.run(requestId);
+            } catch (Exception e) {
+                Log.e(TAG, "Error in load request " + requestId + ": " + e.getMessage());
+                if (isCurrent(requestId)) {
+                    failedRequest.postValue(requestId);
+                }
+            } finally {
+                if (isCurrent(requestId)) {
+                    loading.postValue(false);
+                }
+            }
+        });
+        return requestId;
+    }
+
+    /**
+     * Run a callback-style load, dropping it once the loader has been shut down
+     */
+    private void execute(Runnable load) {
+        try {
+            executor.execute(load);
+        } catch (RejectedExecutionException e) {
+            Log.d(TAG, "Loader shut down, dropping load");
+        }
+    }
+}
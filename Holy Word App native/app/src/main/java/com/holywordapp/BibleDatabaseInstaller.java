@@ -0,0 +1,178 @@
+package com.holywordapp;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Installs the bundled Bible databases from assets into the app's database directory.
+ *
+ * All databases are copied in parallel on a background executor with 1 MB channel transfers.
+ * Each copy goes to a temporary file, is checked against the size and SHA-256 of the asset,
+ * and is renamed into place only when complete, so a process killed mid-copy never leaves a
+ * truncated database behind. The installed version and hash are recorded in preferences;
+ * bumping a version in {@link #ASSET_VERSIONS} makes existing installs pick up the new file.
+ */
+public final class BibleDatabaseInstaller {
+    private static final String TAG = "BibleDatabaseInstaller";
+
+    private static final String PREFS_NAME = "bible_db_install";
+    private static final String TEMP_SUFFIX = ".installing";
+    private static final int TRANSFER_CHUNK = 1 << 20;
+
+    // Bump an entry whenever the bundled asset changes
+    private static final Map<String, Integer> ASSET_VERSIONS = new LinkedHashMap<>();
+    static {
+        ASSET_VERSIONS.put(BibleDatabases.TELUGU, 1);
+        ASSET_VERSIONS.put(BibleDatabases.KJV, 1);
+        ASSET_VERSIONS.put(BibleDatabases.CROSS_REFERENCES, 1);
+    }
+
+    private static final Map<String, CompletableFuture<File>> installs = new HashMap<>();
+    private static CompletableFuture<Void> allInstalled;
+
+    private BibleDatabaseInstaller() {}
+
+    /**
+     * Start installing every bundled database if not already started; completes when all are ready
+     */
+    public static synchronized CompletableFuture<Void> install(Context context) {
+        if (allInstalled != null) {
+            return allInstalled;
+        }
+        Context appContext = context.getApplicationContext();
+        ExecutorService executor = Executors.newFixedThreadPool(ASSET_VERSIONS.size());
+        for (Map.Entry<String, Integer> asset : ASSET_VERSIONS.entrySet()) {
+            String name = asset.getKey();
+            int version = asset.getValue();
+            installs.put(name, CompletableFuture.supplyAsync(() -> installIfNeeded(appContext, name, version), executor));
+        }
+        executor.shutdown(); // Already queued installs still run
+        allInstalled = CompletableFuture.allOf(installs.values().toArray(new CompletableFuture[0]));
+        return allInstalled;
+    }
+
+    /**
+     * Readiness of a single database; screens can chain on this instead of blocking
+     */
+    public static CompletableFuture<File> whenInstalled(Context context, String name) {
+        install(context);
+        synchronized (BibleDatabaseInstaller.class) {
+            CompletableFuture<File> future = installs.get(name);
+            return future != null ? future : CompletableFuture.completedFuture(context.getDatabasePath(name));
+        }
+    }
+
+    /**
+     * Block until a database is installed and return its file. Returns the target path even if
+     * the install failed, so opening it reports the error the same way a missing file always has.
+     */
+    public static File awaitInstalled(Context context, String name) {
+        try {
+            return whenInstalled(context, name).join();
+        } catch (Exception e) {
+            Log.e(TAG, "Install of " + name + " failed: " + e.getMessage());
+            return context.getDatabasePath(name);
+        }
+    }
+
+    /**
+     * "version:sha256" of the installed copy of a database, or null if it has not been installed
+     */
+    public static String getInstalledRecord(Context context, String name) {
+        return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).getString(name, null);
+    }
+
+    private static File installIfNeeded(Context context, String name, int version) {
+        File dbFile = context.getDatabasePath(name);
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        String installed = prefs.getString(name, null); // "<version>:<sha256>"
+        if (dbFile.exists() && installed != null && installed.startsWith(version + ":")) {
+            return dbFile;
+        }
+
+        long start = SystemClock.elapsedRealtime();
+        File dir = dbFile.getParentFile();
+        if (dir != null && !dir.exists()) {
+            dir.mkdirs();
+        }
+        File temp = new File(dir, name + TEMP_SUFFIX);
+        try {
+            MessageDigest assetDigest = MessageDigest.getInstance("SHA-256");
+            long copied = 0;
+            try (InputStream in = new DigestInputStream(context.getAssets().open(name), assetDigest);
+                 ReadableByteChannel source = Channels.newChannel(in);
+                 FileOutputStream out = new FileOutputStream(temp);
+                 FileChannel target = out.getChannel()) {
+                long transferred;
+                while ((transferred = target.transferFrom(source, copied, TRANSFER_CHUNK)) > 0) {
+                    copied += transferred;
+                }
+                out.getFD().sync();
+            }
+            String assetHash = toHex(assetDigest.digest());
+
+            // Read back what landed on disk before trusting it
+            if (temp.length() != copied || !assetHash.equals(sha256(temp))) {
+                throw new IOException("verification failed for " + name + " (" + temp.length() + " of " + copied + " bytes)");
+            }
+
+            // Stale WAL/journal files belong to the old content and must not be replayed onto the new file
+            new File(dbFile.getPath() + "-wal").delete();
+            new File(dbFile.getPath() + "-shm").delete();
+            new File(dbFile.getPath() + "-journal").delete();
+            if (!temp.renameTo(dbFile)) {
+                throw new IOException("could not move " + temp + " into place");
+            }
+            prefs.edit().putString(name, version + ":" + assetHash).commit();
+            Log.d(TAG, "Installed " + name + " v" + version + " (" + copied + " bytes) in " +
+                    (SystemClock.elapsedRealtime() - start) + " ms");
+            return dbFile;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            temp.delete();
+            Log.e(TAG, "Error installing " + name + ": " + e.getMessage());
+            throw new IllegalStateException("Could not install " + name, e);
+        }
+    }
+
+    private static String sha256(File file) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (FileInputStream in = new FileInputStream(file); FileChannel channel = in.getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TRANSFER_CHUNK);
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package com.holywordapp;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-wide shared connections to the bundled Bible databases.
+ *
+ * Each database is installed by {@link BibleDatabaseInstaller} and opened once, then handed to
+ * every helper, so chapter switches and cross reference dialogs no longer pay a file open and
+ * schema parse per call.
+ * Connections are opened with write-ahead logging, which gives SQLite a small pool of reader
+ * connections behind the single handle. They stay open for the life of the process; under
+ * memory pressure SQLite is only asked to drop its page caches, since helpers keep statements
+ * compiled against the shared handles.
+ */
+public final class BibleDatabases {
+    private static final String TAG = "BibleDatabases";
+
+    public static final String TELUGU = "bsi_te.db";
+    public static final String KJV = "KJV.db";
+    public static final String CROSS_REFERENCES = "cross_references.db";
+
+    private static final Map<String, SQLiteDatabase> databases = new HashMap<>();
+    private static final Map<String, Stats> stats = new HashMap<>();
+    private static boolean callbacksRegistered = false;
+
+    /**
+     * Open/reuse counters for one database
+     */
+    public static class Stats {
+        public int openCount;
+        public long totalOpenMillis;
+        public long lastOpenMillis;
+        public long acquireCount;
+
+        @Override
+        public String toString() {
+            return "opens=" + openCount + " totalOpenMs=" + totalOpenMillis +
+                    " lastOpenMs=" + lastOpenMillis + " acquires=" + acquireCount;
+        }
+    }
+
+    private BibleDatabases() {}
+
+    /**
+     * Shared connection for one of the bundled databases, opening it on first use
+     */
+    public static SQLiteDatabase get(Context context, String name) {
+        Context appContext = context.getApplicationContext();
+        synchronized (BibleDatabases.class) {
+            statsFor(name).acquireCount++;
+            SQLiteDatabase db = databases.get(name);
+            if (db != null && db.isOpen()) {
+                return db;
+            }
+            registerCallbacks(appContext);
+        }
+
+        // Waits only if the installer is still copying this database. Done outside the lock so
+        // callers of databases that are already open are not held up behind it.
+        File dbFile = BibleDatabaseInstaller.awaitInstalled(appContext, name);
+
+        synchronized (BibleDatabases.class) {
+            SQLiteDatabase db = databases.get(name);
+            if (db != null && db.isOpen()) {
+                // Another caller opened it while this one waited
+                return db;
+            }
+            long start = SystemClock.elapsedRealtime();
+            db = SQLiteDatabase.openDatabase(dbFile.getPath(), null,
+                    SQLiteDatabase.OPEN_READWRITE | SQLiteDatabase.ENABLE_WRITE_AHEAD_LOGGING);
+            long elapsed = SystemClock.elapsedRealtime() - start;
+
+            Stats s = statsFor(name);
+            s.openCount++;
+            s.totalOpenMillis += elapsed;
+            s.lastOpenMillis = elapsed;
+            databases.put(name, db);
+            Log.d(TAG, "Opened " + name + " in " + elapsed + " ms (" + s + ")");
+            return db;
+        }
+    }
+
+    /**
+     * Snapshot of the open-count and latency counters for a database
+     */
+    public static synchronized Stats getStats(String name) {
+        Stats copy = new Stats();
+        Stats s = stats.get(name);
+        if (s != null) {
+            copy.openCount = s.openCount;
+            copy.totalOpenMillis = s.totalOpenMillis;
+            copy.lastOpenMillis = s.lastOpenMillis;
+            copy.acquireCount = s.acquireCount;
+        }
+        return copy;
+    }
+
+    /**
+     * Close every shared connection; helpers reopen them on next use
+     */
+    public static synchronized void closeAll() {
+        for (Map.Entry<String, SQLiteDatabase> entry : databases.entrySet()) {
+            if (entry.getValue().isOpen()) {
+                entry.getValue().close();
+                Log.d(TAG, "Closed " + entry.getKey());
+            }
+        }
+        databases.clear();
+    }
+
+    private static Stats statsFor(String name) {
+        Stats s = stats.get(name);
+        if (s == null) {
+            s = new Stats();
+            stats.put(name, s);
+        }
+        return s;
+    }
+
+    private static void registerCallbacks(Context appContext) {
+        if (callbacksRegistered) {
+            return;
+        }
+        callbacksRegistered = true;
+        appContext.registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                if (level >= TRIM_MEMORY_COMPLETE) {
+                    SQLiteDatabase.releaseMemory();
+                }
+            }
+
+            @Override
+            public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+
+            @Override
+            public void onLowMemory() {
+                SQLiteDatabase.releaseMemory();
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.holywordapp;
+
+/**
+ * SQL of the Bible read paths and the side tables they rely on.
+ *
+ * Kept free of Android types: the :benchmark module compiles this file too and runs exactly
+ * these statements through sqlite-jdbc, so a query changed here is measured as changed.
+ */
+public final class BibleSql {
+    public static final String TABLE_VERSE_IDS = "verse_ids";
+
+    public static final String CREATE_VERSE_IDS = "CREATE TABLE IF NOT EXISTS " + TABLE_VERSE_IDS +
+            " (id INTEGER PRIMARY KEY, text_rowid INTEGER NOT NULL)";
+    public static final String CREATE_BOOK_ORDINALS =
+            "CREATE TEMP TABLE IF NOT EXISTS book_ordinals (name TEXT PRIMARY KEY, ordinal INTEGER NOT NULL)";
+    public static final String INSERT_BOOK_ORDINAL = "INSERT OR IGNORE INTO temp.book_ordinals VALUES (?, ?)";
+    public static final String DROP_BOOK_ORDINALS = "DROP TABLE IF EXISTS temp.book_ordinals";
+
+    /** Fills verse_ids of bsi_te.db; needs temp.book_ordinals */
+    public static final String FILL_TELUGU_VERSE_IDS = "INSERT OR IGNORE INTO " + TABLE_VERSE_IDS +
+            " SELECT o.ordinal * 1000000 + v.c * 1000 + v.v, v.rowid FROM verse v" +
+            " JOIN temp.book_ordinals o ON o.name = v.b";
+
+    /** Verse numbers and texts of a chapter of bsi_te.db, by book name and chapter */
+    public static final String TELUGU_CHAPTER = "SELECT v, t FROM verse WHERE b = ? AND c = ? ORDER BY v";
+
+    /** Targets of a verse's cross references, by source book name, chapter and verse */
+    public static final String CROSS_REFERENCES_FROM = "SELECT reference_book, reference_chapter, reference_verse" +
+            " FROM cross_references WHERE source_book = ? AND source_chapter = ? AND source_verse = ?" +
+            " ORDER BY reference_book, reference_chapter, reference_verse";
+
+    /** Verse IDs from the first argument to the second, e.g. a chapter */
+    public static final String WHERE_ID_RANGE = "i.id BETWEEN ? AND ?";
+
+    private BibleSql() {}
+
+    /**
+     * Verse IDs equal to any of count arguments
+     */
+    public static String whereIdIn(int count) {
+        StringBuilder placeholders = new StringBuilder("i.id IN (");
+        for (int i = 0; i < count; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+        return placeholders.append(')').toString();
+    }
+
+    /**
+     * Fills verse_ids of a KJV layout. A book_id column is taken as the canonical ordinal; a
+     * book name column is mapped through temp.book_ordinals, which must hold every name used.
+     */
+    public static String fillKjvVerseIds(String versesTable, String bookColumn) {
+        boolean byId = "book_id".equalsIgnoreCase(bookColumn);
+        return "INSERT OR IGNORE INTO " + TABLE_VERSE_IDS +
+                " SELECT " + (byId ? "v." + bookColumn : "o.ordinal") + " * 1000000 + v.chapter * 1000 + v.verse, v.rowid" +
+                " FROM " + versesTable + " v" +
+                (byId ? "" : " JOIN temp.book_ordinals o ON o.name = v." + bookColumn);
+    }
+
+    /**
+     * (id, text) of the verses matching a condition on verse_ids i, in verse order
+     */
+    public static String selectVerses(boolean isEnglishMode, String where, String limit) {
+        return isEnglishMode
+                ? selectVerses("KJV_verses", "text", where, limit)
+                : selectVerses("verse", "t", where, limit);
+    }
+
+    /**
+     * As above, for a text table and column of a layout other than the shipped one
+     */
+    public static String selectVerses(String textTable, String textColumn, String where, String limit) {
+        return "SELECT i.id, t." + textColumn + " FROM " + TABLE_VERSE_IDS + " i" +
+                " JOIN " + textTable + " t ON t.rowid = i.text_rowid" +
+                " WHERE " + where + " ORDER BY i.id" +
+                (limit != null ? " LIMIT " + limit : "");
+    }
+
+    /**
+     * (verse, text) of a KJV chapter, by book key and chapter
+     */
+    public static String kjvChapterText(String versesTable, String bookColumn) {
+        return "SELECT verse, text FROM " + versesTable + " WHERE " + bookColumn + " = ? AND chapter = ? ORDER BY verse";
+    }
+
+    /**
+     * Text of one KJV verse, by book key, chapter and verse
+     */
+    public static String kjvVerseText(String versesTable, String bookColumn) {
+        return "SELECT text FROM " + versesTable + " WHERE " + bookColumn + " = ? AND chapter = ? AND verse = ?";
+    }
+
+    /**
+     * Makes every KJV lookup above a single index probe
+     */
+    public static String createKjvLocationIndex(String versesTable, String bookColumn) {
+        return "CREATE INDEX IF NOT EXISTS idx_" + versesTable + "_location ON " +
+                versesTable + " (" + bookColumn + ", chapter, verse)";
+    }
+}
@@ -3,9 +3,15 @@ package com.holywordapp;
 public class BibleVerse {
     public int verseNum;
     public String verseText;
+    public int verseId; // Packed VerseId, 0 when unknown
 
     public BibleVerse(int verseNum, String verseText) {
         this.verseNum = verseNum;
         this.verseText = verseText;
     }
+
+    public BibleVerse(int verseId, int verseNum, String verseText) {
+        this(verseNum, verseText);
+        this.verseId = verseId;
+    }
 }
\ No newline at end of file
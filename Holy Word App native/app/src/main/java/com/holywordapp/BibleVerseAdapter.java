@@ -24,7 +24,11 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
     private Set<Integer> selectedPositions = new HashSet<>();
     private OnSelectionChangedListener selectionChangedListener;
     private boolean selectionMode = false;
-    private List<Integer> highlightColors;
+    private int[] highlightColors;
+    private int[] referenceCounts;
+    // Other translation's text per verse; shown as a second column in parallel mode
+    private String[] parallelTexts;
+    private boolean parallelMode = false;
     private int[] availableColors = new int[] {
         0xFFFFFF00, // Yellow
         0xFF00FF00, // Green
@@ -36,6 +40,7 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
     };
     private OnAddNoteClickListener addNoteClickListener;
     private OnHighlightColorChangedListener highlightColorChangedListener;
+    private OnReferenceCountClickListener referenceCountClickListener;
 
     public interface OnVerseLongClickListener {
         // Changed to return boolean instead of void
@@ -52,11 +57,15 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
     public interface OnHighlightColorChangedListener {
         void onHighlightColorChanged(BibleVerse verse, int position, int color);
     }
+    public interface OnReferenceCountClickListener {
+        void onReferenceCountClick(BibleVerse verse, int position);
+    }
 
     public BibleVerseAdapter(List<BibleVerse> verses) {
         this.verses = verses;
-        this.highlightColors = new java.util.ArrayList<>();
-        for (int i = 0; i < verses.size(); i++) highlightColors.add(0xFFFFFFFF); // Default: no highlight
+        this.highlightColors = new int[verses.size()];
+        java.util.Arrays.fill(highlightColors, 0xFFFFFFFF); // Default: no highlight
+        this.referenceCounts = new int[verses.size()];
     }
 
     public void setOnVerseLongClickListener(OnVerseLongClickListener listener) {
@@ -73,6 +82,9 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
     public void setOnHighlightColorChangedListener(OnHighlightColorChangedListener listener) {
         this.highlightColorChangedListener = listener;
     }
+    public void setOnReferenceCountClickListener(OnReferenceCountClickListener listener) {
+        this.referenceCountClickListener = listener;
+    }
 
     public void highlightPosition(int position) {
         int oldPosition = highlightedPosition;
@@ -90,16 +102,42 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
     // Remove highlight color dialog and listeners from the adapter
     // Add a method to set highlight color for a verse by position
     public void setHighlightColor(int position, int color) {
-        if (position >= 0 && position < highlightColors.size()) {
-            highlightColors.set(position, color);
+        if (position >= 0 && position < highlightColors.length) {
+            highlightColors[position] = color;
             notifyItemChanged(position);
         }
     }
-    public void setHighlightColors(List<Integer> colors) {
-        if (colors.size() == highlightColors.size()) {
-            for (int i = 0; i < colors.size(); i++) {
-                highlightColors.set(i, colors.get(i));
-            }
+    public void setHighlightColors(int[] colors) {
+        if (colors.length == highlightColors.length) {
+            System.arraycopy(colors, 0, highlightColors, 0, colors.length);
+            notifyDataSetChanged();
+        }
+    }
+
+    // Cross reference count of every verse, shown as a badge when non-zero
+    public void setReferenceCounts(int[] counts) {
+        if (counts != null && counts.length == referenceCounts.length) {
+            System.arraycopy(counts, 0, referenceCounts, 0, counts.length);
+            notifyDataSetChanged();
+        }
+    }
+
+    // Texts of the other translation, aligned with the verses
+    public void setParallelTexts(String[] texts) {
+        this.parallelTexts = texts != null && texts.length == verses.size() ? texts : null;
+        if (parallelMode) {
+            notifyDataSetChanged();
+        }
+    }
+
+    public boolean hasParallelTexts() {
+        return parallelTexts != null;
+    }
+
+    // Switch between one column and two; only rows rebind, the texts are set separately
+    public void setParallelMode(boolean parallelMode) {
+        if (this.parallelMode != parallelMode) {
+            this.parallelMode = parallelMode;
             notifyDataSetChanged();
         }
     }
@@ -117,6 +155,13 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
         BibleVerse verse = verses.get(position);
         holder.verseNumberTextView.setText(String.valueOf(verse.verseNum));
         holder.verseTextTextView.setText(verse.verseText);
+        String parallelText = parallelMode && parallelTexts != null ? parallelTexts[position] : null;
+        if (parallelMode) {
+            holder.parallelTextTextView.setText(parallelText != null ? parallelText : "");
+            holder.parallelTextTextView.setVisibility(View.VISIBLE);
+        } else {
+            holder.parallelTextTextView.setVisibility(View.GONE);
+        }
 
         // Highlight if selected
         if (selectedPositions.contains(position)) {
@@ -124,7 +169,7 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
         } else if (position == highlightedPosition) {
             holder.itemView.setBackgroundColor(Color.LTGRAY);
         } else {
-            holder.itemView.setBackgroundColor(highlightColors.get(position));
+            holder.itemView.setBackgroundColor(highlightColors[position]);
         }
 
         holder.itemView.setOnClickListener(v -> {
@@ -137,6 +182,20 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
         });
 
         holder.itemView.setOnLongClickListener(null); // Disable long click
+
+        int referenceCount = referenceCounts[position];
+        if (referenceCount > 0) {
+            holder.referenceCountTextView.setText(String.valueOf(referenceCount));
+            holder.referenceCountTextView.setVisibility(View.VISIBLE);
+            holder.referenceCountTextView.setOnClickListener(v -> {
+                if (referenceCountClickListener != null) {
+                    referenceCountClickListener.onReferenceCountClick(verse, position);
+                }
+            });
+        } else {
+            holder.referenceCountTextView.setVisibility(View.GONE);
+            holder.referenceCountTextView.setOnClickListener(null);
+        }
     }
 
     private void toggleSelection(int position) {
@@ -210,11 +269,15 @@ public class BibleVerseAdapter extends RecyclerView.Adapter<BibleVerseAdapter.Ve
     static class VerseViewHolder extends RecyclerView.ViewHolder {
         TextView verseNumberTextView;
         TextView verseTextTextView;
+        TextView referenceCountTextView;
+        TextView parallelTextTextView;
 
         VerseViewHolder(@NonNull View itemView) {
             super(itemView);
             verseNumberTextView = itemView.findViewById(R.id.textViewVerseNumber);
             verseTextTextView = itemView.findViewById(R.id.textViewVerseText);
+            referenceCountTextView = itemView.findViewById(R.id.textViewReferenceCount);
+            parallelTextTextView = itemView.findViewById(R.id.textViewParallelText);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,382 @@
+package com.holywordapp;
+
+/**
+ * Canonical list of the 66 books and every name they go by.
+ *
+ * Each book has a Telugu display name, an English name, the name KJV.db stores it under and a
+ * set of aliases: the spellings used by the other Telugu sources, short forms such as "Gen" or
+ * "1Cor" from the cross reference assets and the usual English abbreviations. All of them are
+ * folded (case, spaces, dots and joiners ignored) into one open-addressed table built once, so a
+ * lookup hashes the name in place without copying it, and parsing a reference allocates nothing
+ * beyond a one-slot cursor.
+ */
+public final class BookRegistry {
+
+    public static final int BOOK_COUNT = VerseId.BOOK_COUNT;
+
+    /** Returned by {@link #parse} for text that is not a reference */
+    public static final long NO_REFERENCE = -1L;
+
+    // Per ordinal: Telugu display name, English name, KJV.db name, then aliases
+    private static final String[][] BOOKS = {
+            {"ఆదికాండము", "Genesis", "Genesis", "Gen", "Ge", "Gn"},
+            {"నిర్గమకాండము", "Exodus", "Exodus", "Exod", "Exo", "Ex"},
+            {"లేవీయకాండము", "Leviticus", "Leviticus", "Lev", "Le", "Lv"},
+            {"సంఖ్యాకాండము", "Numbers", "Numbers", "Num", "Nu", "Nm", "అరణ్యకాండము"},
+            {"ద్వితీయోపదేశకాండమ", "Deuteronomy", "Deuteronomy", "Deut", "Deu", "Dt", "ద్వితీయోపదేశకాండము"},
+            {"యెహొషువ", "Joshua", "Joshua", "Josh", "Jos", "యెహోషువ"},
+            {"న్యాయాధిపతులు", "Judges", "Judges", "Judg", "Jdg", "Jg"},
+            {"రూతు", "Ruth", "Ruth", "Rut", "Ru"},
+            {"సమూయేలు మొదటి గ్రంథము", "1 Samuel", "I Samuel", "1Sam", "1Sa", "1 సమూయేలు"},
+            {"సమూయేలు రెండవ గ్రంథము", "2 Samuel", "II Samuel", "2Sam", "2Sa", "2 సమూయేలు"},
+            {"రాజులు మొదటి గ్రంథము", "1 Kings", "I Kings", "1Kgs", "1Ki", "1 రాజులు"},
+            {"రాజులు రెండవ గ్రంథము", "2 Kings", "II Kings", "2Kgs", "2Ki", "2 రాజులు"},
+            {"దినవృత్తాంతములు మొదటి గ్రంథము", "1 Chronicles", "I Chronicles", "1Chr", "1Ch", "1 దినవృత్తాంతములు"},
+            {"దినవృత్తాంతములు రెండవ గ్రంథము", "2 Chronicles", "II Chronicles", "2Chr", "2Ch", "2 దినవృత్తాంతములు"},
+            {"ఎజ్రా", "Ezra", "Ezra", "Ezr"},
+            {"నెహెమ్యా", "Nehemiah", "Nehemiah", "Neh", "Ne", "నెహెమీయా"},
+            {"ఎస్తేరు", "Esther", "Esther", "Esth", "Est"},
+            {"యోబు గ్రంథము", "Job", "Job", "Jb", "యోబు"},
+            {"కీర్తనల గ్రంథము", "Psalms", "Psalms", "Psalm", "Ps", "Psa", "Pss", "కీర్తనలు"},
+            {"సామెతలు", "Proverbs", "Proverbs", "Prov", "Pro", "Pr", "Prv"},
+            {"ప్రసంగి", "Ecclesiastes", "Ecclesiastes", "Eccl", "Ecc", "Ec", "Qoh"},
+            {"పరమగీతము", "Song of Solomon", "Song of Solomon", "Song of Songs", "Song", "SOS", "Sg"},
+            {"యెషయా గ్రంథము", "Isaiah", "Isaiah", "Isa", "Is", "యెషయా"},
+            {"యిర్మీయా", "Jeremiah", "Jeremiah", "Jer", "Je", "Jr"},
+            {"విలాపవాక్యములు", "Lamentations", "Lamentations", "Lam", "La"},
+            {"యెహెజ్కేలు", "Ezekiel", "Ezekiel", "Ezek", "Eze", "Ezk", "యెహేజ్కేలు"},
+            {"దానియేలు", "Daniel", "Daniel", "Dan", "Da", "Dn"},
+            {"హొషేయ", "Hosea", "Hosea", "Hos", "Ho", "హోషేయ"},
+            {"యోవేలు", "Joel", "Joel", "Jl"},
+            {"ఆమోసు", "Amos", "Amos", "Am"},
+            {"ఓబద్యా", "Obadiah", "Obadiah", "Obad", "Ob", "ఒబద్యా"},
+            {"యోనా", "Jonah", "Jonah", "Jon", "Jnh"},
+            {"మీకా", "Micah", "Micah", "Mic", "Mc"},
+            {"నహూము", "Nahum", "Nahum", "Nah", "Na"},
+            {"హబక్కూకు", "Habakkuk", "Habakkuk", "Hab", "Hb", "హబకూకు"},
+            {"జెఫన్యా", "Zephaniah", "Zephaniah", "Zeph", "Zep", "Zp"},
+            {"హగ్గయి", "Haggai", "Haggai", "Hag", "Hg"},
+            {"జెకర్యా", "Zechariah", "Zechariah", "Zech", "Zec", "Zc"},
+            {"మలాకీ", "Malachi", "Malachi", "Mal", "Ml"},
+            {"మత్తయి సువార్త", "Matthew", "Matthew", "Matt", "Mat", "Mt", "మత్తయి"},
+            {"మార్కు సువార్త", "Mark", "Mark", "Mrk", "Mk", "Mr", "మార్కు"},
+            {"లూకా సువార్త", "Luke", "Luke", "Luk", "Lk", "లూకా"},
+            {"యోహాను సువార్త", "John", "John", "Jn", "Jhn", "Joh", "యోహాను"},
+            {"అపొస్తలుల కార్యములు", "Acts", "Acts", "Act", "Ac"},
+            {"రోమీయులకు", "Romans", "Romans", "Rom", "Ro", "Rm", "రోమా"},
+            {"1 కొరింథీయులకు", "1 Corinthians", "I Corinthians", "1Cor", "1Co"},
+            {"2 కొరింథీయులకు", "2 Corinthians", "II Corinthians", "2Cor", "2Co"},
+            {"గలతీయులకు", "Galatians", "Galatians", "Gal", "Ga"},
+            {"ఎఫెసీయులకు", "Ephesians", "Ephesians", "Eph", "Ephes"},
+            {"ఫిలిప్పీయులకు", "Philippians", "Philippians", "Phil", "Php", "Pp"},
+            {"కొలొస్సయులకు", "Colossians", "Colossians", "Col", "కొలస్సయులకు"},
+            {"1 థెస్సలొనీకయులకు", "1 Thessalonians", "I Thessalonians", "1Thess", "1Th"},
+            {"2 థెస్సలొనీకయులకు", "2 Thessalonians", "II Thessalonians", "2Thess", "2Th"},
+            {"1 తిమోతికి", "1 Timothy", "I Timothy", "1Tim", "1Ti", "1 తిమోతి"},
+            {"2 తిమోతికి", "2 Timothy", "II Timothy", "2Tim", "2Ti", "2 తిమోతి"},
+            {"తీతుకు", "Titus", "Titus", "Tit", "తీతు"},
+            {"ఫిలేమోనుకు", "Philemon", "Philemon", "Phlm", "Philem", "Phm", "ఫిలేమోను"},
+            {"హెబ్రీయులకు", "Hebrews", "Hebrews", "Heb"},
+            {"యాకోబు", "James", "James", "Jas", "Jm"},
+            {"1 పేతురు", "1 Peter", "I Peter", "1Pet", "1Pe", "1Pt"},
+            {"2 పేతురు", "2 Peter", "II Peter", "2Pet", "2Pe", "2Pt"},
+            {"1 యోహాను", "1 John", "I John", "1Jn", "1Jhn", "1Jo"},
+            {"2 యోహాను", "2 John", "II John", "2Jn", "2Jhn", "2Jo"},
+            {"3 యోహాను", "3 John", "III John", "3Jn", "3Jhn", "3Jo"},
+            {"యూదా", "Jude", "Jude", "Jud", "Jd"},
+            {"ప్రకటన గ్రంథము", "Revelation", "Revelation of John", "Rev", "Re", "Rv", "Revelations", "ప్రకటన"}
+    };
+
+    private static final int TELUGU = 0;
+    private static final int ENGLISH = 1;
+    private static final int KJV = 2;
+
+    // Open-addressed table of folded aliases to ordinals; a null key marks an empty slot
+    private static final String[] keys;
+    private static final byte[] ordinals;
+    private static final int mask;
+
+    static {
+        int aliases = 0;
+        for (String[] names : BOOKS) aliases += names.length;
+        int capacity = Integer.highestOneBit(aliases * 4 - 1);
+        keys = new String[capacity];
+        ordinals = new byte[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < BOOKS.length; i++) {
+            for (String name : BOOKS[i]) {
+                put(fold(name), i + 1);
+            }
+        }
+    }
+
+    private BookRegistry() {}
+
+    /**
+     * Canonical ordinal (1 = Genesis ... 66 = Revelation) for any known name or alias, or -1
+     */
+    public static int ordinal(CharSequence name) {
+        return name == null ? -1 : ordinal(name, 0, name.length());
+    }
+
+    /**
+     * Ordinal for the name in text[start, end), without copying it
+     */
+    public static int ordinal(CharSequence text, int start, int end) {
+        int hash = 0;
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!isIgnorable(c)) {
+                hash = 31 * hash + Character.toLowerCase(c);
+                length++;
+            }
+        }
+        if (length == 0) {
+            return -1;
+        }
+        for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (matches(keys[slot], text, start, end)) {
+                return ordinals[slot];
+            }
+        }
+        return -1;
+    }
+
+    public static String teluguName(int ordinal) {
+        return name(ordinal, TELUGU);
+    }
+
+    public static String englishName(int ordinal) {
+        return name(ordinal, ENGLISH);
+    }
+
+    /**
+     * Book name as stored in KJV.db, e.g. "I Samuel" or "Revelation of John"
+     */
+    public static String kjvName(int ordinal) {
+        return name(ordinal, KJV);
+    }
+
+    /**
+     * Display name in the requested language
+     */
+    public static String displayName(int ordinal, boolean isEnglishMode) {
+        return name(ordinal, isEnglishMode ? ENGLISH : TELUGU);
+    }
+
+    /**
+     * Display name in the requested language for any known name, or the name itself if unknown
+     */
+    public static String toDisplayName(String name, boolean isEnglishMode) {
+        int ordinal = ordinal(name);
+        return ordinal > 0 ? displayName(ordinal, isEnglishMode) : name;
+    }
+
+    /**
+     * KJV.db name for any known name, or the name itself if unknown
+     */
+    public static String toKjvName(String name) {
+        int ordinal = ordinal(name);
+        return ordinal > 0 ? kjvName(ordinal) : name;
+    }
+
+    /**
+     * Display names of every book in canonical order; a fresh array the caller may keep
+     */
+    public static String[] displayNames(boolean isEnglishMode) {
+        String[] names = new String[BOOK_COUNT];
+        for (int i = 0; i < BOOK_COUNT; i++) names[i] = BOOKS[i][isEnglishMode ? ENGLISH : TELUGU];
+        return names;
+    }
+
+    /**
+     * Parse a reference such as "John 3:16", "1Cor 13:4-7", "Ps 23", "Gen 1:1-2:3", "Isa 61:1,3" or
+     * "యోహాను 3:16" into a range of packed verse IDs, or {@link #NO_REFERENCE}.
+     * A chapter without a verse covers the whole chapter; a bare book name is not a reference.
+     */
+    public static long parse(CharSequence text) {
+        if (text == null) {
+            return NO_REFERENCE;
+        }
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) end--;
+
+        // The numbers are the trailing run of digits and separators; the book is everything before it
+        int bookEnd = end;
+        while (bookEnd > 0 && isNumberChar(text.charAt(bookEnd - 1))) bookEnd--;
+        // "1 John" ends in a letter, so the run cannot swallow a leading book number
+        while (bookEnd < end && !isDigit(text.charAt(bookEnd))) bookEnd++;
+        if (bookEnd == end) {
+            return NO_REFERENCE;
+        }
+        int book = ordinal(text, 0, bookEnd);
+        if (book < 0) {
+            return NO_REFERENCE;
+        }
+
+        // chapter[:verse][-(verse | chapter[:verse])]
+        int[] position = {bookEnd};
+        int chapter = readNumber(text, position, end);
+        int verse = 0;
+        if (skipSeparator(text, position, end, true)) {
+            verse = readNumber(text, position, end);
+        }
+        int endChapter = chapter;
+        int endVerse = verse;
+        if (skipSeparator(text, position, end, false)) {
+            int value = readNumber(text, position, end);
+            if (skipSeparator(text, position, end, true)) {
+                endChapter = value;
+                endVerse = readNumber(text, position, end);
+            } else if (verse > 0) {
+                endVerse = value;
+            } else {
+                endChapter = value;
+            }
+        }
+        // A verse list such as "61:1,3" is reported as the span from its first to its last verse
+        while (verse > 0 && endChapter == chapter && skipComma(text, position, end)) {
+            endVerse = Math.max(endVerse, readNumber(text, position, end));
+        }
+        skipSpaces(text, position, end);
+        if (position[0] != end || chapter < 1 || endChapter < chapter || verse < 0 || endVerse < 0) {
+            return NO_REFERENCE;
+        }
+
+        int startId = VerseId.of(book, chapter, verse > 0 ? verse : 1);
+        int endId = endVerse > 0 ? VerseId.of(book, endChapter, endVerse) : VerseId.chapterEnd(book, endChapter);
+        if (!VerseId.isValid(startId) || endId < startId || VerseId.book(endId) != book) {
+            return NO_REFERENCE;
+        }
+        return ((long) startId << 32) | endId;
+    }
+
+    /**
+     * First packed verse ID of a parsed range
+     */
+    public static int rangeStart(long range) {
+        return (int) (range >>> 32);
+    }
+
+    /**
+     * Last packed verse ID of a parsed range; {@link VerseId#chapterEnd} when it ends on a whole chapter
+     */
+    public static int rangeEnd(long range) {
+        return (int) range;
+    }
+
+    private static String name(int ordinal, int column) {
+        if (ordinal < 1 || ordinal > BOOK_COUNT) {
+            return "";
+        }
+        return BOOKS[ordinal - 1][column];
+    }
+
+    private static void put(String key, int ordinal) {
+        int slot = spread(key.hashCode()) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                if (ordinals[slot] != ordinal) {
+                    throw new IllegalStateException("Alias " + key + " names books " + ordinals[slot] + " and " + ordinal);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        ordinals[slot] = (byte) ordinal;
+    }
+
+    /**
+     * Folded form used as the table key; lookups fold on the fly in the same way
+     */
+    private static String fold(String name) {
+        StringBuilder folded = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!isIgnorable(c)) folded.append(Character.toLowerCase(c));
+        }
+        return folded.toString();
+    }
+
+    private static boolean matches(String key, CharSequence text, int start, int end) {
+        int k = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isIgnorable(c)) {
+                continue;
+            }
+            if (k == key.length() || key.charAt(k++) != Character.toLowerCase(c)) {
+                return false;
+            }
+        }
+        return k == key.length();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // Spaces, dots, underscores and zero-width (non-)joiners do not distinguish book names
+    private static boolean isIgnorable(char c) {
+        return Character.isWhitespace(c) || c == '.' || c == '_' || c == '\u200C' || c == '\u200D';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNumberChar(char c) {
+        return isDigit(c) || c == ':' || c == '.' || c == ',' || isDash(c) || Character.isWhitespace(c);
+    }
+
+    private static boolean isDash(char c) {
+        return c == '-' || c == '\u2013' || c == '\u2014';
+    }
+
+    private static void skipSpaces(CharSequence text, int[] position, int end) {
+        while (position[0] < end && Character.isWhitespace(text.charAt(position[0]))) position[0]++;
+    }
+
+    /**
+     * Skip a chapter-verse separator (':' or '.') or a range dash, if next
+     */
+    private static boolean skipSeparator(CharSequence text, int[] position, int end, boolean verseSeparator) {
+        skipSpaces(text, position, end);
+        if (position[0] == end) {
+            return false;
+        }
+        char c = text.charAt(position[0]);
+        if (verseSeparator ? (c == ':' || c == '.') : isDash(c)) {
+            position[0]++;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean skipComma(CharSequence text, int[] position, int end) {
+        skipSpaces(text, position, end);
+        if (position[0] < end && text.charAt(position[0]) == ',') {
+            position[0]++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Read a decimal number at the position, -1 if there is none or it does not fit a verse ID
+     */
+    private static int readNumber(CharSequence text, int[] position, int end) {
+        skipSpaces(text, position, end);
+        int value = 0;
+        int digits = 0;
+        while (position[0] < end && isDigit(text.charAt(position[0]))) {
+            value = value * 10 + (text.charAt(position[0]++) - '0');
+            if (++digits > 3) {
+                return -1;
+            }
+        }
+        return digits == 0 ? -1 : value;
+    }
+}
@@ -0,0 +1,142 @@
+package com.holywordapp;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.holywordapp.perf.PerfMetrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded in-memory cache of whole chapters keyed by (translation, book, chapter).
+ *
+ * The reader asks for a chapter on every spinner change, navigation and language toggle; with
+ * the neighbouring chapters prefetched in the background, turning a page back or forward is
+ * served from memory. Cached lists are shared, so they are handed out unmodifiable.
+ */
+public class ChapterCache {
+    private static final String TAG = "ChapterCache";
+
+    // A chapter is at most a few hundred short strings, so this stays well under a megabyte
+    private static final int MAX_CHAPTERS = 24;
+
+    private static volatile ChapterCache instance;
+
+    private final Context context;
+    private final VerseRepository verseRepository;
+    private final LruCache<Long, List<BibleVerse>> chapters = new LruCache<>(MAX_CHAPTERS);
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong prefetchCount = new AtomicLong();
+
+    private ChapterCache(Context context) {
+        this.context = context;
+        this.verseRepository = VerseRepository.getInstance(context);
+    }
+
+    public static ChapterCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ChapterCache.class) {
+                if (instance == null) {
+                    instance = new ChapterCache(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * All verses of a chapter, from memory when possible
+     */
+    public List<BibleVerse> getChapter(int book, int chapter, boolean isEnglishMode) {
+        List<BibleVerse> verses = chapters.get(key(book, chapter, isEnglishMode));
+        if (verses != null) {
+            hitCount.incrementAndGet();
+            PerfMetrics.increment("ChapterCache.hits");
+            return verses;
+        }
+        missCount.incrementAndGet();
+        PerfMetrics.increment("ChapterCache.misses");
+        return load(book, chapter, isEnglishMode);
+    }
+
+    /**
+     * Load the chapters either side of the one being read on a background thread. Only
+     * chapters the versification has are queried, so a book's ends cost no empty lookups.
+     */
+    public void prefetchAround(int book, int chapter, boolean isEnglishMode) {
+        prefetchExecutor.execute(() -> {
+            Versification versification = Versification.get(context, isEnglishMode);
+            // Before the first chapter of a book is the last chapter of the one before it
+            if (chapter > 1) {
+                prefetch(book, chapter - 1, isEnglishMode);
+            } else if (versification.chapterCount(book - 1) > 0) {
+                prefetch(book - 1, versification.chapterCount(book - 1), isEnglishMode);
+            }
+            // Past the last chapter of a book the next page is the start of the following book
+            if (chapter < versification.chapterCount(book)) {
+                prefetch(book, chapter + 1, isEnglishMode);
+            } else if (versification.chapterCount(book + 1) > 0) {
+                prefetch(book + 1, 1, isEnglishMode);
+            }
+        });
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getPrefetchCount() {
+        return prefetchCount.get();
+    }
+
+    public void clear() {
+        chapters.evictAll();
+    }
+
+    @Override
+    public String toString() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return "hits=" + hits + " misses=" + missCount.get() + " prefetched=" + prefetchCount.get() +
+                " hitRate=" + (total == 0 ? 0 : hits * 100 / total) + "% size=" + chapters.size() + "/" + MAX_CHAPTERS;
+    }
+
+    /**
+     * Load a chapter into memory unless it is cached already
+     */
+    private void prefetch(int book, int chapter, boolean isEnglishMode) {
+        if (chapters.get(key(book, chapter, isEnglishMode)) != null) {
+            return;
+        }
+        if (!load(book, chapter, isEnglishMode).isEmpty()) {
+            prefetchCount.incrementAndGet();
+        }
+    }
+
+    private List<BibleVerse> load(int book, int chapter, boolean isEnglishMode) {
+        List<BibleVerse> verses = Collections.unmodifiableList(verseRepository.getChapter(book, chapter, isEnglishMode));
+        // Empty results are not cached so a chapter that failed to load is retried next time
+        if (!verses.isEmpty()) {
+            chapters.put(key(book, chapter, isEnglishMode), verses);
+        } else {
+            Log.w(TAG, "No verses for book " + book + " chapter " + chapter + (isEnglishMode ? " (KJV)" : ""));
+        }
+        return verses;
+    }
+
+    private static long key(int book, int chapter, boolean isEnglishMode) {
+        return (isEnglishMode ? 1L << 32 : 0L) | VerseId.chapterStart(book, chapter);
+    }
+}
@@ -58,7 +58,9 @@ public class CrossReference {
         private int chapter;
         private int verse;
         private String text;
-        private String type; // "parallel", "quotation", "allusion", "theme", "prophecy", "fulfillment"
+        private String type; // "parallel", "quotation", "allusion", "theme", "prophecy", "fulfillment", "referenced_by", "hop"
+        private int depth = 1; // hops from the verse being studied
+        private int pathCount = 1; // distinct shortest paths from that verse
 
         public Reference(String book, int chapter, int verse, String text, String type) {
             this.book = book;
@@ -84,6 +86,12 @@ public class CrossReference {
         public String getType() { return type; }
         public void setType(String type) { this.type = type; }
 
+        public int getDepth() { return depth; }
+        public void setDepth(int depth) { this.depth = depth; }
+
+        public int getPathCount() { return pathCount; }
+        public void setPathCount(int pathCount) { this.pathCount = pathCount; }
+
         public String getFormattedReference() {
             return book + " " + chapter + ":" + verse;
         }
@@ -96,6 +104,8 @@ public class CrossReference {
                 case "theme": return "Theme";
                 case "prophecy": return "Prophecy";
                 case "fulfillment": return "Fulfillment";
+                case "referenced_by": return "Referenced by";
+                case "hop": return "Hop " + depth + (pathCount > 1 ? " · " + pathCount + " paths" : "");
                 default: return "Reference";
             }
         }
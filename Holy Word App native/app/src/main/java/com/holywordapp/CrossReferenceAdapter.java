@@ -69,6 +69,11 @@ public class CrossReferenceAdapter extends RecyclerView.Adapter<CrossReferenceAd
             tvReferenceType.setText(reference.getTypeDisplayName());
             setTypeColor(reference.getType());
 
+            // Indent references of references under the verse they were reached through
+            ViewGroup.MarginLayoutParams params = (ViewGroup.MarginLayoutParams) itemView.getLayoutParams();
+            params.setMarginStart((int) ((reference.getDepth() - 1) * 16 * context.getResources().getDisplayMetrics().density));
+            itemView.setLayoutParams(params);
+
             // Set reference location
             tvReferenceLocation.setText(reference.getFormattedReference());
 
@@ -118,6 +123,10 @@ public class CrossReferenceAdapter extends RecyclerView.Adapter<CrossReferenceAd
                 case "fulfillment":
                     colorRes = android.R.color.holo_green_light;
                     break;
+                case "referenced_by":
+                case "hop":
+                    colorRes = R.color.bible_navy;
+                    break;
                 default:
                     colorRes = android.R.color.darker_gray;
                     break;
@@ -3,19 +3,16 @@ package com.holywordapp;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteOpenHelper;
 import android.util.Log;
+import android.util.SparseArray;
+
+import com.holywordapp.perf.PerfMetrics;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
-public class CrossReferenceDBHelper extends SQLiteOpenHelper {
+public class CrossReferenceDBHelper {
     private static final String TAG = "CrossReferenceDBHelper";
-    private static final String DATABASE_NAME = "cross_references.db"; // Use single database file
-    private static final int DATABASE_VERSION = 1;
     
     // Table name
     private static final String TABLE_CROSS_REFERENCES = "cross_references";
@@ -28,175 +25,307 @@ public class CrossReferenceDBHelper extends SQLiteOpenHelper {
     private static final String COLUMN_REFERENCE_CHAPTER = "reference_chapter";
     private static final String COLUMN_REFERENCE_VERSE = "reference_verse";
     
-    private Context context;
-    private String currentDatabaseName;
+    // Reference types shown by CrossReferenceAdapter
+    public static final String TYPE_REFERENCE = "Reference";
+    public static final String TYPE_REFERENCED_BY = "referenced_by";
+    public static final String TYPE_HOP = "hop";
+    
+    // Lets a chapter's counts come from one index range scan instead of a table scan
+    private static final String CREATE_INDEX_SOURCE_CHAPTER = "CREATE INDEX IF NOT EXISTS idx_cross_references_source" +
+            " ON " + TABLE_CROSS_REFERENCES + " (" + COLUMN_SOURCE_BOOK + ", " + COLUMN_SOURCE_CHAPTER + ", " + COLUMN_SOURCE_VERSE + ")";
+    private static volatile boolean sourceIndexReady = false;
+    
+    private final Context context;
+    private CrossReferenceExplorer explorer;
 
     public CrossReferenceDBHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
-        this.context = context;
-        this.currentDatabaseName = DATABASE_NAME;
-        
-        // Initialize the single cross reference database
-        copyDatabaseFromAssets(DATABASE_NAME);
-    }
-
-    @Override
-    public void onCreate(SQLiteDatabase db) {
-        // This is called only when the database is created for the first time
-        // Since we're copying from assets, we don't need to create tables here
-        Log.d(TAG, "onCreate called - database will be copied from assets");
+        this.context = context.getApplicationContext();
     }
 
-    @Override
-    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // Handle database upgrade if needed
-        Log.d(TAG, "onUpgrade called from version " + oldVersion + " to " + newVersion);
+    /**
+     * Shared process-wide connection to cross_references.db
+     */
+    private SQLiteDatabase getDatabase() {
+        return BibleDatabases.get(context, BibleDatabases.CROSS_REFERENCES);
     }
 
-
-
     /**
-     * Copy the database from assets folder to the app's database directory
+     * Get cross references for a specific verse
      */
-    private void copyDatabaseFromAssets() {
-        copyDatabaseFromAssets(DATABASE_NAME);
+    public List<CrossReference.Reference> getCrossReferences(String book, int chapter, int verse) {
+        return getCrossReferences(book, chapter, verse, false); // Default to Telugu
     }
 
     /**
-     * Copy a specific database from assets folder to the app's database directory
+     * Get cross references for a specific verse with language support.
+     * Reference rows come from one query and all target texts are resolved in one batched lookup.
      */
-    private void copyDatabaseFromAssets(String databaseName) {
+    public List<CrossReference.Reference> getCrossReferences(String book, int chapter, int verse, boolean isEnglishMode) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("CrossReferenceDBHelper.getCrossReferences")) {
+            return getCrossReferencesImpl(book, chapter, verse, isEnglishMode);
+        }
+    }
+
+    private List<CrossReference.Reference> getCrossReferencesImpl(String book, int chapter, int verse, boolean isEnglishMode) {
+        List<CrossReference.Reference> references = new ArrayList<>();
+        
+        // The table is keyed by Telugu name, so any alias resolves to that
+        String lookupBook = BookRegistry.toDisplayName(book, false);
+        
+        Log.d(TAG, "Searching for cross references: " + lookupBook + " " + chapter + ":" + verse);
+        
+        // The mapped graph answers without SQL; the table is only read while the graph is
+        // being built or if it is unavailable
+        CrossReferenceGraph graph = CrossReferenceGraph.getIfReady(context);
+        int ordinal = VerseId.bookOrdinal(lookupBook);
+        if (graph.isAvailable() && ordinal > 0) {
+            int[] targetIds = graph.getReferenceIds(VerseId.of(ordinal, chapter, verse));
+            addReferences(references, targetIds, isEnglishMode, TYPE_REFERENCE);
+            Log.d(TAG, "Found " + references.size() + " cross references for " + book + " " + chapter + ":" + verse);
+            return references;
+        }
+        
         try {
-            String dbPath = context.getDatabasePath(databaseName).getPath();
-            File dbFile = new File(dbPath);
+            SQLiteDatabase db = getDatabase();
             
-            // Only copy if the database doesn't exist
-            if (!dbFile.exists()) {
-                Log.d(TAG, "Database " + databaseName + " not found, copying from assets...");
-                
-                // Create the database directory if it doesn't exist
-                if (!dbFile.getParentFile().exists()) {
-                    dbFile.getParentFile().mkdirs();
-                }
-                
-                // Copy the database from assets
-                InputStream inputStream = context.getAssets().open(databaseName);
-                FileOutputStream outputStream = new FileOutputStream(dbPath);
-                
-                byte[] buffer = new byte[8192]; // 8KB buffer
-                int length;
-                while ((length = inputStream.read(buffer)) > 0) {
-                    outputStream.write(buffer, 0, length);
+            String[] selectionArgs = {lookupBook, String.valueOf(chapter), String.valueOf(verse)};
+            
+            Cursor cursor = db.rawQuery(BibleSql.CROSS_REFERENCES_FROM, selectionArgs);
+            
+            if (cursor == null) {
+                return references;
+            }
+            
+            // Collect every reference row first, remembering its packed ID for the text lookup
+            int[] targetIds = new int[cursor.getCount()];
+            try {
+                int bookIndex = cursor.getColumnIndexOrThrow(COLUMN_REFERENCE_BOOK);
+                int chapterIndex = cursor.getColumnIndexOrThrow(COLUMN_REFERENCE_CHAPTER);
+                int verseIndex = cursor.getColumnIndexOrThrow(COLUMN_REFERENCE_VERSE);
+                int i = 0;
+                while (cursor.moveToNext()) {
+                    String refBook = cursor.getString(bookIndex);
+                    int refChapter = cursor.getInt(chapterIndex);
+                    int refVerse = cursor.getInt(verseIndex);
+                    
+                    String refBookName = BookRegistry.toDisplayName(refBook, isEnglishMode);
+                    
+                    int refOrdinal = VerseId.bookOrdinal(refBook);
+                    targetIds[i++] = refOrdinal > 0 ? VerseId.of(refOrdinal, refChapter, refVerse) : 0;
+                    references.add(new CrossReference.Reference(refBookName, refChapter, refVerse, null, TYPE_REFERENCE));
                 }
-                
-                outputStream.close();
-                inputStream.close();
-                
-                Log.d(TAG, "Database " + databaseName + " successfully copied from assets");
-            } else {
-                Log.d(TAG, "Database " + databaseName + " already exists, skipping copy");
+            } finally {
+                cursor.close();
             }
             
+            fillTexts(references, targetIds, isEnglishMode);
+            
         } catch (Exception e) {
-            Log.e(TAG, "Error copying database " + databaseName + " from assets: " + e.getMessage());
+            Log.e(TAG, "Error getting cross references: " + e.getMessage());
         }
+        
+        Log.d(TAG, "Found " + references.size() + " cross references for " + book + " " + chapter + ":" + verse);
+        return references;
     }
 
     /**
-     * Get cross references for a specific verse
+     * Number of cross references from every verse of a chapter, indexed by verse - 1. Read from
+     * the graph's offsets when it is mapped, otherwise from one grouped query on the source index.
      */
-    public List<CrossReference.Reference> getCrossReferences(String book, int chapter, int verse) {
-        return getCrossReferences(book, chapter, verse, false); // Default to Telugu
+    public int[] getChapterReferenceCounts(String book, int chapter, int verseCount) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("CrossReferenceDBHelper.getChapterReferenceCounts")) {
+            return getChapterReferenceCountsImpl(book, chapter, verseCount);
+        }
     }
 
-    /**
-     * Get cross references for a specific verse with language support
-     */
-    public List<CrossReference.Reference> getCrossReferences(String book, int chapter, int verse, boolean isEnglishMode) {
-        List<CrossReference.Reference> references = new ArrayList<>();
-        
-        // Map English book name to Telugu if needed for cross reference lookup
-        String lookupBook = book;
-        if (isEnglishMode) {
-            lookupBook = mapEnglishToTeluguBookName(book);
+    private int[] getChapterReferenceCountsImpl(String book, int chapter, int verseCount) {
+        int[] counts = new int[Math.max(verseCount, 0)];
+        int ordinal = VerseId.bookOrdinal(book);
+        if (ordinal < 1 || counts.length == 0) {
+            return counts;
         }
         
-        Log.d(TAG, "Searching for cross references: " + lookupBook + " " + chapter + ":" + verse);
+        CrossReferenceGraph graph = CrossReferenceGraph.getIfReady(context);
+        if (graph.isAvailable()) {
+            for (int verse = 1; verse <= counts.length; verse++) {
+                int vertex = graph.vertexOf(VerseId.of(ordinal, chapter, verse));
+                counts[verse - 1] = vertex < 0 ? 0 : graph.forwardEnd(vertex) - graph.forwardStart(vertex);
+            }
+            return counts;
+        }
         
         try {
-            // Use the single cross reference database
-            SQLiteDatabase db = this.getReadableDatabase();
-                    
-                    String[] columns = {
-                        COLUMN_REFERENCE_BOOK,
-                        COLUMN_REFERENCE_CHAPTER,
-                        COLUMN_REFERENCE_VERSE
-                    };
-                    
-                    String selection = COLUMN_SOURCE_BOOK + " = ? AND " + 
-                                     COLUMN_SOURCE_CHAPTER + " = ? AND " + 
-                                     COLUMN_SOURCE_VERSE + " = ?";
-                    
-                    String[] selectionArgs = {lookupBook, String.valueOf(chapter), String.valueOf(verse)};
-                    
-                    Cursor cursor = db.query(
-                        TABLE_CROSS_REFERENCES,
-                        columns,
-                        selection,
-                        selectionArgs,
-                        null,
-                        null,
-                        COLUMN_REFERENCE_BOOK + ", " + COLUMN_REFERENCE_CHAPTER + ", " + COLUMN_REFERENCE_VERSE
-                    );
-                    
-                    if (cursor != null) {
-                        try {
-                                                    while (cursor.moveToNext()) {
-                            String refBook = cursor.getString(cursor.getColumnIndexOrThrow(COLUMN_REFERENCE_BOOK));
-                            int refChapter = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_REFERENCE_CHAPTER));
-                            int refVerse = cursor.getInt(cursor.getColumnIndexOrThrow(COLUMN_REFERENCE_VERSE));
-                            
-                            // Convert Telugu book name to English if needed
-                            String refBookName = refBook;
-                            if (isEnglishMode) {
-                                refBookName = mapTeluguToEnglishBookName(refBook);
-                                Log.d(TAG, "Mapped Telugu book '" + refBook + "' to English '" + refBookName + "'");
-                                
-                                // Check if mapping was successful
-                                if (refBookName.equals(refBook)) {
-                                    Log.w(TAG, "No mapping found for Telugu book: " + refBook);
-                                }
-                            }
-                            
-                            // Get the actual verse text from Bible database
-                            String verseText = getVerseText(refBookName, refChapter, refVerse, isEnglishMode);
-                            Log.d(TAG, "Retrieved verse text for " + refBookName + " " + refChapter + ":" + refVerse + " = " + (verseText != null ? verseText.substring(0, Math.min(50, verseText.length())) + "..." : "null"));
-                            
-                            // Create reference with verse text
-                            CrossReference.Reference reference = new CrossReference.Reference(refBookName, refChapter, refVerse, verseText, "Reference");
-                            references.add(reference);
-                        }
-                        } finally {
-                            cursor.close();
-                        }
+            SQLiteDatabase db = getDatabase();
+            ensureSourceIndex(db);
+            // Source rows are keyed by the Telugu book name
+            Cursor cursor = db.rawQuery("SELECT " + COLUMN_SOURCE_VERSE + ", COUNT(*) FROM " + TABLE_CROSS_REFERENCES +
+                            " WHERE " + COLUMN_SOURCE_BOOK + " = ? AND " + COLUMN_SOURCE_CHAPTER + " = ?" +
+                            " GROUP BY " + COLUMN_SOURCE_VERSE,
+                    new String[]{VerseId.bookName(ordinal, false), String.valueOf(chapter)});
+            try {
+                while (cursor.moveToNext()) {
+                    int verse = cursor.getInt(0);
+                    if (verse >= 1 && verse <= counts.length) {
+                        counts[verse - 1] = cursor.getInt(1);
                     }
-                    
-                    db.close();
-                    
-                } catch (Exception e) {
-                    Log.e(TAG, "Error getting cross references: " + e.getMessage());
                 }
-        
-        Log.d(TAG, "Found " + references.size() + " cross references for " + book + " " + chapter + ":" + verse);
+            } finally {
+                cursor.close();
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error counting cross references: " + e.getMessage());
+        }
+        return counts;
+    }
+
+    private static void ensureSourceIndex(SQLiteDatabase db) {
+        if (!sourceIndexReady) {
+            synchronized (CrossReferenceDBHelper.class) {
+                if (!sourceIndexReady) {
+                    long start = System.currentTimeMillis();
+                    db.execSQL(CREATE_INDEX_SOURCE_CHAPTER);
+                    sourceIndexReady = true;
+                    Log.d(TAG, "Source index ready in " + (System.currentTimeMillis() - start) + " ms");
+                }
+            }
+        }
+    }
+
+    /**
+     * Verses whose cross references point at the given verse ("referenced by"), in canonical
+     * order. Needs the cross reference graph; returns an empty list while it is unavailable.
+     */
+    public List<CrossReference.Reference> getReferencedBy(String book, int chapter, int verse, boolean isEnglishMode) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("CrossReferenceDBHelper.getReferencedBy")) {
+            return getReferencedByImpl(book, chapter, verse, isEnglishMode);
+        }
+    }
+
+    private List<CrossReference.Reference> getReferencedByImpl(String book, int chapter, int verse, boolean isEnglishMode) {
+        List<CrossReference.Reference> references = new ArrayList<>();
+        int ordinal = VerseId.bookOrdinal(book);
+        CrossReferenceGraph graph = CrossReferenceGraph.getIfReady(context);
+        if (ordinal < 1 || !graph.isAvailable()) {
+            return references;
+        }
+        try {
+            addReferences(references, graph.getReferencedByIds(VerseId.of(ordinal, chapter, verse)), isEnglishMode, TYPE_REFERENCED_BY);
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting referencing verses: " + e.getMessage());
+        }
+        Log.d(TAG, "Found " + references.size() + " verses referencing " + book + " " + chapter + ":" + verse);
+        return references;
+    }
+
+    /**
+     * References of references up to maxDepth hops, as a tree in display order: each verse is
+     * followed by the verses first reached through it, best connected first. Each reference
+     * carries its depth and path count. Needs the cross reference graph; while it is
+     * unavailable this is the verse's own references only, as from {@link #getCrossReferences}.
+     * Call from one background thread at a time.
+     */
+    public List<CrossReference.Reference> getReferenceTree(String book, int chapter, int verse, int maxDepth, boolean isEnglishMode) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("CrossReferenceDBHelper.getReferenceTree")) {
+            return getReferenceTreeImpl(book, chapter, verse, maxDepth, isEnglishMode);
+        }
+    }
+
+    private List<CrossReference.Reference> getReferenceTreeImpl(String book, int chapter, int verse, int maxDepth, boolean isEnglishMode) {
+        List<CrossReference.Reference> references = new ArrayList<>();
+        int ordinal = VerseId.bookOrdinal(book);
+        if (ordinal < 1) {
+            return references;
+        }
+        CrossReferenceGraph graph = CrossReferenceGraph.getIfReady(context);
+        if (!graph.isAvailable()) {
+            Log.d(TAG, "Cross reference graph not ready, returning depth 1 only");
+            return getCrossReferencesImpl(book, chapter, verse, isEnglishMode);
+        }
+        if (explorer == null) {
+            explorer = new CrossReferenceExplorer(graph);
+        }
+        int startId = VerseId.of(ordinal, chapter, verse);
+        CrossReferenceExplorer.Result result = explorer.explore(startId, maxDepth);
+        Log.d(TAG, "Explored " + result.size() + " verses within " + maxDepth + " hops of " + book + " " + chapter + ":" + verse +
+                " in " + result.elapsedMillis + " ms" + (result.truncated ? " (cut off)" : ""));
+
+        // Children in rank order under each parent, then a depth-first walk from the start verse
+        SparseArray<List<Integer>> children = new SparseArray<>();
+        for (int i = 0; i < result.size(); i++) {
+            List<Integer> siblings = children.get(result.parentIds[i]);
+            if (siblings == null) {
+                siblings = new ArrayList<>();
+                children.put(result.parentIds[i], siblings);
+            }
+            siblings.add(i);
+        }
+        int[] order = new int[result.size()];
+        int count = 0;
+        List<Integer> stack = new ArrayList<>();
+        appendReversed(stack, children.get(startId));
+        while (!stack.isEmpty()) {
+            int i = stack.remove(stack.size() - 1);
+            order[count++] = i;
+            appendReversed(stack, children.get(result.verseIds[i]));
+        }
+
+        int[] verseIds = new int[count];
+        for (int i = 0; i < count; i++) verseIds[i] = result.verseIds[order[i]];
+        try {
+            addReferences(references, verseIds, isEnglishMode, TYPE_HOP);
+        } catch (Exception e) {
+            Log.e(TAG, "Error resolving reference tree: " + e.getMessage());
+            return references;
+        }
+        for (int i = 0; i < count; i++) {
+            references.get(i).setDepth(result.distances[order[i]]);
+            references.get(i).setPathCount(result.pathCounts[order[i]]);
+        }
         return references;
     }
 
+    /**
+     * Whether {@link #getReferenceTree} can walk past depth 1 right now
+     */
+    public boolean isReferenceTreeAvailable() {
+        return CrossReferenceGraph.getIfReady(context).isAvailable();
+    }
+
+    private static void appendReversed(List<Integer> stack, List<Integer> items) {
+        if (items != null) {
+            for (int i = items.size() - 1; i >= 0; i--) stack.add(items.get(i));
+        }
+    }
+
+    /**
+     * Append one reference per packed verse ID, named in the display language, with texts resolved in one batch
+     */
+    private void addReferences(List<CrossReference.Reference> references, int[] verseIds, boolean isEnglishMode, String type) {
+        int from = references.size();
+        for (int id : verseIds) {
+            references.add(new CrossReference.Reference(VerseId.bookName(VerseId.book(id), isEnglishMode),
+                    VerseId.chapter(id), VerseId.verse(id), null, type));
+        }
+        fillTexts(references.subList(from, references.size()), verseIds, isEnglishMode);
+    }
+
+    /**
+     * Resolve all target texts in one pass and fill them in source order
+     */
+    private void fillTexts(List<CrossReference.Reference> references, int[] verseIds, boolean isEnglishMode) {
+        SparseArray<String> texts = VerseRepository.getInstance(context).getVerseTexts(verseIds, isEnglishMode);
+        for (int i = 0; i < references.size(); i++) {
+            CrossReference.Reference reference = references.get(i);
+            reference.setText(displayText(texts.get(verseIds[i]), reference.getBook(), reference.getChapter(), reference.getVerse()));
+        }
+    }
+
     /**
      * Check if database has data
      */
     public boolean hasData() {
         try {
-            SQLiteDatabase db = this.getReadableDatabase();
+            SQLiteDatabase db = getDatabase();
             Cursor cursor = db.rawQuery("SELECT COUNT(*) FROM " + TABLE_CROSS_REFERENCES, null);
             
             if (cursor != null) {
@@ -219,8 +348,14 @@ public class CrossReferenceDBHelper extends SQLiteOpenHelper {
      * Get total number of cross references
      */
     public int getTotalReferences() {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("CrossReferenceDBHelper.getTotalReferences")) {
+            return getTotalReferencesImpl();
+        }
+    }
+
+    private int getTotalReferencesImpl() {
         try {
-            SQLiteDatabase db = this.getReadableDatabase();
+            SQLiteDatabase db = getDatabase();
             Cursor cursor = db.rawQuery("SELECT COUNT(*) FROM " + TABLE_CROSS_REFERENCES, null);
             
             if (cursor != null) {
@@ -247,232 +382,37 @@ public class CrossReferenceDBHelper extends SQLiteOpenHelper {
     }
 
     /**
-     * Get verse text from the Bible database
-     */
-    private String getVerseText(String book, int chapter, int verse) {
-        return getVerseText(book, chapter, verse, false); // Default to Telugu
-    }
-
-    /**
-     * Map English book names to Telugu book names for cross reference validation
-     */
-    private String mapEnglishToTeluguBookName(String englishBookName) {
-        // Map English book names to Telugu book names (using the same names as BibleActivity)
-        switch (englishBookName) {
-            case "Genesis": return "ఆదికాండము";
-            case "Exodus": return "నిర్గమకాండము";
-            case "Leviticus": return "లేవీయకాండము";
-            case "Numbers": return "సంఖ్యాకాండము";
-            case "Deuteronomy": return "ద్వితీయోపదేశకాండమ";
-            case "Joshua": return "యెహొషువ";
-            case "Judges": return "న్యాయాధిపతులు";
-            case "Ruth": return "రూతు";
-            case "1 Samuel": return "సమూయేలు మొదటి గ్రంథము";
-            case "2 Samuel": return "సమూయేలు రెండవ గ్రంథము";
-            case "1 Kings": return "రాజులు మొదటి గ్రంథము";
-            case "2 Kings": return "రాజులు రెండవ గ్రంథము";
-            case "1 Chronicles": return "దినవృత్తాంతములు మొదటి గ్రంథము";
-            case "2 Chronicles": return "దినవృత్తాంతములు రెండవ గ్రంథము";
-            case "Ezra": return "ఎజ్రా";
-            case "Nehemiah": return "నెహెమ్యా";
-            case "Esther": return "ఎస్తేరు";
-            case "Job": return "యోబు గ్రంథము";
-            case "Psalms": return "కీర్తనల గ్రంథము";
-            case "Proverbs": return "సామెతలు";
-            case "Ecclesiastes": return "ప్రసంగి";
-            case "Song of Solomon": return "పరమగీతము";
-            case "Isaiah": return "యెషయా గ్రంథము";
-            case "Jeremiah": return "యిర్మీయా";
-            case "Lamentations": return "విలాపవాక్యములు";
-            case "Ezekiel": return "యెహెజ్కేలు";
-            case "Daniel": return "దానియేలు";
-            case "Hosea": return "హొషేయ";
-            case "Joel": return "యోవేలు";
-            case "Amos": return "ఆమోసు";
-            case "Obadiah": return "ఓబద్యా";
-            case "Jonah": return "యోనా";
-            case "Micah": return "మీకా";
-            case "Nahum": return "నహూము";
-            case "Habakkuk": return "హబక్కూకు";
-            case "Zephaniah": return "జెఫన్యా";
-            case "Haggai": return "హగ్గయి";
-            case "Zechariah": return "జెకర్యా";
-            case "Malachi": return "మలాకీ";
-            case "Matthew": return "మత్తయి సువార్త";
-            case "Mark": return "మార్కు సువార్త";
-            case "Luke": return "లూకా సువార్త";
-            case "John": return "యోహాను సువార్త";
-            case "Acts": return "అపొస్తలుల కార్యములు";
-            case "Romans": return "రోమీయులకు";
-            case "1 Corinthians": return "1 కొరింథీయులకు";
-            case "2 Corinthians": return "2 కొరింథీయులకు";
-            case "Galatians": return "గలతీయులకు";
-            case "Ephesians": return "ఎఫెసీయులకు";
-            case "Philippians": return "ఫిలిప్పీయులకు";
-            case "Colossians": return "కొలొస్సయులకు";
-            case "1 Thessalonians": return "1 థెస్సలొనీకయులకు";
-            case "2 Thessalonians": return "2 థెస్సలొనీకయులకు";
-            case "1 Timothy": return "1 తిమోతికి";
-            case "2 Timothy": return "2 తిమోతికి";
-            case "Titus": return "తీతుకు";
-            case "Philemon": return "ఫిలేమోనుకు";
-            case "Hebrews": return "హెబ్రీయులకు";
-            case "James": return "యాకోబు";
-            case "1 Peter": return "1 పేతురు";
-            case "2 Peter": return "2 పేతురు";
-            case "1 John": return "1 యోహాను";
-            case "2 John": return "2 యోహాను";
-            case "3 John": return "3 యోహాను";
-            case "Jude": return "యూదా";
-            case "Revelation": return "ప్రకటన గ్రంథము";
-            default: return englishBookName; // Return original if no mapping found
-        }
-    }
-
-
-    
-    /**
-     * Map Telugu book names to English book names
+     * Truncate a resolved verse text for the references list
      */
-    private String mapTeluguToEnglishBookName(String teluguBookName) {
-        // First check if the book name is already in English
-        if (isEnglishBookName(teluguBookName)) {
-            return teluguBookName;
+    private String displayText(String verseText, String book, int chapter, int verse) {
+        if (verseText == null || verseText.isEmpty()) {
+            return "Verse not found: " + book + " " + chapter + ":" + verse;
         }
-        
-        switch (teluguBookName) {
-            case "ఆదికాండము": return "Genesis";
-            case "నిర్గమకాండము": return "Exodus";
-            case "లేవీయకాండము": return "Leviticus";
-            case "సంఖ్యాకాండము": return "Numbers";
-            case "ద్వితీయోపదేశకాండమ": return "Deuteronomy";
-            case "యెహొషువ": return "Joshua";
-            case "న్యాయాధిపతులు": return "Judges";
-            case "రూతు": return "Ruth";
-            case "సమూయేలు మొదటి గ్రంథము": return "1 Samuel";
-            case "సమూయేలు రెండవ గ్రంథము": return "2 Samuel";
-            case "రాజులు మొదటి గ్రంథము": return "1 Kings";
-            case "రాజులు రెండవ గ్రంథము": return "2 Kings";
-            case "దినవృత్తాంతములు మొదటి గ్రంథము": return "1 Chronicles";
-            case "దినవృత్తాంతములు రెండవ గ్రంథము": return "2 Chronicles";
-            case "ఎజ్రా": return "Ezra";
-            case "నెహెమ్యా": return "Nehemiah";
-            case "ఎస్తేరు": return "Esther";
-            case "యోబు గ్రంథము": return "Job";
-            case "కీర్తనల గ్రంథము": return "Psalms";
-            case "సామెతలు": return "Proverbs";
-            case "ప్రసంగి": return "Ecclesiastes";
-            case "పరమగీతము": return "Song of Solomon";
-            case "యెషయా గ్రంథము": return "Isaiah";
-            case "యిర్మీయా": return "Jeremiah";
-            case "విలాపవాక్యములు": return "Lamentations";
-            case "యెహెజ్కేలు": return "Ezekiel";
-            case "దానియేలు": return "Daniel";
-            case "హొషేయ": return "Hosea";
-            case "యోవేలు": return "Joel";
-            case "ఆమోసు": return "Amos";
-            case "ఓబద్యా": return "Obadiah";
-            case "యోనా": return "Jonah";
-            case "మీకా": return "Micah";
-            case "నహూము": return "Nahum";
-            case "హబక్కూకు": return "Habakkuk";
-            case "జెఫన్యా": return "Zephaniah";
-            case "హగ్గయి": return "Haggai";
-            case "జెకర్యా": return "Zechariah";
-            case "మలాకీ": return "Malachi";
-            case "మత్తయి సువార్త": return "Matthew";
-            case "మార్కు సువార్త": return "Mark";
-            case "లూకా సువార్త": return "Luke";
-            case "యోహాను సువార్త": return "John";
-            case "అపొస్తలుల కార్యములు": return "Acts";
-            case "రోమీయులకు": return "Romans";
-            case "1 కొరింథీయులకు": return "1 Corinthians";
-            case "2 కొరింథీయులకు": return "2 Corinthians";
-            case "గలతీయులకు": return "Galatians";
-            case "ఎఫెసీయులకు": return "Ephesians";
-            case "ఫిలిప్పీయులకు": return "Philippians";
-            case "కొలొస్సయులకు": return "Colossians";
-            case "1 థెస్సలొనీకయులకు": return "1 Thessalonians";
-            case "2 థెస్సలొనీకయులకు": return "2 Thessalonians";
-            case "1 తిమోతికి": return "1 Timothy";
-            case "2 తిమోతికి": return "2 Timothy";
-            case "తీతుకు": return "Titus";
-            case "ఫిలేమోనుకు": return "Philemon";
-            case "హెబ్రీయులకు": return "Hebrews";
-            case "యాకోబు": return "James";
-            case "1 పేతురు": return "1 Peter";
-            case "2 పేతురు": return "2 Peter";
-            case "1 యోహాను": return "1 John";
-            case "2 యోహాను": return "2 John";
-            case "3 యోహాను": return "3 John";
-            case "యూదా": return "Jude";
-            case "ప్రకటన గ్రంథము": return "Revelation";
-            default: return teluguBookName;
+        if (verseText.length() > 100) {
+            return verseText.substring(0, 97) + "...";
         }
+        return verseText;
     }
-    
 
-    
     /**
-     * Get verse text from the Bible database with language support
+     * Check if cross references exist for a given verse (for debugging)
      */
-    private String getVerseText(String book, int chapter, int verse, boolean isEnglishMode) {
-        try {
-            String verseText = "";
-            String bookNameToUse = book;
-            
-            if (isEnglishMode) {
-                // Use KJV database for English
-                Log.d(TAG, "Getting English verse text for: " + book + " " + chapter + ":" + verse);
-                KJVBibleDBHelper kjvDBHelper = new KJVBibleDBHelper(context);
-                verseText = kjvDBHelper.getVerseText(book, chapter, verse);
-                Log.d(TAG, "KJV query result: " + (verseText != null ? verseText.substring(0, Math.min(50, verseText.length())) + "..." : "null"));
-                kjvDBHelper.close();
-            } else {
-                // Use Telugu database
-                BibleDBHelper bibleDBHelper = new BibleDBHelper(context);
-                List<BibleVerse> verses = bibleDBHelper.getVerses(book, chapter);
-                
-                // Find the specific verse
-                for (BibleVerse bibleVerse : verses) {
-                    if (bibleVerse.verseNum == verse) {
-                        verseText = bibleVerse.verseText;
-                        break;
-                    }
-                }
-                bibleDBHelper.close();
-            }
-            
-            // Limit text length for display
-            if (verseText != null && verseText.length() > 100) {
-                verseText = verseText.substring(0, 97) + "...";
-            }
-            
-            if (verseText == null || verseText.isEmpty()) {
-                return "Verse not found: " + book + " " + chapter + ":" + verse;
-            }
-            
-            return verseText;
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting verse text: " + e.getMessage());
-            return book + " " + chapter + ":" + verse;
+    public boolean hasCrossReferences(String book, int chapter, int verse) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("CrossReferenceDBHelper.hasCrossReferences")) {
+            return hasCrossReferencesImpl(book, chapter, verse);
         }
     }
 
-    /**
-     * Check if cross references exist for a given verse (for debugging)
-     */
-    public boolean hasCrossReferences(String book, int chapter, int verse) {
+    private boolean hasCrossReferencesImpl(String book, int chapter, int verse) {
         try {
             // Use the single cross reference database
-            SQLiteDatabase db = this.getReadableDatabase();
+            SQLiteDatabase db = getDatabase();
             
             String selection = COLUMN_SOURCE_BOOK + " = ? AND " + 
                              COLUMN_SOURCE_CHAPTER + " = ? AND " + 
                              COLUMN_SOURCE_VERSE + " = ?";
             
-            String[] selectionArgs = {book, String.valueOf(chapter), String.valueOf(verse)};
+            String[] selectionArgs = {BookRegistry.toDisplayName(book, false), String.valueOf(chapter), String.valueOf(verse)};
             
             Cursor cursor = db.query(
                 TABLE_CROSS_REFERENCES,
@@ -503,32 +443,4 @@ public class CrossReferenceDBHelper extends SQLiteOpenHelper {
             return false;
         }
     }
-
-    /**
-     * Check if a book name is in English
-     */
-    private boolean isEnglishBookName(String bookName) {
-        return bookName.equalsIgnoreCase("Genesis") || bookName.equalsIgnoreCase("Exodus") || bookName.equalsIgnoreCase("Leviticus") ||
-               bookName.equalsIgnoreCase("Numbers") || bookName.equalsIgnoreCase("Deuteronomy") || bookName.equalsIgnoreCase("Joshua") ||
-               bookName.equalsIgnoreCase("Judges") || bookName.equalsIgnoreCase("Ruth") || bookName.equalsIgnoreCase("1 Samuel") ||
-               bookName.equalsIgnoreCase("2 Samuel") || bookName.equalsIgnoreCase("1 Kings") || bookName.equalsIgnoreCase("2 Kings") ||
-               bookName.equalsIgnoreCase("1 Chronicles") || bookName.equalsIgnoreCase("2 Chronicles") || bookName.equalsIgnoreCase("Ezra") ||
-               bookName.equalsIgnoreCase("Nehemiah") || bookName.equalsIgnoreCase("Esther") || bookName.equalsIgnoreCase("Job") ||
-               bookName.equalsIgnoreCase("Psalms") || bookName.equalsIgnoreCase("Proverbs") || bookName.equalsIgnoreCase("Ecclesiastes") ||
-               bookName.equalsIgnoreCase("Song of Solomon") || bookName.equalsIgnoreCase("Isaiah") || bookName.equalsIgnoreCase("Jeremiah") ||
-               bookName.equalsIgnoreCase("Lamentations") || bookName.equalsIgnoreCase("Ezekiel") || bookName.equalsIgnoreCase("Daniel") ||
-               bookName.equalsIgnoreCase("Hosea") || bookName.equalsIgnoreCase("Joel") || bookName.equalsIgnoreCase("Amos") ||
-               bookName.equalsIgnoreCase("Obadiah") || bookName.equalsIgnoreCase("Jonah") || bookName.equalsIgnoreCase("Micah") ||
-               bookName.equalsIgnoreCase("Nahum") || bookName.equalsIgnoreCase("Habakkuk") || bookName.equalsIgnoreCase("Zephaniah") ||
-               bookName.equalsIgnoreCase("Haggai") || bookName.equalsIgnoreCase("Zechariah") || bookName.equalsIgnoreCase("Malachi") ||
-               bookName.equalsIgnoreCase("Matthew") || bookName.equalsIgnoreCase("Mark") || bookName.equalsIgnoreCase("Luke") ||
-               bookName.equalsIgnoreCase("John") || bookName.equalsIgnoreCase("Acts") || bookName.equalsIgnoreCase("Romans") ||
-               bookName.equalsIgnoreCase("1 Corinthians") || bookName.equalsIgnoreCase("2 Corinthians") || bookName.equalsIgnoreCase("Galatians") ||
-               bookName.equalsIgnoreCase("Ephesians") || bookName.equalsIgnoreCase("Philippians") || bookName.equalsIgnoreCase("Colossians") ||
-               bookName.equalsIgnoreCase("1 Thessalonians") || bookName.equalsIgnoreCase("2 Thessalonians") || bookName.equalsIgnoreCase("1 Timothy") ||
-               bookName.equalsIgnoreCase("2 Timothy") || bookName.equalsIgnoreCase("Titus") || bookName.equalsIgnoreCase("Philemon") ||
-               bookName.equalsIgnoreCase("Hebrews") || bookName.equalsIgnoreCase("James") || bookName.equalsIgnoreCase("1 Peter") ||
-               bookName.equalsIgnoreCase("2 Peter") || bookName.equalsIgnoreCase("1 John") || bookName.equalsIgnoreCase("2 John") ||
-               bookName.equalsIgnoreCase("3 John") || bookName.equalsIgnoreCase("Jude") || bookName.equalsIgnoreCase("Revelation");
-    }
 }
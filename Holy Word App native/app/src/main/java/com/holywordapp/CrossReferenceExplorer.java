@@ -0,0 +1,207 @@
+package com.holywordapp;
+
+import android.os.SystemClock;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first "references of references" over the {@link CrossReferenceGraph}.
+ *
+ * Every verse reachable within the requested depth is reported once, at its shortest distance,
+ * with the number of distinct shortest paths leading to it and the verse it was reached through,
+ * so callers can show the result as a tree. Results are ranked by distance and then path count.
+ *
+ * Highly connected verses fan out fast, so the walk stops early: once the result limit is
+ * reached no further layer is expanded, the last layer keeps only its best-connected verses,
+ * and a time budget ends the walk regardless. Visited state is a bitset and per-vertex arrays
+ * sized to the graph and reused between walks; only the touched entries are reset.
+ * An explorer is not thread-safe; use one per background worker.
+ */
+public final class CrossReferenceExplorer {
+
+    public static final int DEFAULT_MAX_RESULTS = 250;
+    public static final long DEFAULT_BUDGET_MILLIS = 60;
+
+    // The last layer may collect this many times the limit before trimming to the best
+    private static final int CANDIDATE_FACTOR = 4;
+
+    /** Reachable verses in rank order */
+    public static final class Result {
+        /** Packed verse IDs */
+        public final int[] verseIds;
+        /** Hops from the start verse, 1 for a direct reference */
+        public final int[] distances;
+        /** Number of distinct shortest paths from the start verse */
+        public final int[] pathCounts;
+        /** Packed verse ID this verse was reached through; the start verse for direct references */
+        public final int[] parentIds;
+        /** True if the walk stopped at the result limit or time budget before covering every layer */
+        public final boolean truncated;
+        public final long elapsedMillis;
+
+        Result(int size, boolean truncated, long elapsedMillis) {
+            this.verseIds = new int[size];
+            this.distances = new int[size];
+            this.pathCounts = new int[size];
+            this.parentIds = new int[size];
+            this.truncated = truncated;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int size() {
+            return verseIds.length;
+        }
+    }
+
+    private final CrossReferenceGraph graph;
+    private final long[] visited;
+    private final int[] distance;
+    private final int[] pathCount;
+    private final int[] parent;
+    // Every vertex reached by the current walk, in discovery order
+    private int[] reached = new int[64];
+    private int reachedCount;
+
+    public CrossReferenceExplorer(CrossReferenceGraph graph) {
+        this.graph = graph;
+        int vertices = graph.vertexCount();
+        this.visited = new long[(vertices + 63) >>> 6];
+        this.distance = new int[vertices];
+        this.pathCount = new int[vertices];
+        this.parent = new int[vertices];
+    }
+
+    public Result explore(int verseId, int maxDepth) {
+        return explore(verseId, maxDepth, DEFAULT_MAX_RESULTS, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * All verses reachable from a verse in at most maxDepth hops, best first
+     */
+    public Result explore(int verseId, int maxDepth, int maxResults, long budgetMillis) {
+        long start = SystemClock.elapsedRealtime();
+        long deadline = start + budgetMillis;
+        int root = graph.vertexOf(verseId);
+        if (root < 0 || maxDepth < 1) {
+            return new Result(0, false, 0);
+        }
+
+        reachedCount = 0;
+        visit(root, 0, 1, -1);
+        boolean truncated = false;
+        int layerStart = 0;
+        int layerEnd = reachedCount;
+        int candidateLimit = 1 + maxResults * CANDIDATE_FACTOR;
+
+        for (int depth = 1; depth <= maxDepth && layerStart < layerEnd; depth++) {
+            boolean full = false;
+            for (int i = layerStart; i < layerEnd; i++) {
+                if (SystemClock.elapsedRealtime() > deadline) {
+                    truncated = true;
+                    break;
+                }
+                int from = reached[i];
+                for (int e = graph.forwardStart(from), end = graph.forwardEnd(from); e < end; e++) {
+                    int to = graph.forwardTarget(e);
+                    if (isVisited(to)) {
+                        // Another shortest path into this layer
+                        if (distance[to] == depth) {
+                            pathCount[to] += pathCount[from];
+                            if (pathCount[from] > pathCount[parent[to]]) parent[to] = from;
+                        }
+                    } else if (reachedCount < candidateLimit) {
+                        visit(to, depth, pathCount[from], from);
+                    } else {
+                        full = true;
+                    }
+                }
+            }
+            if (full) {
+                truncated = true;
+            }
+            if (reachedCount - 1 >= maxResults) {
+                // Keep the best-connected verses of this layer and stop descending
+                truncated |= depth < maxDepth || full || reachedCount - 1 > maxResults;
+                keepBest(layerEnd, maxResults + 1 - layerEnd);
+                break;
+            }
+            if (truncated) {
+                break;
+            }
+            layerStart = layerEnd;
+            layerEnd = reachedCount;
+        }
+
+        Result result = collect(truncated, SystemClock.elapsedRealtime() - start);
+        reset();
+        return result;
+    }
+
+    private void visit(int vertex, int depth, int paths, int from) {
+        visited[vertex >>> 6] |= 1L << vertex;
+        distance[vertex] = depth;
+        pathCount[vertex] = paths;
+        parent[vertex] = from;
+        if (reachedCount == reached.length) {
+            reached = Arrays.copyOf(reached, reachedCount * 2);
+        }
+        reached[reachedCount++] = vertex;
+    }
+
+    private boolean isVisited(int vertex) {
+        return (visited[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    /**
+     * Trim reached[from..] to the keep entries with the most paths, dropping the rest from the walk
+     */
+    private void keepBest(int from, int keep) {
+        int count = reachedCount - from;
+        if (keep >= count) {
+            return;
+        }
+        // Pack (paths, vertex) so one primitive sort ranks by paths and then canonical order
+        long[] ranked = new long[count];
+        for (int i = 0; i < count; i++) {
+            int vertex = reached[from + i];
+            ranked[i] = ((long) (Integer.MAX_VALUE - pathCount[vertex]) << 32) | vertex;
+        }
+        Arrays.sort(ranked);
+        for (int i = keep; i < count; i++) {
+            int vertex = (int) ranked[i];
+            visited[vertex >>> 6] &= ~(1L << vertex);
+        }
+        for (int i = 0; i < keep; i++) reached[from + i] = (int) ranked[i];
+        reachedCount = from + keep;
+    }
+
+    private Result collect(boolean truncated, long elapsedMillis) {
+        // Skip the start verse at index 0; rank by distance, then paths, then canonical order
+        int size = reachedCount - 1;
+        long[] ranked = new long[size];
+        for (int i = 0; i < size; i++) {
+            int vertex = reached[i + 1];
+            long paths = Math.min(pathCount[vertex], 0xFFFF);
+            ranked[i] = ((long) distance[vertex] << 48) | ((0xFFFF - paths) << 32) | vertex;
+        }
+        Arrays.sort(ranked);
+
+        Result result = new Result(size, truncated, elapsedMillis);
+        for (int i = 0; i < size; i++) {
+            int vertex = (int) ranked[i];
+            result.verseIds[i] = graph.verseIdOf(vertex);
+            result.distances[i] = distance[vertex];
+            result.pathCounts[i] = pathCount[vertex];
+            result.parentIds[i] = graph.verseIdOf(parent[vertex]);
+        }
+        return result;
+    }
+
+    private void reset() {
+        for (int i = 0; i < reachedCount; i++) {
+            int vertex = reached[i];
+            visited[vertex >>> 6] = 0;
+        }
+        reachedCount = 0;
+    }
+}
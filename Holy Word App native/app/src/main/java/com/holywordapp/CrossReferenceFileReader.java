@@ -41,8 +41,9 @@ public class CrossReferenceFileReader {
                     // Parse source verse
                     String sourceInfo = line.substring(7).trim(); // Remove "SOURCE:"
                     String[] parts = sourceInfo.split("\\|");
+                    // Books are abbreviated ("Gen", "1Cor"); store them under their display names
                     if (parts.length >= 4) {
-                        String book = parts[0].trim();
+                        String book = BookRegistry.toDisplayName(parts[0].trim(), false);
                         int chapter = Integer.parseInt(parts[1].trim());
                         int verse = Integer.parseInt(parts[2].trim());
                         String text = parts[3].trim();
@@ -54,7 +55,7 @@ public class CrossReferenceFileReader {
                     String refInfo = line.substring(4).trim(); // Remove "REF:"
                     String[] parts = refInfo.split("\\|");
                     if (parts.length >= 5) {
-                        String book = parts[0].trim();
+                        String book = BookRegistry.toDisplayName(parts[0].trim(), false);
                         int chapter = Integer.parseInt(parts[1].trim());
                         int verse = Integer.parseInt(parts[2].trim());
                         String text = parts[3].trim();
@@ -0,0 +1,444 @@
+package com.holywordapp;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.SparseIntArray;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The cross references as a directed graph over integer verse indexes, in compressed sparse
+ * row layout and memory-mapped from a file next to the app's files.
+ *
+ * Every verse that appears in cross_references.db gets a dense vertex index, computed from a
+ * small per-chapter table, so {@link #vertexOf} is O(1). Forward and reverse edges are each an
+ * offsets array plus a targets array: the neighbours of vertex v are targets[offsets[v]] up to
+ * targets[offsets[v + 1]], already in canonical order. Lookups read the mapped file directly
+ * and allocate nothing.
+ *
+ * The file is built once from xref_ids after the database is installed and tagged with the
+ * installed version and hash, like {@link Versification}; it is rebuilt when that changes.
+ */
+public final class CrossReferenceGraph {
+    private static final String TAG = "CrossReferenceGraph";
+
+    private static final int MAGIC = 0x48575847; // "HWXG"
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_NAME = "xref_graph.bin";
+    // After a failed build, callers get the empty graph for this long before it is tried again
+    private static final long RETRY_BACKOFF_MILLIS = 60_000;
+
+    private static final CrossReferenceGraph EMPTY = new CrossReferenceGraph();
+    private static volatile CrossReferenceGraph instance;
+    private static volatile boolean loading;
+    private static volatile long failedAt = -1;
+
+    private final int vertexCount;
+    private final int edgeCount;
+    // bookChapters[book - 1] is the index of the book's first chapter in chapterBases
+    private final IntBuffer bookChapters;
+    // chapterBases[c] is the vertex index of verse 1 of chapter c; one extra entry at the end
+    private final IntBuffer chapterBases;
+    private final IntBuffer verseIds;
+    private final IntBuffer forwardOffsets;
+    private final IntBuffer forwardTargets;
+    private final IntBuffer reverseOffsets;
+    private final IntBuffer reverseSources;
+
+    private CrossReferenceGraph() {
+        vertexCount = 0;
+        edgeCount = 0;
+        bookChapters = IntBuffer.allocate(VerseId.BOOK_COUNT + 1);
+        chapterBases = IntBuffer.allocate(1);
+        verseIds = IntBuffer.allocate(0);
+        forwardOffsets = IntBuffer.allocate(1);
+        forwardTargets = IntBuffer.allocate(0);
+        reverseOffsets = IntBuffer.allocate(1);
+        reverseSources = IntBuffer.allocate(0);
+    }
+
+    private CrossReferenceGraph(ByteBuffer data) {
+        int chapterCount = data.getInt();
+        vertexCount = data.getInt();
+        edgeCount = data.getInt();
+        bookChapters = slice(data, VerseId.BOOK_COUNT + 1);
+        chapterBases = slice(data, chapterCount + 1);
+        verseIds = slice(data, vertexCount);
+        forwardOffsets = slice(data, vertexCount + 1);
+        forwardTargets = slice(data, edgeCount);
+        reverseOffsets = slice(data, vertexCount + 1);
+        reverseSources = slice(data, edgeCount);
+    }
+
+    private CrossReferenceGraph(int[] bookChapters, int[] chapterBases, int[] verseIds, int[] forwardOffsets,
+                                int[] forwardTargets, int[] reverseOffsets, int[] reverseSources) {
+        vertexCount = verseIds.length;
+        edgeCount = forwardTargets.length;
+        this.bookChapters = IntBuffer.wrap(bookChapters);
+        this.chapterBases = IntBuffer.wrap(chapterBases);
+        this.verseIds = IntBuffer.wrap(verseIds);
+        this.forwardOffsets = IntBuffer.wrap(forwardOffsets);
+        this.forwardTargets = IntBuffer.wrap(forwardTargets);
+        this.reverseOffsets = IntBuffer.wrap(reverseOffsets);
+        this.reverseSources = IntBuffer.wrap(reverseSources);
+    }
+
+    /**
+     * An in-memory graph given only its forward offsets and targets, over the verses of Genesis 1
+     * with vertex v being verse v + 1, so tests can run the walks on a synthetic graph
+     */
+    static CrossReferenceGraph fromForwardEdges(int[] forwardOffsets, int[] forwardTargets) {
+        int vertexCount = forwardOffsets.length - 1;
+        int[] bookChapters = new int[VerseId.BOOK_COUNT + 1];
+        Arrays.fill(bookChapters, 1, bookChapters.length, 1);
+        int[] verseIds = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) verseIds[v] = VerseId.of(1, 1, v + 1);
+
+        int[] reverseOffsets = new int[vertexCount + 1];
+        for (int target : forwardTargets) reverseOffsets[target + 1]++;
+        for (int v = 0; v < vertexCount; v++) reverseOffsets[v + 1] += reverseOffsets[v];
+        int[] reverseSources = new int[forwardTargets.length];
+        int[] reverseFill = Arrays.copyOf(reverseOffsets, vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            for (int e = forwardOffsets[v]; e < forwardOffsets[v + 1]; e++) {
+                reverseSources[reverseFill[forwardTargets[e]]++] = v;
+            }
+        }
+        return new CrossReferenceGraph(bookChapters, new int[]{0, vertexCount}, verseIds, forwardOffsets,
+                forwardTargets, reverseOffsets, reverseSources);
+    }
+
+    private static IntBuffer slice(ByteBuffer data, int ints) {
+        ByteBuffer view = data.slice();
+        view.limit(ints * 4);
+        data.position(data.position() + ints * 4);
+        return view.asIntBuffer();
+    }
+
+    /**
+     * The shared graph, building or mapping it on first use; blocks until that is done, so
+     * call it from a background warm-up only. Returns an empty graph if it could not be built;
+     * that result is kept for RETRY_BACKOFF_MILLIS so every lookup in the meantime falls back
+     * to SQL at once instead of rebuilding.
+     */
+    public static synchronized CrossReferenceGraph get(Context context) {
+        if (instance == null) {
+            if (inBackoff()) {
+                return EMPTY;
+            }
+            loading = true;
+            try {
+                CrossReferenceGraph graph = load(context.getApplicationContext());
+                if (graph.vertexCount == 0) {
+                    failedAt = SystemClock.elapsedRealtime();
+                    return graph;
+                }
+                instance = graph;
+            } finally {
+                loading = false;
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * The shared graph if it is already mapped, otherwise the empty graph without waiting, so
+     * lookups fall back to SQL while it is being built. Starts the build in the background if
+     * nothing has, e.g. when the app was restored straight into a screen past the splash.
+     */
+    public static CrossReferenceGraph getIfReady(Context context) {
+        CrossReferenceGraph graph = instance;
+        if (graph != null) {
+            return graph;
+        }
+        if (!loading && !inBackoff()) {
+            loading = true;
+            Context appContext = context.getApplicationContext();
+            CompletableFuture.runAsync(() -> get(appContext));
+        }
+        return EMPTY;
+    }
+
+    private static boolean inBackoff() {
+        long failed = failedAt;
+        return failed >= 0 && SystemClock.elapsedRealtime() - failed < RETRY_BACKOFF_MILLIS;
+    }
+
+    /**
+     * False when the graph is still being built or could not be, and callers should fall back to SQL
+     */
+    public boolean isAvailable() {
+        return vertexCount > 0;
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Vertex index of a packed verse ID, or -1 if the verse lies outside the graph
+     */
+    public int vertexOf(int verseId) {
+        int book = VerseId.book(verseId);
+        int chapter = VerseId.chapter(verseId);
+        int verse = VerseId.verse(verseId);
+        if (book < 1 || book > VerseId.BOOK_COUNT || chapter < 1 || verse < 1) {
+            return -1;
+        }
+        int firstChapter = bookChapters.get(book - 1);
+        if (chapter > bookChapters.get(book) - firstChapter) {
+            return -1;
+        }
+        int c = firstChapter + chapter - 1;
+        int base = chapterBases.get(c);
+        if (verse > chapterBases.get(c + 1) - base) {
+            return -1;
+        }
+        // Verses without references inside a covered chapter are vertices with no edges
+        return base + verse - 1;
+    }
+
+    public int verseIdOf(int vertex) {
+        return verseIds.get(vertex);
+    }
+
+    /** First position in the forward targets of a vertex's references */
+    public int forwardStart(int vertex) {
+        return forwardOffsets.get(vertex);
+    }
+
+    /** One past the last position in the forward targets of a vertex's references */
+    public int forwardEnd(int vertex) {
+        return forwardOffsets.get(vertex + 1);
+    }
+
+    /** Vertex referenced at a position between forwardStart and forwardEnd */
+    public int forwardTarget(int position) {
+        return forwardTargets.get(position);
+    }
+
+    /** First position in the reverse sources of the vertices referencing this one */
+    public int reverseStart(int vertex) {
+        return reverseOffsets.get(vertex);
+    }
+
+    /** One past the last position in the reverse sources of the vertices referencing this one */
+    public int reverseEnd(int vertex) {
+        return reverseOffsets.get(vertex + 1);
+    }
+
+    /** Vertex referencing this one at a position between reverseStart and reverseEnd */
+    public int reverseSource(int position) {
+        return reverseSources.get(position);
+    }
+
+    /**
+     * Packed verse IDs this verse refers to, in canonical order
+     */
+    public int[] getReferenceIds(int verseId) {
+        int vertex = vertexOf(verseId);
+        if (vertex < 0) {
+            return new int[0];
+        }
+        int start = forwardStart(vertex);
+        int[] ids = new int[forwardEnd(vertex) - start];
+        for (int i = 0; i < ids.length; i++) ids[i] = verseIds.get(forwardTargets.get(start + i));
+        return ids;
+    }
+
+    /**
+     * Packed verse IDs of the verses that refer to this verse, in canonical order
+     */
+    public int[] getReferencedByIds(int verseId) {
+        int vertex = vertexOf(verseId);
+        if (vertex < 0) {
+            return new int[0];
+        }
+        int start = reverseStart(vertex);
+        int[] ids = new int[reverseEnd(vertex) - start];
+        for (int i = 0; i < ids.length; i++) ids[i] = verseIds.get(reverseSources.get(start + i));
+        return ids;
+    }
+
+    private static CrossReferenceGraph load(Context context) {
+        // The record identifies the database content, so it is only meaningful once the install finished
+        BibleDatabaseInstaller.awaitInstalled(context, BibleDatabases.CROSS_REFERENCES);
+        String installed = BibleDatabaseInstaller.getInstalledRecord(context, BibleDatabases.CROSS_REFERENCES);
+        if (installed == null) {
+            return EMPTY;
+        }
+        File file = new File(context.getFilesDir(), FILE_NAME);
+
+        CrossReferenceGraph graph = map(file, installed);
+        if (graph != null) {
+            return graph;
+        }
+
+        long start = System.currentTimeMillis();
+        int[] edges = VerseRepository.getInstance(context).getAllCrossReferenceIds();
+        if (edges.length == 0 || !write(file, installed, edges)) {
+            return EMPTY;
+        }
+        Log.d(TAG, "Built graph of " + edges.length / 2 + " references in " + (System.currentTimeMillis() - start) + " ms");
+        graph = map(file, installed);
+        return graph != null ? graph : EMPTY;
+    }
+
+    private static CrossReferenceGraph map(File file, String installed) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.getInt() != MAGIC || data.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            byte[] record = new byte[data.getInt()];
+            data.get(record);
+            data.position(align(data.position()));
+            if (!installed.equals(new String(record, StandardCharsets.UTF_8))) {
+                return null;
+            }
+            CrossReferenceGraph graph = new CrossReferenceGraph(data);
+            Log.d(TAG, "Mapped " + graph.vertexCount + " verses, " + graph.edgeCount + " references");
+            return graph;
+        } catch (Exception e) {
+            Log.w(TAG, "Ignoring unreadable " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lay out the graph for (source, target) pairs sorted by source then target
+     */
+    private static boolean write(File file, String installed, int[] edges) {
+        int edgeCount = edges.length / 2;
+
+        // Highest verse seen in every chapter, as either end of a reference
+        SparseIntArray lastVerse = new SparseIntArray(1200);
+        for (int id : edges) {
+            int key = id / 1000;
+            lastVerse.put(key, Math.max(lastVerse.get(key), VerseId.verse(id)));
+        }
+        int[] chaptersPerBook = new int[VerseId.BOOK_COUNT + 1];
+        for (int i = 0; i < lastVerse.size(); i++) {
+            int book = lastVerse.keyAt(i) / 1000;
+            chaptersPerBook[book] = Math.max(chaptersPerBook[book], lastVerse.keyAt(i) % 1000);
+        }
+
+        int[] bookChapters = new int[VerseId.BOOK_COUNT + 1];
+        int chapterCount = 0;
+        for (int book = 1; book <= VerseId.BOOK_COUNT; book++) {
+            bookChapters[book - 1] = chapterCount;
+            chapterCount += chaptersPerBook[book];
+        }
+        bookChapters[VerseId.BOOK_COUNT] = chapterCount;
+
+        int[] chapterBases = new int[chapterCount + 1];
+        int vertexCount = 0;
+        for (int book = 1; book <= VerseId.BOOK_COUNT; book++) {
+            for (int chapter = 1; chapter <= chaptersPerBook[book]; chapter++) {
+                chapterBases[bookChapters[book - 1] + chapter - 1] = vertexCount;
+                vertexCount += lastVerse.get(book * 1000 + chapter);
+            }
+        }
+        chapterBases[chapterCount] = vertexCount;
+
+        int[] verseIds = new int[vertexCount];
+        for (int book = 1; book <= VerseId.BOOK_COUNT; book++) {
+            for (int chapter = 1; chapter <= chaptersPerBook[book]; chapter++) {
+                int base = chapterBases[bookChapters[book - 1] + chapter - 1];
+                int verses = lastVerse.get(book * 1000 + chapter);
+                for (int verse = 1; verse <= verses; verse++) verseIds[base + verse - 1] = VerseId.of(book, chapter, verse);
+            }
+        }
+
+        // Vertex indexes follow canonical order, so the sorted input keeps every list sorted
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            sources[e] = vertexIndex(edges[2 * e], bookChapters, chapterBases);
+            targets[e] = vertexIndex(edges[2 * e + 1], bookChapters, chapterBases);
+        }
+
+        int[] forwardOffsets = new int[vertexCount + 1];
+        int[] reverseOffsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            forwardOffsets[sources[e] + 1]++;
+            reverseOffsets[targets[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            forwardOffsets[v + 1] += forwardOffsets[v];
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        // Input is sorted by source, so the forward targets are simply the targets in order
+        int[] reverseSources = new int[edgeCount];
+        int[] reverseFill = new int[vertexCount];
+        System.arraycopy(reverseOffsets, 0, reverseFill, 0, vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            reverseSources[reverseFill[targets[e]]++] = sources[e];
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            byte[] record = installed.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(record.length);
+            out.write(record);
+            // Keep the int arrays 4-byte aligned in the mapping
+            for (int i = 12 + record.length; i < align(12 + record.length); i++) out.writeByte(0);
+            out.writeInt(chapterCount);
+            out.writeInt(vertexCount);
+            out.writeInt(edgeCount);
+            writeInts(out, bookChapters);
+            writeInts(out, chapterBases);
+            writeInts(out, verseIds);
+            writeInts(out, forwardOffsets);
+            writeInts(out, targets);
+            writeInts(out, reverseOffsets);
+            writeInts(out, reverseSources);
+            out.flush();
+            stream.getFD().sync();
+        } catch (Exception e) {
+            Log.e(TAG, "Error saving " + file.getName() + ": " + e.getMessage());
+            temp.delete();
+            return false;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            return false;
+        }
+        return true;
+    }
+
+    private static int vertexIndex(int verseId, int[] bookChapters, int[] chapterBases) {
+        return chapterBases[bookChapters[VerseId.book(verseId) - 1] + VerseId.chapter(verseId) - 1] + VerseId.verse(verseId) - 1;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws java.io.IOException {
+        for (int value : values) out.writeInt(value);
+    }
+
+    private static int align(int position) {
+        return (position + 3) & ~3;
+    }
+}
@@ -22,19 +22,19 @@ public class CrossReferenceManager {
     }
 
     public List<CrossReference> getCrossReferences(String book, int chapter, int verse) {
-        String key = book + "_" + chapter + "_" + verse;
-        return crossReferencesMap.getOrDefault(key, new ArrayList<>());
+        return crossReferencesMap.getOrDefault(key(book, chapter, verse), new ArrayList<>());
     }
 
     public List<CrossReference> getCrossReferencesForChapter(String book, int chapter) {
+        // Every verse of the chapter, however long it is, in verse order
+        String prefix = BookRegistry.toDisplayName(book, false) + "_" + chapter + "_";
         List<CrossReference> chapterRefs = new ArrayList<>();
-        for (int verse = 1; verse <= 50; verse++) { // Assuming max 50 verses per chapter
-            String key = book + "_" + chapter + "_" + verse;
-            List<CrossReference> verseRefs = crossReferencesMap.get(key);
-            if (verseRefs != null) {
-                chapterRefs.addAll(verseRefs);
+        for (Map.Entry<String, List<CrossReference>> entry : crossReferencesMap.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                chapterRefs.addAll(entry.getValue());
             }
         }
+        chapterRefs.sort((a, b) -> Integer.compare(a.getSourceVerse(), b.getSourceVerse()));
         return chapterRefs;
     }
 
@@ -44,11 +44,18 @@ public class CrossReferenceManager {
         
         // Add new cross references
         for (CrossReference crossRef : newCrossReferences) {
-            String key = crossRef.getSourceBook() + "_" + crossRef.getSourceChapter() + "_" + crossRef.getSourceVerse();
+            String key = key(crossRef.getSourceBook(), crossRef.getSourceChapter(), crossRef.getSourceVerse());
             crossReferencesMap.put(key, List.of(crossRef));
         }
     }
 
+    /**
+     * Map key for a verse; books are keyed by Telugu display name so any alias finds them
+     */
+    private static String key(String book, int chapter, int verse) {
+        return BookRegistry.toDisplayName(book, false) + "_" + chapter + "_" + verse;
+    }
+
     private void initializeCrossReferences() {
         // Genesis 1:1 - Creation
         CrossReference gen1_1 = new CrossReference("ఆదికాండము", 1, 1, "ప్రారంభమందు దేవుడు ఆకాశమును భూమిని సృష్టించెను");
@@ -23,7 +23,7 @@ import java.util.List;
 
 public class CrossReferencesActivity extends AppCompatActivity {
 
-    private Spinner bookSpinner, chapterSpinner, verseSpinner;
+    private Spinner bookSpinner, chapterSpinner, verseSpinner, depthSpinner;
     private Button btnGo, btnTranslate;
     private RecyclerView rvCrossReferences;
     private TextView tvNoReferences;
@@ -39,65 +39,16 @@ public class CrossReferencesActivity extends AppCompatActivity {
     private String selectedBook;
     private int selectedChapter;
     private int selectedVerse;
+    // 1 shows direct references; more walks references of references
+    private int selectedDepth = 1;
+    private static final int MAX_DEPTH = 4;
     
     private List<BibleVerse> verses;
     private CrossReferenceAdapter adapter;
 
-    public static final String[] BOOKS_IN_ORDER = {
-            "ఆదికాండము", "నిర్గమకాండము", "లేవీయకాండము", "సంఖ్యాకాండము", "ద్వితీయోపదేశకాండమ",
-            "యెహొషువ", "న్యాయాధిపతులు", "రూతు", "సమూయేలు మొదటి గ్రంథము", "సమూయేలు రెండవ గ్రంథము",
-            "రాజులు మొదటి గ్రంథము", "రాజులు రెండవ గ్రంథము", "దినవృత్తాంతములు మొదటి గ్రంథము", "దినవృత్తాంతములు రెండవ గ్రంథము",
-            "ఎజ్రా", "నెహెమ్యా", "ఎస్తేరు", "యోబు గ్రంథము", "కీర్తనల గ్రంథము", "సామెతలు",
-            "ప్రసంగి", "పరమగీతము", "యెషయా గ్రంథము", "యిర్మీయా", "విలాపవాక్యములు", "యెహెజ్కేలు", "దానియేలు",
-            "హొషేయ", "యోవేలు", "ఆమోసు", "ఓబద్యా", "యోనా", "మీకా", "నహూము", "హబక్కూకు",
-            "జెఫన్యా", "హగ్గయి", "జెకర్యా", "మలాకీ", "మత్తయి సువార్త", "మార్కు సువార్త",
-            "లూకా సువార్త", "యోహాను సువార్త", "అపొస్తలుల కార్యములు", "రోమీయులకు",
-            "1 కొరింథీయులకు", "2 కొరింథీయులకు", "గలతీయులకు", "ఎఫెసీయులకు",
-            "ఫిలిప్పీయులకు", "కొలొస్సయులకు", "1 థెస్సలొనీకయులకు", "2 థెస్సలొనీకయులకు",
-            "1 తిమోతికి", "2 తిమోతికి", "తీతుకు", "ఫిలేమోనుకు", "హెబ్రీయులకు", "యాకోబు",
-            "1 పేతురు", "2 పేతురు", "1 యోహాను", "2 యోహాను", "3 యోహాను", "యూదా", "ప్రకటన గ్రంథము"
-    };
-
-    // English book names in the same order
-    public static final String[] ENGLISH_BOOKS_IN_ORDER = {
-            "Genesis", "Exodus", "Leviticus", "Numbers", "Deuteronomy", "Joshua", "Judges",
-            "Ruth", "1 Samuel", "2 Samuel", "1 Kings", "2 Kings", "1 Chronicles", "2 Chronicles",
-            "Ezra", "Nehemiah", "Esther", "Job", "Psalms", "Proverbs", "Ecclesiastes",
-            "Song of Solomon", "Isaiah", "Jeremiah", "Lamentations", "Ezekiel", "Daniel",
-            "Hosea", "Joel", "Amos", "Obadiah", "Jonah", "Micah", "Nahum", "Habakkuk",
-            "Zephaniah", "Haggai", "Zechariah", "Malachi", "Matthew", "Mark", "Luke",
-            "John", "Acts", "Romans", "1 Corinthians", "2 Corinthians", "Galatians",
-            "Ephesians", "Philippians", "Colossians", "1 Thessalonians", "2 Thessalonians",
-            "1 Timothy", "2 Timothy", "Titus", "Philemon", "Hebrews", "James", "1 Peter",
-            "2 Peter", "1 John", "2 John", "3 John", "Jude", "Revelation"
-    };
-
-    /**
-     * Map standard English book names to KJV database format
-     */
-    private String mapToKJVBookName(String standardBookName) {
-        switch (standardBookName) {
-            case "1 Samuel": return "I Samuel";
-            case "2 Samuel": return "II Samuel";
-            case "1 Kings": return "I Kings";
-            case "2 Kings": return "II Kings";
-            case "1 Chronicles": return "I Chronicles";
-            case "2 Chronicles": return "II Chronicles";
-            case "1 Corinthians": return "I Corinthians";
-            case "2 Corinthians": return "II Corinthians";
-            case "1 Thessalonians": return "I Thessalonians";
-            case "2 Thessalonians": return "II Thessalonians";
-            case "1 Timothy": return "I Timothy";
-            case "2 Timothy": return "II Timothy";
-            case "1 Peter": return "I Peter";
-            case "2 Peter": return "II Peter";
-            case "1 John": return "I John";
-            case "2 John": return "II John";
-            case "3 John": return "III John";
-            case "Revelation": return "Revelation of John";
-            default: return standardBookName;
-        }
-    }
+    // Spinner entries in canonical order; BookRegistry owns the names and their aliases
+    public static final String[] BOOKS_IN_ORDER = BookRegistry.displayNames(false);
+    public static final String[] ENGLISH_BOOKS_IN_ORDER = BookRegistry.displayNames(true);
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -133,12 +84,29 @@ public class CrossReferencesActivity extends AppCompatActivity {
             bookSpinner = findViewById(R.id.bookSpinner);
             chapterSpinner = findViewById(R.id.chapterSpinner);
             verseSpinner = findViewById(R.id.verseSpinner);
+            depthSpinner = findViewById(R.id.depthSpinner);
             btnGo = findViewById(R.id.btnGo);
             btnTranslate = findViewById(R.id.btnTranslate);
             rvCrossReferences = findViewById(R.id.rvCrossReferences);
             tvNoReferences = findViewById(R.id.tvNoReferences);
             layoutCrossReferences = findViewById(R.id.layoutCrossReferences);
             
+            // Depth does not depend on the language, so it is set up once
+            List<Integer> depths = new ArrayList<>();
+            for (int depth = 1; depth <= MAX_DEPTH; depth++) depths.add(depth);
+            ArrayAdapter<Integer> depthAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, depths);
+            depthAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+            depthSpinner.setAdapter(depthAdapter);
+            depthSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+                @Override
+                public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                    selectedDepth = (int) depthSpinner.getSelectedItem();
+                }
+
+                @Override
+                public void onNothingSelected(AdapterView<?> parent) {}
+            });
+            
             // Set up RecyclerView
             if (rvCrossReferences != null) {
                 LinearLayoutManager layoutManager = new LinearLayoutManager(this);
@@ -244,7 +212,7 @@ public class CrossReferencesActivity extends AppCompatActivity {
             try {
                 List<Integer> chapters;
                 if (isEnglishMode) {
-                    String mappedBookName = mapToKJVBookName(selectedBook);
+                    String mappedBookName = BookRegistry.toKjvName(selectedBook);
                     chapters = kjvDbHelper.getChaptersForBook(mappedBookName);
                     Log.d("CrossReferences", "Loading chapters for English book: " + selectedBook + " (mapped to: " + mappedBookName + "), found: " + chapters.size());
                 } else {
@@ -298,13 +266,14 @@ public class CrossReferencesActivity extends AppCompatActivity {
                 List<Integer> verseNums = new ArrayList<>();
                 
                 if (isEnglishMode) {
-                    String mappedBookName = mapToKJVBookName(selectedBook);
+                    String mappedBookName = BookRegistry.toKjvName(selectedBook);
                     List<Integer> verses = kjvDbHelper.getVersesForChapter(mappedBookName, selectedChapter);
                     verseNums.addAll(verses);
                     Log.d("CrossReferences", "Loaded " + verses.size() + " English verses for " + selectedBook + " (mapped to: " + mappedBookName + ") " + selectedChapter);
                 } else {
-                    List<BibleVerse> verses = dbHelper.getVerses(selectedBook, selectedChapter);
-                    for (BibleVerse v : verses) verseNums.add(v.verseNum);
+                    List<Integer> verses = Versification.get(CrossReferencesActivity.this, false)
+                            .verseList(VerseId.bookOrdinal(selectedBook), selectedChapter);
+                    verseNums.addAll(verses);
                     Log.d("CrossReferences", "Loaded " + verses.size() + " Telugu verses for " + selectedBook + " " + selectedChapter);
                 }
                 
@@ -375,11 +344,8 @@ public class CrossReferencesActivity extends AppCompatActivity {
         
         // If we had a previous selection, try to restore it
         if (currentBook != null && currentChapter > 0 && currentVerse > 0) {
-            // Convert book name to appropriate language
-            String targetBook = convertBookName(currentBook, !isEnglishMode);
-            
-            // Find the book position in the new language
-            int bookPosition = findBookPosition(targetBook);
+            // The same book in the new language, at its canonical position
+            int bookPosition = BookRegistry.ordinal(currentBook) - 1;
             if (bookPosition >= 0) {
                 // Set the book spinner
                 bookSpinner.setSelection(bookPosition);
@@ -399,42 +365,6 @@ public class CrossReferencesActivity extends AppCompatActivity {
             Toast.LENGTH_SHORT).show();
     }
     
-    private String convertBookName(String bookName, boolean fromEnglish) {
-        if (fromEnglish) {
-            // Convert from English to Telugu
-            for (int i = 0; i < ENGLISH_BOOKS_IN_ORDER.length; i++) {
-                if (ENGLISH_BOOKS_IN_ORDER[i].equals(bookName)) {
-                    return BOOKS_IN_ORDER[i];
-                }
-            }
-        } else {
-            // Convert from Telugu to English
-            for (int i = 0; i < BOOKS_IN_ORDER.length; i++) {
-                if (BOOKS_IN_ORDER[i].equals(bookName)) {
-                    return ENGLISH_BOOKS_IN_ORDER[i];
-                }
-            }
-        }
-        return bookName; // Return original if not found
-    }
-    
-    private int findBookPosition(String bookName) {
-        if (isEnglishMode) {
-            for (int i = 0; i < ENGLISH_BOOKS_IN_ORDER.length; i++) {
-                if (ENGLISH_BOOKS_IN_ORDER[i].equals(bookName)) {
-                    return i;
-                }
-            }
-        } else {
-            for (int i = 0; i < BOOKS_IN_ORDER.length; i++) {
-                if (BOOKS_IN_ORDER[i].equals(bookName)) {
-                    return i;
-                }
-            }
-        }
-        return -1;
-    }
-    
     private void clearSelections() {
         selectedBook = null;
         selectedChapter = 0;
@@ -500,6 +430,8 @@ public class CrossReferencesActivity extends AppCompatActivity {
     
     private class LoadCrossReferencesTask extends AsyncTask<Void, Void, List<CrossReference.Reference>> {
         private Exception exception;
+        // A deeper walk was asked for but only direct references could be loaded
+        private boolean depthUnavailable;
         
         @Override
         protected List<CrossReference.Reference> doInBackground(Void... voids) {
@@ -508,6 +440,13 @@ public class CrossReferencesActivity extends AppCompatActivity {
                 boolean hasRefs = crossReferenceDBHelper.hasCrossReferences(selectedBook, selectedChapter, selectedVerse);
                 Log.d("CrossReferences", "Checking for " + selectedBook + " " + selectedChapter + ":" + selectedVerse + " - Has refs: " + hasRefs);
                 
+                if (selectedDepth > 1) {
+                    // Without the graph the tree is the direct references only; say so when showing them
+                    depthUnavailable = !crossReferenceDBHelper.isReferenceTreeAvailable();
+                    // References of references, deduplicated and grouped under the verse they were reached through
+                    return crossReferenceDBHelper.getReferenceTree(selectedBook, selectedChapter, selectedVerse, selectedDepth, isEnglishMode);
+                }
+                
                 // Get cross references from database with language support
                 return crossReferenceDBHelper.getCrossReferences(selectedBook, selectedChapter, selectedVerse, isEnglishMode);
             } catch (Exception e) {
@@ -526,6 +465,12 @@ public class CrossReferencesActivity extends AppCompatActivity {
                 tvNoReferences.setText("Error loading cross references");
                 return;
             }
+
+            if (depthUnavailable) {
+                Toast.makeText(CrossReferencesActivity.this,
+                    "Deeper references are not available yet; showing direct references only",
+                    Toast.LENGTH_LONG).show();
+            }
             
             if (references.isEmpty()) {
                 tvNoReferences.setVisibility(View.VISIBLE);
@@ -569,18 +514,4 @@ public class CrossReferencesActivity extends AppCompatActivity {
         onBackPressed();
         return true;
     }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (dbHelper != null) {
-            dbHelper.close();
-        }
-        if (kjvDbHelper != null) {
-            kjvDbHelper.close();
-        }
-        if (crossReferenceDBHelper != null) {
-            crossReferenceDBHelper.close();
-        }
-    }
 }
\ No newline at end of file
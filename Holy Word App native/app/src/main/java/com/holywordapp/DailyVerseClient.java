@@ -0,0 +1,388 @@
+package com.holywordapp;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.BatteryManager;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Client for the daily verse API with an on-disk cache keyed by date.
+ *
+ * Each day's verse is stored as its JSON body. The last response of each endpoint is kept with
+ * its ETag and Last-Modified, so the next request is conditional and a 304 costs no body.
+ * A day already fetched or prefetched is served from disk without touching the network.
+ * Connect and read timeouts are short, since the bundled {@link DailyVersePack} is always
+ * there as a fallback.
+ *
+ * {@link #prefetch} asks for the coming days in one request, "?days=N", expecting a JSON array
+ * of verses that each carry their "date". A server that ignores the parameter and answers with
+ * a single verse just fills in today. It only runs on an unmetered network while charging and
+ * when fewer than {@link #PREFETCH_MIN_DAYS} days ahead are cached.
+ */
+public class DailyVerseClient {
+    private static final String TAG = "DailyVerseClient";
+
+    public static final String DEFAULT_URL = "https://holyword.vercel.app/api/daily-verse";
+    static final int CONNECT_TIMEOUT_MILLIS = 4000;
+    static final int READ_TIMEOUT_MILLIS = 6000;
+    public static final int PREFETCH_MIN_DAYS = 7;
+    public static final int PREFETCH_DAYS = 30;
+    // Largest body accepted; a 30 day batch is well under this
+    private static final int MAX_BODY_BYTES = 512 * 1024;
+
+    private static final String CACHE_DIR = "daily_verse_http";
+    // The plain endpoint's last response, whose validators make the next day's request conditional
+    private static final String LATEST_KEY = "latest";
+    private static final String BATCH_KEY = "batch";
+    private static final String META_ETAG = "etag";
+    private static final String META_LAST_MODIFIED = "last_modified";
+    private static final String META_FETCHED_AT = "fetched_at";
+
+    private static volatile DailyVerseClient INSTANCE;
+
+    private final File cacheDir;
+    private final String baseUrl;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+
+    public DailyVerseClient(File cacheDir, String baseUrl, int connectTimeoutMillis, int readTimeoutMillis) {
+        this.cacheDir = cacheDir;
+        this.baseUrl = baseUrl;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Get singleton instance caching under the app's cache directory
+     */
+    public static DailyVerseClient getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (DailyVerseClient.class) {
+                if (INSTANCE == null) {
+                    File dir = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+                    INSTANCE = new DailyVerseClient(dir, DEFAULT_URL, CONNECT_TIMEOUT_MILLIS, READ_TIMEOUT_MILLIS);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Date key used for the cache, e.g. 2025-10-27
+     */
+    public static String dateKey(Calendar day) {
+        return new SimpleDateFormat("yyyy-MM-dd", Locale.US).format(day.getTime());
+    }
+
+    /**
+     * The verse cached for a day, or null; never touches the network
+     */
+    public synchronized JSONObject getCached(String date) {
+        String body = readBody(date);
+        if (body == null) {
+            return null;
+        }
+        try {
+            return new JSONObject(body);
+        } catch (JSONException e) {
+            Log.e(TAG, "Dropping unreadable cache entry " + date);
+            delete(date);
+            return null;
+        }
+    }
+
+    /**
+     * Today's verse: from disk if already fetched, otherwise from the API with a conditional
+     * request against the last response. Null if the API fails and nothing is cached for today.
+     */
+    public synchronized JSONObject fetchToday(String today) {
+        JSONObject cached = getCached(today);
+        if (cached != null) {
+            Log.d(TAG, "Daily verse for " + today + " served from disk");
+            return cached;
+        }
+        Response response = get(baseUrl, readMeta(LATEST_KEY));
+        if (response == null) {
+            return null;
+        }
+        String body = response.notModified ? readBody(LATEST_KEY) : response.body;
+        if (body == null) {
+            return null;
+        }
+        try {
+            JSONObject verse = new JSONObject(body);
+            store(LATEST_KEY, response);
+            store(today, new Response(body, null, null, false));
+            return verse;
+        } catch (JSONException e) {
+            Log.e(TAG, "Daily verse response is not a JSON object");
+            return null;
+        }
+    }
+
+    /**
+     * Whether conditions allow a prefetch: an unmetered network and the device charging
+     */
+    public static boolean canPrefetch(Context context) {
+        ConnectivityManager connectivity = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        BatteryManager battery = (BatteryManager) context.getSystemService(Context.BATTERY_SERVICE);
+        return connectivity != null && connectivity.getActiveNetwork() != null
+                && !connectivity.isActiveNetworkMetered()
+                && battery != null && battery.isCharging();
+    }
+
+    /**
+     * Number of consecutive days from today on that are cached
+     */
+    public synchronized int cachedDaysAhead(Calendar today) {
+        Calendar day = (Calendar) today.clone();
+        int days = 0;
+        while (days < PREFETCH_DAYS && bodyFile(dateKey(day)).exists()) {
+            days++;
+            day.add(Calendar.DAY_OF_YEAR, 1);
+        }
+        return days;
+    }
+
+    /**
+     * Fetch the coming days in one batched request if fewer than PREFETCH_MIN_DAYS are cached,
+     * and drop entries older than yesterday. Returns the number of days stored.
+     */
+    public synchronized int prefetch(Calendar today) {
+        if (cachedDaysAhead(today) >= PREFETCH_MIN_DAYS) {
+            return 0;
+        }
+        pruneBefore(today);
+        Response response = get(baseUrl + "?days=" + PREFETCH_DAYS, readMeta(BATCH_KEY));
+        if (response == null || response.notModified) {
+            return 0;
+        }
+
+        int stored = 0;
+        try {
+            Object parsed = new JSONTokener(response.body).nextValue();
+            if (parsed instanceof JSONArray) {
+                JSONArray verses = (JSONArray) parsed;
+                for (int i = 0; i < verses.length(); i++) {
+                    JSONObject verse = verses.optJSONObject(i);
+                    String date = verse != null ? verse.optString("date", "") : "";
+                    if (date.matches("\\d{4}-\\d{2}-\\d{2}") && store(date, new Response(verse.toString(), null, null, false))) {
+                        stored++;
+                    }
+                }
+            } else if (parsed instanceof JSONObject) {
+                // The API does not batch: what came back is today's verse
+                if (store(dateKey(today), new Response(response.body, null, null, false))) {
+                    stored++;
+                }
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Prefetch response is not JSON: " + e.getMessage());
+            return 0;
+        }
+        // Remember the batch validators so the next prefetch can be answered with a 304
+        store(BATCH_KEY, new Response("", response.etag, response.lastModified, false));
+        Log.d(TAG, "Prefetched " + stored + " daily verses");
+        return stored;
+    }
+
+    // HTTP
+
+    static final class Response {
+        final String body;
+        final String etag;
+        final String lastModified;
+        final boolean notModified;
+
+        Response(String body, String etag, String lastModified, boolean notModified) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.notModified = notModified;
+        }
+    }
+
+    /**
+     * GET with the cached validators. A 304 returns the cached body, marked notModified;
+     * null on any failure.
+     */
+    private Response get(String url, Properties meta) {
+        if (meta == null) {
+            meta = new Properties();
+        }
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod("GET");
+            connection.setConnectTimeout(connectTimeoutMillis);
+            connection.setReadTimeout(readTimeoutMillis);
+            connection.setUseCaches(false);
+            connection.setRequestProperty("Accept", "application/json");
+            connection.setRequestProperty("User-Agent", "HolyWordApp/1.0");
+            String cachedEtag = meta.getProperty(META_ETAG);
+            String cachedLastModified = meta.getProperty(META_LAST_MODIFIED);
+            if (cachedEtag != null) connection.setRequestProperty("If-None-Match", cachedEtag);
+            if (cachedLastModified != null) connection.setRequestProperty("If-Modified-Since", cachedLastModified);
+
+            int responseCode = connection.getResponseCode();
+            Log.d(TAG, "GET " + url + " -> " + responseCode);
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                // Keep the validators that matched unless the server sent fresh ones
+                String etag = connection.getHeaderField("ETag");
+                String lastModified = connection.getHeaderField("Last-Modified");
+                return new Response(null,
+                        etag != null ? etag : cachedEtag,
+                        lastModified != null ? lastModified : cachedLastModified,
+                        true);
+            }
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                return null;
+            }
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = readLimited(in);
+            }
+            return new Response(body, connection.getHeaderField("ETag"),
+                    connection.getHeaderField("Last-Modified"), false);
+        } catch (IOException e) {
+            Log.e(TAG, "Error requesting " + url + ": " + e.getMessage());
+            return null;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static String readLimited(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+            if (out.size() > MAX_BODY_BYTES) {
+                throw new IOException("Response too large");
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // Disk cache: <key>.json holds the body, <key>.meta its validators
+
+    private File bodyFile(String key) {
+        return new File(cacheDir, key + ".json");
+    }
+
+    private File metaFile(String key) {
+        return new File(cacheDir, key + ".meta");
+    }
+
+    private String readBody(String key) {
+        File file = bodyFile(key);
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            return readLimited(in);
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading cache entry " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Properties readMeta(String key) {
+        File file = metaFile(key);
+        if (!file.exists()) {
+            return null;
+        }
+        Properties meta = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            meta.load(in);
+            return meta;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write a response body and its validators; a 304 only refreshes the fetch time
+     */
+    private boolean store(String key, Response response) {
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            Log.e(TAG, "Cannot create " + cacheDir);
+            return false;
+        }
+        Properties meta = new Properties();
+        if (response.etag != null) meta.setProperty(META_ETAG, response.etag);
+        if (response.lastModified != null) meta.setProperty(META_LAST_MODIFIED, response.lastModified);
+        meta.setProperty(META_FETCHED_AT, Long.toString(System.currentTimeMillis()));
+        try {
+            if (!response.notModified && !BATCH_KEY.equals(key)) {
+                writeAtomically(bodyFile(key), response.body.getBytes(StandardCharsets.UTF_8));
+            }
+            ByteArrayOutputStream metaBytes = new ByteArrayOutputStream();
+            meta.store(metaBytes, null);
+            writeAtomically(metaFile(key), metaBytes.toByteArray());
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Error caching " + key + ": " + e.getMessage());
+            delete(key);
+            return false;
+        }
+    }
+
+    private static void writeAtomically(File file, byte[] bytes) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp)) {
+            out.write(bytes);
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Cannot replace " + file.getName());
+        }
+    }
+
+    private void delete(String key) {
+        bodyFile(key).delete();
+        metaFile(key).delete();
+    }
+
+    private void pruneBefore(Calendar today) {
+        Calendar yesterday = (Calendar) today.clone();
+        yesterday.add(Calendar.DAY_OF_YEAR, -1);
+        String oldest = dateKey(yesterday);
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            int dot = name.indexOf('.');
+            String key = dot > 0 ? name.substring(0, dot) : name;
+            // ISO dates sort as strings
+            if (Character.isDigit(key.charAt(0)) && key.compareTo(oldest) < 0) {
+                file.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.holywordapp;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.util.Log;
+
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The daily verses as an indexed binary asset, so one day's verse is a single small read
+ * instead of parsing the whole list as JSON.
+ *
+ * daily_verses.bin is generated from dailyverses/daily verse.json by the packDailyVerses
+ * Gradle task. Layout, big-endian: magic, format version, entry count, then entry count + 1
+ * absolute record offsets (the last one is the file length), then the records. A record is
+ * {@link #FIELD_COUNT} fields, each an unsigned 16-bit byte length followed by UTF-8 text, in
+ * the order English verse, English reference, Telugu verse part 1, Telugu verse part 2,
+ * Telugu reference, background image description.
+ *
+ * The header and offset table are read once; the asset is stored uncompressed so a record is
+ * read with one positioned read at its offset.
+ */
+public final class DailyVersePack {
+    private static final String TAG = "DailyVersePack";
+
+    static final String ASSET_NAME = "daily_verses.bin";
+    private static final int MAGIC = 0x48574456; // "HWDV"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    static final int FIELD_COUNT = 6;
+
+    private static DailyVersePack instance;
+
+    /** One day's verse in both languages */
+    public static final class Entry {
+        /** Position in the pack, 0 for the first day */
+        public final int index;
+        public final String englishText;
+        public final String englishReference;
+        public final String teluguPart1;
+        public final String teluguPart2;
+        public final String teluguReference;
+        /** Description of a fitting background picture */
+        public final String imageHint;
+
+        Entry(int index, String[] fields) {
+            this.index = index;
+            this.englishText = fields[0];
+            this.englishReference = fields[1];
+            this.teluguPart1 = fields[2];
+            this.teluguPart2 = fields[3];
+            this.teluguReference = fields[4];
+            this.imageHint = fields[5];
+        }
+
+        /** Both Telugu parts on separate lines, as the verse card shows them */
+        public String teluguText() {
+            return teluguPart2.isEmpty() ? teluguPart1 : teluguPart1 + "\n" + teluguPart2;
+        }
+    }
+
+    private final AssetManager assets;
+    private final int[] offsets;
+
+    private DailyVersePack(AssetManager assets, int[] offsets) {
+        this.assets = assets;
+        this.offsets = offsets;
+    }
+
+    /**
+     * The shared pack, reading its offset table on first use. Returns null if the asset is
+     * missing or damaged; the next call tries again.
+     */
+    public static synchronized DailyVersePack get(Context context) {
+        if (instance == null) {
+            AssetManager assets = context.getApplicationContext().getAssets();
+            try {
+                instance = new DailyVersePack(assets, readOffsets(assets));
+                Log.d(TAG, "Loaded index of " + instance.size() + " daily verses");
+            } catch (IOException e) {
+                Log.e(TAG, "Error reading daily verse index: " + e.getMessage());
+                return null;
+            }
+        }
+        return instance;
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * The entry at the given position, wrapping past the end, or null if it could not be read
+     */
+    public Entry get(int index) {
+        int position = Math.floorMod(index, size());
+        int start = offsets[position];
+        try {
+            byte[] record = read(start, offsets[position + 1] - start);
+            return decode(position, ByteBuffer.wrap(record));
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Error reading daily verse " + position + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static int[] readOffsets(AssetManager assets) throws IOException {
+        try (InputStream in = assets.open(ASSET_NAME, AssetManager.ACCESS_RANDOM)) {
+            ByteBuffer header = ByteBuffer.wrap(readFully(in, HEADER_BYTES));
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("Unrecognised " + ASSET_NAME);
+            }
+            int count = header.getInt();
+            if (count <= 0) {
+                throw new IOException("Empty " + ASSET_NAME);
+            }
+            ByteBuffer table = ByteBuffer.wrap(readFully(in, (count + 1) * 4));
+            int[] offsets = new int[count + 1];
+            table.asIntBuffer().get(offsets);
+            return offsets;
+        }
+    }
+
+    private byte[] read(int offset, int length) throws IOException {
+        try (AssetFileDescriptor fd = assets.openFd(ASSET_NAME);
+             FileInputStream in = fd.createInputStream()) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            FileChannel channel = in.getChannel();
+            long base = fd.getStartOffset() + offset;
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, base + buffer.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            return buffer.array();
+        }
+    }
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int n = in.read(bytes, read, length - read);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            read += n;
+        }
+        return bytes;
+    }
+
+    static Entry decode(int index, ByteBuffer record) {
+        String[] fields = new String[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            int length = record.getShort() & 0xFFFF;
+            fields[i] = new String(record.array(), record.position(), length, StandardCharsets.UTF_8);
+            record.position(record.position() + length);
+        }
+        return new Entry(index, fields);
+    }
+}
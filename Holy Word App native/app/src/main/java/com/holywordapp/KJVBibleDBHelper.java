@@ -4,493 +4,290 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteDoneException;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
 import android.util.Log;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import com.holywordapp.perf.PerfMetrics;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
-public class KJVBibleDBHelper extends SQLiteOpenHelper {
+public class KJVBibleDBHelper {
     private static final String TAG = "KJVBibleDBHelper";
-    private static final String DATABASE_NAME = "KJV.db";
-    private static final int DATABASE_VERSION = 1;
-    
-    private Context context;
-    private SQLiteDatabase database;
-
-    // English book names in order
-    private static final String[] ENGLISH_BOOKS = {
-        "Genesis", "Exodus", "Leviticus", "Numbers", "Deuteronomy", "Joshua", "Judges", "Ruth",
-        "1 Samuel", "2 Samuel", "1 Kings", "2 Kings", "1 Chronicles", "2 Chronicles", "Ezra", "Nehemiah",
-        "Esther", "Job", "Psalms", "Proverbs", "Ecclesiastes", "Song of Solomon", "Isaiah", "Jeremiah",
-        "Lamentations", "Ezekiel", "Daniel", "Hosea", "Joel", "Amos", "Obadiah", "Jonah", "Micah",
-        "Nahum", "Habakkuk", "Zephaniah", "Haggai", "Zechariah", "Malachi", "Matthew", "Mark", "Luke",
-        "John", "Acts", "Romans", "1 Corinthians", "2 Corinthians", "Galatians", "Ephesians",
-        "Philippians", "Colossians", "1 Thessalonians", "2 Thessalonians", "1 Timothy", "2 Timothy",
-        "Titus", "Philemon", "Hebrews", "James", "1 Peter", "2 Peter", "1 John", "2 John", "3 John",
-        "Jude", "Revelation"
-    };
+    private final Context context;
 
-    /**
-     * Map standard English book names to KJV database format
-     */
-    private String mapToKJVBookName(String standardBookName) {
-        switch (standardBookName) {
-            case "1 Samuel": return "I Samuel";
-            case "2 Samuel": return "II Samuel";
-            case "1 Kings": return "I Kings";
-            case "2 Kings": return "II Kings";
-            case "1 Chronicles": return "I Chronicles";
-            case "2 Chronicles": return "II Chronicles";
-            case "1 Corinthians": return "I Corinthians";
-            case "2 Corinthians": return "II Corinthians";
-            case "1 Thessalonians": return "I Thessalonians";
-            case "2 Thessalonians": return "II Thessalonians";
-            case "1 Timothy": return "I Timothy";
-            case "2 Timothy": return "II Timothy";
-            case "1 Peter": return "I Peter";
-            case "2 Peter": return "II Peter";
-            case "1 John": return "I John";
-            case "2 John": return "II John";
-            case "3 John": return "III John";
-            case "Revelation": return "Revelation of John";
-            default: return standardBookName;
-        }
-    }
+    // Layout of the shared connection, probed once when it is first seen (null if unusable)
+    private static Schema schema;
+    private static SQLiteDatabase probedDatabase;
 
     public KJVBibleDBHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
-        this.context = context;
-        
+        // Constructing a helper is cheap; the connection is shared process-wide
+        this.context = context.getApplicationContext();
+    }
+
+    /**
+     * Shared connection to KJV.db, or null if it could not be opened
+     */
+    private SQLiteDatabase getDatabase() {
         try {
-            createDataBase();
-            openDataBase();
-        } catch (IOException e) {
-            Log.e(TAG, "Error creating database: " + e.getMessage());
+            return BibleDatabases.get(context, BibleDatabases.KJV);
+        } catch (SQLException e) {
+            Log.e(TAG, "Error opening database: " + e.getMessage());
+            return null;
         }
     }
 
-    @Override
-    public void onCreate(SQLiteDatabase db) {
-        // Database is copied from assets, so no need to create tables
+    public List<String> getAllBooks() {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("KJVBibleDBHelper.getAllBooks")) {
+            return getAllBooksImpl();
+        }
     }
 
-    @Override
-    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // Handle database upgrade if needed
-    }
+    private List<String> getAllBooksImpl() {
+        Schema s = getSchema();
+        List<String> books = new ArrayList<>();
+        if (s != null && !s.bookNames.isEmpty()) {
+            books.addAll(s.bookNames);
+            return books;
+        }
 
-    private void createDataBase() throws IOException {
-        boolean dbExist = checkDataBase();
-        if (!dbExist) {
-            this.getReadableDatabase();
-            try {
-                copyDataBase();
-            } catch (IOException e) {
-                throw new Error("Error copying database: " + e.getMessage());
-            }
+        Log.w(TAG, "No books table found, using fallback book list");
+        for (int book = 1; book <= BookRegistry.BOOK_COUNT; book++) {
+            books.add(BookRegistry.englishName(book));
         }
+        return books;
     }
 
-    private boolean checkDataBase() {
-        File dbFile = context.getDatabasePath(DATABASE_NAME);
-        return dbFile.exists();
+    public List<Integer> getChaptersForBook(String bookName) {
+        return Versification.get(context, true).chapterList(bookOrdinal(bookName));
     }
 
-    private void copyDataBase() throws IOException {
-        InputStream myInput = context.getAssets().open(DATABASE_NAME);
-        String outFileName = context.getDatabasePath(DATABASE_NAME).getPath();
-        FileOutputStream myOutput = new FileOutputStream(outFileName);
-
-        byte[] buffer = new byte[1024];
-        int length;
-        while ((length = myInput.read(buffer)) > 0) {
-            myOutput.write(buffer, 0, length);
-        }
-
-        myOutput.flush();
-        myOutput.close();
-        myInput.close();
+    public List<Integer> getVersesForChapter(String bookName, int chapter) {
+        return Versification.get(context, true).verseList(bookOrdinal(bookName), chapter);
     }
 
-    private void openDataBase() throws SQLException {
-        String myPath = context.getDatabasePath(DATABASE_NAME).getPath();
-        database = SQLiteDatabase.openDatabase(myPath, null, SQLiteDatabase.OPEN_READONLY);
+    /**
+     * Canonical ordinal for a standard, KJV-format or abbreviated book name, -1 if unknown
+     */
+    private int bookOrdinal(String bookName) {
+        int ordinal = BookRegistry.ordinal(bookName);
+        if (ordinal > 0) {
+            return ordinal;
+        }
+        // KJV_books ids follow canonical order, so the database id is the ordinal
+        return getBookId(bookName);
     }
 
-    public List<String> getAllBooks() {
-        List<String> books = new ArrayList<>();
-        
-        try {
-            if (database != null) {
-                // Use the correct KJV database schema: KJV_books table with id, name
-                String[] possibleQueries = {
-                    "SELECT name FROM KJV_books ORDER BY id",
-                    // Fallback queries in case of case sensitivity issues
-                    "SELECT name FROM kjv_books ORDER BY id",
-                    "SELECT name FROM books ORDER BY id"
-                };
-                
-                boolean found = false;
-                for (String query : possibleQueries) {
-                    try {
-                        Cursor cursor = database.rawQuery(query, null);
-                        if (cursor.moveToFirst()) {
-                            do {
-                                books.add(cursor.getString(0));
-                            } while (cursor.moveToNext());
-                        }
-                        cursor.close();
-                        if (!books.isEmpty()) {
-                            found = true;
-                            Log.d(TAG, "Successfully loaded " + books.size() + " books using query: " + query);
-                            break;
-                        }
-                    } catch (Exception e) {
-                        Log.d(TAG, "Query failed: " + query + " - " + e.getMessage());
-                    }
-                }
-                
-                if (!found) {
-                    Log.w(TAG, "No books table found, using fallback list");
-                    throw new Exception("No books table found");
-                }
-            } else {
-                throw new Exception("Database not initialized");
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting books: " + e.getMessage());
-            // Fallback to hardcoded list
-            books.clear();
-            for (String book : ENGLISH_BOOKS) {
-                books.add(book);
-            }
-            Log.d(TAG, "Using fallback book list with " + books.size() + " books");
+    public List<Verse> getVersesForChapterRange(String bookName, int chapter) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("KJVBibleDBHelper.getVersesForChapterRange")) {
+            return getVersesForChapterRangeImpl(bookName, chapter);
         }
-
-        return books;
     }
 
-    public List<Integer> getChaptersForBook(String bookName) {
-        List<Integer> chapters = new ArrayList<>();
-        if (database == null) {
-            Log.w(TAG, "Database not available, using default chapters for " + bookName);
-            // Return default chapters (most books have at least 1-50 chapters)
-            for (int i = 1; i <= 50; i++) {
-                chapters.add(i);
-            }
-            return chapters;
+    private List<Verse> getVersesForChapterRangeImpl(String bookName, int chapter) {
+        List<Verse> verses = new ArrayList<>();
+        Schema s = getSchema();
+        String bookKey = s != null ? s.bookKey(BookRegistry.toKjvName(bookName)) : null;
+        if (bookKey == null) {
+            Log.w(TAG, "No verses found for chapter range " + bookName + " " + chapter);
+            return verses;
         }
 
         try {
-            // Map the book name to KJV database format
-            String mappedBookName = mapToKJVBookName(bookName);
-            Log.d(TAG, "Mapping book name from '" + bookName + "' to '" + mappedBookName + "' for chapters");
-            
-            // Use the correct KJV database schema: KJV_verses table with book_id, chapter
-            String[] possibleQueries = {
-                // Primary query using the correct schema
-                "SELECT DISTINCT chapter FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE name = ?) ORDER BY chapter",
-                // Case-insensitive book name matching
-                "SELECT DISTINCT chapter FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE LOWER(name) = LOWER(?)) ORDER BY chapter",
-                // Fallback queries
-                "SELECT DISTINCT chapter FROM kjv_verses WHERE book_id = (SELECT id FROM kjv_books WHERE name = ?) ORDER BY chapter",
-                "SELECT DISTINCT chapter FROM verses WHERE book_id = (SELECT id FROM books WHERE name = ?) ORDER BY chapter"
-            };
-            
-            boolean found = false;
-            for (String query : possibleQueries) {
-                try {
-                    Cursor cursor = database.rawQuery(query, new String[]{mappedBookName});
-                    if (cursor.moveToFirst()) {
-                        do {
-                            chapters.add(cursor.getInt(0));
-                        } while (cursor.moveToNext());
-                    }
-                    cursor.close();
-                    if (!chapters.isEmpty()) {
-                        found = true;
-                        Log.d(TAG, "Successfully loaded " + chapters.size() + " chapters for " + bookName + " using query: " + query);
-                        break;
-                    }
-                } catch (Exception e) {
-                    Log.d(TAG, "Query failed for chapters: " + query + " - " + e.getMessage());
-                }
-            }
-            
-            if (!found) {
-                Log.w(TAG, "No chapters found for " + bookName + ", using default");
-                // Default to 50 chapters
-                for (int i = 1; i <= 50; i++) {
-                    chapters.add(i);
-                }
+            Cursor cursor = s.db.rawQuery(s.chapterTextSql, new String[]{bookKey, String.valueOf(chapter)});
+            while (cursor.moveToNext()) {
+                Verse verse = new Verse();
+                verse.setVerseNumber(cursor.getInt(0));
+                verse.setVerseText(cursor.getString(1));
+                verse.setBookName(bookName);
+                verse.setChapterNumber(chapter);
+                verses.add(verse);
             }
+            cursor.close();
         } catch (Exception e) {
-            Log.e(TAG, "Error getting chapters: " + e.getMessage());
-            // Default to 50 chapters
-            for (int i = 1; i <= 50; i++) {
-                chapters.add(i);
-            }
+            Log.e(TAG, "Error getting verses for chapter range: " + e.getMessage());
         }
 
-        return chapters;
+        return verses;
     }
 
-    public List<Integer> getVersesForChapter(String bookName, int chapter) {
-        List<Integer> verses = new ArrayList<>();
-        if (database == null) {
-            Log.w(TAG, "Database not available, using default verses for " + bookName + " " + chapter);
-            // Return default verses (most chapters have at least 1-30 verses)
-            for (int i = 1; i <= 30; i++) {
-                verses.add(i);
-            }
-            return verses;
+    public String getVerseText(String bookName, int chapter, int verse) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("KJVBibleDBHelper.getVerseText")) {
+            return getVerseTextImpl(bookName, chapter, verse);
         }
+    }
 
-        try {
-            // Map the book name to KJV database format
-            String mappedBookName = mapToKJVBookName(bookName);
-            Log.d(TAG, "Mapping book name from '" + bookName + "' to '" + mappedBookName + "' for verses");
-            
-            // Use the correct KJV database schema: KJV_verses table with book_id, chapter, verse
-            String[] possibleQueries = {
-                // Primary query using the correct schema
-                "SELECT DISTINCT verse FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE name = ?) AND chapter = ? ORDER BY verse",
-                // Case-insensitive book name matching
-                "SELECT DISTINCT verse FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE LOWER(name) = LOWER(?)) AND chapter = ? ORDER BY verse",
-                // Fallback queries
-                "SELECT DISTINCT verse FROM kjv_verses WHERE book_id = (SELECT id FROM kjv_books WHERE name = ?) AND chapter = ? ORDER BY verse",
-                "SELECT DISTINCT verse FROM verses WHERE book_id = (SELECT id FROM books WHERE name = ?) AND chapter = ? ORDER BY verse"
-            };
-            
-            boolean found = false;
-            for (String query : possibleQueries) {
+    private String getVerseTextImpl(String bookName, int chapter, int verse) {
+        Schema s = getSchema();
+        if (s == null) {
+            return "English verse not available (Database not found)";
+        }
+
+        String bookKey = s.bookKey(BookRegistry.toKjvName(bookName));
+        if (bookKey != null) {
+            // A compiled statement is single-threaded, so lookups on it are serialised
+            synchronized (s.verseTextStatement) {
                 try {
-                    Cursor cursor = database.rawQuery(query, new String[]{mappedBookName, String.valueOf(chapter)});
-                    if (cursor.moveToFirst()) {
-                        do {
-                            verses.add(cursor.getInt(0));
-                        } while (cursor.moveToNext());
-                    }
-                    cursor.close();
-                    if (!verses.isEmpty()) {
-                        found = true;
-                        Log.d(TAG, "Successfully loaded " + verses.size() + " verses for " + bookName + " " + chapter + " using query: " + query);
-                        break;
+                    s.verseTextStatement.bindString(1, bookKey);
+                    s.verseTextStatement.bindLong(2, chapter);
+                    s.verseTextStatement.bindLong(3, verse);
+                    String text = s.verseTextStatement.simpleQueryForString();
+                    if (text != null && !text.isEmpty()) {
+                        return text;
                     }
+                } catch (SQLiteDoneException e) {
+                    // No such verse; fall through to the not-available text
                 } catch (Exception e) {
-                    Log.d(TAG, "Query failed for verses: " + query + " - " + e.getMessage());
-                }
-            }
-            
-            if (!found) {
-                Log.w(TAG, "No verses found for " + bookName + " " + chapter + ", using default");
-                // Default to 30 verses
-                for (int i = 1; i <= 30; i++) {
-                    verses.add(i);
+                    Log.e(TAG, "Error getting verse text: " + e.getMessage());
+                } finally {
+                    s.verseTextStatement.clearBindings();
                 }
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting verses: " + e.getMessage());
-            // Default to 30 verses
-            for (int i = 1; i <= 30; i++) {
-                verses.add(i);
-            }
         }
 
-        return verses;
+        return "English verse not available (" + bookName + " " + chapter + ":" + verse + ")";
     }
 
-    public List<Verse> getVersesForChapterRange(String bookName, int chapter) {
-        List<Verse> verses = new ArrayList<>();
-        if (database == null) {
-            return verses;
+    public int getBookId(String bookName) {
+        Schema s = getSchema();
+        if (s == null || !s.bookById) {
+            return -1;
         }
+        String bookKey = s.bookKey(bookName);
+        return bookKey != null ? Integer.parseInt(bookKey) : -1;
+    }
 
-        try {
-            // Map the book name to KJV database format
-            String mappedBookName = mapToKJVBookName(bookName);
-            Log.d(TAG, "Mapping book name from '" + bookName + "' to '" + mappedBookName + "' for chapter range");
-            
-            // Use the correct KJV database schema: KJV_verses table with book_id, chapter, verse, text columns
-            String[] possibleQueries = {
-                // Primary query using the correct schema
-                "SELECT verse, text FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE name = ?) AND chapter = ? ORDER BY verse",
-                // Case-insensitive book name matching
-                "SELECT verse, text FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE LOWER(name) = LOWER(?)) AND chapter = ? ORDER BY verse",
-                // Fallback queries
-                "SELECT verse, text FROM kjv_verses WHERE book_id = (SELECT id FROM kjv_books WHERE name = ?) AND chapter = ? ORDER BY verse",
-                "SELECT verse, text FROM verses WHERE book_id = (SELECT id FROM books WHERE name = ?) AND chapter = ? ORDER BY verse"
-            };
-            
-            boolean found = false;
-            for (String query : possibleQueries) {
-                try {
-                    Cursor cursor = database.rawQuery(query, new String[]{mappedBookName, String.valueOf(chapter)});
-                    if (cursor.moveToFirst()) {
-                        do {
-                            Verse verse = new Verse();
-                            verse.setVerseNumber(cursor.getInt(0));
-                            verse.setVerseText(cursor.getString(1));
-                            verse.setBookName(bookName);
-                            verse.setChapterNumber(chapter);
-                            verses.add(verse);
-                        } while (cursor.moveToNext());
-                    }
-                    cursor.close();
-                    if (!verses.isEmpty()) {
-                        found = true;
-                        Log.d(TAG, "Successfully loaded " + verses.size() + " verses for " + bookName + " " + chapter);
-                        break;
-                    }
-                } catch (Exception e) {
-                    Log.d(TAG, "Query failed for chapter range: " + query + " - " + e.getMessage());
+    /**
+     * Schema of the current shared connection, probing it the first time it is seen
+     */
+    private Schema getSchema() {
+        SQLiteDatabase database = getDatabase();
+        if (database == null) {
+            return null;
+        }
+        synchronized (KJVBibleDBHelper.class) {
+            if (probedDatabase != database) {
+                Schema previous = schema;
+                schema = Schema.probe(database);
+                probedDatabase = database;
+                if (previous != null) {
+                    previous.close();
                 }
             }
-            
-            if (!found) {
-                Log.w(TAG, "No verses found for chapter range " + bookName + " " + chapter);
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting verses for chapter range: " + e.getMessage());
+            return schema;
         }
-
-        return verses;
     }
 
-    public String getVerseText(String bookName, int chapter, int verse) {
-        if (database == null) {
-            return "English verse not available (Database not found)";
+    /**
+     * Which tables and columns the shipped KJV.db uses, plus the lookups compiled against them.
+     * Table names are matched case-insensitively, as SQLite itself does, and book names are
+     * resolved through an in-memory map so no query has to repeat a name subselect.
+     */
+    private static final class Schema {
+        final SQLiteDatabase db;
+        final boolean bookById; // verses carry book_id into a books table, otherwise a book name column
+        final List<String> bookNames = new ArrayList<>();
+        // Lower-cased, trimmed book name -> value bound for the book column
+        final Map<String, String> bookKeys = new HashMap<>();
+        final String chapterTextSql;
+        final SQLiteStatement verseTextStatement;
+
+        private Schema(SQLiteDatabase db, String versesTable, String bookColumn, boolean bookById) {
+            this.db = db;
+            this.bookById = bookById;
+            chapterTextSql = BibleSql.kjvChapterText(versesTable, bookColumn);
+            verseTextStatement = db.compileStatement(BibleSql.kjvVerseText(versesTable, bookColumn));
         }
 
-        try {
-            // Map the book name to KJV database format
-            String mappedBookName = mapToKJVBookName(bookName);
-            Log.d(TAG, "Mapping book name from '" + bookName + "' to '" + mappedBookName + "'");
-            
-            // Use the correct KJV database schema: KJV_verses table with book_id, chapter, verse, text
-            String[] possibleQueries = {
-                // Primary query using the correct schema with mapped book name
-                "SELECT text FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE name = ?) AND chapter = ? AND verse = ?",
-                // Case-insensitive book name matching
-                "SELECT text FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE LOWER(name) = LOWER(?)) AND chapter = ? AND verse = ?",
-                "SELECT text FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE UPPER(name) = UPPER(?)) AND chapter = ? AND verse = ?",
-                // Fallback: try with trimmed book name
-                "SELECT text FROM KJV_verses WHERE book_id = (SELECT id FROM KJV_books WHERE TRIM(name) = TRIM(?)) AND chapter = ? AND verse = ?",
-                // Additional fallback queries for different table names
-                "SELECT text FROM kjv_verses WHERE book_id = (SELECT id FROM kjv_books WHERE name = ?) AND chapter = ? AND verse = ?",
-                "SELECT text FROM verses WHERE book_id = (SELECT id FROM books WHERE name = ?) AND chapter = ? AND verse = ?"
-            };
-            
-            for (String query : possibleQueries) {
-                try {
-                    Cursor cursor = database.rawQuery(query, new String[]{mappedBookName, String.valueOf(chapter), String.valueOf(verse)});
-                    if (cursor.moveToFirst()) {
-                        String text = cursor.getString(0);
-                        cursor.close();
-                        if (text != null && !text.isEmpty()) {
-                            Log.d(TAG, "Successfully found verse text using query: " + query);
-                            return text;
-                        }
-                    }
-                    cursor.close();
-                } catch (Exception e) {
-                    Log.d(TAG, "Query failed for verse text: " + query + " - " + e.getMessage());
-                }
+        String bookKey(String bookName) {
+            return bookName == null ? null : bookKeys.get(normalize(bookName));
+        }
+
+        /**
+         * Release the compiled lookup once the connection it belongs to has been replaced
+         */
+        void close() {
+            synchronized (verseTextStatement) {
+                verseTextStatement.close();
             }
-            
-            // If all queries fail, try to get any verse from the database to understand the schema
-            Log.w(TAG, "All verse text queries failed for '" + bookName + "', attempting to understand database schema...");
+        }
+
+        static Schema probe(SQLiteDatabase db) {
+            long start = SystemClock.elapsedRealtime();
             try {
-                // First, log available tables
-                Cursor cursor = database.rawQuery("SELECT name FROM sqlite_master WHERE type='table'", null);
-                if (cursor.moveToFirst()) {
-                    do {
-                        String tableName = cursor.getString(0);
-                        Log.d(TAG, "Available table: " + tableName);
-                    } while (cursor.moveToNext());
+                List<String> tables = new ArrayList<>();
+                Cursor cursor = db.rawQuery("SELECT name FROM sqlite_master WHERE type='table'", null);
+                while (cursor.moveToNext()) {
+                    tables.add(cursor.getString(0));
                 }
                 cursor.close();
-                
-                // Try to find similar book names in the database
-                String[] possibleBookQueries = {
-                    "SELECT name FROM KJV_books LIMIT 10",
-                    "SELECT DISTINCT book FROM KJV_verses LIMIT 10",
-                    "SELECT name FROM kjv_books LIMIT 10",
-                    "SELECT DISTINCT book FROM kjv_verses LIMIT 10",
-                    "SELECT name FROM books LIMIT 10",
-                    "SELECT DISTINCT book FROM verses LIMIT 10"
-                };
-                
-                for (String query : possibleBookQueries) {
-                    try {
-                        cursor = database.rawQuery(query, null);
-                        if (cursor.moveToFirst()) {
-                            Log.d(TAG, "Sample books from query '" + query + "':");
-                            do {
-                                String sampleBook = cursor.getString(0);
-                                Log.d(TAG, "  - " + sampleBook);
-                            } while (cursor.moveToNext());
-                            break; // Stop after first successful query
-                        }
-                        cursor.close();
-                    } catch (Exception e) {
-                        Log.d(TAG, "Query failed: " + query + " - " + e.getMessage());
-                    }
+
+                String versesTable = findTable(tables, "KJV_verses", "verses");
+                String booksTable = findTable(tables, "KJV_books", "books");
+                if (versesTable == null) {
+                    Log.e(TAG, "No verses table in KJV database, tables: " + tables);
+                    return null;
                 }
+
+                boolean bookById = booksTable != null && hasColumn(db, versesTable, "book_id");
+                String bookColumn = bookById ? "book_id" : "book";
+                Schema s = new Schema(db, versesTable, bookColumn, bookById);
+
+                cursor = bookById
+                        ? db.rawQuery("SELECT id, name FROM " + booksTable + " ORDER BY id", null)
+                        : db.rawQuery("SELECT DISTINCT book, book FROM " + versesTable + " ORDER BY rowid", null);
+                while (cursor.moveToNext()) {
+                    String name = cursor.getString(1);
+                    s.bookNames.add(name);
+                    s.bookKeys.put(normalize(name), cursor.getString(0));
+                }
+                cursor.close();
+
+                // Makes every lookup above a single index probe
+                db.execSQL(BibleSql.createKjvLocationIndex(versesTable, bookColumn));
+
+                Log.d(TAG, "Probed KJV schema in " + (SystemClock.elapsedRealtime() - start) + " ms: " +
+                        versesTable + "." + bookColumn + ", " + s.bookNames.size() + " books");
+                return s;
             } catch (Exception e) {
-                Log.e(TAG, "Error getting table names: " + e.getMessage());
+                Log.e(TAG, "Error probing KJV schema: " + e.getMessage());
+                return null;
             }
-            
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting verse text: " + e.getMessage());
         }
 
-        return "English verse not available (" + bookName + " " + chapter + ":" + verse + ")";
-    }
-
-    public int getBookId(String bookName) {
-        if (database == null) {
-            return -1;
+        private static String findTable(List<String> tables, String... candidates) {
+            for (String candidate : candidates) {
+                for (String table : tables) {
+                    if (table.equalsIgnoreCase(candidate)) {
+                        return table;
+                    }
+                }
+            }
+            return null;
         }
 
-        try {
-            // Use schema: <translation>_books table with id, name columns
-            String[] possibleQueries = {
-                "SELECT id FROM kjv_books WHERE name = ?",
-                "SELECT id FROM books WHERE name = ?"
-            };
-            
-            for (String query : possibleQueries) {
-                try {
-                    Cursor cursor = database.rawQuery(query, new String[]{bookName});
-                    if (cursor.moveToFirst()) {
-                        int id = cursor.getInt(0);
-                        cursor.close();
-                        return id;
+        private static boolean hasColumn(SQLiteDatabase db, String table, String column) {
+            Cursor cursor = db.rawQuery("PRAGMA table_info(" + table + ")", null);
+            try {
+                int nameIndex = cursor.getColumnIndexOrThrow("name");
+                while (cursor.moveToNext()) {
+                    if (column.equalsIgnoreCase(cursor.getString(nameIndex))) {
+                        return true;
                     }
-                    cursor.close();
-                } catch (Exception e) {
-                    Log.d(TAG, "Query failed for book ID: " + query + " - " + e.getMessage());
                 }
+                return false;
+            } finally {
+                cursor.close();
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Error getting book ID: " + e.getMessage());
         }
 
-        return -1;
-    }
-
-    @Override
-    public synchronized void close() {
-        if (database != null) {
-            database.close();
+        private static String normalize(String bookName) {
+            return bookName.trim().toLowerCase(Locale.ROOT);
         }
-        super.close();
     }
-
 }
@@ -7,6 +7,8 @@ public class Note {
     private long id;
     private String title;
     private List<VerseReference> verseReferences;
+    // Set when the note was loaded as a summary without its references
+    private int verseCount = -1;
 
     public Note() {
         verseReferences = new ArrayList<>();
@@ -42,6 +44,14 @@ public class Note {
         this.verseReferences = verseReferences;
     }
 
+    public int getVerseCount() {
+        return verseCount >= 0 ? verseCount : verseReferences.size();
+    }
+
+    public void setVerseCount(int verseCount) {
+        this.verseCount = verseCount;
+    }
+
     public void addVerseReference(VerseReference verseReference) {
         verseReferences.add(verseReference);
     }
@@ -27,6 +27,17 @@ public class NoteAdapter extends RecyclerView.Adapter<NoteAdapter.NoteViewHolder
         this.listener = listener;
     }
 
+    public void setNotes(List<Note> notes) {
+        this.notes = notes;
+        notifyDataSetChanged();
+    }
+
+    public void appendNotes(List<Note> page) {
+        int start = notes.size();
+        notes.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
     @NonNull
     @Override
     public NoteViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -41,7 +52,7 @@ public class NoteAdapter extends RecyclerView.Adapter<NoteAdapter.NoteViewHolder
         holder.titleTextView.setText(note.getTitle());
 
         // Show how many verses are in this note
-        int verseCount = note.getVerseReferences().size();
+        int verseCount = note.getVerseCount();
         holder.verseCountTextView.setText(verseCount + " verse" + (verseCount != 1 ? "s" : ""));
 
         holder.itemView.setOnClickListener(v -> {
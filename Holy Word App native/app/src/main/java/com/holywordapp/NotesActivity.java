@@ -18,10 +18,15 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class NotesActivity extends AppCompatActivity implements NoteAdapter.NoteListener {
 
+    private static final int PAGE_SIZE = 50;
+
     private RecyclerView recyclerViewNotes;
     private NotesDBHelper dbHelper;
     private NoteAdapter noteAdapter;
@@ -31,6 +36,13 @@ public class NotesActivity extends AppCompatActivity implements NoteAdapter.Note
     private com.google.android.material.floatingactionbutton.FloatingActionButton fabAddNote;
     private com.google.android.material.button.MaterialButton btnCreateFirstNote;
 
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // Bumped on every reload so pages from an older list are dropped
+    private int loadGeneration = 0;
+    private boolean loadingPage = false;
+    private boolean allLoaded = false;
+    private long lastLoadedId = Long.MAX_VALUE;
+
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -53,31 +65,79 @@ public class NotesActivity extends AppCompatActivity implements NoteAdapter.Note
 
         dbHelper = new NotesDBHelper(this);
 
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        noteAdapter = new NoteAdapter(new ArrayList<>(), this);
+        recyclerViewNotes.setLayoutManager(layoutManager);
+        recyclerViewNotes.setAdapter(noteAdapter);
+        recyclerViewNotes.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= noteAdapter.getItemCount() - PAGE_SIZE / 3) {
+                    loadNextPage();
+                }
+            }
+        });
+
         // Set up button click listeners
         fabAddNote.setOnClickListener(v -> showCreateNoteDialog());
         btnCreateFirstNote.setOnClickListener(v -> showCreateNoteDialog());
-
-        loadNotes();
     }
 
+    /**
+     * Reload from the top: the count and the first page are read off the main thread
+     */
     private void loadNotes() {
-        List<Note> notes = dbHelper.getAllNotes();
-
-        // Update notes count
-        String countText = notes.size() + (notes.size() == 1 ? " Note" : " Notes");
-        notesCountView.setText(countText);
-
-        if (notes.isEmpty()) {
-            recyclerViewNotes.setVisibility(View.GONE);
-            layoutEmptyState.setVisibility(View.VISIBLE);
-        } else {
-            recyclerViewNotes.setVisibility(View.VISIBLE);
-            layoutEmptyState.setVisibility(View.GONE);
-
-            noteAdapter = new NoteAdapter(notes, this);
-            recyclerViewNotes.setLayoutManager(new LinearLayoutManager(this));
-            recyclerViewNotes.setAdapter(noteAdapter);
+        int generation = ++loadGeneration;
+        loadingPage = true;
+        executor.execute(() -> {
+            long count = dbHelper.getNoteCount();
+            List<Note> firstPage = dbHelper.getNotesPage(Long.MAX_VALUE, PAGE_SIZE);
+            runOnUiThread(() -> {
+                if (isFinishing() || generation != loadGeneration) {
+                    return;
+                }
+                loadingPage = false;
+
+                // Update notes count
+                String countText = count + (count == 1 ? " Note" : " Notes");
+                notesCountView.setText(countText);
+
+                if (firstPage.isEmpty()) {
+                    recyclerViewNotes.setVisibility(View.GONE);
+                    layoutEmptyState.setVisibility(View.VISIBLE);
+                } else {
+                    recyclerViewNotes.setVisibility(View.VISIBLE);
+                    layoutEmptyState.setVisibility(View.GONE);
+                }
+                noteAdapter.setNotes(new ArrayList<>(firstPage));
+                onPageLoaded(firstPage);
+            });
+        });
+    }
+
+    private void loadNextPage() {
+        if (loadingPage || allLoaded) {
+            return;
         }
+        loadingPage = true;
+        int generation = loadGeneration;
+        long beforeId = lastLoadedId;
+        executor.execute(() -> {
+            List<Note> page = dbHelper.getNotesPage(beforeId, PAGE_SIZE);
+            runOnUiThread(() -> {
+                if (isFinishing() || generation != loadGeneration) {
+                    return;
+                }
+                loadingPage = false;
+                noteAdapter.appendNotes(page);
+                onPageLoaded(page);
+            });
+        });
+    }
+
+    private void onPageLoaded(List<Note> page) {
+        allLoaded = page.size() < PAGE_SIZE;
+        lastLoadedId = page.isEmpty() ? Long.MAX_VALUE : page.get(page.size() - 1).getId();
     }
 
     @Override
@@ -200,4 +260,10 @@ public class NotesActivity extends AppCompatActivity implements NoteAdapter.Note
         super.onResume();
         loadNotes(); // Refresh notes when returning to this activity
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        executor.shutdownNow();
+    }
 }
\ No newline at end of file
@@ -3,16 +3,23 @@ package com.holywordapp;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import com.holywordapp.perf.PerfMetrics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class NotesDBHelper extends SQLiteOpenHelper {
 
     private static final String DATABASE_NAME = "bible_notes.db";
-    private static final int DATABASE_VERSION = 3;
+    private static final int DATABASE_VERSION = 5;
 
     // Tables
     private static final String TABLE_NOTES = "notes";
@@ -65,6 +72,19 @@ public class NotesDBHelper extends SQLiteOpenHelper {
                     KEY_HIGHLIGHT_VERSE + " INTEGER NOT NULL, " +
                     KEY_HIGHLIGHT_COLOR + " INTEGER NOT NULL);";
 
+    // Loading a note's verses and deleting a note (ON DELETE CASCADE) both look rows up by note
+    private static final String CREATE_INDEX_VERSE_REFERENCES_NOTE =
+            "CREATE INDEX IF NOT EXISTS idx_verse_references_note_id ON " + TABLE_VERSE_REFERENCES + "(" +
+                    KEY_VERSE_REF_NOTE_ID + ");";
+
+    // One highlight per verse; also serves the per-chapter lookup through its (book, chapter) prefix
+    private static final String CREATE_INDEX_VERSE_HIGHLIGHTS =
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_verse_highlights_location ON " + TABLE_VERSE_HIGHLIGHTS + "(" +
+                    KEY_HIGHLIGHT_BOOK + ", " + KEY_HIGHLIGHT_CHAPTER + ", " + KEY_HIGHLIGHT_VERSE + ");";
+
+    /** Color stored for verses without a highlight */
+    public static final int NO_HIGHLIGHT = 0xFFFFFFFF;
+
     public NotesDBHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
     }
@@ -73,7 +93,9 @@ public class NotesDBHelper extends SQLiteOpenHelper {
     public void onCreate(SQLiteDatabase db) {
         db.execSQL(CREATE_TABLE_NOTES);
         db.execSQL(CREATE_TABLE_VERSE_REFERENCES);
+        db.execSQL(CREATE_INDEX_VERSE_REFERENCES_NOTE);
         db.execSQL(CREATE_TABLE_VERSE_HIGHLIGHTS);
+        db.execSQL(CREATE_INDEX_VERSE_HIGHLIGHTS);
     }
 
     @Override
@@ -90,6 +112,17 @@ public class NotesDBHelper extends SQLiteOpenHelper {
                 onCreate(db);
             }
         }
+        if (oldVersion < 4) {
+            // Older versions could store a verse more than once; keep the latest before enforcing uniqueness
+            db.execSQL("DELETE FROM " + TABLE_VERSE_HIGHLIGHTS + " WHERE " + KEY_HIGHLIGHT_ID + " NOT IN (" +
+                    "SELECT MAX(" + KEY_HIGHLIGHT_ID + ") FROM " + TABLE_VERSE_HIGHLIGHTS +
+                    " GROUP BY " + KEY_HIGHLIGHT_BOOK + ", " + KEY_HIGHLIGHT_CHAPTER + ", " + KEY_HIGHLIGHT_VERSE + ")");
+            db.execSQL("DELETE FROM " + TABLE_VERSE_HIGHLIGHTS + " WHERE " + KEY_HIGHLIGHT_COLOR + " = " + NO_HIGHLIGHT);
+            db.execSQL(CREATE_INDEX_VERSE_HIGHLIGHTS);
+        }
+        if (oldVersion < 5) {
+            db.execSQL(CREATE_INDEX_VERSE_REFERENCES_NOTE);
+        }
     }
 
     @Override
@@ -100,6 +133,12 @@ public class NotesDBHelper extends SQLiteOpenHelper {
 
     // Note operations
     public long createNote(Note note) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("NotesDBHelper.createNote")) {
+            return createNoteImpl(note);
+        }
+    }
+
+    private long createNoteImpl(Note note) {
         SQLiteDatabase db = this.getWritableDatabase();
 
         ContentValues values = new ContentValues();
@@ -116,6 +155,12 @@ public class NotesDBHelper extends SQLiteOpenHelper {
     }
 
     public long addVerseReferenceToNote(long noteId, VerseReference reference) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("NotesDBHelper.addVerseReferenceToNote")) {
+            return addVerseReferenceToNoteImpl(noteId, reference);
+        }
+    }
+
+    private long addVerseReferenceToNoteImpl(long noteId, VerseReference reference) {
         SQLiteDatabase db = this.getWritableDatabase();
 
         ContentValues values = new ContentValues();
@@ -133,93 +178,147 @@ public class NotesDBHelper extends SQLiteOpenHelper {
         return id;
     }
 
+    /**
+     * Every note with its verses: one query for the notes and one for all their references
+     */
     public List<Note> getAllNotes() {
-        List<Note> notes = new ArrayList<>();
-        String selectQuery = "SELECT * FROM " + TABLE_NOTES + " ORDER BY " + KEY_NOTE_ID + " DESC";
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("NotesDBHelper.getAllNotes")) {
+            return getAllNotesImpl();
+        }
+    }
 
+    private List<Note> getAllNotesImpl() {
+        List<Note> notes = new ArrayList<>();
+        Map<Long, Note> notesById = new HashMap<>();
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor c = db.rawQuery(selectQuery, null);
-
-        if (c.moveToFirst()) {
-            do {
-                Note note = new Note();
-                note.setId(c.getLong(c.getColumnIndex(KEY_NOTE_ID)));
-                note.setTitle(c.getString(c.getColumnIndex(KEY_NOTE_TITLE)));
-
-                // Get all verse references for this note
-                note.setVerseReferences(getVerseReferencesForNote(note.getId()));
 
+        Cursor c = db.query(TABLE_NOTES, new String[]{KEY_NOTE_ID, KEY_NOTE_TITLE},
+                null, null, null, null, KEY_NOTE_ID + " DESC");
+        try {
+            while (c.moveToNext()) {
+                Note note = new Note(c.getLong(0), c.getString(1));
                 notes.add(note);
-            } while (c.moveToNext());
+                notesById.put(note.getId(), note);
+            }
+        } finally {
+            c.close();
         }
 
-        c.close();
+        if (!notes.isEmpty()) {
+            c = db.query(TABLE_VERSE_REFERENCES, VERSE_REFERENCE_COLUMNS,
+                    null, null, null, null, KEY_VERSE_REF_NOTE_ID + ", " + KEY_VERSE_REF_ID);
+            try {
+                while (c.moveToNext()) {
+                    Note note = notesById.get(c.getLong(1));
+                    if (note != null) {
+                        note.addVerseReference(readVerseReference(c));
+                    }
+                }
+            } finally {
+                c.close();
+            }
+        }
         return notes;
     }
 
-    public Note getNote(long noteId) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        String selectQuery = "SELECT * FROM " + TABLE_NOTES + " WHERE " + KEY_NOTE_ID + " = " + noteId;
+    /**
+     * A page of notes, newest first, with their verse counts but not the verses themselves.
+     * Pages are keyed on the last id seen, so every page costs the same however deep the list is.
+     *
+     * @param beforeId only notes with a smaller id; Long.MAX_VALUE for the first page
+     * @param limit    page size, or -1 for all remaining notes
+     */
+    public List<Note> getNotesPage(long beforeId, int limit) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("NotesDBHelper.getNotesPage")) {
+            return getNotesPageImpl(beforeId, limit);
+        }
+    }
 
-        Cursor c = db.rawQuery(selectQuery, null);
+    private List<Note> getNotesPageImpl(long beforeId, int limit) {
+        List<Note> notes = new ArrayList<>();
+        String selectQuery = "SELECT n." + KEY_NOTE_ID + ", n." + KEY_NOTE_TITLE +
+                ", (SELECT COUNT(*) FROM " + TABLE_VERSE_REFERENCES + " r WHERE r." + KEY_VERSE_REF_NOTE_ID + " = n." + KEY_NOTE_ID + ")" +
+                " FROM " + TABLE_NOTES + " n WHERE n." + KEY_NOTE_ID + " < ?" +
+                " ORDER BY n." + KEY_NOTE_ID + " DESC LIMIT ?";
 
-        if (c != null && c.moveToFirst()) {
-            Note note = new Note();
-            note.setId(c.getLong(c.getColumnIndex(KEY_NOTE_ID)));
-            note.setTitle(c.getString(c.getColumnIndex(KEY_NOTE_TITLE)));
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor c = db.rawQuery(selectQuery, new String[]{String.valueOf(beforeId), String.valueOf(limit)});
+        try {
+            while (c.moveToNext()) {
+                Note note = new Note(c.getLong(0), c.getString(1));
+                note.setVerseCount(c.getInt(2));
+                notes.add(note);
+            }
+        } finally {
+            c.close();
+        }
+        return notes;
+    }
 
-            // Get all verse references for this note
-            note.setVerseReferences(getVerseReferencesForNote(note.getId()));
+    public long getNoteCount() {
+        return DatabaseUtils.queryNumEntries(this.getReadableDatabase(), TABLE_NOTES);
+    }
 
-            c.close();
-            return note;
+    public Note getNote(long noteId) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("NotesDBHelper.getNote")) {
+            return getNoteImpl(noteId);
         }
+    }
 
-        if (c != null) {
+    private Note getNoteImpl(long noteId) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor c = db.query(TABLE_NOTES, new String[]{KEY_NOTE_ID, KEY_NOTE_TITLE},
+                KEY_NOTE_ID + " = ?", new String[]{String.valueOf(noteId)}, null, null, null);
+
+        Note note = null;
+        try {
+            if (c.moveToFirst()) {
+                note = new Note(c.getLong(0), c.getString(1));
+            }
+        } finally {
             c.close();
         }
 
-        return null;
+        if (note != null) {
+            note.setVerseReferences(getVerseReferencesForNote(noteId));
+        }
+        return note;
     }
 
     private List<VerseReference> getVerseReferencesForNote(long noteId) {
         List<VerseReference> references = new ArrayList<>();
-        String selectQuery = "SELECT * FROM " + TABLE_VERSE_REFERENCES +
-                " WHERE " + KEY_VERSE_REF_NOTE_ID + " = " + noteId;
-
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor c = db.rawQuery(selectQuery, null);
-
-        if (c.moveToFirst()) {
-            do {
-                VerseReference reference = new VerseReference();
-                reference.setId(c.getLong(c.getColumnIndex(KEY_VERSE_REF_ID)));
-                reference.setNoteId(c.getLong(c.getColumnIndex(KEY_VERSE_REF_NOTE_ID)));
-                reference.setBookName(c.getString(c.getColumnIndex(KEY_VERSE_REF_BOOK)));
-                reference.setChapter(c.getInt(c.getColumnIndex(KEY_VERSE_REF_CHAPTER)));
-                reference.setVerse(c.getInt(c.getColumnIndex(KEY_VERSE_REF_VERSE)));
-                reference.setVerseText(c.getString(c.getColumnIndex(KEY_VERSE_REF_TEXT)));
-                
-                // Handle language column (may not exist in old database)
-                try {
-                    int languageColumn = c.getColumnIndex(KEY_VERSE_REF_LANGUAGE);
-                    if (languageColumn >= 0) {
-                        reference.setEnglishMode(c.getInt(languageColumn) == 1);
-                    } else {
-                        reference.setEnglishMode(false); // Default to Telugu for old records
-                    }
-                } catch (Exception e) {
-                    reference.setEnglishMode(false); // Default to Telugu for old records
-                }
-
-                references.add(reference);
-            } while (c.moveToNext());
+        Cursor c = db.query(TABLE_VERSE_REFERENCES, VERSE_REFERENCE_COLUMNS,
+                KEY_VERSE_REF_NOTE_ID + " = ?", new String[]{String.valueOf(noteId)},
+                null, null, KEY_VERSE_REF_ID);
+        try {
+            while (c.moveToNext()) {
+                references.add(readVerseReference(c));
+            }
+        } finally {
+            c.close();
         }
-
-        c.close();
         return references;
     }
 
+    // Fixed column order so rows are read by position instead of looking up names per row
+    private static final String[] VERSE_REFERENCE_COLUMNS = {
+            KEY_VERSE_REF_ID, KEY_VERSE_REF_NOTE_ID, KEY_VERSE_REF_BOOK, KEY_VERSE_REF_CHAPTER,
+            KEY_VERSE_REF_VERSE, KEY_VERSE_REF_TEXT, KEY_VERSE_REF_LANGUAGE
+    };
+
+    private static VerseReference readVerseReference(Cursor c) {
+        VerseReference reference = new VerseReference();
+        reference.setId(c.getLong(0));
+        reference.setNoteId(c.getLong(1));
+        reference.setBookName(c.getString(2));
+        reference.setChapter(c.getInt(3));
+        reference.setVerse(c.getInt(4));
+        reference.setVerseText(c.getString(5));
+        reference.setEnglishMode(!c.isNull(6) && c.getInt(6) == 1); // Old records default to Telugu
+        return reference;
+    }
+
     public boolean deleteNote(long noteId) {
         SQLiteDatabase db = this.getWritableDatabase();
         return db.delete(TABLE_NOTES, KEY_NOTE_ID + " = ?", new String[] { String.valueOf(noteId) }) > 0;
@@ -243,24 +342,46 @@ public class NotesDBHelper extends SQLiteOpenHelper {
 
     // --- Highlight Color Operations ---
     public void setVerseHighlightColor(String book, int chapter, int verse, int color) {
+        setVerseHighlightColors(book, chapter, new int[]{verse}, color);
+    }
+
+    /**
+     * Apply one color to several verses of a chapter in a single transaction.
+     * Choosing no highlight removes the rows instead of storing white.
+     */
+    public void setVerseHighlightColors(String book, int chapter, int[] verses, int color) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("NotesDBHelper.setVerseHighlightColors")) {
+            setVerseHighlightColorsImpl(book, chapter, verses, color);
+        }
+    }
+
+    private void setVerseHighlightColorsImpl(String book, int chapter, int[] verses, int color) {
         SQLiteDatabase db = this.getWritableDatabase();
-        // Check if exists
-        Cursor c = db.query(TABLE_VERSE_HIGHLIGHTS, null,
-                KEY_HIGHLIGHT_BOOK + "=? AND " + KEY_HIGHLIGHT_CHAPTER + "=? AND " + KEY_HIGHLIGHT_VERSE + "=?",
-                new String[]{book, String.valueOf(chapter), String.valueOf(verse)}, null, null, null);
-        ContentValues values = new ContentValues();
-        values.put(KEY_HIGHLIGHT_BOOK, book);
-        values.put(KEY_HIGHLIGHT_CHAPTER, chapter);
-        values.put(KEY_HIGHLIGHT_VERSE, verse);
-        values.put(KEY_HIGHLIGHT_COLOR, color);
-        if (c.moveToFirst()) {
-            db.update(TABLE_VERSE_HIGHLIGHTS, values,
-                    KEY_HIGHLIGHT_BOOK + "=? AND " + KEY_HIGHLIGHT_CHAPTER + "=? AND " + KEY_HIGHLIGHT_VERSE + "=?",
-                    new String[]{book, String.valueOf(chapter), String.valueOf(verse)});
-        } else {
-            db.insert(TABLE_VERSE_HIGHLIGHTS, null, values);
+        // REPLACE resolves the unique index conflict; UPSERT needs SQLite 3.24, newer than API 29 ships
+        SQLiteStatement statement = db.compileStatement(color == NO_HIGHLIGHT
+                ? "DELETE FROM " + TABLE_VERSE_HIGHLIGHTS + " WHERE " + KEY_HIGHLIGHT_BOOK + "=? AND " +
+                        KEY_HIGHLIGHT_CHAPTER + "=? AND " + KEY_HIGHLIGHT_VERSE + "=?"
+                : "INSERT OR REPLACE INTO " + TABLE_VERSE_HIGHLIGHTS + "(" + KEY_HIGHLIGHT_BOOK + ", " +
+                        KEY_HIGHLIGHT_CHAPTER + ", " + KEY_HIGHLIGHT_VERSE + ", " + KEY_HIGHLIGHT_COLOR + ") VALUES (?, ?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (int verse : verses) {
+                statement.clearBindings();
+                statement.bindString(1, book);
+                statement.bindLong(2, chapter);
+                statement.bindLong(3, verse);
+                if (color == NO_HIGHLIGHT) {
+                    statement.executeUpdateDelete();
+                } else {
+                    statement.bindLong(4, color);
+                    statement.executeInsert();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            statement.close();
         }
-        c.close();
     }
 
     public int getVerseHighlightColor(String book, int chapter, int verse) {
@@ -268,11 +389,41 @@ public class NotesDBHelper extends SQLiteOpenHelper {
         Cursor c = db.query(TABLE_VERSE_HIGHLIGHTS, new String[]{KEY_HIGHLIGHT_COLOR},
                 KEY_HIGHLIGHT_BOOK + "=? AND " + KEY_HIGHLIGHT_CHAPTER + "=? AND " + KEY_HIGHLIGHT_VERSE + "=?",
                 new String[]{book, String.valueOf(chapter), String.valueOf(verse)}, null, null, null);
-        int color = 0xFFFFFFFF; // Default: no highlight
+        int color = NO_HIGHLIGHT;
         if (c.moveToFirst()) {
-            color = c.getInt(c.getColumnIndex(KEY_HIGHLIGHT_COLOR));
+            color = c.getInt(0);
         }
         c.close();
         return color;
     }
-}
\ No newline at end of file
+
+    /**
+     * Highlight colors of a whole chapter in one query, indexed by verse number - 1.
+     * Verses without a highlight (or beyond verseCount) are NO_HIGHLIGHT.
+     */
+    public int[] getHighlightsForChapter(String book, int chapter, int verseCount) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("NotesDBHelper.getHighlightsForChapter")) {
+            return getHighlightsForChapterImpl(book, chapter, verseCount);
+        }
+    }
+
+    private int[] getHighlightsForChapterImpl(String book, int chapter, int verseCount) {
+        int[] colors = new int[Math.max(verseCount, 0)];
+        Arrays.fill(colors, NO_HIGHLIGHT);
+        SQLiteDatabase db = this.getReadableDatabase();
+        Cursor c = db.query(TABLE_VERSE_HIGHLIGHTS, new String[]{KEY_HIGHLIGHT_VERSE, KEY_HIGHLIGHT_COLOR},
+                KEY_HIGHLIGHT_BOOK + "=? AND " + KEY_HIGHLIGHT_CHAPTER + "=?",
+                new String[]{book, String.valueOf(chapter)}, null, null, null);
+        try {
+            while (c.moveToNext()) {
+                int verse = c.getInt(0);
+                if (verse >= 1 && verse <= colors.length) {
+                    colors[verse - 1] = c.getInt(1);
+                }
+            }
+        } finally {
+            c.close();
+        }
+        return colors;
+    }
+}
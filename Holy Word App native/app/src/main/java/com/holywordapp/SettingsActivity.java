@@ -1,5 +1,6 @@
 package com.holywordapp;
 
+import android.content.Intent;
 import android.os.Bundle;
 import android.widget.CompoundButton;
 import android.widget.Toast;
@@ -8,6 +9,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
 import com.google.android.material.switchmaterial.SwitchMaterial;
+import com.holywordapp.perf.PerfDebugActivity;
 import com.holywordapp.utils.LanguageManager;
 
 public class SettingsActivity extends AppCompatActivity {
@@ -45,6 +47,12 @@ public class SettingsActivity extends AppCompatActivity {
             getSupportActionBar().setDisplayShowHomeEnabled(true);
             getSupportActionBar().setTitle(R.string.settings);
         }
+
+        // Hidden entry to the performance metrics screen
+        toolbar.setOnLongClickListener(v -> {
+            startActivity(new Intent(this, PerfDebugActivity.class));
+            return true;
+        });
     }
 
     private void initViews() {
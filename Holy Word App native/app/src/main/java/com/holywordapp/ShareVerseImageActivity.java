@@ -31,6 +31,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.FileProvider;
 import androidx.core.content.res.ResourcesCompat;
 
+import com.holywordapp.perf.PerfMetrics;
+
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -586,6 +588,16 @@ public class ShareVerseImageActivity extends AppCompatActivity {
     }
 
     private Bitmap createBitmapFromView() {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("ShareVerseImageActivity.createBitmapFromView")) {
+            return createBitmapFromViewImpl();
+        }
+    }
+
+    private Bitmap createBitmapFromViewImpl() {
+        return drawBitmapFromView();
+    }
+
+    private Bitmap drawBitmapFromView() {
         try {
             // Calculate export size based on aspect ratio
             if (imagePreview == null) {
@@ -1,27 +1,35 @@
 package com.holywordapp;
 
+import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.util.Log;
 
 import com.holywordapp.utils.LanguageManager;
 
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.holywordapp.auth.LoginActivity;
+import com.google.firebase.auth.FirebaseUser;
+import com.holywordapp.data.UserRoleRepository;
 import com.holywordapp.dashboard.AdminDashboardActivity;
 import com.holywordapp.dashboard.UserDashboardActivity;
 import com.holywordapp.onboarding.OnboardingActivity;
+import com.holywordapp.utils.UserRoleUtils;
 
 public class SplashActivity extends AppCompatActivity {
     
+    private static final String TAG = "SplashActivity";
     private static final int SPLASH_DELAY = 2000; // 2 seconds
     private FirebaseAuth auth;
-    private FirebaseFirestore firestore;
+
+    // Role routing state, only touched on the main thread
+    private boolean splashElapsed = false;
+    private Integer resolvedRole;
+    private Integer navigatedRole;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -34,16 +42,38 @@ public class SplashActivity extends AppCompatActivity {
 
         // Initialize Firebase
         auth = FirebaseAuth.getInstance();
-        firestore = FirebaseFirestore.getInstance();
+
+        // Copy the bundled Bible databases while the splash is showing, then load chapter/verse
+        // counts and map the cross reference graph; lookups never wait for the graph themselves
+        Context appContext = getApplicationContext();
+        BibleDatabaseInstaller.install(this).thenRunAsync(() -> {
+            Versification.get(appContext, false);
+            Versification.get(appContext, true);
+            CrossReferenceGraph.get(appContext);
+        });
+
+        // Resolve the role in parallel with the splash delay
+        if (auth.getCurrentUser() != null && !isFirstTimeUser()) {
+            resolveUserRole();
+        }
 
         // Start splash timer
         new Handler(Looper.getMainLooper()).postDelayed(this::checkAuthAndNavigate, SPLASH_DELAY);
     }
     
     private void checkAuthAndNavigate() {
+        splashElapsed = true;
         // Check if this is the first time user is opening the app
         if (isFirstTimeUser()) {
             navigateToOnboarding();
+        } else if (auth.getCurrentUser() != null) {
+            // Signed in: route by the cached role, or by the default one if nothing is cached yet;
+            // Firestore reroutes afterwards if the role turns out different
+            if (resolvedRole == null) {
+                Log.d(TAG, "No role resolved yet, using the default");
+                resolvedRole = UserRoleUtils.getDefaultRole();
+            }
+            navigateForRoleIfReady();
         } else {
             // Go directly to user dashboard without authentication
             navigateToUserDashboard();
@@ -62,60 +92,56 @@ public class SplashActivity extends AppCompatActivity {
         finish();
     }
     
-    private void checkUserRoleAndNavigate() {
-        String uid = auth.getCurrentUser().getUid();
-        
-        firestore.collection("users").document(uid)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        Integer role = documentSnapshot.getLong("role").intValue();
-                        
-                        Intent intent;
-                        if (role == 0) {
-                            // Admin
-                            intent = new Intent(SplashActivity.this, AdminDashboardActivity.class);
-                        } else {
-                            // User
-                            intent = new Intent(SplashActivity.this, UserDashboardActivity.class);
-                        }
-                        
-                        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-                        startActivity(intent);
-                        finish();
-                    } else {
-                        // User document doesn't exist, create default user
-                        createDefaultUser(uid);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    // If there's an error, go to user dashboard
-                    navigateToUserDashboard();
-                });
-    }
-    
-    private void createDefaultUser(String uid) {
-        String email = auth.getCurrentUser().getEmail();
-        String name = auth.getCurrentUser().getDisplayName();
+    /**
+     * Start resolving the signed-in user's role while the splash is showing. The cached role
+     * arrives first; Firestore only reports back if the role differs from the cached one, or
+     * when nothing was cached.
+     */
+    private void resolveUserRole() {
+        FirebaseUser user = auth.getCurrentUser();
+        String email = user.getEmail();
+        String name = user.getDisplayName();
         if (name == null || name.isEmpty()) {
             name = email != null ? email.split("@")[0] : "User";
         }
-        
-        // Create user data map with only the fields we want to save to Firestore
-        java.util.Map<String, Object> userData = com.holywordapp.utils.UserRoleUtils.createUserDataMap(uid, email, name);
-        
-        firestore.collection("users").document(uid)
-                .set(userData)
-                .addOnSuccessListener(aVoid -> {
-                    Intent intent = new Intent(SplashActivity.this, UserDashboardActivity.class);
-                    intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-                    startActivity(intent);
-                    finish();
-                })
-                .addOnFailureListener(e -> {
-                    // If there's an error, go to user dashboard
-                    navigateToUserDashboard();
-                });
+
+        Context appContext = getApplicationContext();
+        UserRoleRepository.getInstance(this).resolveRole(user.getUid(), email, name, (role, fromCache) -> {
+            if (navigatedRole == null) {
+                // Still on the splash: the latest role wins
+                resolvedRole = role;
+                if (!isFinishing()) {
+                    navigateForRoleIfReady();
+                }
+            } else if (navigatedRole != role) {
+                // Already routed from a stale cached role; reroute to the right dashboard
+                Log.d(TAG, "Role changed to " + role + ", rerouting");
+                navigatedRole = role;
+                appContext.startActivity(dashboardIntent(appContext, role));
+            }
+        });
+    }
+
+    private void navigateForRoleIfReady() {
+        if (!splashElapsed || resolvedRole == null || navigatedRole != null) {
+            return;
+        }
+        navigatedRole = resolvedRole;
+        startActivity(dashboardIntent(this, resolvedRole));
+        finish();
+    }
+
+    private static Intent dashboardIntent(Context context, int role) {
+        Intent intent;
+        if (UserRoleUtils.isAdmin(role)) {
+            // Admin
+            intent = new Intent(context, AdminDashboardActivity.class);
+        } else {
+            // User
+            intent = new Intent(context, UserDashboardActivity.class);
+        }
+        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        return intent;
     }
     
     private void navigateToUserDashboard() {
@@ -0,0 +1,72 @@
+package com.holywordapp;
+
+/**
+ * Packed integer verse addressing shared by every Bible database.
+ *
+ * An ID is laid out as BBCCCVVV (book * 1,000,000 + chapter * 1,000 + verse), so IDs sort in
+ * canonical order and a whole chapter is the contiguous range [chapterStart, chapterEnd].
+ * Books are 1-based canonical ordinals (1 = Genesis ... 66 = Revelation).
+ */
+public final class VerseId {
+
+    public static final int BOOK_COUNT = 66;
+
+    private static final int BOOK_FACTOR = 1000000;
+    private static final int CHAPTER_FACTOR = 1000;
+    private static final int MAX_VERSE = 999;
+
+    private VerseId() {}
+
+    public static int of(int book, int chapter, int verse) {
+        return book * BOOK_FACTOR + chapter * CHAPTER_FACTOR + verse;
+    }
+
+    public static int book(int id) {
+        return id / BOOK_FACTOR;
+    }
+
+    public static int chapter(int id) {
+        return (id / CHAPTER_FACTOR) % CHAPTER_FACTOR;
+    }
+
+    public static int verse(int id) {
+        return id % CHAPTER_FACTOR;
+    }
+
+    /**
+     * First ID of a chapter (verse 0, never a real verse)
+     */
+    public static int chapterStart(int book, int chapter) {
+        return of(book, chapter, 0);
+    }
+
+    /**
+     * Last possible ID of a chapter
+     */
+    public static int chapterEnd(int book, int chapter) {
+        return of(book, chapter, MAX_VERSE);
+    }
+
+    public static boolean isValid(int id) {
+        int book = book(id);
+        return book >= 1 && book <= BOOK_COUNT && chapter(id) >= 1 && verse(id) >= 1;
+    }
+
+    /**
+     * Display name of the book in the requested language; names are applied only at render time
+     */
+    public static String bookName(int book, boolean isEnglishMode) {
+        return BookRegistry.displayName(book, isEnglishMode);
+    }
+
+    /**
+     * Canonical ordinal for any Telugu, English, KJV or abbreviated book name, or -1 if unknown
+     */
+    public static int bookOrdinal(String bookName) {
+        return BookRegistry.ordinal(bookName);
+    }
+
+    public static String format(int id, boolean isEnglishMode) {
+        return bookName(book(id), isEnglishMode) + " " + chapter(id) + ":" + verse(id);
+    }
+}
@@ -0,0 +1,350 @@
+package com.holywordapp;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import com.holywordapp.perf.PerfMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Verse access keyed by packed {@link VerseId} integers instead of book-name strings.
+ *
+ * Each Bible database gets a small side table, verse_ids(id INTEGER PRIMARY KEY, text_rowid),
+ * built once from the shipped rows. Chapter and range reads then become a single rowid range
+ * scan on verse_ids joined to the text table by rowid. Cross references get the equivalent
+ * xref_ids(source_id, target_id) table so "all refs from this verse" is one indexed scan.
+ */
+public class VerseRepository {
+    private static final String TAG = "VerseRepository";
+
+    private static final String TABLE_VERSE_IDS = BibleSql.TABLE_VERSE_IDS;
+    private static final String TABLE_XREF_IDS = "xref_ids";
+    // Stays under SQLite's default 999 host-parameter limit
+    private static final int MAX_BATCH_ARGS = 500;
+
+    private static volatile VerseRepository instance;
+
+    private final Context context;
+
+    private boolean teluguIdsReady;
+    private boolean kjvIdsReady;
+    private boolean crossReferenceIdsReady;
+    // KJV verses table verse_ids was built from; KJV.db ships it as KJV_verses
+    private volatile String kjvVersesTable = "KJV_verses";
+
+    private VerseRepository(Context context) {
+        this.context = context;
+    }
+
+    public static VerseRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (VerseRepository.class) {
+                if (instance == null) {
+                    instance = new VerseRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * All verses of a chapter in verse order
+     */
+    public List<BibleVerse> getChapter(int book, int chapter, boolean isEnglishMode) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("VerseRepository.getChapter")) {
+            return getChapterImpl(book, chapter, isEnglishMode);
+        }
+    }
+
+    private List<BibleVerse> getChapterImpl(int book, int chapter, boolean isEnglishMode) {
+        return queryVerses(isEnglishMode,
+                BibleSql.WHERE_ID_RANGE,
+                new String[]{String.valueOf(VerseId.chapterStart(book, chapter)), String.valueOf(VerseId.chapterEnd(book, chapter))},
+                null);
+    }
+
+    /**
+     * Up to {@code limit} verses starting at {@code fromId}, crossing chapter and book boundaries
+     */
+    public List<BibleVerse> getVerses(int fromId, int limit, boolean isEnglishMode) {
+        return queryVerses(isEnglishMode,
+                "i.id >= ?",
+                new String[]{String.valueOf(fromId)},
+                String.valueOf(limit));
+    }
+
+    public String getVerseText(int verseId, boolean isEnglishMode) {
+        List<BibleVerse> verses = queryVerses(isEnglishMode,
+                "i.id = ?",
+                new String[]{String.valueOf(verseId)},
+                null);
+        return verses.isEmpty() ? null : verses.get(0).verseText;
+    }
+
+    /**
+     * Texts for many verses in one IN (...) query per batch, keyed by verse ID; missing IDs are absent
+     */
+    public SparseArray<String> getVerseTexts(int[] verseIds, boolean isEnglishMode) {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("VerseRepository.getVerseTexts")) {
+            return getVerseTextsImpl(verseIds, isEnglishMode);
+        }
+    }
+
+    private SparseArray<String> getVerseTextsImpl(int[] verseIds, boolean isEnglishMode) {
+        SparseArray<String> texts = new SparseArray<>(verseIds.length);
+        for (int from = 0; from < verseIds.length; from += MAX_BATCH_ARGS) {
+            int to = Math.min(verseIds.length, from + MAX_BATCH_ARGS);
+            String[] args = new String[to - from];
+            for (int i = from; i < to; i++) {
+                args[i - from] = String.valueOf(verseIds[i]);
+            }
+            for (BibleVerse v : queryVerses(isEnglishMode, BibleSql.whereIdIn(args.length), args, null)) {
+                texts.put(v.verseId, v.verseText);
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * Highest verse number of every chapter, keyed by book * 1000 + chapter
+     */
+    public SparseIntArray getVerseCountsByChapter(boolean isEnglishMode) {
+        SparseIntArray counts = new SparseIntArray(1200);
+        try {
+            SQLiteDatabase db = isEnglishMode ? kjvDatabase() : teluguDatabase();
+            Cursor c = db.rawQuery("SELECT id / 1000, MAX(id % 1000) FROM " + TABLE_VERSE_IDS + " GROUP BY id / 1000", null);
+            while (c.moveToNext()) {
+                counts.put(c.getInt(0), c.getInt(1));
+            }
+            c.close();
+        } catch (Exception e) {
+            Log.e(TAG, "Error counting verses: " + e.getMessage());
+        }
+        return counts;
+    }
+
+    /**
+     * Target verse IDs of every cross reference from a verse, in canonical order
+     */
+    public int[] getCrossReferenceIds(int verseId) {
+        try {
+            SQLiteDatabase db = crossReferenceDatabase();
+            Cursor c = db.rawQuery("SELECT target_id FROM " + TABLE_XREF_IDS + " WHERE source_id = ? ORDER BY target_id",
+                    new String[]{String.valueOf(verseId)});
+            int[] ids = new int[c.getCount()];
+            int i = 0;
+            while (c.moveToNext()) ids[i++] = c.getInt(0);
+            c.close();
+            return ids;
+        } catch (Exception e) {
+            Log.e(TAG, "Error getting cross references for " + verseId + ": " + e.getMessage());
+            return new int[0];
+        }
+    }
+
+    /**
+     * Every cross reference as (source ID, target ID) pairs, sorted by source then target
+     */
+    public int[] getAllCrossReferenceIds() {
+        try (PerfMetrics.Span ignored = PerfMetrics.begin("VerseRepository.getAllCrossReferenceIds")) {
+            return getAllCrossReferenceIdsImpl();
+        }
+    }
+
+    private int[] getAllCrossReferenceIdsImpl() {
+        try {
+            SQLiteDatabase db = crossReferenceDatabase();
+            // Rows that do not form a valid verse on both ends cannot be placed in the graph
+            Cursor c = db.rawQuery("SELECT source_id, target_id FROM " + TABLE_XREF_IDS +
+                    " WHERE source_id % 1000 > 0 AND target_id % 1000 > 0" +
+                    " AND (source_id / 1000) % 1000 > 0 AND (target_id / 1000) % 1000 > 0" +
+                    " ORDER BY source_id, target_id", null);
+            int[] pairs = new int[c.getCount() * 2];
+            int i = 0;
+            while (c.moveToNext()) {
+                pairs[i++] = c.getInt(0);
+                pairs[i++] = c.getInt(1);
+            }
+            c.close();
+            return pairs;
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading cross references: " + e.getMessage());
+            return new int[0];
+        }
+    }
+
+    private List<BibleVerse> queryVerses(boolean isEnglishMode, String where, String[] args, String limit) {
+        List<BibleVerse> list = new ArrayList<>();
+        try {
+            SQLiteDatabase db = isEnglishMode ? kjvDatabase() : teluguDatabase();
+            String sql = isEnglishMode
+                    ? BibleSql.selectVerses(kjvVersesTable, "text", where, limit)
+                    : BibleSql.selectVerses(false, where, limit);
+            Cursor c = db.rawQuery(sql, args);
+            while (c.moveToNext()) {
+                int id = c.getInt(0);
+                list.add(new BibleVerse(id, VerseId.verse(id), c.getString(1)));
+            }
+            c.close();
+        } catch (Exception e) {
+            Log.e(TAG, "Error querying verses (" + where + "): " + e.getMessage());
+        }
+        return list;
+    }
+
+    private synchronized SQLiteDatabase teluguDatabase() {
+        SQLiteDatabase db = BibleDatabases.get(context, BibleDatabases.TELUGU);
+        if (!teluguIdsReady) {
+            teluguIdsReady = buildIds(db, BibleSql.FILL_TELUGU_VERSE_IDS);
+        }
+        return db;
+    }
+
+    private synchronized SQLiteDatabase kjvDatabase() {
+        SQLiteDatabase db = BibleDatabases.get(context, BibleDatabases.KJV);
+        if (!kjvIdsReady) {
+            kjvIdsReady = buildKjvIds(db);
+        }
+        return db;
+    }
+
+    /**
+     * Build KJV.db's verse_ids from whichever layout it has, the same ones KJVBibleDBHelper
+     * accepts: book_id into a books table is taken as the canonical ordinal, a book name column
+     * is mapped through BookRegistry. Any other layout, or a book name BookRegistry does not
+     * know, fails the build instead of leaving verse_ids empty or short.
+     */
+    private boolean buildKjvIds(SQLiteDatabase db) {
+        List<String> tables = new ArrayList<>();
+        Cursor c = db.rawQuery("SELECT name FROM sqlite_master WHERE type='table'", null);
+        while (c.moveToNext()) {
+            tables.add(c.getString(0));
+        }
+        c.close();
+
+        String versesTable = find(tables, "KJV_verses", "verses");
+        if (versesTable == null) {
+            throw new IllegalStateException("No verses table in KJV database, tables: " + tables);
+        }
+        List<String> columns = columns(db, versesTable);
+        String bookColumn;
+        List<String> bookNames = Collections.emptyList();
+        if (find(tables, "KJV_books", "books") != null && find(columns, "book_id") != null) {
+            bookColumn = "book_id";
+        } else if (find(columns, "book") != null) {
+            bookColumn = "book";
+            bookNames = new ArrayList<>();
+            c = db.rawQuery("SELECT DISTINCT book FROM " + versesTable, null);
+            while (c.moveToNext()) {
+                bookNames.add(c.getString(0));
+            }
+            c.close();
+        } else {
+            throw new IllegalStateException("Unsupported KJV layout, " + versesTable + " columns: " + columns);
+        }
+
+        kjvVersesTable = versesTable;
+        Log.d(TAG, "KJV verse_ids from " + versesTable + "." + bookColumn);
+        db.execSQL(BibleSql.CREATE_VERSE_IDS);
+        return populate(db, TABLE_VERSE_IDS, BibleSql.fillKjvVerseIds(versesTable, bookColumn), bookNames);
+    }
+
+    private static List<String> columns(SQLiteDatabase db, String table) {
+        List<String> columns = new ArrayList<>();
+        Cursor c = db.rawQuery("PRAGMA table_info(" + table + ")", null);
+        int nameIndex = c.getColumnIndexOrThrow("name");
+        while (c.moveToNext()) {
+            columns.add(c.getString(nameIndex));
+        }
+        c.close();
+        return columns;
+    }
+
+    /**
+     * First candidate present in names, as spelled there; SQLite names are case-insensitive
+     */
+    private static String find(List<String> names, String... candidates) {
+        for (String candidate : candidates) {
+            for (String name : names) {
+                if (name.equalsIgnoreCase(candidate)) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    private synchronized SQLiteDatabase crossReferenceDatabase() {
+        SQLiteDatabase db = BibleDatabases.get(context, BibleDatabases.CROSS_REFERENCES);
+        if (!crossReferenceIdsReady) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_XREF_IDS + " (" +
+                    "source_id INTEGER NOT NULL, target_id INTEGER NOT NULL, " +
+                    "PRIMARY KEY (source_id, target_id)) WITHOUT ROWID");
+            crossReferenceIdsReady = populate(db, TABLE_XREF_IDS, "INSERT OR IGNORE INTO " + TABLE_XREF_IDS +
+                    " SELECT s.ordinal * 1000000 + x.source_chapter * 1000 + x.source_verse," +
+                    " r.ordinal * 1000000 + x.reference_chapter * 1000 + x.reference_verse" +
+                    " FROM cross_references x" +
+                    " JOIN temp.book_ordinals s ON s.name = x.source_book" +
+                    " JOIN temp.book_ordinals r ON r.name = x.reference_book");
+        }
+        return db;
+    }
+
+    private boolean buildIds(SQLiteDatabase db, String insertSql) {
+        db.execSQL(BibleSql.CREATE_VERSE_IDS);
+        return populate(db, TABLE_VERSE_IDS, insertSql, Collections.emptyList());
+    }
+
+    private boolean populate(SQLiteDatabase db, String table, String insertSql) {
+        return populate(db, table, insertSql, Collections.emptyList());
+    }
+
+    /**
+     * Fill an ID table once; an interrupted build rolls back and is retried on next open.
+     * temp.book_ordinals holds the canonical names plus any extra names the table uses.
+     */
+    private boolean populate(SQLiteDatabase db, String table, String insertSql, List<String> bookNames) {
+        Cursor c = db.rawQuery("SELECT 1 FROM " + table + " LIMIT 1", null);
+        boolean populated = c.moveToFirst();
+        c.close();
+        if (populated) {
+            return true;
+        }
+
+        long start = System.currentTimeMillis();
+        db.beginTransaction();
+        try {
+            db.execSQL(BibleSql.CREATE_BOOK_ORDINALS);
+            db.execSQL("DELETE FROM temp.book_ordinals");
+            for (int book = 1; book <= VerseId.BOOK_COUNT; book++) {
+                db.execSQL(BibleSql.INSERT_BOOK_ORDINAL, new Object[]{VerseId.bookName(book, false), book});
+                db.execSQL(BibleSql.INSERT_BOOK_ORDINAL, new Object[]{VerseId.bookName(book, true), book});
+            }
+            for (String name : bookNames) {
+                int ordinal = BookRegistry.ordinal(name);
+                if (ordinal < 1) {
+                    // Its verses would silently drop out of the table
+                    throw new IllegalStateException("Unknown book name '" + name + "'");
+                }
+                db.execSQL(BibleSql.INSERT_BOOK_ORDINAL, new Object[]{name, ordinal});
+            }
+            db.execSQL(insertSql);
+            db.execSQL(BibleSql.DROP_BOOK_ORDINALS);
+            db.setTransactionSuccessful();
+            Log.d(TAG, "Built " + table + " in " + (System.currentTimeMillis() - start) + " ms");
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, "Error building " + table + ": " + e.getMessage());
+            return false;
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.holywordapp;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.SparseIntArray;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chapter and verse counts of every book in one translation, held as primitive arrays.
+ *
+ * Built once from the verse_ids table after the database is installed and saved next to the
+ * app's files, so spinners and navigation read counts without touching SQLite. The saved copy
+ * is tagged with the installed database's version and hash and rebuilt when that changes.
+ */
+public final class Versification {
+    private static final String TAG = "Versification";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static Versification telugu;
+    private static Versification kjv;
+
+    // chapterOffsets[book - 1] is the index of the book's first chapter in verseCounts
+    private final int[] chapterOffsets = new int[VerseId.BOOK_COUNT + 1];
+    private final short[] verseCounts;
+
+    private Versification(short[] verseCounts) {
+        this.verseCounts = verseCounts;
+    }
+
+    public static synchronized Versification get(Context context, boolean isEnglishMode) {
+        Versification v = isEnglishMode ? kjv : telugu;
+        if (v == null) {
+            v = load(context.getApplicationContext(), isEnglishMode);
+            // An empty table means the database could not be read; try again on the next call
+            if (v.verseCounts.length == 0) {
+                return v;
+            }
+            if (isEnglishMode) {
+                kjv = v;
+            } else {
+                telugu = v;
+            }
+        }
+        return v;
+    }
+
+    /**
+     * Number of chapters in a book, 0 for an unknown book
+     */
+    public int chapterCount(int book) {
+        if (book < 1 || book > VerseId.BOOK_COUNT) {
+            return 0;
+        }
+        return chapterOffsets[book] - chapterOffsets[book - 1];
+    }
+
+    /**
+     * Number of verses in a chapter, 0 for an unknown chapter
+     */
+    public int verseCount(int book, int chapter) {
+        if (chapter < 1 || chapter > chapterCount(book)) {
+            return 0;
+        }
+        return verseCounts[chapterOffsets[book - 1] + chapter - 1];
+    }
+
+    /**
+     * 1..chapterCount, for chapter spinners
+     */
+    public List<Integer> chapterList(int book) {
+        return range(chapterCount(book));
+    }
+
+    /**
+     * 1..verseCount, for verse spinners
+     */
+    public List<Integer> verseList(int book, int chapter) {
+        return range(verseCount(book, chapter));
+    }
+
+    private static List<Integer> range(int count) {
+        List<Integer> list = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) list.add(i);
+        return list;
+    }
+
+    private static Versification load(Context context, boolean isEnglishMode) {
+        String dbName = isEnglishMode ? BibleDatabases.KJV : BibleDatabases.TELUGU;
+        // The record identifies the database content, so it is only meaningful once the install finished
+        BibleDatabaseInstaller.awaitInstalled(context, dbName);
+        String installed = BibleDatabaseInstaller.getInstalledRecord(context, dbName);
+        File file = new File(context.getFilesDir(), "versification_" + dbName + ".bin");
+
+        Versification v = installed != null ? read(file, installed) : null;
+        if (v != null) {
+            return v;
+        }
+
+        long start = System.currentTimeMillis();
+        v = build(VerseRepository.getInstance(context).getVerseCountsByChapter(isEnglishMode));
+        Log.d(TAG, "Built " + dbName + " versification in " + (System.currentTimeMillis() - start) + " ms");
+        // Only persist a complete table; an empty one means the database was not readable yet
+        if (installed != null && v.verseCounts.length > 0) {
+            write(file, installed, v);
+        }
+        return v;
+    }
+
+    /**
+     * From a map of (book * 1000 + chapter) to the highest verse number in that chapter
+     */
+    private static Versification build(SparseIntArray counts) {
+        int[] chaptersPerBook = new int[VerseId.BOOK_COUNT + 1];
+        for (int i = 0; i < counts.size(); i++) {
+            int book = counts.keyAt(i) / 1000;
+            int chapter = counts.keyAt(i) % 1000;
+            if (book >= 1 && book <= VerseId.BOOK_COUNT) {
+                chaptersPerBook[book] = Math.max(chaptersPerBook[book], chapter);
+            }
+        }
+
+        int total = 0;
+        for (int book = 1; book <= VerseId.BOOK_COUNT; book++) total += chaptersPerBook[book];
+        Versification v = new Versification(new short[total]);
+        int offset = 0;
+        for (int book = 1; book <= VerseId.BOOK_COUNT; book++) {
+            v.chapterOffsets[book - 1] = offset;
+            for (int chapter = 1; chapter <= chaptersPerBook[book]; chapter++) {
+                v.verseCounts[offset++] = (short) counts.get(book * 1000 + chapter);
+            }
+        }
+        v.chapterOffsets[VerseId.BOOK_COUNT] = offset;
+        return v;
+    }
+
+    private static Versification read(File file, String installed) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION || !installed.equals(in.readUTF())) {
+                return null;
+            }
+            Versification v = new Versification(new short[in.readInt()]);
+            for (int i = 0; i <= VerseId.BOOK_COUNT; i++) v.chapterOffsets[i] = in.readInt();
+            for (int i = 0; i < v.verseCounts.length; i++) v.verseCounts[i] = in.readShort();
+            return v;
+        } catch (Exception e) {
+            Log.w(TAG, "Ignoring unreadable " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void write(File file, String installed, Versification v) {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(installed);
+            out.writeInt(v.verseCounts.length);
+            for (int offset : v.chapterOffsets) out.writeInt(offset);
+            for (short count : v.verseCounts) out.writeShort(count);
+        } catch (Exception e) {
+            Log.e(TAG, "Error saving " + file.getName() + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.holywordapp.audio;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.holywordapp.perf.PerfMetrics;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded on-disk LRU cache of chapter recordings.
+ *
+ * A chapter is downloaded once into the app's cache directory and played from the file after
+ * that, so replaying or going back a chapter costs no data. Files are evicted least recently
+ * played first once the total passes the limit; the order survives restarts through the files'
+ * modification times. Concurrent requests for the same chapter share one download, and a
+ * chapter played before it is cached is read from that download as it arrives rather than
+ * streamed separately.
+ *
+ * Hits, misses and the bytes that hits saved are counted here and in {@link PerfMetrics}, and
+ * shown on the performance debug screen.
+ */
+public class AudioCache {
+    private static final String TAG = "AudioCache";
+
+    private static final String CACHE_DIR = "audio";
+    // About 60-100 chapters, depending on their length
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+    private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+    private static final int READ_TIMEOUT_MILLIS = 20000;
+
+    private static volatile AudioCache instance;
+
+    private final File dir;
+    private final long maxBytes;
+    // Cache key to file size, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Download> downloads = new HashMap<>();
+    private final ExecutorService downloadExecutor = Executors.newFixedThreadPool(2);
+    private long totalBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong bytesDownloaded = new AtomicLong();
+    private final AtomicLong prefetchCount = new AtomicLong();
+
+    /** A download in progress and how far it has got; guarded by itself */
+    private static final class Download {
+        final File temp;
+        CompletableFuture<File> future;
+        long length = -1;
+        long written;
+        boolean started;
+        boolean ended;
+        // The cached file once moved into place; stays null if the download failed
+        File file;
+
+        Download(File temp) {
+            this.temp = temp;
+        }
+
+        static Download finished(File file) {
+            Download download = new Download(null);
+            download.length = download.written = file.length();
+            download.started = download.ended = true;
+            download.file = file;
+            download.future = CompletableFuture.completedFuture(file);
+            return download;
+        }
+
+        synchronized void start(long length) {
+            this.length = length;
+            started = true;
+            notifyAll();
+        }
+
+        synchronized void progress(long written) {
+            this.written = written;
+            notifyAll();
+        }
+
+        synchronized void end(File file) {
+            this.file = file;
+            started = ended = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * A chapter's recording read while the cache downloads it, e.g. by MediaPlayer. Reads wait
+     * until the bytes asked for have arrived and fail with an IOException if the download does.
+     */
+    public static final class Stream implements Closeable {
+        private final Download download;
+        private RandomAccessFile file;
+
+        private Stream(Download download) {
+            this.download = download;
+        }
+
+        /**
+         * Full size in bytes, or -1 if the server did not say; waits for the response headers
+         */
+        public long size() throws IOException {
+            synchronized (download) {
+                while (!download.started) {
+                    await();
+                }
+                if (download.ended && download.file == null) {
+                    throw new IOException("Download failed");
+                }
+                return download.length;
+            }
+        }
+
+        /**
+         * Up to size bytes from position, or -1 past the end of the finished recording
+         */
+        public synchronized int readAt(long position, byte[] buffer, int offset, int size) throws IOException {
+            if (size == 0) {
+                return 0;
+            }
+            synchronized (download) {
+                while (position >= download.written && !download.ended) {
+                    await();
+                }
+                if (download.ended && download.file == null) {
+                    throw new IOException("Download failed");
+                }
+                if (position >= download.written) {
+                    return -1;
+                }
+                if (file == null) {
+                    // The temp file is renamed under this lock, so whichever name is current exists
+                    file = new RandomAccessFile(download.file != null ? download.file : download.temp, "r");
+                }
+                size = (int) Math.min(size, download.written - position);
+            }
+            file.seek(position);
+            return file.read(buffer, offset, size);
+        }
+
+        private void await() throws IOException {
+            try {
+                download.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for the download");
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (file != null) {
+                file.close();
+                file = null;
+            }
+        }
+    }
+
+    public AudioCache(File dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        load();
+    }
+
+    public static AudioCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AudioCache.class) {
+                if (instance == null) {
+                    File dir = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+                    instance = new AudioCache(dir, DEFAULT_MAX_BYTES);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * The cached recording of a chapter, or null; counts a hit or a miss
+     */
+    public File get(ChapterAudio chapter) {
+        File file = lookup(chapter.cacheKey(), true);
+        if (file != null) {
+            hitCount.incrementAndGet();
+            bytesSaved.addAndGet(file.length());
+            PerfMetrics.increment("AudioCache.hits");
+            PerfMetrics.add("AudioCache.bytesSaved", file.length());
+        } else {
+            missCount.incrementAndGet();
+            PerfMetrics.increment("AudioCache.misses");
+        }
+        return file;
+    }
+
+    /**
+     * Whether a chapter can be played without the network; not counted as a hit or miss
+     */
+    public boolean isCached(ChapterAudio chapter) {
+        return lookup(chapter.cacheKey(), false) != null;
+    }
+
+    /**
+     * The chapter's file, downloading it unless it is cached or already being downloaded.
+     * Completes with null if the download failed.
+     */
+    public CompletableFuture<File> fetch(ChapterAudio chapter) {
+        return fetch(chapter, false);
+    }
+
+    /**
+     * Download a chapter ahead of time, e.g. the next one while this one plays
+     */
+    public CompletableFuture<File> prefetch(ChapterAudio chapter) {
+        return fetch(chapter, true);
+    }
+
+    /**
+     * Read a chapter as the cache downloads it, starting or joining its download, so playing a
+     * chapter that is not cached yet costs one download. Reads the cached file if there is one.
+     */
+    public synchronized Stream stream(ChapterAudio chapter) {
+        return new Stream(start(chapter, false));
+    }
+
+    private synchronized CompletableFuture<File> fetch(ChapterAudio chapter, boolean prefetch) {
+        return start(chapter, prefetch).future;
+    }
+
+    private synchronized Download start(ChapterAudio chapter, boolean prefetch) {
+        String key = chapter.cacheKey();
+        File cached = lookup(key, false);
+        if (cached != null) {
+            return Download.finished(cached);
+        }
+        Download download = downloads.get(key);
+        if (download == null) {
+            Download created = new Download(new File(dir, key + ".tmp"));
+            created.future = CompletableFuture.supplyAsync(() -> download(chapter, prefetch, created), downloadExecutor);
+            downloads.put(key, created);
+            download = created;
+        }
+        return download;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Share of chapter plays served from disk, 0 to 1
+     */
+    public double getHitRate() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Bytes played from disk that would otherwise have been downloaded again
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public synchronized long getSizeBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "hits=" + hitCount.get() + " misses=" + missCount.get() + " prefetched=" + prefetchCount.get() +
+                " hitRate=" + Math.round(getHitRate() * 100) + "%" +
+                " saved=" + bytesSaved.get() / 1024 + "KB downloaded=" + bytesDownloaded.get() / 1024 + "KB" +
+                " size=" + totalBytes / 1024 + "/" + maxBytes / 1024 + "KB files=" + entries.size();
+    }
+
+    private synchronized File lookup(String key, boolean touch) {
+        if (!entries.containsKey(key)) {
+            return null;
+        }
+        File file = fileFor(key);
+        if (!file.exists()) {
+            // Cleared from outside, e.g. by the system when storage ran low
+            totalBytes -= entries.remove(key);
+            return null;
+        }
+        entries.get(key);
+        if (touch) {
+            file.setLastModified(System.currentTimeMillis());
+        }
+        return file;
+    }
+
+    private File download(ChapterAudio chapter, boolean prefetch, Download state) {
+        String key = chapter.cacheKey();
+        File temp = state.temp;
+        File file = null;
+        HttpURLConnection connection = null;
+        try {
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Cannot create " + dir);
+            }
+            connection = (HttpURLConnection) new URL(urlFor(chapter)).openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+            connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+            connection.setRequestProperty("User-Agent", "HolyWordApp/1.0");
+            int responseCode = connection.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + responseCode);
+            }
+            long expected = connection.getContentLengthLong();
+            long length;
+            try (InputStream in = connection.getInputStream();
+                 OutputStream out = new FileOutputStream(temp)) {
+                state.start(expected);
+                length = copy(in, out, state);
+            }
+            if (length == 0 || (expected >= 0 && length != expected)) {
+                throw new IOException("Incomplete download, " + length + " of " + expected + " bytes");
+            }
+            synchronized (state) {
+                if (!temp.renameTo(fileFor(key))) {
+                    throw new IOException("Cannot move " + temp.getName());
+                }
+                file = fileFor(key);
+                state.file = file;
+            }
+            bytesDownloaded.addAndGet(length);
+            if (prefetch) {
+                prefetchCount.incrementAndGet();
+                PerfMetrics.increment("AudioCache.prefetched");
+            }
+            synchronized (this) {
+                Long previous = entries.put(key, length);
+                totalBytes += length - (previous != null ? previous : 0);
+                trimToSize(key);
+            }
+            Log.d(TAG, "Cached " + key + " (" + length / 1024 + " KB)" + (prefetch ? " ahead of time" : ""));
+            return file;
+        } catch (IOException e) {
+            Log.e(TAG, "Error downloading " + key + ": " + e.getMessage());
+            temp.delete();
+            return null;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            synchronized (this) {
+                downloads.remove(key);
+            }
+            state.end(file);
+        }
+    }
+
+    /**
+     * Where a chapter is downloaded from; overridden to point tests at a local server
+     */
+    protected String urlFor(ChapterAudio chapter) {
+        return chapter.url();
+    }
+
+    private static long copy(InputStream in, OutputStream out, Download state) throws IOException {
+        byte[] buffer = new byte[32 * 1024];
+        long total = 0;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+            total += n;
+            state.progress(total);
+        }
+        return total;
+    }
+
+    /**
+     * Evict least recently used files until the cache fits, never the one just added
+     */
+    private void trimToSize(String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            fileFor(entry.getKey()).delete();
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            PerfMetrics.increment("AudioCache.evictions");
+        }
+    }
+
+    private File fileFor(String key) {
+        return new File(dir, key + ".mp3");
+    }
+
+    /**
+     * Index the files left by earlier runs, oldest first, and drop unfinished downloads
+     */
+    private synchronized void load() {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(".mp3")) {
+                entries.put(name.substring(0, name.length() - 4), file.length());
+                totalBytes += file.length();
+            } else {
+                file.delete();
+            }
+        }
+        trimToSize(null);
+    }
+}
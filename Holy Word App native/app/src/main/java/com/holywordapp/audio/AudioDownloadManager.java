@@ -0,0 +1,650 @@
+package com.holywordapp.audio;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.holywordapp.Versification;
+import com.holywordapp.perf.PerfMetrics;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downloads whole books of the audio Bible for offline listening.
+ *
+ * Chapters are fetched by a small fixed pool of workers into the app's files directory, where
+ * the system does not clear them like the {@link AudioCache}. An interrupted chapter keeps its
+ * partial file and continues with an HTTP Range request, within the same run after a short
+ * back-off or when the app next starts. Offline files count against a quota; when a new
+ * chapter does not fit, the least recently played chapters outside the current batch are
+ * deleted first. Each running download holds room for its full size, and a batch that could
+ * not fit even after evicting everything else is refused before it starts.
+ *
+ * Which chapters are wanted or done, their sizes and when they were last played are kept in a
+ * small tab-separated index next to the files, rewritten whenever a chapter changes state and
+ * shortly after chapters are played. A chapter refused for lack of room is dropped from it.
+ */
+public class AudioDownloadManager {
+    private static final String TAG = "AudioDownloadManager";
+
+    private static final String DOWNLOAD_DIR = "audio_offline";
+    private static final String INDEX_FILE = "index.tsv";
+    public static final long DEFAULT_QUOTA_BYTES = 1024L * 1024 * 1024;
+    static final int MAX_PARALLEL_DOWNLOADS = 3;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 2000;
+    private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+    private static final int READ_TIMEOUT_MILLIS = 20000;
+    // Progress is reported at most this often per chapter
+    private static final long PROGRESS_STEP_BYTES = 256 * 1024;
+    // Size assumed for a chapter before any has been downloaded
+    private static final long ESTIMATED_CHAPTER_BYTES = 3L * 1024 * 1024;
+    // Plays within this long of each other are written to the index together
+    private static final long LAST_USED_SAVE_DELAY_MILLIS = 10_000;
+
+    /** Returned by {@link #downloadBooks} when the chapters would not fit within the quota */
+    public static final int DOES_NOT_FIT = -1;
+
+    private static final int STATE_QUEUED = 0;
+    private static final int STATE_DONE = 1;
+
+    private static volatile AudioDownloadManager instance;
+
+    /** Progress of the current batch; called on the main thread */
+    public interface Listener {
+        void onProgress(int finishedChapters, int totalChapters, long bytesDownloaded);
+
+        /** Every chapter of the batch is either downloaded or has failed */
+        void onBatchFinished(int downloadedChapters, int failedChapters);
+    }
+
+    private static final class Entry {
+        final ChapterAudio chapter;
+        int state;
+        long size;
+        long lastUsed;
+
+        Entry(ChapterAudio chapter, int state, long size, long lastUsed) {
+            this.chapter = chapter;
+            this.state = state;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private final File dir;
+    private final long quotaBytes;
+    private final ExecutorService executor = Executors.newFixedThreadPool(MAX_PARALLEL_DOWNLOADS);
+    private final ScheduledExecutorService indexWriter = Executors.newSingleThreadScheduledExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Context context;
+
+    // Cache key to entry, for every chapter wanted or on disk
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<String, Future<?>> running = new HashMap<>();
+    // Every chapter of the batch in progress, finished or not; never evicted to make room for it
+    private final Set<String> batch = new HashSet<>();
+    // Full size of each running download, held against the quota until it finishes
+    private final Map<String, Long> reserved = new HashMap<>();
+    private Listener listener;
+    private int batchTotal;
+    private int batchDone;
+    private int batchFailed;
+    private long batchBytes;
+    // A play time is newer than the index on disk and a save is scheduled
+    private boolean lastUsedDirty;
+
+    public AudioDownloadManager(Context context, File dir, long quotaBytes) {
+        this.context = context;
+        this.dir = dir;
+        this.quotaBytes = quotaBytes;
+        loadIndex();
+    }
+
+    /**
+     * Get singleton instance, resuming chapters left unfinished by an earlier run
+     */
+    public static AudioDownloadManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AudioDownloadManager.class) {
+                if (instance == null) {
+                    Context app = context.getApplicationContext();
+                    instance = new AudioDownloadManager(app, new File(app.getFilesDir(), DOWNLOAD_DIR), DEFAULT_QUOTA_BYTES);
+                    instance.resumePending();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Queue every chapter of a book; returns the number of chapters that still had to be fetched
+     */
+    public int downloadBook(boolean isEnglishMode, int book) {
+        return downloadBooks(isEnglishMode, book, book);
+    }
+
+    /**
+     * Queue every chapter of the books fromBook to toBook, e.g. a whole testament.
+     * Returns {@link #DOES_NOT_FIT} without queuing anything if they would not fit in the quota
+     * together with the batch already running.
+     */
+    public synchronized int downloadBooks(boolean isEnglishMode, int fromBook, int toBook) {
+        Versification versification = Versification.get(context, isEnglishMode);
+        List<ChapterAudio> chapters = new ArrayList<>();
+        for (int book = fromBook; book <= toBook; book++) {
+            int count = versification.chapterCount(book);
+            for (int chapter = 1; chapter <= count; chapter++) {
+                chapters.add(new ChapterAudio(isEnglishMode, book, chapter));
+            }
+        }
+
+        // Chapters of the range already on disk are kept, so they count against the quota too
+        long needed = batchSizeBytes();
+        long estimate = estimatedChapterBytes();
+        for (ChapterAudio chapter : chapters) {
+            if (batch.contains(chapter.cacheKey())) {
+                continue;
+            }
+            Entry entry = entries.get(chapter.cacheKey());
+            needed += entry != null && entry.state == STATE_DONE ? entry.size : estimate;
+        }
+        if (needed > quotaBytes) {
+            Log.w(TAG, "Books " + fromBook + "-" + toBook + " need about " + needed / (1024 * 1024) + " MB, more than the quota");
+            return DOES_NOT_FIT;
+        }
+
+        int queued = 0;
+        for (ChapterAudio chapter : chapters) {
+            batch.add(chapter.cacheKey());
+            if (enqueue(chapter)) {
+                queued++;
+            }
+        }
+        if (running.isEmpty()) {
+            // Everything was already downloaded, so there is no batch to protect
+            batch.clear();
+        }
+        saveIndex();
+        Log.d(TAG, "Queued " + queued + " chapters of books " + fromBook + "-" + toBook);
+        return queued;
+    }
+
+    /**
+     * Stop all downloads; chapters already finished stay, partial ones are discarded
+     */
+    public synchronized void cancelAll() {
+        for (Future<?> task : running.values()) {
+            task.cancel(true);
+        }
+        running.clear();
+        batch.clear();
+        reserved.clear();
+        List<String> dropped = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().state == STATE_QUEUED) {
+                dropped.add(entry.getKey());
+            }
+        }
+        for (String key : dropped) {
+            entries.remove(key);
+            partFile(key).delete();
+        }
+        batchTotal = batchDone = batchFailed = 0;
+        batchBytes = 0;
+        saveIndex();
+    }
+
+    public synchronized boolean isDownloading() {
+        return !running.isEmpty();
+    }
+
+    /**
+     * The offline file of a chapter, or null; marks it as just played for eviction
+     */
+    public synchronized File getFile(ChapterAudio chapter) {
+        Entry entry = entries.get(chapter.cacheKey());
+        if (entry == null || entry.state != STATE_DONE) {
+            return null;
+        }
+        File file = fileFor(chapter.cacheKey());
+        if (!file.exists()) {
+            entries.remove(chapter.cacheKey());
+            saveIndex();
+            return null;
+        }
+        entry.lastUsed = System.currentTimeMillis();
+        if (!lastUsedDirty) {
+            lastUsedDirty = true;
+            indexWriter.schedule(this::saveLastUsed, LAST_USED_SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        PerfMetrics.increment("AudioDownloads.offlinePlays");
+        return file;
+    }
+
+    private synchronized void saveLastUsed() {
+        if (lastUsedDirty) {
+            saveIndex();
+        }
+    }
+
+    public synchronized boolean isDownloaded(ChapterAudio chapter) {
+        Entry entry = entries.get(chapter.cacheKey());
+        return entry != null && entry.state == STATE_DONE && fileFor(chapter.cacheKey()).exists();
+    }
+
+    /**
+     * Bytes on disk, finished and partial chapters together
+     */
+    public synchronized long getUsedBytes() {
+        long used = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            used += entry.getValue().state == STATE_DONE ? entry.getValue().size : partFile(entry.getKey()).length();
+        }
+        return used;
+    }
+
+    @Override
+    public synchronized String toString() {
+        int downloaded = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.state == STATE_DONE) {
+                downloaded++;
+            }
+        }
+        return "chapters=" + downloaded + " pending=" + (entries.size() - downloaded) + " running=" + running.size() +
+                " size=" + getUsedBytes() / 1024 + "/" + quotaBytes / 1024 + "KB";
+    }
+
+    /**
+     * Where a chapter is downloaded from; overridden to point tests at a local server
+     */
+    protected String urlFor(ChapterAudio chapter) {
+        return chapter.url();
+    }
+
+    private synchronized void resumePending() {
+        int resumed = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.state == STATE_QUEUED && submit(entry)) {
+                resumed++;
+            }
+        }
+        if (resumed > 0) {
+            Log.d(TAG, "Resuming " + resumed + " unfinished chapters");
+        }
+    }
+
+    /**
+     * Add a chapter to the batch unless it is already downloaded or in progress
+     */
+    private boolean enqueue(ChapterAudio chapter) {
+        String key = chapter.cacheKey();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.state == STATE_DONE && fileFor(key).exists()) {
+            return false;
+        }
+        if (entry == null || entry.state == STATE_DONE) {
+            entry = new Entry(chapter, STATE_QUEUED, 0, 0);
+            entries.put(key, entry);
+        }
+        return submit(entry);
+    }
+
+    private boolean submit(Entry entry) {
+        String key = entry.chapter.cacheKey();
+        if (running.containsKey(key)) {
+            return false;
+        }
+        batchTotal++;
+        batch.add(key);
+        running.put(key, executor.submit(() -> run(entry)));
+        return true;
+    }
+
+    private void run(Entry entry) {
+        String key = entry.chapter.cacheKey();
+        boolean done = false;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                // False means no room, which another attempt will not change
+                done = download(entry);
+                break;
+            } catch (IOException e) {
+                Log.e(TAG, "Attempt " + attempt + " for " + key + " failed: " + e.getMessage());
+                if (attempt < MAX_ATTEMPTS) {
+                    try {
+                        Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+        finish(key, done);
+    }
+
+    /**
+     * Fetch the rest of a chapter after what its partial file already holds.
+     * Returns false if the quota leaves no room for it.
+     */
+    private boolean download(Entry entry) throws IOException {
+        String key = entry.chapter.cacheKey();
+        File part = partFile(key);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        long have = part.length();
+        HttpURLConnection connection = (HttpURLConnection) new URL(urlFor(entry.chapter)).openConnection();
+        try {
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+            connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+            connection.setRequestProperty("User-Agent", "HolyWordApp/1.0");
+            if (have > 0) {
+                connection.setRequestProperty("Range", "bytes=" + have + "-");
+            }
+
+            int responseCode = connection.getResponseCode();
+            long total;
+            boolean append;
+            if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+                total = totalFromContentRange(connection.getHeaderField("Content-Range"));
+                append = true;
+                PerfMetrics.increment("AudioDownloads.resumed");
+            } else if (responseCode == HttpURLConnection.HTTP_OK) {
+                // The server ignored the range; start over
+                long length = connection.getContentLengthLong();
+                total = length;
+                have = 0;
+                append = false;
+            } else if (responseCode == 416 && have > 0) {
+                // Nothing left past what we have: the partial file is the whole chapter
+                total = totalFromContentRange(connection.getHeaderField("Content-Range"));
+                if (total != have) {
+                    part.delete();
+                    throw new IOException("Partial file does not match, restarting");
+                }
+                return complete(entry, part, have);
+            } else {
+                throw new IOException("HTTP " + responseCode);
+            }
+
+            if (!reserve(key, total)) {
+                // Would not fit on a later start either, so don't leave it queued for resumePending
+                Log.w(TAG, "No room for " + key + " within the quota, dropping it");
+                drop(entry);
+                return false;
+            }
+
+            long reported = have;
+            try (InputStream in = connection.getInputStream();
+                 OutputStream out = new FileOutputStream(part, append)) {
+                byte[] buffer = new byte[32 * 1024];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new IOException("Cancelled");
+                    }
+                    out.write(buffer, 0, n);
+                    have += n;
+                    if (have - reported >= PROGRESS_STEP_BYTES) {
+                        addProgress(have - reported);
+                        reported = have;
+                    }
+                }
+            }
+            addProgress(have - reported);
+            if (total >= 0 && have != total) {
+                throw new IOException("Incomplete, " + have + " of " + total + " bytes");
+            }
+            return complete(entry, part, have);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static long totalFromContentRange(String contentRange) {
+        // bytes 100-199/200, or bytes */200 on a 416
+        if (contentRange == null) {
+            return -1;
+        }
+        int slash = contentRange.lastIndexOf('/');
+        try {
+            return slash < 0 ? -1 : Long.parseLong(contentRange.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean complete(Entry entry, File part, long size) throws IOException {
+        String key = entry.chapter.cacheKey();
+        synchronized (this) {
+            if (entries.get(key) != entry) {
+                // Cancelled while the last bytes came in
+                part.delete();
+                return false;
+            }
+            if (!part.renameTo(fileFor(key))) {
+                throw new IOException("Cannot move " + part.getName());
+            }
+            entry.state = STATE_DONE;
+            entry.size = size;
+            entry.lastUsed = System.currentTimeMillis();
+        }
+        return true;
+    }
+
+    private synchronized void drop(Entry entry) {
+        String key = entry.chapter.cacheKey();
+        if (entries.get(key) == entry) {
+            entries.remove(key);
+            partFile(key).delete();
+        }
+    }
+
+    /**
+     * Hold room for a chapter of the given full size, or -1 if unknown, evicting least recently
+     * played chapters outside the batch if needed
+     */
+    private synchronized boolean reserve(String key, long total) {
+        if (total > 0) {
+            reserved.put(key, total);
+        }
+        long used = committedBytes();
+        while (used > quotaBytes) {
+            String eldest = null;
+            long eldestUsed = Long.MAX_VALUE;
+            for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+                Entry entry = candidate.getValue();
+                if (entry.state == STATE_DONE && entry.lastUsed < eldestUsed && !batch.contains(candidate.getKey())) {
+                    eldest = candidate.getKey();
+                    eldestUsed = entry.lastUsed;
+                }
+            }
+            if (eldest == null) {
+                reserved.remove(key);
+                return false;
+            }
+            used -= entries.remove(eldest).size;
+            fileFor(eldest).delete();
+            PerfMetrics.increment("AudioDownloads.evictions");
+            Log.d(TAG, "Evicted " + eldest + " to stay within the quota");
+        }
+        return true;
+    }
+
+    /**
+     * Bytes on disk plus the rest of what running downloads have reserved
+     */
+    private long committedBytes() {
+        long used = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            long onDisk = entry.getValue().state == STATE_DONE ? entry.getValue().size : partFile(key).length();
+            used += Math.max(onDisk, reserved.containsKey(key) ? reserved.get(key) : 0);
+        }
+        return used;
+    }
+
+    /**
+     * What the batch in progress will take once done, estimating chapters not started yet
+     */
+    private long batchSizeBytes() {
+        long size = 0;
+        long estimate = estimatedChapterBytes();
+        for (String key : batch) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.state == STATE_DONE) {
+                size += entry.size;
+            } else if (reserved.containsKey(key)) {
+                size += reserved.get(key);
+            } else if (entry != null) {
+                size += estimate;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Average size of the chapters downloaded so far
+     */
+    private long estimatedChapterBytes() {
+        long total = 0;
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.state == STATE_DONE) {
+                total += entry.size;
+                count++;
+            }
+        }
+        return count > 0 ? total / count : ESTIMATED_CHAPTER_BYTES;
+    }
+
+    private synchronized void addProgress(long bytes) {
+        batchBytes += bytes;
+        notifyProgress();
+    }
+
+    private synchronized void finish(String key, boolean done) {
+        if (running.remove(key) == null) {
+            // Cancelled
+            return;
+        }
+        reserved.remove(key);
+        if (done) {
+            batchDone++;
+        } else {
+            batchFailed++;
+        }
+        saveIndex();
+        notifyProgress();
+        if (running.isEmpty()) {
+            int downloaded = batchDone;
+            int failed = batchFailed;
+            Listener current = listener;
+            batchTotal = batchDone = batchFailed = 0;
+            batchBytes = 0;
+            batch.clear();
+            if (current != null) {
+                mainHandler.post(() -> current.onBatchFinished(downloaded, failed));
+            }
+        }
+    }
+
+    private void notifyProgress() {
+        Listener current = listener;
+        if (current == null) {
+            return;
+        }
+        int finished = batchDone + batchFailed;
+        int total = batchTotal;
+        long bytes = batchBytes;
+        mainHandler.post(() -> current.onProgress(finished, total, bytes));
+    }
+
+    private File fileFor(String key) {
+        return new File(dir, key + ".mp3");
+    }
+
+    private File partFile(String key) {
+        return new File(dir, key + ".part");
+    }
+
+    // Index: one line per chapter, key, state, size and last played time separated by tabs
+
+    private synchronized void loadIndex() {
+        File file = new File(dir, INDEX_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                ChapterAudio chapter = fields.length == 4 ? ChapterAudio.fromCacheKey(fields[0]) : null;
+                if (chapter == null) {
+                    continue;
+                }
+                int state = Integer.parseInt(fields[1]);
+                if (state == STATE_DONE && !fileFor(fields[0]).exists()) {
+                    continue;
+                }
+                entries.put(fields[0], new Entry(chapter, state, Long.parseLong(fields[2]), Long.parseLong(fields[3])));
+            }
+        } catch (IOException | NumberFormatException e) {
+            Log.e(TAG, "Error reading download index: " + e.getMessage());
+        }
+    }
+
+    private synchronized void saveIndex() {
+        lastUsedDirty = false;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            return;
+        }
+        File file = new File(dir, INDEX_FILE);
+        File temp = new File(dir, INDEX_FILE + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                Entry value = entry.getValue();
+                writer.write(entry.getKey() + "\t" + value.state + "\t" + value.size + "\t" + value.lastUsed + "\n");
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing download index: " + e.getMessage());
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "Cannot replace download index");
+        }
+    }
+}
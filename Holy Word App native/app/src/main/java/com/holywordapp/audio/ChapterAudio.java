@@ -0,0 +1,101 @@
+package com.holywordapp.audio;
+
+import android.content.Context;
+
+import com.holywordapp.BookRegistry;
+import com.holywordapp.Versification;
+
+/**
+ * One chapter of the audio Bible: the recording's translation, book and chapter.
+ *
+ * The recordings are served per chapter from wordfree.net, KJV (version 1) from
+ * kjv.wordfree.net and Telugu (version 29) from audio4.wordfree.net.
+ */
+public final class ChapterAudio {
+    public static final String VERSION_KJV = "1";
+    public static final String VERSION_TELUGU = "29";
+
+    public final boolean isEnglishMode;
+    /** Canonical book ordinal, 1 to 66 */
+    public final int book;
+    public final int chapter;
+
+    public ChapterAudio(boolean isEnglishMode, int book, int chapter) {
+        this.isEnglishMode = isEnglishMode;
+        this.book = book;
+        this.chapter = chapter;
+    }
+
+    public String versionCode() {
+        return isEnglishMode ? VERSION_KJV : VERSION_TELUGU;
+    }
+
+    public String url() {
+        String host = isEnglishMode ? "kjv.wordfree.net" : "audio4.wordfree.net";
+        return "http://" + host + "/bibles/app/audio/" + versionCode() + "/" + book + "/" + chapter + ".mp3";
+    }
+
+    /**
+     * Stable name of the chapter's file in the caches, e.g. 1_43_3
+     */
+    public String cacheKey() {
+        return versionCode() + "_" + book + "_" + chapter;
+    }
+
+    /**
+     * The chapter a cache key names, or null if it is not one
+     */
+    public static ChapterAudio fromCacheKey(String key) {
+        String[] parts = key.split("_");
+        if (parts.length != 3 || !(VERSION_KJV.equals(parts[0]) || VERSION_TELUGU.equals(parts[0]))) {
+            return null;
+        }
+        try {
+            return new ChapterAudio(VERSION_KJV.equals(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The following chapter of the same book, or null after the last one
+     */
+    public ChapterAudio next(Context context) {
+        if (chapter >= Versification.get(context, isEnglishMode).chapterCount(book)) {
+            return null;
+        }
+        return new ChapterAudio(isEnglishMode, book, chapter + 1);
+    }
+
+    /**
+     * The chapter before this one in the same book, or null at the first
+     */
+    public ChapterAudio previous() {
+        return chapter > 1 ? new ChapterAudio(isEnglishMode, book, chapter - 1) : null;
+    }
+
+    /**
+     * Title as the audio screens show it, e.g. "John - Chapter 3"
+     */
+    public String title() {
+        return BookRegistry.displayName(book, isEnglishMode) + " - Chapter " + chapter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChapterAudio)) return false;
+        ChapterAudio other = (ChapterAudio) o;
+        return isEnglishMode == other.isEnglishMode && book == other.book && chapter == other.chapter;
+    }
+
+    @Override
+    public int hashCode() {
+        return (isEnglishMode ? 1 << 20 : 0) | book << 10 | chapter;
+    }
+
+    @Override
+    public String toString() {
+        return cacheKey();
+    }
+}
@@ -0,0 +1,346 @@
+package com.holywordapp.audio;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.MediaDataSource;
+import android.media.MediaPlayer;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.holywordapp.perf.PerfMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Plays audio Bible chapters from the offline downloads or the {@link AudioCache}, and single
+ * streams such as the daily devotional.
+ *
+ * A chapter that is not cached yet plays straight away from the cache's download as it
+ * arrives, so it is downloaded once and replaying it later comes from disk. Once a chapter is
+ * prepared the next one is prefetched into the cache.
+ * With auto-advance on it is also prepared in a second MediaPlayer and chained with
+ * setNextMediaPlayer, so the next chapter starts without a gap or a new buffering wait.
+ *
+ * Must be used from the main thread; listener callbacks arrive there too.
+ */
+public class ChapterAudioPlayer {
+    private static final String TAG = "ChapterAudioPlayer";
+
+    public static final AudioAttributes AUDIO_ATTRIBUTES = new AudioAttributes.Builder()
+            .setUsage(AudioAttributes.USAGE_MEDIA)
+            .setContentType(AudioAttributes.CONTENT_TYPE_SPEECH)
+            .build();
+
+    /** The chapter passed is null while a stream is playing */
+    public interface Listener {
+        /** The chapter is ready to play; it is already playing if autoPlay was requested */
+        void onChapterPrepared(ChapterAudio chapter, int durationMillis, boolean playing);
+
+        /** Playback moved on to the following chapter without stopping */
+        void onChapterAdvanced(ChapterAudio chapter, int durationMillis);
+
+        /** The chapter ended and nothing was queued after it */
+        void onPlaybackCompleted(ChapterAudio chapter);
+
+        void onError(ChapterAudio chapter, int what, int extra);
+    }
+
+    private final Context context;
+    private final AudioCache cache;
+    private final AudioDownloadManager downloads;
+    private final Listener listener;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final String metricPrefix;
+
+    private MediaPlayer player;
+    private ChapterAudio chapter;
+    private boolean prepared;
+    private MediaPlayer nextPlayer;
+    private ChapterAudio nextChapter;
+    // Set once the next player is prepared and handed to setNextMediaPlayer
+    private boolean nextChained;
+    private boolean autoAdvance = true;
+    // Bumped whenever the current chapter changes so late downloads and prepares are ignored
+    private int generation;
+
+    /**
+     * @param metricPrefix names the prepare span in PerfMetrics, e.g. "BibleActivity"
+     */
+    public ChapterAudioPlayer(Context context, String metricPrefix, Listener listener) {
+        this.context = context.getApplicationContext();
+        this.cache = AudioCache.getInstance(context);
+        this.downloads = AudioDownloadManager.getInstance(context);
+        this.metricPrefix = metricPrefix;
+        this.listener = listener;
+    }
+
+    /**
+     * Stop whatever is playing and load a chapter, starting it once prepared if autoPlay
+     */
+    public void play(ChapterAudio target, boolean autoPlay) {
+        release();
+        chapter = target;
+        PerfMetrics.AsyncSpan prepareSpan = PerfMetrics.beginAsync(metricPrefix + ".audioPrepare");
+
+        File file = downloads.getFile(target);
+        if (file == null) {
+            file = cache.get(target);
+        }
+        if (file != null) {
+            prepare(file.getPath(), autoPlay, prepareSpan);
+            return;
+        }
+        // Don't wait for the whole file; play the cache's download as it arrives
+        AudioCache.Stream stream = cache.stream(target);
+        prepare(mp -> mp.setDataSource(new CacheDataSource(stream)), autoPlay, prepareSpan);
+    }
+
+    /**
+     * Stop whatever is playing and load a recording that is not a chapter; nothing is cached or queued after it
+     */
+    public void playStream(String url, boolean autoPlay) {
+        release();
+        prepare(url, autoPlay, PerfMetrics.beginAsync(metricPrefix + ".audioPrepare"));
+    }
+
+    /**
+     * Whether playback continues into the following chapter by itself
+     */
+    public void setAutoAdvance(boolean autoAdvance) {
+        this.autoAdvance = autoAdvance;
+        if (!autoAdvance) {
+            releaseNext();
+        } else if (prepared) {
+            queueNext();
+        }
+    }
+
+    public ChapterAudio getChapter() {
+        return chapter;
+    }
+
+    public boolean isPrepared() {
+        return prepared;
+    }
+
+    public boolean isPlaying() {
+        try {
+            return prepared && player != null && player.isPlaying();
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    public void start() {
+        if (prepared) {
+            player.start();
+        }
+    }
+
+    public void pause() {
+        if (isPlaying()) {
+            player.pause();
+        }
+    }
+
+    public void seekTo(int millis) {
+        if (prepared) {
+            player.seekTo(millis);
+        }
+    }
+
+    public int getCurrentPosition() {
+        return prepared ? player.getCurrentPosition() : 0;
+    }
+
+    public int getDuration() {
+        return prepared ? player.getDuration() : 0;
+    }
+
+    /**
+     * Stop playback and free both players; the cache and its downloads are kept
+     */
+    public void release() {
+        generation++;
+        releaseNext();
+        if (player != null) {
+            try {
+                if (player.isPlaying()) {
+                    player.stop();
+                }
+                player.reset();
+                player.release();
+            } catch (Exception e) { /* Ignore */ }
+            player = null;
+        }
+        prepared = false;
+        chapter = null;
+    }
+
+    private void prepare(String source, boolean autoPlay, PerfMetrics.AsyncSpan prepareSpan) {
+        prepare(mp -> mp.setDataSource(source), autoPlay, prepareSpan);
+    }
+
+    private void prepare(DataSource source, boolean autoPlay, PerfMetrics.AsyncSpan prepareSpan) {
+        MediaPlayer mediaPlayer = new MediaPlayer();
+        mediaPlayer.setAudioAttributes(AUDIO_ATTRIBUTES);
+        player = mediaPlayer;
+        int requested = generation;
+        try {
+            source.applyTo(mediaPlayer);
+        } catch (IOException e) {
+            Log.e(TAG, "Cannot load " + chapter + ": " + e.getMessage());
+            prepareSpan.cancel();
+            fail(MediaPlayer.MEDIA_ERROR_UNKNOWN, MediaPlayer.MEDIA_ERROR_IO);
+            return;
+        }
+        mediaPlayer.setOnPreparedListener(mp -> {
+            if (requested != generation) return;
+            prepareSpan.end();
+            prepared = true;
+            if (autoPlay) {
+                mp.start();
+            }
+            listener.onChapterPrepared(chapter, mp.getDuration(), autoPlay);
+            queueNext();
+        });
+        mediaPlayer.setOnErrorListener((mp, what, extra) -> {
+            if (requested == generation && !prepared) {
+                prepareSpan.cancel();
+            }
+            if (mp == player) {
+                fail(what, extra);
+            }
+            return true;
+        });
+        mediaPlayer.setOnCompletionListener(this::onCompletion);
+        mediaPlayer.prepareAsync();
+    }
+
+    private void onCompletion(MediaPlayer finished) {
+        if (finished != player) return;
+        if (nextPlayer == null || !nextChained) {
+            // The next chapter was not ready in time; the listener loads it the usual way
+            releaseNext();
+            prepared = false;
+            listener.onPlaybackCompleted(chapter);
+            return;
+        }
+        // The next player was chained to this one and is already playing
+        finished.release();
+        player = nextPlayer;
+        chapter = nextChapter;
+        nextPlayer = null;
+        nextChapter = null;
+        nextChained = false;
+        generation++;
+        PerfMetrics.increment("audio.gaplessAdvances");
+        listener.onChapterAdvanced(chapter, player.getDuration());
+        queueNext();
+    }
+
+    /**
+     * Prefetch the following chapter and, with auto-advance on, chain it to the current one
+     */
+    private void queueNext() {
+        if (chapter == null || nextChapter != null) {
+            return;
+        }
+        ChapterAudio next = chapter.next(context);
+        if (next == null) {
+            return;
+        }
+        int requested = generation;
+        File offline = downloads.getFile(next);
+        CompletableFuture<File> ready = offline != null ? CompletableFuture.completedFuture(offline) : cache.prefetch(next);
+        ready.whenComplete((file, error) -> mainHandler.post(() -> {
+            if (requested != generation || !autoAdvance || !prepared || file == null || nextChapter != null) {
+                return;
+            }
+            MediaPlayer following = new MediaPlayer();
+            following.setAudioAttributes(AUDIO_ATTRIBUTES);
+            nextPlayer = following;
+            nextChapter = next;
+            try {
+                following.setDataSource(file.getPath());
+            } catch (IOException e) {
+                Log.e(TAG, "Cannot queue " + next + ": " + e.getMessage());
+                releaseNext();
+                return;
+            }
+            following.setOnPreparedListener(mp -> {
+                if (mp != nextPlayer || player == null) return;
+                try {
+                    player.setNextMediaPlayer(mp);
+                    nextChained = true;
+                } catch (IllegalStateException e) {
+                    releaseNext();
+                }
+            });
+            following.setOnErrorListener((mp, what, extra) -> {
+                if (mp == player) {
+                    fail(what, extra);
+                } else if (mp == nextPlayer) {
+                    releaseNext();
+                }
+                return true;
+            });
+            following.setOnCompletionListener(this::onCompletion);
+            following.prepareAsync();
+        }));
+    }
+
+    private void releaseNext() {
+        if (nextPlayer != null) {
+            try {
+                if (player != null) {
+                    player.setNextMediaPlayer(null);
+                }
+            } catch (IllegalStateException e) { /* Ignore */ }
+            nextPlayer.release();
+            nextPlayer = null;
+        }
+        nextChapter = null;
+        nextChained = false;
+    }
+
+    private interface DataSource {
+        void applyTo(MediaPlayer mediaPlayer) throws IOException;
+    }
+
+    /**
+     * Feeds MediaPlayer from the cache's download of a chapter; MediaPlayer closes it on release
+     */
+    private static final class CacheDataSource extends MediaDataSource {
+        private final AudioCache.Stream stream;
+
+        CacheDataSource(AudioCache.Stream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public int readAt(long position, byte[] buffer, int offset, int size) throws IOException {
+            return stream.readAt(position, buffer, offset, size);
+        }
+
+        @Override
+        public long getSize() throws IOException {
+            return stream.size();
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+
+    private void fail(int what, int extra) {
+        PerfMetrics.increment("audio.errors");
+        ChapterAudio failed = chapter;
+        release();
+        listener.onError(failed, what, extra);
+    }
+}
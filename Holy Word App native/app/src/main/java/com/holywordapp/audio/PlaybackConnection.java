@@ -0,0 +1,84 @@
+package com.holywordapp.audio;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.ServiceConnection;
+import android.os.IBinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A screen's link to the {@link PlaybackService}.
+ *
+ * Attach when the screen starts and detach when it stops; in between the screen's listener gets
+ * the service's events, starting with whatever is already playing. Commands given before the
+ * service is bound are run once it is.
+ */
+public class PlaybackConnection implements ServiceConnection {
+    private final Context context;
+    private final PlaybackService.Listener listener;
+    private final List<Consumer<PlaybackService>> pending = new ArrayList<>();
+    private PlaybackService service;
+    private boolean bound;
+
+    public PlaybackConnection(Context context, PlaybackService.Listener listener) {
+        this.context = context;
+        this.listener = listener;
+    }
+
+    public void attach() {
+        if (!bound) {
+            bound = context.bindService(new Intent(context, PlaybackService.class), this, Context.BIND_AUTO_CREATE);
+        }
+    }
+
+    public void detach() {
+        pending.clear();
+        if (service != null) {
+            service.removeListener(listener);
+            service = null;
+        }
+        if (bound) {
+            context.unbindService(this);
+            bound = false;
+        }
+    }
+
+    /**
+     * The service, or null while not bound
+     */
+    public PlaybackService get() {
+        return service;
+    }
+
+    /**
+     * Run a command now if bound, or as soon as the service is
+     */
+    public void run(Consumer<PlaybackService> command) {
+        if (service != null) {
+            command.accept(service);
+        } else {
+            pending.add(command);
+            attach();
+        }
+    }
+
+    @Override
+    public void onServiceConnected(ComponentName name, IBinder binder) {
+        service = ((PlaybackService.LocalBinder) binder).getService();
+        service.addListener(listener);
+        List<Consumer<PlaybackService>> commands = new ArrayList<>(pending);
+        pending.clear();
+        for (Consumer<PlaybackService> command : commands) {
+            command.accept(service);
+        }
+    }
+
+    @Override
+    public void onServiceDisconnected(ComponentName name) {
+        service = null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.holywordapp.audio;
+
+import android.media.session.PlaybackState;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/**
+ * Moves a screen's seek bar and clock along with the {@link PlaybackService}.
+ *
+ * The position is worked out from the last PlaybackState, which records when it was taken and
+ * how fast playback runs, so the player is never asked for it. While playing, the screen is
+ * called once each time the position passes a whole second; while paused or stopped, not at all.
+ */
+public class PlaybackProgress {
+    public interface Callback {
+        void onProgress(int positionMillis);
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Callback callback;
+    private PlaybackState state;
+
+    private final Runnable tick = new Runnable() {
+        @Override
+        public void run() {
+            if (state == null) return;
+            long position = positionOf(state);
+            callback.onProgress((int) position);
+            if (state.getState() == PlaybackState.STATE_PLAYING) {
+                handler.postDelayed(this, 1000 - position % 1000);
+            }
+        }
+    };
+
+    public PlaybackProgress(Callback callback) {
+        this.callback = callback;
+    }
+
+    /**
+     * Report the new position now and keep it moving if playing
+     */
+    public void update(PlaybackState state) {
+        this.state = state;
+        handler.removeCallbacks(tick);
+        tick.run();
+    }
+
+    public void stop() {
+        state = null;
+        handler.removeCallbacks(tick);
+    }
+
+    /**
+     * Where playback is now, extrapolated from when the state was published
+     */
+    public static long positionOf(PlaybackState state) {
+        long position = state.getPosition();
+        if (state.getState() == PlaybackState.STATE_PLAYING) {
+            position += (long) ((SystemClock.elapsedRealtime() - state.getLastPositionUpdateTime()) * state.getPlaybackSpeed());
+        }
+        return Math.max(0, position);
+    }
+}
@@ -0,0 +1,478 @@
+package com.holywordapp.audio;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.graphics.drawable.Icon;
+import android.media.AudioFocusRequest;
+import android.media.AudioManager;
+import android.media.MediaMetadata;
+import android.media.session.MediaSession;
+import android.media.session.PlaybackState;
+import android.os.Binder;
+import android.os.IBinder;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.holywordapp.R;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The app's one audio player, shared by every screen that plays audio.
+ *
+ * Screens attach through a {@link PlaybackConnection} while they are visible and send their
+ * commands here; playback keeps going when they close. The service holds audio focus while
+ * playing, runs in the foreground with a media notification, and publishes its state on a
+ * MediaSession so the lock screen, headsets and the notification control it as well.
+ *
+ * Position is published only when something changes (prepared, play, pause, seek, next chapter)
+ * as a PlaybackState that carries the time it was taken; screens work the current position out
+ * from that with {@link PlaybackProgress} instead of asking the player for it.
+ *
+ * Must be used from the main thread; listener callbacks arrive there too.
+ */
+public class PlaybackService extends Service implements ChapterAudioPlayer.Listener {
+    private static final String TAG = "PlaybackService";
+
+    private static final String CHANNEL_ID = "audio_playback_channel";
+    private static final int NOTIFICATION_ID = 1002;
+
+    static final String ACTION_PLAY_PAUSE = "com.holywordapp.audio.PLAY_PAUSE";
+    static final String ACTION_NEXT = "com.holywordapp.audio.NEXT";
+    static final String ACTION_PREVIOUS = "com.holywordapp.audio.PREVIOUS";
+    static final String ACTION_STOP = "com.holywordapp.audio.STOP";
+
+    /** Everything the player reports, plus each change of state */
+    public interface Listener extends ChapterAudioPlayer.Listener {
+        /** Buffering, playing, paused, stopped or failed, with the position when it changed */
+        void onPlaybackStateChanged(PlaybackState state);
+    }
+
+    public class LocalBinder extends Binder {
+        public PlaybackService getService() {
+            return PlaybackService.this;
+        }
+    }
+
+    private final IBinder binder = new LocalBinder();
+    private final List<Listener> listeners = new ArrayList<>();
+    private ChapterAudioPlayer player;
+    private MediaSession session;
+    private AudioManager audioManager;
+    private AudioFocusRequest focusRequest;
+    private NotificationManager notificationManager;
+    private PlaybackState state;
+    // Title of the stream being played, null for chapters
+    private String streamTitle;
+    private boolean autoAdvance = true;
+    private boolean resumeOnFocusGain;
+    private boolean foreground;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        player = new ChapterAudioPlayer(this, TAG, this);
+        audioManager = getSystemService(AudioManager.class);
+        focusRequest = new AudioFocusRequest.Builder(AudioManager.AUDIOFOCUS_GAIN)
+                .setAudioAttributes(ChapterAudioPlayer.AUDIO_ATTRIBUTES)
+                .setOnAudioFocusChangeListener(this::onAudioFocusChange)
+                .build();
+
+        notificationManager = getSystemService(NotificationManager.class);
+        NotificationChannel channel = new NotificationChannel(CHANNEL_ID, "Audio Playback", NotificationManager.IMPORTANCE_LOW);
+        channel.setDescription("Controls for the audio Bible and devotionals");
+        channel.setShowBadge(false);
+        notificationManager.createNotificationChannel(channel);
+
+        session = new MediaSession(this, TAG);
+        session.setSessionActivity(contentIntent());
+        session.setCallback(new MediaSession.Callback() {
+            @Override
+            public void onPlay() {
+                start();
+            }
+
+            @Override
+            public void onPause() {
+                pause();
+            }
+
+            @Override
+            public void onSeekTo(long position) {
+                seekTo((int) position);
+            }
+
+            @Override
+            public void onSkipToNext() {
+                skip(1);
+            }
+
+            @Override
+            public void onSkipToPrevious() {
+                skip(-1);
+            }
+
+            @Override
+            public void onStop() {
+                stop();
+            }
+        });
+        state = buildState(PlaybackState.STATE_NONE, 0);
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return binder;
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        String action = intent != null ? intent.getAction() : null;
+        if (ACTION_PLAY_PAUSE.equals(action)) {
+            if (isPlaying()) {
+                pause();
+            } else {
+                start();
+            }
+        } else if (ACTION_NEXT.equals(action)) {
+            skip(1);
+        } else if (ACTION_PREVIOUS.equals(action)) {
+            skip(-1);
+        } else if (ACTION_STOP.equals(action)) {
+            stop();
+        }
+        return START_NOT_STICKY;
+    }
+
+    @Override
+    public void onTaskRemoved(Intent rootIntent) {
+        if (!isPlaying()) {
+            stop();
+        }
+    }
+
+    @Override
+    public void onDestroy() {
+        player.release();
+        audioManager.abandonAudioFocusRequest(focusRequest);
+        // A paused service can be stopped by the system; its controls would do nothing after that
+        notificationManager.cancel(NOTIFICATION_ID);
+        session.release();
+        listeners.clear();
+        super.onDestroy();
+    }
+
+    /**
+     * Listen to the player; the chapter or stream already loaded and the current state are
+     * reported straight away so a screen opened mid-playback can catch up
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        if (player.isPrepared()) {
+            listener.onChapterPrepared(player.getChapter(), player.getDuration(), player.isPlaying());
+        }
+        listener.onPlaybackStateChanged(state);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stop whatever is playing and load a chapter, starting it once prepared if autoPlay
+     */
+    public void playChapter(ChapterAudio chapter, boolean autoPlay) {
+        streamTitle = null;
+        boolean play = autoPlay && requestFocus();
+        begin(chapter.title(), play);
+        player.play(chapter, play);
+    }
+
+    /**
+     * Stop whatever is playing and load a recording that is not a chapter, e.g. the daily devotional
+     */
+    public void playStream(String url, String title, boolean autoPlay) {
+        streamTitle = title;
+        boolean play = autoPlay && requestFocus();
+        begin(title, play);
+        player.playStream(url, play);
+    }
+
+    public void setAutoAdvance(boolean autoAdvance) {
+        this.autoAdvance = autoAdvance;
+        player.setAutoAdvance(autoAdvance);
+    }
+
+    /**
+     * The chapter loaded, or null while nothing or a stream is
+     */
+    public ChapterAudio getChapter() {
+        return player.getChapter();
+    }
+
+    public boolean isStreamLoaded() {
+        return streamTitle != null;
+    }
+
+    public boolean isPrepared() {
+        return player.isPrepared();
+    }
+
+    public boolean isPlaying() {
+        return player.isPlaying();
+    }
+
+    public int getDuration() {
+        return player.getDuration();
+    }
+
+    public PlaybackState getPlaybackState() {
+        return state;
+    }
+
+    public void start() {
+        if (!player.isPrepared() || player.isPlaying() || !requestFocus()) {
+            return;
+        }
+        player.start();
+        setState(PlaybackState.STATE_PLAYING, player.getCurrentPosition());
+    }
+
+    public void pause() {
+        resumeOnFocusGain = false;
+        pausePlayer();
+    }
+
+    public void seekTo(int millis) {
+        if (!player.isPrepared()) {
+            return;
+        }
+        player.seekTo(millis);
+        setState(state.getState(), millis);
+    }
+
+    /**
+     * Stop playback, drop the notification and let the service go once no screen is attached
+     */
+    public void stop() {
+        player.release();
+        streamTitle = null;
+        resumeOnFocusGain = false;
+        audioManager.abandonAudioFocusRequest(focusRequest);
+        setState(PlaybackState.STATE_STOPPED, 0);
+    }
+
+    // ChapterAudioPlayer.Listener
+
+    @Override
+    public void onChapterPrepared(ChapterAudio chapter, int durationMillis, boolean playing) {
+        setMetadata(chapter != null ? chapter.title() : streamTitle, durationMillis);
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onChapterPrepared(chapter, durationMillis, playing);
+        }
+        setState(playing ? PlaybackState.STATE_PLAYING : PlaybackState.STATE_PAUSED, 0);
+    }
+
+    @Override
+    public void onChapterAdvanced(ChapterAudio chapter, int durationMillis) {
+        setMetadata(chapter.title(), durationMillis);
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onChapterAdvanced(chapter, durationMillis);
+        }
+        setState(PlaybackState.STATE_PLAYING, 0);
+    }
+
+    @Override
+    public void onPlaybackCompleted(ChapterAudio chapter) {
+        ChapterAudio next = chapter != null && autoAdvance ? chapter.next(this) : null;
+        if (next != null) {
+            // It could not be chained in time; load it the slow way
+            playChapter(next, true);
+            return;
+        }
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onPlaybackCompleted(chapter);
+        }
+        audioManager.abandonAudioFocusRequest(focusRequest);
+        setState(PlaybackState.STATE_STOPPED, 0);
+    }
+
+    @Override
+    public void onError(ChapterAudio chapter, int what, int extra) {
+        Log.e(TAG, "Playback error for " + (chapter != null ? chapter : streamTitle) + ": " + what + "/" + extra);
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onError(chapter, what, extra);
+        }
+        streamTitle = null;
+        audioManager.abandonAudioFocusRequest(focusRequest);
+        setState(PlaybackState.STATE_ERROR, 0);
+    }
+
+    private void begin(String title, boolean autoPlay) {
+        // Keep running once the screen that asked goes away; stopSelf() in setState ends it
+        startService(new Intent(this, PlaybackService.class));
+        resumeOnFocusGain = false;
+        setMetadata(title, 0);
+        // Connecting stands for loading to be played later, which needs no notification yet
+        setState(autoPlay ? PlaybackState.STATE_BUFFERING : PlaybackState.STATE_CONNECTING, 0);
+    }
+
+    private void skip(int direction) {
+        ChapterAudio chapter = player.getChapter();
+        if (chapter == null) {
+            return;
+        }
+        ChapterAudio target = direction > 0 ? chapter.next(this) : chapter.previous();
+        if (target != null) {
+            playChapter(target, true);
+        }
+    }
+
+    private void pausePlayer() {
+        if (!player.isPlaying()) {
+            return;
+        }
+        player.pause();
+        setState(PlaybackState.STATE_PAUSED, player.getCurrentPosition());
+    }
+
+    private boolean requestFocus() {
+        return audioManager.requestAudioFocus(focusRequest) == AudioManager.AUDIOFOCUS_REQUEST_GRANTED;
+    }
+
+    private void onAudioFocusChange(int focusChange) {
+        switch (focusChange) {
+            case AudioManager.AUDIOFOCUS_LOSS:
+                pause();
+                break;
+            case AudioManager.AUDIOFOCUS_LOSS_TRANSIENT:
+                // A call or a navigation prompt; carry on after it
+                boolean wasPlaying = player.isPlaying();
+                pausePlayer();
+                resumeOnFocusGain = wasPlaying;
+                break;
+            case AudioManager.AUDIOFOCUS_GAIN:
+                if (resumeOnFocusGain) {
+                    resumeOnFocusGain = false;
+                    start();
+                }
+                break;
+            default:
+                // Ducking is done by the system
+                break;
+        }
+    }
+
+    private PlaybackState buildState(int playbackState, long position) {
+        long actions = PlaybackState.ACTION_PLAY | PlaybackState.ACTION_PAUSE | PlaybackState.ACTION_PLAY_PAUSE
+                | PlaybackState.ACTION_SEEK_TO | PlaybackState.ACTION_STOP;
+        if (player.getChapter() != null) {
+            actions |= PlaybackState.ACTION_SKIP_TO_NEXT | PlaybackState.ACTION_SKIP_TO_PREVIOUS;
+        }
+        float speed = playbackState == PlaybackState.STATE_PLAYING ? 1f : 0f;
+        return new PlaybackState.Builder()
+                .setActions(actions)
+                .setState(playbackState, position, speed, SystemClock.elapsedRealtime())
+                .build();
+    }
+
+    private void setState(int playbackState, long position) {
+        state = buildState(playbackState, position);
+        session.setPlaybackState(state);
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onPlaybackStateChanged(state);
+        }
+        updateNotification();
+    }
+
+    private void setMetadata(String title, long durationMillis) {
+        session.setMetadata(new MediaMetadata.Builder()
+                .putString(MediaMetadata.METADATA_KEY_TITLE, title)
+                .putString(MediaMetadata.METADATA_KEY_ARTIST, getString(R.string.app_name))
+                .putLong(MediaMetadata.METADATA_KEY_DURATION, durationMillis)
+                .build());
+    }
+
+    private void updateNotification() {
+        int playbackState = state.getState();
+        if (playbackState == PlaybackState.STATE_NONE || playbackState == PlaybackState.STATE_STOPPED
+                || playbackState == PlaybackState.STATE_ERROR) {
+            stopForeground(STOP_FOREGROUND_REMOVE);
+            foreground = false;
+            notificationManager.cancel(NOTIFICATION_ID);
+            session.setActive(false);
+            stopSelf();
+            return;
+        }
+        session.setActive(true);
+        if (playbackState == PlaybackState.STATE_CONNECTING) {
+            stopForeground(STOP_FOREGROUND_REMOVE);
+            foreground = false;
+            notificationManager.cancel(NOTIFICATION_ID);
+            return;
+        }
+        Notification notification = buildNotification(playbackState == PlaybackState.STATE_PLAYING);
+        if (playbackState == PlaybackState.STATE_PAUSED) {
+            // Paused: keep the controls up, but let the system stop the service with the app
+            if (foreground) {
+                stopForeground(STOP_FOREGROUND_DETACH);
+                foreground = false;
+            }
+            notificationManager.notify(NOTIFICATION_ID, notification);
+        } else {
+            startForeground(NOTIFICATION_ID, notification, ServiceInfo.FOREGROUND_SERVICE_TYPE_MEDIA_PLAYBACK);
+            foreground = true;
+        }
+    }
+
+    private Notification buildNotification(boolean playing) {
+        MediaMetadata metadata = session.getController().getMetadata();
+        String title = metadata != null ? metadata.getString(MediaMetadata.METADATA_KEY_TITLE) : null;
+        boolean chapter = player.getChapter() != null;
+
+        Notification.Builder builder = new Notification.Builder(this, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_headphones)
+                .setContentTitle(title != null ? title : getString(R.string.app_name))
+                .setContentText(playing ? "Playing" : "Paused")
+                .setContentIntent(contentIntent())
+                .setDeleteIntent(actionIntent(ACTION_STOP))
+                .setVisibility(Notification.VISIBILITY_PUBLIC)
+                .setOnlyAlertOnce(true)
+                .setOngoing(playing);
+        if (chapter) {
+            builder.addAction(action(R.drawable.ic_skip_previous, "Previous", ACTION_PREVIOUS));
+        }
+        builder.addAction(playing
+                ? action(R.drawable.ic_pause, "Pause", ACTION_PLAY_PAUSE)
+                : action(R.drawable.ic_play_arrow, "Play", ACTION_PLAY_PAUSE));
+        if (chapter) {
+            builder.addAction(action(R.drawable.ic_skip_next, "Next", ACTION_NEXT));
+        }
+        builder.addAction(action(R.drawable.ic_close, "Stop", ACTION_STOP));
+        builder.setStyle(new Notification.MediaStyle()
+                .setMediaSession(session.getSessionToken())
+                .setShowActionsInCompactView(chapter ? new int[]{0, 1, 2} : new int[]{0}));
+        return builder.build();
+    }
+
+    private Notification.Action action(int icon, String title, String action) {
+        return new Notification.Action.Builder(Icon.createWithResource(this, icon), title, actionIntent(action)).build();
+    }
+
+    private PendingIntent actionIntent(String action) {
+        Intent intent = new Intent(this, PlaybackService.class).setAction(action);
+        return PendingIntent.getService(this, action.hashCode(), intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    private PendingIntent contentIntent() {
+        Intent intent = getPackageManager().getLaunchIntentForPackage(getPackageName());
+        return PendingIntent.getActivity(this, 0, intent, PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+}
@@ -13,6 +13,7 @@ import com.google.android.material.textview.MaterialTextView;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.holywordapp.R;
+import com.holywordapp.data.UserRoleRepository;
 import com.holywordapp.dashboard.AdminDashboardActivity;
 import com.holywordapp.dashboard.UserDashboardActivity;
 
@@ -119,6 +120,9 @@ public class AdminLoginActivity extends AppCompatActivity {
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
                         Integer role = documentSnapshot.getLong("role").intValue();
+                        // Cache it so the next cold start can route without waiting for Firestore
+                        UserRoleRepository.getInstance(this).cacheRoleAsync(uid,
+                                documentSnapshot.getString("email"), documentSnapshot.getString("name"), role);
                         
                         Intent intent;
                         if (role == 0) {
@@ -14,6 +14,7 @@ import com.google.android.material.textview.MaterialTextView;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.holywordapp.R;
+import com.holywordapp.data.UserRoleRepository;
 import com.holywordapp.data.entity.User;
 import com.holywordapp.dashboard.AdminDashboardActivity;
 import com.holywordapp.dashboard.UserDashboardActivity;
@@ -123,6 +124,9 @@ public class LoginActivity extends AppCompatActivity {
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
                         Integer role = documentSnapshot.getLong("role").intValue();
+                        // Cache it so the next cold start can route without waiting for Firestore
+                        UserRoleRepository.getInstance(this).cacheRoleAsync(uid,
+                                documentSnapshot.getString("email"), documentSnapshot.getString("name"), role);
                         
                         Intent intent;
                         if (role == 0) {
@@ -157,10 +161,12 @@ public class LoginActivity extends AppCompatActivity {
         
         // Create user data map with only the fields we want to save to Firestore
         java.util.Map<String, Object> userData = UserRoleUtils.createUserDataMap(uid, email, name);
+        String displayName = name;
         
         firestore.collection("users").document(uid)
                 .set(userData)
                 .addOnSuccessListener(aVoid -> {
+                    UserRoleRepository.getInstance(this).cacheRoleAsync(uid, email, displayName, UserRoleUtils.getDefaultRole());
                     Intent intent = new Intent(LoginActivity.this, UserDashboardActivity.class);
                     intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
                     startActivity(intent);
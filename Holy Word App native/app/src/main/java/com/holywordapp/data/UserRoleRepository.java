@@ -0,0 +1,183 @@
+package com.holywordapp.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.holywordapp.data.entity.User;
+import com.holywordapp.utils.UserRoleUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stale-while-revalidate resolver for the signed-in user's role.
+ *
+ * The role cached in Room is delivered first so the splash screen can route without a network
+ * round trip. Firestore is queried in the background; the fresh role is written back to Room
+ * and delivered a second time only if it differs from the cached one. With nothing cached the
+ * Firestore role, or the default one if the request fails, is the only delivery; callers that
+ * can't wait route by the default role meanwhile. Every Firestore answer seeds the cache, so
+ * the next start routes from Room.
+ *
+ * The remote side is a {@link RemoteRoleSource}, so tests can run this against a fake or the
+ * Firestore emulator.
+ */
+public class UserRoleRepository {
+    private static final String TAG = "UserRoleRepository";
+
+    private static volatile UserRoleRepository INSTANCE;
+
+    /** Receives the role; called at most twice, the second time only when the role changed */
+    public interface Listener {
+        void onRole(int role, boolean fromCache);
+    }
+
+    /** Where the authoritative role lives */
+    public interface RemoteRoleSource {
+        interface Callback {
+            /** role is null when the user has no document yet */
+            void onResult(Integer role);
+
+            void onError(Exception e);
+        }
+
+        void fetchRole(String uid, Callback callback);
+
+        void createUser(String uid, String email, String name, int role);
+    }
+
+    /** The users collection in Firestore */
+    public static class FirestoreRoleSource implements RemoteRoleSource {
+        private final FirebaseFirestore firestore;
+
+        public FirestoreRoleSource(FirebaseFirestore firestore) {
+            this.firestore = firestore;
+        }
+
+        @Override
+        public void fetchRole(String uid, Callback callback) {
+            firestore.collection("users").document(uid)
+                    .get()
+                    .addOnSuccessListener(documentSnapshot -> {
+                        if (!documentSnapshot.exists()) {
+                            callback.onResult(null);
+                            return;
+                        }
+                        Long role = documentSnapshot.getLong("role");
+                        callback.onResult(role != null ? role.intValue() : UserRoleUtils.getDefaultRole());
+                    })
+                    .addOnFailureListener(callback::onError);
+        }
+
+        @Override
+        public void createUser(String uid, String email, String name, int role) {
+            firestore.collection("users").document(uid)
+                    .set(UserRoleUtils.createUserDataMap(uid, email, name, role))
+                    .addOnFailureListener(e -> Log.e(TAG, "Error creating user document: " + e.getMessage()));
+        }
+    }
+
+    private final UserDao userDao;
+    private final RemoteRoleSource remote;
+    private final Executor ioExecutor;
+    private final Executor callbackExecutor;
+
+    public UserRoleRepository(UserDao userDao, RemoteRoleSource remote, Executor ioExecutor, Executor callbackExecutor) {
+        this.userDao = userDao;
+        this.remote = remote;
+        this.ioExecutor = ioExecutor;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Get singleton instance backed by Room and Firestore, delivering on the main thread
+     */
+    public static UserRoleRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (UserRoleRepository.class) {
+                if (INSTANCE == null) {
+                    ExecutorService io = Executors.newSingleThreadExecutor();
+                    Handler mainHandler = new Handler(Looper.getMainLooper());
+                    INSTANCE = new UserRoleRepository(
+                            AppDatabase.getInstance(context).userDao(),
+                            new FirestoreRoleSource(FirebaseFirestore.getInstance()),
+                            io,
+                            mainHandler::post);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Resolve the role of the given user, cached first and then revalidated
+     */
+    public void resolveRole(String uid, String email, String name, Listener listener) {
+        ioExecutor.execute(() -> {
+            User cached = null;
+            try {
+                cached = userDao.getUserByUidSync(uid);
+            } catch (Exception e) {
+                Log.e(TAG, "Error reading cached role: " + e.getMessage());
+            }
+
+            Integer cachedRole = cached != null ? cached.getRole() : null;
+            if (cachedRole != null) {
+                Log.d(TAG, "Using cached role " + cachedRole + " for " + uid);
+                callbackExecutor.execute(() -> listener.onRole(cachedRole, true));
+            }
+
+            remote.fetchRole(uid, new RemoteRoleSource.Callback() {
+                @Override
+                public void onResult(Integer role) {
+                    if (role == null) {
+                        // No document yet: create one with the default role, as the login screens do
+                        role = UserRoleUtils.getDefaultRole();
+                        remote.createUser(uid, email, name, role);
+                    }
+                    int freshRole = role;
+                    ioExecutor.execute(() -> cacheRole(uid, email, name, freshRole));
+                    if (cachedRole == null || cachedRole != freshRole) {
+                        Log.d(TAG, "Role for " + uid + " is " + freshRole + " (cached " + cachedRole + ")");
+                        callbackExecutor.execute(() -> listener.onRole(freshRole, false));
+                    }
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    Log.e(TAG, "Error refreshing role: " + e.getMessage());
+                    if (cachedRole == null) {
+                        int defaultRole = UserRoleUtils.getDefaultRole();
+                        callbackExecutor.execute(() -> listener.onRole(defaultRole, false));
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Remember the role of a user whose role was just read from Firestore, e.g. at login
+     */
+    public void cacheRoleAsync(String uid, String email, String name, int role) {
+        ioExecutor.execute(() -> cacheRole(uid, email, name, role));
+    }
+
+    private void cacheRole(String uid, String email, String name, int role) {
+        try {
+            User user = userDao.getUserByUidSync(uid);
+            if (user == null) {
+                userDao.insertUser(new User(uid, email, name, role));
+            } else {
+                user.setRole(role);
+                user.setLastLoginAt(System.currentTimeMillis());
+                userDao.updateUser(user);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error caching role: " + e.getMessage());
+        }
+    }
+}
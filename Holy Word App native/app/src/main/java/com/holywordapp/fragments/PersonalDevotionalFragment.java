@@ -19,18 +19,19 @@ import android.content.ClipboardManager;
 import android.content.Context;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
 import android.media.MediaPlayer;
-import android.os.Handler;
+import android.media.session.PlaybackState;
 import android.widget.SeekBar;
+import com.holywordapp.audio.ChapterAudio;
+import com.holywordapp.audio.PlaybackConnection;
+import com.holywordapp.audio.PlaybackProgress;
+import com.holywordapp.audio.PlaybackService;
+
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Locale;
-import android.app.Notification;
-import android.app.NotificationChannel;
-import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.Intent;
 import android.os.Build;
-import androidx.core.app.NotificationCompat;
 import android.app.AlarmManager;
 import android.app.TimePickerDialog;
 import android.widget.TimePicker;
@@ -48,19 +49,15 @@ import androidx.core.content.res.ResourcesCompat;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
+import com.holywordapp.BibleActivity;
+import com.holywordapp.BookRegistry;
+import com.holywordapp.DailyVerseClient;
+import com.holywordapp.DailyVersePack;
 import com.holywordapp.R;
+import com.holywordapp.VerseId;
 
 import org.json.JSONObject;
-import org.json.JSONException;
-import org.json.JSONArray;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.Map;
-import java.util.List;
 import java.util.ArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -86,10 +83,10 @@ public class PersonalDevotionalFragment extends Fragment {
     private ExecutorService executorService;
     private boolean isTeluguSelected = true;
     
-    // Audio Devotionals
-    private MediaPlayer mediaPlayer;
-    private Handler audioHandler;
-    private Runnable audioRunnable;
+    // Audio Devotionals, played by the shared PlaybackService
+    private PlaybackConnection playback;
+    private PlaybackProgress audioPosition;
+    private int audioDuration;
     private AlertDialog audioDialog;
     private SeekBar audioProgress;
     private TextView currentTime, totalTime, audioTitle, audioDate, audioError;
@@ -98,11 +95,6 @@ public class PersonalDevotionalFragment extends Fragment {
     private boolean isPlaying = false;
     private int currentPosition = 0;
     
-    // Notification
-    private NotificationManager notificationManager;
-    private static final String CHANNEL_ID = "audio_devotionals_channel";
-    private static final int NOTIFICATION_ID = 1001;
-    
     // Prayer Reminder
     private AlarmManager alarmManager;
     private static final String PRAYER_CHANNEL_ID = "prayer_reminders_channel";
@@ -145,8 +137,9 @@ public class PersonalDevotionalFragment extends Fragment {
         settingsButton = view.findViewById(R.id.settings_button);
         logoButton = view.findViewById(R.id.logo_button);
         
-        // Initialize audio handler
-        audioHandler = new Handler();
+        // Attached to the shared player while the fragment is started
+        playback = new PlaybackConnection(requireContext(), audioListener);
+        audioPosition = new PlaybackProgress(this::showAudioPosition);
     }
 
     private void setupListeners() {
@@ -174,6 +167,7 @@ public class PersonalDevotionalFragment extends Fragment {
         
         // Action buttons
         shareButton.setOnClickListener(v -> showShareBottomSheet());
+        verseReference.setOnClickListener(v -> openVerseOfTheDay());
         
         audioDevotionalsButton.setOnClickListener(v -> showAudioDevotionalsDialog());
         prayerReminderButton.setOnClickListener(v -> showPrayerReminderDialog());
@@ -186,6 +180,24 @@ public class PersonalDevotionalFragment extends Fragment {
         });
     }
     
+    /**
+     * Open the reader at the reference shown, in the language it is shown in
+     */
+    private void openVerseOfTheDay() {
+        long reference = BookRegistry.parse(verseReference.getText());
+        if (reference == BookRegistry.NO_REFERENCE || getContext() == null) {
+            return;
+        }
+        int verseId = BookRegistry.rangeStart(reference);
+        boolean english = !isTeluguSelected;
+        Intent intent = new Intent(getContext(), BibleActivity.class);
+        intent.putExtra("BOOK_NAME", VerseId.bookName(VerseId.book(verseId), english));
+        intent.putExtra("CHAPTER", VerseId.chapter(verseId));
+        intent.putExtra("VERSE", VerseId.verse(verseId));
+        intent.putExtra("IS_ENGLISH_MODE", english);
+        startActivity(intent);
+    }
+
     private void showShareBottomSheet() {
         BottomSheetDialog bottomSheetDialog = new BottomSheetDialog(requireContext());
         View bottomSheetView = LayoutInflater.from(requireContext()).inflate(R.layout.bottom_sheet_share, null);
@@ -370,22 +382,30 @@ public class PersonalDevotionalFragment extends Fragment {
         executorService.execute(() -> {
             try {
                 Log.d("PersonalDevotional", "Fetching daily verse from API");
-                JSONObject verseData = fetchDailyVerseFromAPI();
+                DailyVerseClient client = DailyVerseClient.getInstance(getContext());
+                Calendar today = Calendar.getInstance();
+                JSONObject verseData = client.fetchToday(DailyVerseClient.dateKey(today));
                 if (verseData != null) {
                     Log.d("PersonalDevotional", "Successfully fetched verse from API");
                     updateVersesOnUIThread(verseData);
                 } else {
                     Log.e("PersonalDevotional", "Failed to fetch verse from API, trying local file");
                     // Fallback to local file if API fails
-                    JSONObject localVerseData = loadDailyVerseFromLocalFile();
-                    if (localVerseData != null) {
+                    DailyVersePack.Entry localVerse = loadDailyVerseFromLocalFile();
+                    if (localVerse != null) {
                         Log.d("PersonalDevotional", "Loaded verse from local file as fallback");
-                        updateVersesOnUIThread(localVerseData);
+                        updateVersesOnUIThread(localVerse.englishText, localVerse.englishReference,
+                                localVerse.teluguText(), localVerse.teluguReference);
                     } else {
                         Log.e("PersonalDevotional", "Both API and local file failed");
                         showErrorOnUIThread();
                     }
                 }
+
+                // Fill the disk cache for the coming days while it costs nothing
+                if (DailyVerseClient.canPrefetch(getContext())) {
+                    client.prefetch(today);
+                }
             } catch (Exception e) {
                 Log.e("PersonalDevotional", "Error loading daily verses", e);
                 showErrorOnUIThread();
@@ -393,62 +413,13 @@ public class PersonalDevotionalFragment extends Fragment {
         });
     }
     
-    private JSONObject fetchDailyVerseFromAPI() {
+    private DailyVersePack.Entry loadDailyVerseFromLocalFile() {
         try {
-            URL url = new URL("https://holyword.vercel.app/api/daily-verse");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(15000);
-            connection.setReadTimeout(15000);
-            
-            // Add headers
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("User-Agent", "HolyWordApp/1.0");
-            
-            int responseCode = connection.getResponseCode();
-            Log.d("PersonalDevotional", "API Response Code: " + responseCode);
-            
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-                
-                String responseString = response.toString();
-                Log.d("PersonalDevotional", "API Response: " + responseString);
-                
-                JSONObject jsonResponse = new JSONObject(responseString);
-                return jsonResponse;
-            } else {
-                Log.e("PersonalDevotional", "API returned error code: " + responseCode);
+            DailyVersePack pack = DailyVersePack.get(getContext());
+            if (pack == null) {
                 return null;
             }
-        } catch (Exception e) {
-            Log.e("PersonalDevotional", "Error fetching daily verse from API", e);
-            return null;
-        }
-    }
-    
-    private JSONObject loadDailyVerseFromLocalFile() {
-        try {
-            // Read the JSON file from assets
-            InputStream inputStream = getContext().getAssets().open("daily verse.json");
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-            StringBuilder jsonString = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                jsonString.append(line);
-            }
-            reader.close();
-            inputStream.close();
-            
-            // Parse the JSON array
-            JSONArray versesArray = new JSONArray(jsonString.toString());
-            Log.d("PersonalDevotional", "Total verses in file: " + versesArray.length());
+            Log.d("PersonalDevotional", "Total verses in pack: " + pack.size());
             
             // Get the current day's verse index from SharedPreferences
             SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(getContext());
@@ -462,7 +433,7 @@ public class PersonalDevotionalFragment extends Fragment {
             if (currentDate - lastVerseDate >= oneDayMillis) {
                 // Move to next verse
                 currentVerseIndex++;
-                if (currentVerseIndex >= versesArray.length()) {
+                if (currentVerseIndex >= pack.size()) {
                     // Loop back to first verse
                     currentVerseIndex = 0;
                     Log.d("PersonalDevotional", "Reached end of verses, looping back to start");
@@ -479,9 +450,11 @@ public class PersonalDevotionalFragment extends Fragment {
                 Log.d("PersonalDevotional", "Same day, using cached verse index: " + currentVerseIndex);
             }
             
-            // Get the verse for today
-            JSONObject verse = versesArray.getJSONObject(currentVerseIndex);
-            Log.d("PersonalDevotional", "Selected verse: " + verse.toString());
+            // Read only today's record
+            DailyVersePack.Entry verse = pack.get(currentVerseIndex);
+            if (verse != null) {
+                Log.d("PersonalDevotional", "Selected verse: " + verse.englishReference);
+            }
             
             return verse;
             
@@ -491,115 +464,6 @@ public class PersonalDevotionalFragment extends Fragment {
         }
     }
     
-    // Old API methods removed - now using local file
-    
-    private String tryApiCall(String urlString) {
-        try {
-            URL url = new URL(urlString);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(15000);
-            connection.setReadTimeout(15000);
-            
-            // Add headers to request JSON response
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("User-Agent", "HolyWordApp/1.0");
-            connection.setRequestProperty("Cache-Control", "no-cache");
-            connection.setRequestProperty("Pragma", "no-cache");
-            
-            int responseCode = connection.getResponseCode();
-            Log.d("PersonalDevotional", "API Call to " + urlString + " - Response Code: " + responseCode);
-            
-            // Log response headers
-            Map<String, List<String>> headers = connection.getHeaderFields();
-            Log.d("PersonalDevotional", "Response Headers: " + headers.toString());
-            
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-                
-                String responseString = response.toString();
-                Log.d("PersonalDevotional", "Full API Response from " + urlString + ": " + responseString);
-                Log.d("PersonalDevotional", "Response length: " + responseString.length());
-                
-                // Extract JSON from HTML <pre> tag
-                String jsonString = extractJsonFromHtml(responseString);
-                Log.d("PersonalDevotional", "Extracted JSON: " + jsonString);
-                
-                if (jsonString != null && !jsonString.isEmpty()) {
-                    try {
-                        JSONObject jsonResponse = new JSONObject(jsonString);
-                        Log.d("PersonalDevotional", "Successfully parsed JSON: " + jsonResponse.toString());
-                        return jsonString;
-                    } catch (Exception e) {
-                        Log.e("PersonalDevotional", "Failed to parse JSON: " + jsonString, e);
-                    }
-                } else {
-                    Log.e("PersonalDevotional", "Could not extract JSON from HTML response");
-                    Log.e("PersonalDevotional", "Response contains <pre>: " + responseString.contains("<pre>"));
-                    Log.e("PersonalDevotional", "Response contains JSON: " + responseString.contains("{"));
-                }
-            } else {
-                Log.e("PersonalDevotional", "API returned error code: " + responseCode);
-            }
-        } catch (Exception e) {
-            Log.e("PersonalDevotional", "Error in API call to " + urlString, e);
-        }
-        return null;
-    }
-    
-    private String tryApiCallWithDifferentHeaders(String urlString) {
-        try {
-            URL url = new URL(urlString);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(15000);
-            connection.setReadTimeout(15000);
-            
-            // Try different headers
-            connection.setRequestProperty("Accept", "*/*");
-            connection.setRequestProperty("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
-            connection.setRequestProperty("Accept-Language", "en-US,en;q=0.9");
-            connection.setRequestProperty("Accept-Encoding", "gzip, deflate, br");
-            connection.setRequestProperty("Connection", "keep-alive");
-            
-            int responseCode = connection.getResponseCode();
-            Log.d("PersonalDevotional", "Alternative headers API call - Response Code: " + responseCode);
-            
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-                
-                String responseString = response.toString();
-                Log.d("PersonalDevotional", "Alternative headers response: " + responseString);
-                
-                String jsonString = extractJsonFromHtml(responseString);
-                if (jsonString != null && !jsonString.isEmpty()) {
-                    try {
-                        JSONObject jsonResponse = new JSONObject(jsonString);
-                        return jsonString;
-                    } catch (Exception e) {
-                        Log.e("PersonalDevotional", "Failed to parse JSON with alternative headers", e);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            Log.e("PersonalDevotional", "Error in alternative headers API call", e);
-        }
-        return null;
-    }
-
     private boolean loadFromCache() {
         try {
             SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(getContext());
@@ -658,119 +522,39 @@ public class PersonalDevotionalFragment extends Fragment {
         }
     }
 
-    private String extractJsonFromHtml(String htmlResponse) {
-        try {
-            Log.d("PersonalDevotional", "Attempting to extract JSON from HTML response");
-            
-            // Method 1: Look for <pre> tag content (as specified by XPath)
-            int preStart = htmlResponse.indexOf("<pre>");
-            int preEnd = htmlResponse.indexOf("</pre>");
-            
-            if (preStart != -1 && preEnd != -1) {
-                String jsonContent = htmlResponse.substring(preStart + 5, preEnd).trim();
-                Log.d("PersonalDevotional", "Found JSON in <pre> tag: " + jsonContent);
-                if (isValidJson(jsonContent)) {
-                    return jsonContent;
-                }
-            }
-            
-            // Method 2: Look for JSON pattern in the response
-            int jsonStart = htmlResponse.indexOf("{");
-            int jsonEnd = htmlResponse.lastIndexOf("}");
+    private void updateVersesOnUIThread(JSONObject jsonResponse) {
+        String englishText, englishRef, teluguText, teluguRef;
+        
+        // Check if it's API response or local file structure
+        if (jsonResponse.has("english") && jsonResponse.has("telugu")) {
+            // API response structure
+            englishText = jsonResponse.optString("english", "");
+            englishRef = jsonResponse.optString("englishReference", "");
+            teluguText = jsonResponse.optString("telugu", "");
+            teluguRef = jsonResponse.optString("teluguReference", "");
             
-            if (jsonStart != -1 && jsonEnd != -1 && jsonEnd > jsonStart) {
-                String jsonContent = htmlResponse.substring(jsonStart, jsonEnd + 1).trim();
-                Log.d("PersonalDevotional", "Found JSON pattern: " + jsonContent);
-                if (isValidJson(jsonContent)) {
-                    return jsonContent;
-                }
-            }
+            Log.d("PersonalDevotional", "Using API response structure");
+        } else {
+            // Local file structure
+            englishText = jsonResponse.optString("English verse", "");
+            englishRef = jsonResponse.optString("English reference", "");
+            String teluguPart1 = jsonResponse.optString("Telugu verse part 1", "");
+            String teluguPart2 = jsonResponse.optString("Telugu verse part 2", "");
+            teluguRef = jsonResponse.optString("Telugu reference", "");
             
-            // Method 3: Look for specific API response structure
-            if (htmlResponse.contains("english") && htmlResponse.contains("telugu")) {
-                Log.d("PersonalDevotional", "Found API structure keywords, attempting extraction");
-                // Try to find the JSON object containing our expected fields
-                String[] lines = htmlResponse.split("\n");
-                for (String line : lines) {
-                    if (line.trim().startsWith("{") && line.contains("english")) {
-                        // Find the complete JSON object
-                        int start = htmlResponse.indexOf(line.trim());
-                        int end = start;
-                        int braceCount = 0;
-                        boolean inString = false;
-                        
-                        for (int i = start; i < htmlResponse.length(); i++) {
-                            char c = htmlResponse.charAt(i);
-                            if (c == '"' && (i == 0 || htmlResponse.charAt(i-1) != '\\')) {
-                                inString = !inString;
-                            } else if (!inString) {
-                                if (c == '{') braceCount++;
-                                else if (c == '}') braceCount--;
-                                if (braceCount == 0) {
-                                    end = i + 1;
-                                    break;
-                                }
-                            }
-                        }
-                        
-                        if (end > start) {
-                            String jsonContent = htmlResponse.substring(start, end).trim();
-                            Log.d("PersonalDevotional", "Extracted JSON by structure: " + jsonContent);
-                            if (isValidJson(jsonContent)) {
-                                return jsonContent;
-                            }
-                        }
-                    }
-                }
-            }
+            // Combine Telugu parts with newline
+            teluguText = teluguPart1 + "\n" + teluguPart2;
             
-        } catch (Exception e) {
-            Log.e("PersonalDevotional", "Error extracting JSON from HTML", e);
-        }
-        
-        Log.w("PersonalDevotional", "Could not extract valid JSON from response");
-        return null;
-    }
-    
-    private boolean isValidJson(String jsonString) {
-        try {
-            new JSONObject(jsonString);
-            return true;
-        } catch (Exception e) {
-            return false;
+            Log.d("PersonalDevotional", "Using local file structure");
         }
+        updateVersesOnUIThread(englishText, englishRef, teluguText, teluguRef);
     }
 
-    private void updateVersesOnUIThread(JSONObject jsonResponse) {
+    private void updateVersesOnUIThread(String englishText, String englishRef, String teluguText, String teluguRef) {
         if (getActivity() == null) return;
         
         getActivity().runOnUiThread(() -> {
             try {
-                String englishText, englishRef, teluguText, teluguRef;
-                
-                // Check if it's API response or local file structure
-                if (jsonResponse.has("english") && jsonResponse.has("telugu")) {
-                    // API response structure
-                    englishText = jsonResponse.optString("english", "");
-                    englishRef = jsonResponse.optString("englishReference", "");
-                    teluguText = jsonResponse.optString("telugu", "");
-                    teluguRef = jsonResponse.optString("teluguReference", "");
-                    
-                    Log.d("PersonalDevotional", "Using API response structure");
-                } else {
-                    // Local file structure
-                    englishText = jsonResponse.optString("English verse", "");
-                    englishRef = jsonResponse.optString("English reference", "");
-                    String teluguPart1 = jsonResponse.optString("Telugu verse part 1", "");
-                    String teluguPart2 = jsonResponse.optString("Telugu verse part 2", "");
-                    teluguRef = jsonResponse.optString("Telugu reference", "");
-                    
-                    // Combine Telugu parts with newline
-                    teluguText = teluguPart1 + "\n" + teluguPart2;
-                    
-                    Log.d("PersonalDevotional", "Using local file structure");
-                }
-                
                 Log.d("PersonalDevotional", "English: " + englishText);
                 Log.d("PersonalDevotional", "Telugu: " + teluguText);
                 
@@ -812,19 +596,13 @@ public class PersonalDevotionalFragment extends Fragment {
 
     // Audio Devotionals Methods
     private void showAudioDevotionalsDialog() {
-        // If audio is already playing, just show the dialog with current state
-        if (mediaPlayer != null && mediaPlayer.isPlaying()) {
-            Log.d("PersonalDevotional", "Audio already playing, showing dialog with current state");
-            showAudioDialogWithCurrentState();
-            return;
-        }
-        
         AlertDialog.Builder builder = new AlertDialog.Builder(requireContext());
         View dialogView = LayoutInflater.from(requireContext()).inflate(R.layout.audio_devotionals_popup, null);
         builder.setView(dialogView);
         builder.setCancelable(true);
         
         audioDialog = builder.create();
+        audioDialog.setOnDismissListener(dialog -> audioPosition.stop());
         audioDialog.show();
         
         initAudioDialogViews(dialogView);
@@ -832,28 +610,6 @@ public class PersonalDevotionalFragment extends Fragment {
         loadAudioDevotional();
     }
     
-    private void showAudioDialogWithCurrentState() {
-        AlertDialog.Builder builder = new AlertDialog.Builder(requireContext());
-        View dialogView = LayoutInflater.from(requireContext()).inflate(R.layout.audio_devotionals_popup, null);
-        builder.setView(dialogView);
-        builder.setCancelable(true);
-        
-        audioDialog = builder.create();
-        audioDialog.show();
-        
-        initAudioDialogViews(dialogView);
-        setupAudioListeners();
-        
-        // Update UI with current playing state
-        getActivity().runOnUiThread(() -> {
-            showAudioLoading(false);
-            updateAudioDuration();
-            playPauseButton.setImageResource(R.drawable.ic_pause);
-            isPlaying = true;
-            startAudioProgressUpdate();
-        });
-    }
-    
     private void initAudioDialogViews(View dialogView) {
         audioProgress = dialogView.findViewById(R.id.audio_progress);
         currentTime = dialogView.findViewById(R.id.current_time);
@@ -870,10 +626,6 @@ public class PersonalDevotionalFragment extends Fragment {
         // Set current date
         SimpleDateFormat dateFormat = new SimpleDateFormat("MMMM dd, yyyy", Locale.getDefault());
         audioDate.setText(dateFormat.format(Calendar.getInstance().getTime()));
-        
-        // Initialize notification manager
-        notificationManager = (NotificationManager) requireContext().getSystemService(Context.NOTIFICATION_SERVICE);
-        createNotificationChannel();
     }
     
     private void setupAudioListeners() {
@@ -885,9 +637,10 @@ public class PersonalDevotionalFragment extends Fragment {
         audioProgress.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
             @Override
             public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
-                if (fromUser && mediaPlayer != null) {
-                    int position = (int) ((progress / 100.0) * mediaPlayer.getDuration());
-                    mediaPlayer.seekTo(position);
+                PlaybackService service = devotionalPlayback();
+                if (fromUser && service != null) {
+                    int position = (int) ((progress / 100.0) * service.getDuration());
+                    service.seekTo(position);
                 }
             }
             
@@ -903,105 +656,101 @@ public class PersonalDevotionalFragment extends Fragment {
         showAudioLoading(true);
         hideAudioError();
         
-        // Check if MediaPlayer is already prepared and playing
-        if (mediaPlayer != null && mediaPlayer.isPlaying()) {
-            Log.d("PersonalDevotional", "Audio already playing, updating UI");
-            getActivity().runOnUiThread(() -> {
-                showAudioLoading(false);
-                updateAudioDuration();
-                playPauseButton.setImageResource(R.drawable.ic_pause);
-                isPlaying = true;
-                startAudioProgressUpdate();
-            });
-            return;
-        }
-        
-        executorService.execute(() -> {
-            try {
-                String audioUrl = generateAudioUrl();
-                Log.d("PersonalDevotional", "Loading audio from: " + audioUrl);
-                
-                // Test URL accessibility first
-                URL url = new URL(audioUrl);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("HEAD");
-                connection.setConnectTimeout(5000);
-                connection.setReadTimeout(5000);
-                int responseCode = connection.getResponseCode();
-                Log.d("PersonalDevotional", "URL response code: " + responseCode);
-                connection.disconnect();
-                
-                if (mediaPlayer != null) {
-                    mediaPlayer.release();
+        playback.run(service -> {
+            // Already loaded from an earlier visit; show where it is instead of starting over
+            if (service.isStreamLoaded()) {
+                Log.d("PersonalDevotional", "Devotional already loaded, showing its current state");
+                if (service.isPrepared()) {
+                    audioListener.onChapterPrepared(null, service.getDuration(), service.isPlaying());
                 }
-                
-                mediaPlayer = new MediaPlayer();
-                mediaPlayer.setDataSource(audioUrl);
-                mediaPlayer.setOnPreparedListener(mp -> {
-                    getActivity().runOnUiThread(() -> {
-                        showAudioLoading(false);
-                        updateAudioDuration();
-                        playPauseButton.setImageResource(R.drawable.ic_play_arrow);
-                        isPlaying = false;
-                    });
-                });
-                
-                mediaPlayer.setOnErrorListener((mp, what, extra) -> {
-                    Log.e("PersonalDevotional", "MediaPlayer error - what: " + what + ", extra: " + extra);
-                    getActivity().runOnUiThread(() -> {
-                        showAudioLoading(false);
-                        showAudioError();
-                        // Show more detailed error message
-                        if (audioError != null) {
-                            String errorMsg = "Error loading audio devotional\n";
-                            switch (what) {
-                                case MediaPlayer.MEDIA_ERROR_UNKNOWN:
-                                    errorMsg += "Unknown error (Code: " + what + ", Extra: " + extra + ")";
-                                    break;
-                                case MediaPlayer.MEDIA_ERROR_SERVER_DIED:
-                                    errorMsg += "Server died (Code: " + what + ", Extra: " + extra + ")";
-                                    break;
-                                case MediaPlayer.MEDIA_ERROR_MALFORMED:
-                                    errorMsg += "Malformed media (Code: " + what + ", Extra: " + extra + ")";
-                                    break;
-                                case MediaPlayer.MEDIA_ERROR_UNSUPPORTED:
-                                    errorMsg += "Unsupported format (Code: " + what + ", Extra: " + extra + ")\nTry reopening the dialog";
-                                    break;
-                                case MediaPlayer.MEDIA_ERROR_IO:
-                                    errorMsg += "Network/IO error (Code: " + what + ", Extra: " + extra + ")";
-                                    break;
-                                default:
-                                    errorMsg += "Error code: " + what + ", Extra: " + extra;
-                                    break;
-                            }
-                            audioError.setText(errorMsg);
-                        }
-                    });
-                    return true;
-                });
-                
-                // Add completion listener
-                mediaPlayer.setOnCompletionListener(mp -> {
-                    Log.d("PersonalDevotional", "Audio playback completed");
-                    getActivity().runOnUiThread(() -> {
-                        isPlaying = false;
-                        playPauseButton.setImageResource(R.drawable.ic_play_arrow);
-                        stopAudioProgressUpdate();
-                    });
-                });
-                
-                mediaPlayer.prepareAsync();
-                
-            } catch (Exception e) {
-                Log.e("PersonalDevotional", "Error loading audio", e);
-                getActivity().runOnUiThread(() -> {
-                    showAudioLoading(false);
-                    showAudioError();
-                });
+                audioListener.onPlaybackStateChanged(service.getPlaybackState());
+                return;
             }
+            String audioUrl = generateAudioUrl();
+            Log.d("PersonalDevotional", "Loading audio from: " + audioUrl);
+            service.playStream(audioUrl, getString(R.string.audio_devotionals), false);
         });
     }
     
+    private final PlaybackService.Listener audioListener = new PlaybackService.Listener() {
+        @Override
+        public void onChapterPrepared(ChapterAudio chapter, int durationMillis, boolean playing) {
+            // Bible chapters have their own controls
+            if (chapter != null || !isAudioDialogShowing()) return;
+            showAudioLoading(false);
+            audioDuration = durationMillis;
+            totalTime.setText(formatTime(durationMillis));
+        }
+        
+        @Override
+        public void onChapterAdvanced(ChapterAudio chapter, int durationMillis) {
+            // Only chapters advance
+        }
+        
+        @Override
+        public void onPlaybackCompleted(ChapterAudio chapter) {
+            if (chapter == null) {
+                Log.d("PersonalDevotional", "Audio playback completed");
+            }
+        }
+        
+        @Override
+        public void onPlaybackStateChanged(PlaybackState state) {
+            PlaybackService service = devotionalPlayback();
+            isPlaying = service != null && state.getState() == PlaybackState.STATE_PLAYING;
+            if (!isAudioDialogShowing()) return;
+            playPauseButton.setImageResource(isPlaying ? R.drawable.ic_pause : R.drawable.ic_play_arrow);
+            if (service != null) {
+                audioPosition.update(state);
+            } else {
+                audioPosition.stop();
+            }
+        }
+        
+        @Override
+        public void onError(ChapterAudio chapter, int what, int extra) {
+            if (chapter != null || !isAudioDialogShowing()) return;
+            Log.e("PersonalDevotional", "MediaPlayer error - what: " + what + ", extra: " + extra);
+            showAudioLoading(false);
+            showAudioError();
+            // Show more detailed error message
+            String errorMsg = "Error loading audio devotional\n";
+            switch (what) {
+                case MediaPlayer.MEDIA_ERROR_UNKNOWN:
+                    errorMsg += "Unknown error (Code: " + what + ", Extra: " + extra + ")";
+                    break;
+                case MediaPlayer.MEDIA_ERROR_SERVER_DIED:
+                    errorMsg += "Server died (Code: " + what + ", Extra: " + extra + ")";
+                    break;
+                case MediaPlayer.MEDIA_ERROR_MALFORMED:
+                    errorMsg += "Malformed media (Code: " + what + ", Extra: " + extra + ")";
+                    break;
+                case MediaPlayer.MEDIA_ERROR_UNSUPPORTED:
+                    errorMsg += "Unsupported format (Code: " + what + ", Extra: " + extra + ")\nTry reopening the dialog";
+                    break;
+                case MediaPlayer.MEDIA_ERROR_IO:
+                    errorMsg += "Network/IO error (Code: " + what + ", Extra: " + extra + ")";
+                    break;
+                default:
+                    errorMsg += "Error code: " + what + ", Extra: " + extra;
+                    break;
+            }
+            audioError.setText(errorMsg);
+        }
+    };
+    
+    /**
+     * The shared player if it has the devotional ready, or null
+     */
+    private PlaybackService devotionalPlayback() {
+        PlaybackService service = playback.get();
+        return service != null && service.isStreamLoaded() && service.isPrepared() ? service : null;
+    }
+    
+    private boolean isAudioDialogShowing() {
+        return audioDialog != null && audioDialog.isShowing();
+    }
+    
     private String generateAudioUrl() {
         Calendar calendar = Calendar.getInstance();
         int month = calendar.get(Calendar.MONTH) + 1; // Calendar.MONTH is 0-based
@@ -1030,69 +779,38 @@ public class PersonalDevotionalFragment extends Fragment {
     }
     
     private void togglePlayPause() {
-        if (mediaPlayer == null) return;
+        PlaybackService service = devotionalPlayback();
+        if (service == null) return;
         
+        // The button follows the state the service reports back
         if (isPlaying) {
-            mediaPlayer.pause();
-            playPauseButton.setImageResource(R.drawable.ic_play_arrow);
-            isPlaying = false;
-            stopAudioProgressUpdate();
+            service.pause();
         } else {
-            mediaPlayer.start();
-            playPauseButton.setImageResource(R.drawable.ic_pause);
-            isPlaying = true;
-            startAudioProgressUpdate();
+            service.start();
         }
     }
     
     private void rewindAudio() {
-        if (mediaPlayer != null) {
-            int currentPos = mediaPlayer.getCurrentPosition();
-            int newPos = Math.max(0, currentPos - 10000); // 10 seconds back
-            mediaPlayer.seekTo(newPos);
+        PlaybackService service = devotionalPlayback();
+        if (service != null) {
+            long currentPos = PlaybackProgress.positionOf(service.getPlaybackState());
+            service.seekTo((int) Math.max(0, currentPos - 10000)); // 10 seconds back
         }
     }
     
     private void forwardAudio() {
-        if (mediaPlayer != null) {
-            int currentPos = mediaPlayer.getCurrentPosition();
-            int duration = mediaPlayer.getDuration();
-            int newPos = Math.min(duration, currentPos + 10000); // 10 seconds forward
-            mediaPlayer.seekTo(newPos);
+        PlaybackService service = devotionalPlayback();
+        if (service != null) {
+            long currentPos = PlaybackProgress.positionOf(service.getPlaybackState());
+            service.seekTo((int) Math.min(service.getDuration(), currentPos + 10000)); // 10 seconds forward
         }
     }
     
-    private void startAudioProgressUpdate() {
-        audioRunnable = new Runnable() {
-            @Override
-            public void run() {
-                if (mediaPlayer != null && isPlaying) {
-                    int currentPos = mediaPlayer.getCurrentPosition();
-                    int duration = mediaPlayer.getDuration();
-                    
-                    if (duration > 0) {
-                        int progress = (int) ((currentPos * 100.0) / duration);
-                        audioProgress.setProgress(progress);
-                        currentTime.setText(formatTime(currentPos));
-                    }
-                    
-                    audioHandler.postDelayed(this, 1000);
-                }
-            }
-        };
-        audioHandler.post(audioRunnable);
-    }
-    
-    private void stopAudioProgressUpdate() {
-        if (audioRunnable != null) {
-            audioHandler.removeCallbacks(audioRunnable);
-        }
-    }
-    
-    private void updateAudioDuration() {
-        if (mediaPlayer != null) {
-            totalTime.setText(formatTime(mediaPlayer.getDuration()));
-        }
+    private void showAudioPosition(int milliseconds) {
+        if (!isAudioDialogShowing() || audioDuration <= 0) return;
+        int progress = (int) ((milliseconds * 100.0) / audioDuration);
+        audioProgress.setProgress(progress);
+        currentTime.setText(formatTime(Math.min(milliseconds, audioDuration)));
     }
     
     private String formatTime(int milliseconds) {
@@ -1121,56 +839,10 @@ public class PersonalDevotionalFragment extends Fragment {
     }
     
     private void closeAudioDialog() {
+        // Playback carries on in the service, controlled from its notification
         if (audioDialog != null) {
             audioDialog.dismiss();
         }
-        // Show notification for background control
-        showAudioNotification();
-    }
-    
-    private void createNotificationChannel() {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            NotificationChannel channel = new NotificationChannel(
-                CHANNEL_ID,
-                "Audio Devotionals",
-                NotificationManager.IMPORTANCE_LOW
-            );
-            channel.setDescription("Controls for background audio devotionals");
-            channel.setShowBadge(false);
-            notificationManager.createNotificationChannel(channel);
-        }
-    }
-    
-    private void showAudioNotification() {
-        if (notificationManager == null) return;
-        
-        Intent playPauseIntent = new Intent(requireContext(), getClass());
-        playPauseIntent.setAction("PLAY_PAUSE");
-        PendingIntent playPausePendingIntent = PendingIntent.getBroadcast(
-            requireContext(), 0, playPauseIntent, PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
-        
-        Intent stopIntent = new Intent(requireContext(), getClass());
-        stopIntent.setAction("STOP");
-        PendingIntent stopPendingIntent = PendingIntent.getBroadcast(
-            requireContext(), 1, stopIntent, PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
-        
-        NotificationCompat.Builder builder = new NotificationCompat.Builder(requireContext(), CHANNEL_ID)
-            .setSmallIcon(R.drawable.ic_headphones)
-            .setContentTitle("Audio Devotional")
-            .setContentText(isPlaying ? "Playing" : "Paused")
-            .setPriority(NotificationCompat.PRIORITY_LOW)
-            .setOngoing(true)
-            .addAction(isPlaying ? R.drawable.ic_pause : R.drawable.ic_play_arrow, 
-                      isPlaying ? "Pause" : "Play", playPausePendingIntent)
-            .addAction(R.drawable.ic_close, "Stop", stopPendingIntent);
-        
-        notificationManager.notify(NOTIFICATION_ID, builder.build());
-    }
-    
-    private void hideAudioNotification() {
-        if (notificationManager != null) {
-            notificationManager.cancel(NOTIFICATION_ID);
-        }
     }
 
     // Prayer Reminder Status Update
@@ -1510,19 +1182,24 @@ public class PersonalDevotionalFragment extends Fragment {
         }
     }
 
+    @Override
+    public void onStart() {
+        super.onStart();
+        playback.attach();
+    }
+
+    @Override
+    public void onStop() {
+        super.onStop();
+        audioPosition.stop();
+        playback.detach();
+    }
+
     @Override
     public void onDestroy() {
         super.onDestroy();
         if (executorService != null) {
             executorService.shutdown();
         }
-        if (mediaPlayer != null) {
-            mediaPlayer.release();
-            mediaPlayer = null;
-        }
-        if (audioHandler != null && audioRunnable != null) {
-            audioHandler.removeCallbacks(audioRunnable);
-        }
-        hideAudioNotification();
     }
 }
@@ -0,0 +1,104 @@
+package com.holywordapp.perf;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Fixed-size latency histogram with power-of-two microsecond buckets.
+ *
+ * Bucket i counts samples below 2^i microseconds (the last one is open-ended), so recording
+ * is a couple of arithmetic operations and the memory is the same for one sample or millions.
+ * Percentiles are reported as the upper bound of the bucket they fall in.
+ */
+public final class LatencyHistogram {
+    // 2^0 us .. 2^24 us (about 16.8 s), plus everything slower
+    private static final int BUCKETS = 26;
+
+    private final String name;
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        long micros = nanos / 1000;
+        int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        buckets[Math.min(bucket, BUCKETS - 1)]++;
+        count++;
+        totalNanos += nanos;
+        minNanos = Math.min(minNanos, nanos);
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+
+    public synchronized double getMaxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    /**
+     * Upper bound in milliseconds of the bucket holding the given percentile (0-100)
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= Math.max(rank, 1)) {
+                // The open-ended last bucket has no upper bound; the max is the honest answer
+                return i == BUCKETS - 1 ? getMaxMillis() : Math.min((1L << i) / 1000.0, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    synchronized void reset() {
+        java.util.Arrays.fill(buckets, 0);
+        count = 0;
+        totalNanos = 0;
+        minNanos = Long.MAX_VALUE;
+        maxNanos = 0;
+    }
+
+    synchronized JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("count", count);
+        json.put("meanMs", getMeanMillis());
+        json.put("minMs", count == 0 ? 0 : minNanos / 1e6);
+        json.put("maxMs", getMaxMillis());
+        json.put("p50Ms", getPercentileMillis(50));
+        json.put("p90Ms", getPercentileMillis(90));
+        json.put("p99Ms", getPercentileMillis(99));
+        JSONArray counts = new JSONArray();
+        for (long bucket : buckets) counts.put(bucket);
+        json.put("bucketsPow2Us", counts);
+        return json;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(java.util.Locale.US, "%-44s n=%-6d mean=%.2fms p50<=%.2fms p90<=%.2fms p99<=%.2fms max=%.2fms",
+                name, count, getMeanMillis(), getPercentileMillis(50), getPercentileMillis(90),
+                getPercentileMillis(99), getMaxMillis());
+    }
+}
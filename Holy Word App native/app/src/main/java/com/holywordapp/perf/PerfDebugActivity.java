@@ -0,0 +1,75 @@
+package com.holywordapp.perf;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.holywordapp.ChapterCache;
+import com.holywordapp.audio.AudioCache;
+import com.holywordapp.audio.AudioDownloadManager;
+import com.holywordapp.R;
+
+/**
+ * Hidden screen showing the collected latencies and counters; opened by long-pressing the
+ * Settings toolbar. Export shares the same data as JSON so runs can be compared offline.
+ */
+public class PerfDebugActivity extends AppCompatActivity {
+
+    private TextView tvPerfReport;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_perf_debug);
+
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setTitle("Performance");
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+        }
+
+        tvPerfReport = findViewById(R.id.tvPerfReport);
+        Button btnRefresh = findViewById(R.id.btnPerfRefresh);
+        Button btnReset = findViewById(R.id.btnPerfReset);
+        Button btnExport = findViewById(R.id.btnPerfExport);
+
+        btnRefresh.setOnClickListener(v -> showReport());
+        btnReset.setOnClickListener(v -> {
+            PerfMetrics.reset();
+            showReport();
+        });
+        btnExport.setOnClickListener(v -> exportJson());
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showReport();
+    }
+
+    private void showReport() {
+        tvPerfReport.setText(PerfMetrics.report() + "\nChapter cache\n" + ChapterCache.getInstance(this)
+                + "\nAudio cache\n" + AudioCache.getInstance(this)
+                + "\nOffline audio\n" + AudioDownloadManager.getInstance(this));
+    }
+
+    private void exportJson() {
+        Intent shareIntent = new Intent(Intent.ACTION_SEND);
+        shareIntent.setType("application/json");
+        shareIntent.putExtra(Intent.EXTRA_SUBJECT, "Holy Word performance metrics");
+        try {
+            shareIntent.putExtra(Intent.EXTRA_TEXT, PerfMetrics.toJson().toString(2));
+        } catch (org.json.JSONException e) {
+            shareIntent.putExtra(Intent.EXTRA_TEXT, PerfMetrics.toJson().toString());
+        }
+        startActivity(Intent.createChooser(shareIntent, "Export metrics"));
+    }
+
+    @Override
+    public boolean onSupportNavigateUp() {
+        onBackPressed();
+        return true;
+    }
+}
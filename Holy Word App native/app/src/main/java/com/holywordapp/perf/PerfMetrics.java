@@ -0,0 +1,173 @@
+package com.holywordapp.perf;
+
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide instrumentation for the data and render hot paths.
+ *
+ * A span is a named android.os.Trace section (visible in Perfetto / systrace) whose duration
+ * is also recorded into an in-process latency histogram, so regressions show up both in a
+ * trace and on the hidden debug screen without attaching a profiler:
+ *
+ *     try (PerfMetrics.Span ignored = PerfMetrics.begin("BibleDBHelper.getVerses")) {
+ *         ...
+ *     }
+ *
+ * Work that finishes on another callback (MediaPlayer prepare) uses {@link #beginAsync}.
+ * Counters are plain monotonic totals. Everything here is cheap enough to leave on in release.
+ */
+public final class PerfMetrics {
+    private static final String TAG = "PerfMetrics";
+
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private static final AtomicInteger asyncCookies = new AtomicInteger();
+    private static volatile long sinceMillis = System.currentTimeMillis();
+
+    private PerfMetrics() {}
+
+    /** A synchronous trace section; must be closed on the thread that opened it */
+    public static final class Span implements AutoCloseable {
+        private final LatencyHistogram histogram;
+        private final long startNanos;
+
+        private Span(LatencyHistogram histogram) {
+            this.histogram = histogram;
+            this.startNanos = SystemClock.elapsedRealtimeNanos();
+        }
+
+        @Override
+        public void close() {
+            histogram.record(SystemClock.elapsedRealtimeNanos() - startNanos);
+            Trace.endSection();
+        }
+    }
+
+    /** A trace section that may end on a different thread or callback; end it exactly once */
+    public static final class AsyncSpan {
+        private final LatencyHistogram histogram;
+        private final int cookie;
+        private final long startNanos;
+        private boolean ended;
+
+        private AsyncSpan(LatencyHistogram histogram) {
+            this.histogram = histogram;
+            this.cookie = asyncCookies.incrementAndGet();
+            this.startNanos = SystemClock.elapsedRealtimeNanos();
+            Trace.beginAsyncSection(histogram.getName(), cookie);
+        }
+
+        public synchronized void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            histogram.record(SystemClock.elapsedRealtimeNanos() - startNanos);
+            Trace.endAsyncSection(histogram.getName(), cookie);
+        }
+
+        /** Close the trace section without recording a sample, e.g. when the work failed */
+        public synchronized void cancel() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            Trace.endAsyncSection(histogram.getName(), cookie);
+        }
+    }
+
+    public static Span begin(String name) {
+        // Section names are limited to 127 characters; callers use short constant names
+        Trace.beginSection(name);
+        return new Span(histogram(name));
+    }
+
+    public static AsyncSpan beginAsync(String name) {
+        return new AsyncSpan(histogram(name));
+    }
+
+    public static void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public static void add(String counter, long delta) {
+        AtomicLong value = counters.get(counter);
+        if (value == null) {
+            value = counters.computeIfAbsent(counter, k -> new AtomicLong());
+        }
+        long total = value.addAndGet(delta);
+        if (Trace.isEnabled()) {
+            Trace.setCounter(counter, total);
+        }
+    }
+
+    public static long getCounter(String counter) {
+        AtomicLong value = counters.get(counter);
+        return value != null ? value.get() : 0;
+    }
+
+    private static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, LatencyHistogram::new);
+        }
+        return histogram;
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : histograms.values()) histogram.reset();
+        for (AtomicLong counter : counters.values()) counter.set(0);
+        sinceMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * All histograms and counters, sorted by name
+     */
+    public static JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        try {
+            json.put("since", sinceMillis);
+            json.put("exportedAt", System.currentTimeMillis());
+            JSONObject latencies = new JSONObject();
+            for (LatencyHistogram histogram : new TreeMap<>(histograms).values()) {
+                latencies.put(histogram.getName(), histogram.toJson());
+            }
+            json.put("latencies", latencies);
+            JSONObject totals = new JSONObject();
+            for (Map.Entry<String, AtomicLong> counter : new TreeMap<>(counters).entrySet()) {
+                totals.put(counter.getKey(), counter.getValue().get());
+            }
+            json.put("counters", totals);
+        } catch (JSONException e) {
+            Log.e(TAG, "Error exporting metrics: " + e.getMessage());
+        }
+        return json;
+    }
+
+    /**
+     * Human-readable report for the debug screen
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Latencies\n");
+        for (LatencyHistogram histogram : new TreeMap<>(histograms).values()) {
+            sb.append(histogram).append('\n');
+        }
+        sb.append("\nCounters\n");
+        for (Map.Entry<String, AtomicLong> counter : new TreeMap<>(counters).entrySet()) {
+            sb.append(String.format(java.util.Locale.US, "%-44s %d%n", counter.getKey(), counter.getValue().get()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,321 @@
+package com.holywordapp.search;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.SparseArray;
+
+import com.holywordapp.BibleVerse;
+import com.holywordapp.VerseId;
+import com.holywordapp.VerseRepository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Offline full-text index over the Telugu and KJV Bibles.
+ *
+ * Each translation gets an FTS4 table in bible_search.db whose docid is the packed
+ * {@link VerseId}, so book and testament filters are plain docid ranges. Rows hold the
+ * {@link SearchText#indexForm} of the verse rather than the verse itself; display text is
+ * read back through {@link VerseRepository} for the page being shown only.
+ *
+ * The framework SQLite ships FTS3/FTS4 but neither FTS5 nor a way to register tokenizers from
+ * Java, so ranking is BM25 computed from matchinfo() and snippets are cut in Java.
+ */
+public class BibleSearchIndex extends SQLiteOpenHelper {
+    private static final String TAG = "BibleSearchIndex";
+
+    private static final String DATABASE_NAME = "bible_search.db";
+    // Bump whenever SearchText changes how words are cut so both indexes are rebuilt
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_TELUGU = "search_te";
+    private static final String TABLE_KJV = "search_kjv";
+    private static final String TABLE_STATE = "search_state";
+
+    public static final int TESTAMENT_ALL = 0;
+    public static final int TESTAMENT_OLD = 1;
+    public static final int TESTAMENT_NEW = 2;
+    private static final int FIRST_NEW_TESTAMENT_BOOK = 40;
+
+    private static final int BUILD_CHUNK = 2000;
+    private static final int SNIPPET_WORDS = 24;
+
+    // BM25 parameters, the usual defaults
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static volatile BibleSearchIndex instance;
+
+    private final Context context;
+
+    // Once built an index stays built for the life of the process
+    private volatile boolean teluguBuilt;
+    private volatile boolean kjvBuilt;
+
+    private BibleSearchIndex(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        this.context = context;
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    public static BibleSearchIndex getInstance(Context context) {
+        if (instance == null) {
+            synchronized (BibleSearchIndex.class) {
+                if (instance == null) {
+                    instance = new BibleSearchIndex(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        // "simple" keeps every non-ASCII character inside its token; words are pre-split by SearchText
+        for (String table : new String[]{TABLE_TELUGU, TABLE_KJV}) {
+            db.execSQL("CREATE VIRTUAL TABLE " + table + " USING fts4(words, tokenize=simple, prefix=\"2,3\")");
+        }
+        db.execSQL("CREATE TABLE " + TABLE_STATE + " (name TEXT PRIMARY KEY, verse_count INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_TELUGU);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_KJV);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_STATE);
+        onCreate(db);
+    }
+
+    public boolean isBuilt(boolean isEnglishMode) {
+        if (isEnglishMode ? kjvBuilt : teluguBuilt) {
+            return true;
+        }
+        try {
+            Cursor c = getReadableDatabase().rawQuery("SELECT verse_count FROM " + TABLE_STATE + " WHERE name = ?",
+                    new String[]{table(isEnglishMode)});
+            boolean built = c.moveToFirst() && c.getInt(0) > 0;
+            c.close();
+            if (built) {
+                markBuilt(isEnglishMode);
+            }
+            return built;
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading index state: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void markBuilt(boolean isEnglishMode) {
+        if (isEnglishMode) {
+            kjvBuilt = true;
+        } else {
+            teluguBuilt = true;
+        }
+    }
+
+    /**
+     * Build the index for a translation if it is missing. Slow the first time; call off the main thread.
+     */
+    public synchronized void ensureBuilt(boolean isEnglishMode) {
+        if (isBuilt(isEnglishMode)) {
+            return;
+        }
+        String table = table(isEnglishMode);
+        SQLiteDatabase db = getWritableDatabase();
+        VerseRepository verseRepository = VerseRepository.getInstance(context);
+        long start = SystemClock.elapsedRealtime();
+        int count = 0;
+
+        db.beginTransaction();
+        try {
+            db.execSQL("DELETE FROM " + table);
+            SQLiteStatement insert = db.compileStatement("INSERT INTO " + table + " (docid, words) VALUES (?, ?)");
+            int fromId = VerseId.of(1, 1, 1);
+            while (true) {
+                List<BibleVerse> chunk = verseRepository.getVerses(fromId, BUILD_CHUNK, isEnglishMode);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                for (BibleVerse verse : chunk) {
+                    insert.bindLong(1, verse.verseId);
+                    insert.bindString(2, verse.verseText != null ? SearchText.indexForm(verse.verseText) : "");
+                    insert.executeInsert();
+                    count++;
+                }
+                fromId = chunk.get(chunk.size() - 1).verseId + 1;
+            }
+            insert.close();
+
+            if (count > 0) {
+                // Merge the segment b-trees so queries touch one segment per term
+                db.execSQL("INSERT INTO " + table + " (" + table + ") VALUES ('optimize')");
+                db.execSQL("INSERT OR REPLACE INTO " + TABLE_STATE + " VALUES (?, ?)", new Object[]{table, count});
+            }
+            db.setTransactionSuccessful();
+            if (count > 0) {
+                markBuilt(isEnglishMode);
+            }
+            Log.d(TAG, "Indexed " + count + " verses into " + table + " in " + (SystemClock.elapsedRealtime() - start) + " ms");
+        } catch (Exception e) {
+            Log.e(TAG, "Error building " + table + ": " + e.getMessage());
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Rank every verse matching the query; texts and snippets are loaded per page from the result
+     *
+     * @param book canonical book ordinal to restrict to, or 0 for all books
+     * @param testament one of the TESTAMENT_ constants, ignored when a book is given
+     */
+    public Results search(String input, boolean isEnglishMode, int book, int testament) {
+        long start = SystemClock.elapsedRealtime();
+        SearchText.Query query = SearchText.parse(input);
+        if (query.isEmpty()) {
+            return new Results(query, new int[0], isEnglishMode, 0);
+        }
+        ensureBuilt(isEnglishMode);
+
+        String table = table(isEnglishMode);
+        String sql = "SELECT docid, matchinfo(" + table + ", 'pcnalx') FROM " + table + " WHERE " + table + " MATCH ?";
+        List<String> args = new ArrayList<>();
+        args.add(query.toMatchExpression());
+
+        int low = 0, high = 0;
+        if (book > 0) {
+            low = book;
+            high = book;
+        } else if (testament == TESTAMENT_OLD) {
+            low = 1;
+            high = FIRST_NEW_TESTAMENT_BOOK - 1;
+        } else if (testament == TESTAMENT_NEW) {
+            low = FIRST_NEW_TESTAMENT_BOOK;
+            high = VerseId.BOOK_COUNT;
+        }
+        if (low > 0) {
+            sql += " AND docid BETWEEN ? AND ?";
+            args.add(String.valueOf(VerseId.of(low, 0, 0)));
+            args.add(String.valueOf(VerseId.of(high, 999, 999)));
+        }
+
+        int[] ids;
+        double[] scores;
+        try {
+            Cursor c = getReadableDatabase().rawQuery(sql, args.toArray(new String[0]));
+            ids = new int[c.getCount()];
+            scores = new double[ids.length];
+            int i = 0;
+            while (c.moveToNext()) {
+                ids[i] = c.getInt(0);
+                scores[i] = bm25(c.getBlob(1));
+                i++;
+            }
+            c.close();
+        } catch (Exception e) {
+            Log.e(TAG, "Error searching for '" + input + "': " + e.getMessage());
+            return new Results(query, new int[0], isEnglishMode, SystemClock.elapsedRealtime() - start);
+        }
+
+        int[] ranked = rank(ids, scores);
+        long elapsed = SystemClock.elapsedRealtime() - start;
+        Log.d(TAG, "Search '" + input + "' matched " + ranked.length + " verses in " + elapsed + " ms");
+        return new Results(query, ranked, isEnglishMode, elapsed);
+    }
+
+    /**
+     * BM25 over matchinfo 'pcnalx': phrase count, column count, row count,
+     * average and row token counts, then (hits in row, hits in all rows, rows with hits) per phrase
+     */
+    private static double bm25(byte[] matchinfo) {
+        IntBuffer info = ByteBuffer.wrap(matchinfo).order(ByteOrder.nativeOrder()).asIntBuffer();
+        int phrases = info.get(0);
+        int rows = info.get(2);
+        double averageLength = Math.max(1, info.get(3));
+        double length = info.get(4);
+        double norm = K1 * (1 - B + B * length / averageLength);
+
+        double score = 0;
+        for (int p = 0; p < phrases; p++) {
+            int base = 5 + p * 3;
+            double hits = info.get(base);
+            double rowsWithHits = info.get(base + 2);
+            double idf = Math.log((rows - rowsWithHits + 0.5) / (rowsWithHits + 0.5));
+            // Terms in more than half the rows would score negative; keep them slightly positive
+            idf = Math.max(idf, 1e-6);
+            score += idf * hits * (K1 + 1) / (hits + norm);
+        }
+        return score;
+    }
+
+    /**
+     * Verse IDs ordered by descending score, canonical order among equal scores
+     */
+    private static int[] rank(int[] ids, double[] scores) {
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Integer.compare(ids[a], ids[b]);
+        });
+        int[] ranked = new int[ids.length];
+        for (int i = 0; i < ranked.length; i++) ranked[i] = ids[order[i]];
+        return ranked;
+    }
+
+    private static String table(boolean isEnglishMode) {
+        return isEnglishMode ? TABLE_KJV : TABLE_TELUGU;
+    }
+
+    /**
+     * Ranked matches of one query; verse texts are fetched a page at a time
+     */
+    public final class Results {
+        public final SearchText.Query query;
+        public final int[] verseIds;
+        public final boolean isEnglishMode;
+        public final long elapsedMillis;
+
+        Results(SearchText.Query query, int[] verseIds, boolean isEnglishMode, long elapsedMillis) {
+            this.query = query;
+            this.verseIds = verseIds;
+            this.isEnglishMode = isEnglishMode;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int size() {
+            return verseIds.length;
+        }
+
+        /**
+         * Hits [from, from + count) with snippets, in rank order
+         */
+        public List<SearchHit> loadPage(int from, int count) {
+            int to = Math.min(verseIds.length, from + count);
+            List<SearchHit> hits = new ArrayList<>();
+            if (from >= to) {
+                return hits;
+            }
+            int[] pageIds = Arrays.copyOfRange(verseIds, from, to);
+            SparseArray<String> texts = VerseRepository.getInstance(context).getVerseTexts(pageIds, isEnglishMode);
+            for (int id : pageIds) {
+                String text = texts.get(id, "");
+                List<int[]> highlights = new ArrayList<>();
+                SearchHit hit = new SearchHit(id, SearchText.snippet(text, query, SNIPPET_WORDS, highlights));
+                hit.highlights.addAll(highlights);
+                hits.add(hit);
+            }
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.holywordapp.search;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
+import android.widget.EditText;
+import android.widget.ProgressBar;
+import android.widget.Spinner;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.holywordapp.BibleActivity;
+import com.holywordapp.BookRegistry;
+import com.holywordapp.R;
+import com.holywordapp.VerseId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Verse search over the offline index. Queries run as the user types; results page into the list on scroll.
+ */
+public class SearchActivity extends AppCompatActivity {
+
+    private static final int PAGE_SIZE = 30;
+    private static final long TYPING_DELAY_MS = 250;
+    // Scope spinner: "All books", "Old Testament", "New Testament", then every book
+    private static final int SCOPE_FIXED_ENTRIES = 3;
+
+    private EditText etSearch;
+    private Spinner spinnerSearchScope;
+    private TextView tvSearchStatus;
+    private ProgressBar progressSearch;
+    private RecyclerView rvSearchResults;
+    private SearchResultAdapter adapter;
+
+    private BibleSearchIndex searchIndex;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private boolean isEnglishMode = false;
+    private BibleSearchIndex.Results currentResults;
+    // Incremented per query so results of a superseded query are dropped
+    private int searchGeneration = 0;
+    private boolean loadingPage = false;
+    // Verse the query names as a reference, e.g. "John 3:16"; 0 when it is not one
+    private int referenceTarget = 0;
+
+    private final Runnable searchRunnable = this::runSearch;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_search);
+
+        isEnglishMode = getIntent().getBooleanExtra("IS_ENGLISH_MODE", false);
+        searchIndex = BibleSearchIndex.getInstance(this);
+
+        etSearch = findViewById(R.id.etSearch);
+        spinnerSearchScope = findViewById(R.id.spinnerSearchScope);
+        tvSearchStatus = findViewById(R.id.tvSearchStatus);
+        progressSearch = findViewById(R.id.progressSearch);
+        rvSearchResults = findViewById(R.id.rvSearchResults);
+
+        etSearch.setHint(isEnglishMode ? "Search the KJV" : "బైబిల్ లో వెతకండి");
+
+        List<String> scopes = new ArrayList<>();
+        scopes.add(isEnglishMode ? "All books" : "అన్ని గ్రంథములు");
+        scopes.add(isEnglishMode ? "Old Testament" : "పాత నిబంధన");
+        scopes.add(isEnglishMode ? "New Testament" : "క్రొత్త నిబంధన");
+        for (int book = 1; book <= VerseId.BOOK_COUNT; book++) {
+            scopes.add(VerseId.bookName(book, isEnglishMode));
+        }
+        ArrayAdapter<String> scopeAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, scopes);
+        scopeAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerSearchScope.setAdapter(scopeAdapter);
+        spinnerSearchScope.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                scheduleSearch(0);
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {}
+        });
+
+        // A query that is a reference offers a jump to it in the status line
+        tvSearchStatus.setOnClickListener(v -> {
+            if (referenceTarget != 0) {
+                openVerse(referenceTarget);
+            }
+        });
+
+        adapter = new SearchResultAdapter(this, hit -> openVerse(hit.verseId));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvSearchResults.setLayoutManager(layoutManager);
+        rvSearchResults.setAdapter(adapter);
+        rvSearchResults.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - PAGE_SIZE / 3) {
+                    loadNextPage();
+                }
+            }
+        });
+
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                scheduleSearch(TYPING_DELAY_MS);
+            }
+        });
+
+        // Build the index for this translation up front so the first query does not pay for it
+        if (!searchIndex.isBuilt(isEnglishMode)) {
+            progressSearch.setVisibility(View.VISIBLE);
+            tvSearchStatus.setText(isEnglishMode ? "Preparing search index..." : "శోధన సూచిక సిద్ధం చేస్తోంది...");
+            executor.execute(() -> {
+                searchIndex.ensureBuilt(isEnglishMode);
+                runOnUiThread(() -> {
+                    if (!isFinishing()) {
+                        progressSearch.setVisibility(View.GONE);
+                        tvSearchStatus.setText("");
+                    }
+                });
+            });
+        }
+    }
+
+    private void scheduleSearch(long delayMs) {
+        handler.removeCallbacks(searchRunnable);
+        handler.postDelayed(searchRunnable, delayMs);
+    }
+
+    private void runSearch() {
+        String input = etSearch.getText().toString();
+        int scope = spinnerSearchScope.getSelectedItemPosition();
+        int book = scope >= SCOPE_FIXED_ENTRIES ? scope - SCOPE_FIXED_ENTRIES + 1 : 0;
+        int testament = scope == 1 ? BibleSearchIndex.TESTAMENT_OLD
+                : scope == 2 ? BibleSearchIndex.TESTAMENT_NEW : BibleSearchIndex.TESTAMENT_ALL;
+        int generation = ++searchGeneration;
+        loadingPage = true;
+        long reference = BookRegistry.parse(input);
+        referenceTarget = reference != BookRegistry.NO_REFERENCE ? BookRegistry.rangeStart(reference) : 0;
+
+        if (input.trim().isEmpty()) {
+            currentResults = null;
+            adapter.setResults(new ArrayList<>(), 0, isEnglishMode);
+            tvSearchStatus.setText("");
+            loadingPage = false;
+            return;
+        }
+
+        progressSearch.setVisibility(View.VISIBLE);
+        executor.execute(() -> {
+            BibleSearchIndex.Results results = searchIndex.search(input, isEnglishMode, book, testament);
+            List<SearchHit> firstPage = results.loadPage(0, PAGE_SIZE);
+            runOnUiThread(() -> {
+                if (isFinishing() || generation != searchGeneration) {
+                    return;
+                }
+                currentResults = results;
+                adapter.setResults(firstPage, results.size(), isEnglishMode);
+                rvSearchResults.scrollToPosition(0);
+                progressSearch.setVisibility(View.GONE);
+                String status = results.size() == 0
+                        ? (isEnglishMode ? "No verses found" : "వచనములు కనబడలేదు")
+                        : results.size() + (isEnglishMode ? " verses" : " వచనములు") + " (" + results.elapsedMillis + " ms)";
+                if (referenceTarget != 0) {
+                    status = (isEnglishMode ? "Go to " : "వెళ్ళండి: ") + VerseId.format(referenceTarget, isEnglishMode) + " · " + status;
+                }
+                tvSearchStatus.setText(status);
+                loadingPage = false;
+            });
+        });
+    }
+
+    private void loadNextPage() {
+        if (loadingPage || currentResults == null || !adapter.hasMore()) {
+            return;
+        }
+        loadingPage = true;
+        BibleSearchIndex.Results results = currentResults;
+        int generation = searchGeneration;
+        int from = adapter.getItemCount();
+        executor.execute(() -> {
+            List<SearchHit> page = results.loadPage(from, PAGE_SIZE);
+            runOnUiThread(() -> {
+                if (isFinishing() || generation != searchGeneration) {
+                    return;
+                }
+                adapter.appendPage(page);
+                loadingPage = false;
+            });
+        });
+    }
+
+    private void openVerse(int verseId) {
+        Intent intent = new Intent(this, BibleActivity.class);
+        intent.putExtra("BOOK_NAME", VerseId.bookName(VerseId.book(verseId), isEnglishMode));
+        intent.putExtra("CHAPTER", VerseId.chapter(verseId));
+        intent.putExtra("VERSE", VerseId.verse(verseId));
+        intent.putExtra("IS_ENGLISH_MODE", isEnglishMode);
+        startActivity(intent);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        handler.removeCallbacks(searchRunnable);
+        executor.shutdownNow();
+    }
+}
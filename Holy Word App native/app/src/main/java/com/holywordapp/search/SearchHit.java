@@ -0,0 +1,15 @@
+package com.holywordapp.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchHit {
+    public final int verseId; // Packed VerseId
+    public final String snippet;
+    public final List<int[]> highlights = new ArrayList<>(); // [start, end) ranges within snippet
+
+    public SearchHit(int verseId, String snippet) {
+        this.verseId = verseId;
+        this.snippet = snippet;
+    }
+}
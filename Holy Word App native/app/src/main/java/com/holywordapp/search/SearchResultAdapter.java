@@ -0,0 +1,106 @@
+package com.holywordapp.search;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.StyleSpan;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.holywordapp.R;
+import com.holywordapp.VerseId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchResultAdapter extends RecyclerView.Adapter<SearchResultAdapter.SearchResultViewHolder> {
+
+    private final Context context;
+    private final List<SearchHit> hits = new ArrayList<>();
+    private final OnResultClickListener listener;
+    private boolean isEnglishMode;
+    private int totalCount;
+
+    public interface OnResultClickListener {
+        void onResultClick(SearchHit hit);
+    }
+
+    public SearchResultAdapter(Context context, OnResultClickListener listener) {
+        this.context = context;
+        this.listener = listener;
+    }
+
+    /**
+     * Replace the results with the first page of a new query
+     */
+    public void setResults(List<SearchHit> firstPage, int totalCount, boolean isEnglishMode) {
+        this.hits.clear();
+        this.hits.addAll(firstPage);
+        this.totalCount = totalCount;
+        this.isEnglishMode = isEnglishMode;
+        notifyDataSetChanged();
+    }
+
+    public void appendPage(List<SearchHit> page) {
+        int start = hits.size();
+        hits.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    public boolean hasMore() {
+        return hits.size() < totalCount;
+    }
+
+    @NonNull
+    @Override
+    public SearchResultViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(context).inflate(R.layout.item_search_result, parent, false);
+        return new SearchResultViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SearchResultViewHolder holder, int position) {
+        holder.bind(hits.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return hits.size();
+    }
+
+    class SearchResultViewHolder extends RecyclerView.ViewHolder {
+        TextView tvSearchReference, tvSearchSnippet;
+
+        SearchResultViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvSearchReference = itemView.findViewById(R.id.tvSearchReference);
+            tvSearchSnippet = itemView.findViewById(R.id.tvSearchSnippet);
+        }
+
+        void bind(SearchHit hit) {
+            tvSearchReference.setText(VerseId.format(hit.verseId, isEnglishMode));
+
+            SpannableString snippet = new SpannableString(hit.snippet);
+            int highlightColor = ContextCompat.getColor(context, R.color.accent_light);
+            for (int[] range : hit.highlights) {
+                snippet.setSpan(new StyleSpan(Typeface.BOLD), range[0], range[1], Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                snippet.setSpan(new BackgroundColorSpan(highlightColor), range[0], range[1], Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            }
+            tvSearchSnippet.setText(snippet);
+
+            itemView.setOnClickListener(v -> {
+                if (listener != null) {
+                    listener.onResultClick(hit);
+                }
+            });
+        }
+    }
+}
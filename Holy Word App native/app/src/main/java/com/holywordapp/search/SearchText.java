@@ -0,0 +1,219 @@
+package com.holywordapp.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Word splitting and normalisation shared by the search index and the query parser.
+ *
+ * SQLite's built-in unicode61 tokenizer treats Telugu vowel signs and viramas as separators,
+ * which breaks almost every Telugu word apart. Instead words are cut here: a word is a run of
+ * letters, digits and combining marks, zero-width joiners are dropped (they only affect how
+ * conjuncts render), and the result is NFC-normalised and lower-cased. The index stores these
+ * words separated by plain spaces under the "simple" tokenizer, which keeps every non-ASCII
+ * character inside its token, so index and query always agree on word boundaries.
+ */
+public final class SearchText {
+
+    private static final char ZWNJ = '\u200C';
+    private static final char ZWJ = '\u200D';
+    private static final char ZWSP = '\u200B';
+    private static final char BOM = '\uFEFF';
+
+    private SearchText() {}
+
+    /**
+     * Space-separated normalised words of a verse, as stored in the index
+     */
+    public static String indexForm(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        int[] bounds = new int[2];
+        int pos = 0;
+        while ((pos = nextWord(text, pos, bounds)) >= 0) {
+            String word = normalizeWord(text.substring(bounds[0], bounds[1]));
+            if (!word.isEmpty()) {
+                if (sb.length() > 0) sb.append(' ');
+                sb.append(word);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A word as it is compared: joiners removed, NFC, lower case
+     */
+    public static String normalizeWord(String word) {
+        StringBuilder sb = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if (ch != ZWNJ && ch != ZWJ && ch != ZWSP && ch != BOM) {
+                sb.append(ch);
+            }
+        }
+        return Normalizer.normalize(sb, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Find the next word at or after {@code from}; stores [start, end) in bounds and returns end, or -1
+     */
+    static int nextWord(CharSequence text, int from, int[] bounds) {
+        int length = text.length();
+        int i = from;
+        while (i < length && !isWordChar(text.charAt(i))) i++;
+        if (i >= length) {
+            return -1;
+        }
+        int start = i;
+        while (i < length && isWordChar(text.charAt(i))) i++;
+        bounds[0] = start;
+        bounds[1] = i;
+        return i;
+    }
+
+    static boolean isWordChar(char ch) {
+        if (ch == ZWNJ || ch == ZWJ) {
+            // Joiners sit inside Telugu words and must not split them
+            return true;
+        }
+        switch (Character.getType(ch)) {
+            case Character.UPPERCASE_LETTER:
+            case Character.LOWERCASE_LETTER:
+            case Character.TITLECASE_LETTER:
+            case Character.MODIFIER_LETTER:
+            case Character.OTHER_LETTER:
+            case Character.DECIMAL_DIGIT_NUMBER:
+            case Character.LETTER_NUMBER:
+            case Character.OTHER_NUMBER:
+            case Character.NON_SPACING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * A parsed user query: each clause is a phrase of one or more words, optionally a prefix
+     */
+    public static final class Query {
+        final List<String[]> phrases = new ArrayList<>();
+        final List<Boolean> prefixes = new ArrayList<>();
+
+        public boolean isEmpty() {
+            return phrases.isEmpty();
+        }
+
+        /**
+         * FTS4 MATCH expression; every clause must match, quoted so user text can never inject operators
+         */
+        public String toMatchExpression() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < phrases.size(); i++) {
+                if (sb.length() > 0) sb.append(' ');
+                sb.append('"');
+                String[] words = phrases.get(i);
+                for (int w = 0; w < words.length; w++) {
+                    if (w > 0) sb.append(' ');
+                    sb.append(words[w]);
+                }
+                if (prefixes.get(i)) sb.append('*');
+                sb.append('"');
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Whether a normalised word of a result should be highlighted
+         */
+        boolean matches(String word) {
+            for (int i = 0; i < phrases.size(); i++) {
+                String[] words = phrases.get(i);
+                for (int w = 0; w < words.length; w++) {
+                    boolean last = w == words.length - 1;
+                    if (last && prefixes.get(i) ? word.startsWith(words[w]) : word.equals(words[w])) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Parse user input: "quoted text" is a phrase, a trailing * makes a prefix, anything else is a required word
+     */
+    public static Query parse(String input) {
+        Query query = new Query();
+        if (input == null) {
+            return query;
+        }
+        int i = 0;
+        int length = input.length();
+        while (i < length) {
+            char ch = input.charAt(i);
+            if (ch == '"') {
+                int close = input.indexOf('"', i + 1);
+                int end = close < 0 ? length : close;
+                boolean prefix = close >= 0 && close + 1 < length && input.charAt(close + 1) == '*';
+                addClause(query, input.substring(i + 1, end), prefix);
+                i = end + (prefix ? 2 : 1);
+            } else if (Character.isWhitespace(ch)) {
+                i++;
+            } else {
+                int end = i;
+                while (end < length && !Character.isWhitespace(input.charAt(end)) && input.charAt(end) != '"') end++;
+                String term = input.substring(i, end);
+                addClause(query, term, term.endsWith("*"));
+                i = end;
+            }
+        }
+        return query;
+    }
+
+    private static void addClause(Query query, String text, boolean prefix) {
+        String[] words = indexForm(text).split(" ");
+        if (words.length == 0 || words[0].isEmpty()) {
+            return;
+        }
+        query.phrases.add(words);
+        query.prefixes.add(prefix);
+    }
+
+    /**
+     * Up to {@code maxWords} words of a verse around its first match; writes highlight
+     * [start, end) pairs relative to the returned string into {@code highlights}
+     */
+    public static String snippet(String text, Query query, int maxWords, List<int[]> highlights) {
+        List<int[]> words = new ArrayList<>();
+        int firstMatch = -1;
+        int[] bounds = new int[2];
+        int pos = 0;
+        while ((pos = nextWord(text, pos, bounds)) >= 0) {
+            boolean match = query.matches(normalizeWord(text.substring(bounds[0], bounds[1])));
+            if (match && firstMatch < 0) firstMatch = words.size();
+            words.add(new int[]{bounds[0], bounds[1], match ? 1 : 0});
+        }
+        if (words.isEmpty()) {
+            return text;
+        }
+
+        int from = Math.max(0, (firstMatch < 0 ? 0 : firstMatch) - maxWords / 3);
+        int to = Math.min(words.size(), from + maxWords);
+        from = Math.max(0, to - maxWords);
+
+        int start = from == 0 ? 0 : words.get(from)[0];
+        int end = to == words.size() ? text.length() : words.get(to - 1)[1];
+        String prefix = start > 0 ? "\u2026" : "";
+        String body = prefix + text.substring(start, end) + (end < text.length() ? "\u2026" : "");
+        for (int w = from; w < to; w++) {
+            int[] word = words.get(w);
+            if (word[2] == 1) {
+                highlights.add(new int[]{word[0] - start + prefix.length(), word[1] - start + prefix.length()});
+            }
+        }
+        return body;
+    }
+}
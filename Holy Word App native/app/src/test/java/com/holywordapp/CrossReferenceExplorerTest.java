@@ -0,0 +1,189 @@
+package com.holywordapp;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * CrossReferenceExplorer on synthetic graphs, checked against a plain breadth-first walk that
+ * counts every shortest path.
+ */
+public class CrossReferenceExplorerTest {
+    private static final int VERTICES = 400;
+
+    /** Forward offsets and targets of a random graph with up to maxOut sorted, distinct targets per vertex */
+    private static int[][] randomGraph(long seed, int maxOut) {
+        Random random = new Random(seed);
+        int[] offsets = new int[VERTICES + 1];
+        int[] targets = new int[VERTICES * maxOut];
+        int edges = 0;
+        for (int v = 0; v < VERTICES; v++) {
+            int source = v;
+            int[] out = random.ints(random.nextInt(maxOut + 1), 0, VERTICES)
+                    .filter(t -> t != source).distinct().sorted().toArray();
+            System.arraycopy(out, 0, targets, edges, out.length);
+            edges += out.length;
+            offsets[v + 1] = edges;
+        }
+        return new int[][]{offsets, Arrays.copyOf(targets, edges)};
+    }
+
+    /** Shortest distance from root, or -1 if not reached within maxDepth */
+    private static int[] distances(int[][] graph, int root, int maxDepth) {
+        int[] offsets = graph[0];
+        int[] targets = graph[1];
+        int[] distance = new int[VERTICES];
+        Arrays.fill(distance, -1);
+        distance[root] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            int from = queue.poll();
+            if (distance[from] == maxDepth) continue;
+            for (int e = offsets[from]; e < offsets[from + 1]; e++) {
+                if (distance[targets[e]] < 0) {
+                    distance[targets[e]] = distance[from] + 1;
+                    queue.add(targets[e]);
+                }
+            }
+        }
+        return distance;
+    }
+
+    /** Number of shortest paths from root to each vertex, given their distances */
+    private static long[] pathCounts(int[][] graph, int root, int[] distance) {
+        long[] paths = new long[VERTICES];
+        paths[root] = 1;
+        int maxDistance = Arrays.stream(distance).max().getAsInt();
+        for (int d = 0; d < maxDistance; d++) {
+            for (int from = 0; from < VERTICES; from++) {
+                if (distance[from] != d) continue;
+                for (int e = graph[0][from]; e < graph[0][from + 1]; e++) {
+                    if (distance[graph[1][e]] == d + 1) paths[graph[1][e]] += paths[from];
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static boolean hasEdge(int[][] graph, int from, int to) {
+        return Arrays.binarySearch(graph[1], graph[0][from], graph[0][from + 1], to) >= 0;
+    }
+
+    private static int vertex(int verseId) {
+        assertEquals(1, VerseId.book(verseId));
+        assertEquals(1, VerseId.chapter(verseId));
+        return VerseId.verse(verseId) - 1;
+    }
+
+    /** Every reported verse is at its shortest distance with all its shortest paths, reached through a best predecessor */
+    private static void assertConsistent(int[][] graph, int root, int[] distance, long[] paths,
+                                         CrossReferenceExplorer.Result result) {
+        int previousDistance = 1;
+        long previousPaths = Long.MAX_VALUE;
+        int previousVertex = -1;
+        for (int i = 0; i < result.size(); i++) {
+            int v = vertex(result.verseIds[i]);
+            assertNotEquals(root, v);
+            assertEquals("distance of " + v, distance[v], result.distances[i]);
+            assertEquals("paths to " + v, paths[v], result.pathCounts[i]);
+
+            int parent = vertex(result.parentIds[i]);
+            assertEquals(distance[v] - 1, distance[parent]);
+            assertTrue(hasEdge(graph, parent, v));
+            for (int from = 0; from < VERTICES; from++) {
+                if (distance[from] == distance[v] - 1 && hasEdge(graph, from, v)) {
+                    assertTrue("parent of " + v, paths[parent] >= paths[from]);
+                }
+            }
+
+            // Ranked by distance, then paths, then canonical order
+            if (result.distances[i] == previousDistance) {
+                assertTrue(result.pathCounts[i] < previousPaths
+                        || result.pathCounts[i] == previousPaths && v > previousVertex);
+            } else {
+                assertEquals(previousDistance + 1, result.distances[i]);
+            }
+            previousDistance = result.distances[i];
+            previousPaths = result.pathCounts[i];
+            previousVertex = v;
+        }
+    }
+
+    @Test
+    public void explore_matchesBreadthFirstWalk() {
+        for (long seed = 1; seed <= 20; seed++) {
+            int[][] graph = randomGraph(seed, 4);
+            CrossReferenceExplorer explorer =
+                    new CrossReferenceExplorer(CrossReferenceGraph.fromForwardEdges(graph[0], graph[1]));
+            for (int root = 0; root < VERTICES; root += 37) {
+                for (int maxDepth = 1; maxDepth <= 4; maxDepth++) {
+                    int[] distance = distances(graph, root, maxDepth);
+                    long[] paths = pathCounts(graph, root, distance);
+
+                    CrossReferenceExplorer.Result result =
+                            explorer.explore(VerseId.of(1, 1, root + 1), maxDepth, VERTICES, Long.MAX_VALUE / 2);
+
+                    assertFalse(result.truncated);
+                    long reachable = Arrays.stream(distance).filter(d -> d > 0).count();
+                    assertEquals(reachable, result.size());
+                    assertConsistent(graph, root, distance, paths, result);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void explore_limitKeepsBestConnectedOfLastLayer() {
+        int[][] graph = randomGraph(42, 6);
+        CrossReferenceExplorer explorer =
+                new CrossReferenceExplorer(CrossReferenceGraph.fromForwardEdges(graph[0], graph[1]));
+        int root = 7;
+        int maxResults = 30;
+        int[] distance = distances(graph, root, 4);
+        long[] paths = pathCounts(graph, root, distance);
+
+        CrossReferenceExplorer.Result result =
+                explorer.explore(VerseId.of(1, 1, root + 1), 4, maxResults, Long.MAX_VALUE / 2);
+
+        assertTrue(result.truncated);
+        assertEquals(maxResults, result.size());
+        assertConsistent(graph, root, distance, paths, result);
+
+        // Every closer verse is kept, and no verse dropped from the last layer beats a kept one
+        int lastDistance = result.distances[result.size() - 1];
+        long keptInLastLayer = 0;
+        long weakestKept = Long.MAX_VALUE;
+        boolean[] kept = new boolean[VERTICES];
+        for (int i = 0; i < result.size(); i++) {
+            kept[vertex(result.verseIds[i])] = true;
+            if (result.distances[i] == lastDistance) {
+                keptInLastLayer++;
+                weakestKept = Math.min(weakestKept, result.pathCounts[i]);
+            }
+        }
+        for (int v = 0; v < VERTICES; v++) {
+            if (distance[v] > 0 && distance[v] < lastDistance) {
+                assertTrue("closer verse " + v, kept[v]);
+            } else if (distance[v] == lastDistance && !kept[v]) {
+                assertTrue("dropped verse " + v, paths[v] <= weakestKept);
+            }
+        }
+        assertTrue(keptInLastLayer > 0);
+    }
+
+    @Test
+    public void explore_outsideGraphOrZeroDepthIsEmpty() {
+        int[][] graph = randomGraph(3, 4);
+        CrossReferenceExplorer explorer =
+                new CrossReferenceExplorer(CrossReferenceGraph.fromForwardEdges(graph[0], graph[1]));
+
+        assertEquals(0, explorer.explore(VerseId.of(1, 2, 1), 3).size());
+        assertEquals(0, explorer.explore(VerseId.of(1, 1, VERTICES + 1), 3).size());
+        assertEquals(0, explorer.explore(VerseId.of(1, 1, 1), 0).size());
+    }
+}
@@ -0,0 +1,143 @@
+package com.holywordapp;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * DailyVerseClient against a local server: caching by date, conditional requests and failures.
+ */
+public class DailyVerseClientTest {
+    private static final String VERSE = "{\"english\":\"In the beginning\",\"reference\":\"Genesis 1:1\"}";
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Wed, 01 Jan 2025 00:00:00 GMT";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        cacheDir = new File(folder.getRoot(), "daily_verse_http");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private DailyVerseClient newClient(int readTimeoutMillis) {
+        return new DailyVerseClient(cacheDir, server.url("/api/daily-verse").toString(), 1000, readTimeoutMillis);
+    }
+
+    private static Calendar day(int dayOfMonth) {
+        Calendar day = Calendar.getInstance();
+        day.clear();
+        day.set(2025, Calendar.JANUARY, dayOfMonth);
+        return day;
+    }
+
+    @Test
+    public void fetchToday_storesBodyAndValidators() throws Exception {
+        server.enqueue(new MockResponse().setBody(VERSE).setHeader("ETag", ETAG).setHeader("Last-Modified", LAST_MODIFIED));
+
+        JSONObject verse = newClient(1000).fetchToday("2025-01-01");
+
+        assertEquals("Genesis 1:1", verse.getString("reference"));
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/api/daily-verse", request.getPath());
+        assertNull(request.getHeader("If-None-Match"));
+        assertNull(request.getHeader("If-Modified-Since"));
+
+        // A new instance reads what the first one left on disk
+        DailyVerseClient reopened = newClient(1000);
+        assertEquals("Genesis 1:1", reopened.getCached("2025-01-01").getString("reference"));
+        assertNull(reopened.getCached("2025-01-02"));
+        assertTrue(new File(cacheDir, "latest.meta").isFile());
+    }
+
+    @Test
+    public void fetchToday_sendsValidatorsAndReusesBodyOn304() throws Exception {
+        server.enqueue(new MockResponse().setBody(VERSE).setHeader("ETag", ETAG).setHeader("Last-Modified", LAST_MODIFIED));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        DailyVerseClient client = newClient(1000);
+        client.fetchToday("2025-01-01");
+        server.takeRequest();
+
+        JSONObject verse = client.fetchToday("2025-01-02");
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals(ETAG, request.getHeader("If-None-Match"));
+        assertEquals(LAST_MODIFIED, request.getHeader("If-Modified-Since"));
+        assertEquals("Genesis 1:1", verse.getString("reference"));
+        assertEquals("Genesis 1:1", client.getCached("2025-01-02").getString("reference"));
+    }
+
+    @Test
+    public void fetchToday_cachedDayMakesNoRequest() throws Exception {
+        server.enqueue(new MockResponse().setBody(VERSE));
+        DailyVerseClient client = newClient(1000);
+        client.fetchToday("2025-01-01");
+
+        JSONObject verse = client.fetchToday("2025-01-01");
+
+        assertEquals("Genesis 1:1", verse.getString("reference"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void prefetch_storesBatchByDate() throws Exception {
+        server.enqueue(new MockResponse().setBody("["
+                + "{\"date\":\"2025-01-01\",\"reference\":\"Genesis 1:1\"},"
+                + "{\"date\":\"2025-01-02\",\"reference\":\"John 3:16\"},"
+                + "{\"date\":\"2025-01-03\",\"reference\":\"Psalm 23:1\"},"
+                + "{\"reference\":\"No date\"}]"));
+        DailyVerseClient client = newClient(1000);
+
+        assertEquals(3, client.prefetch(day(1)));
+
+        assertEquals("/api/daily-verse?days=" + DailyVerseClient.PREFETCH_DAYS, server.takeRequest().getPath());
+        assertEquals("Genesis 1:1", client.getCached("2025-01-01").getString("reference"));
+        assertEquals("John 3:16", client.getCached("2025-01-02").getString("reference"));
+        assertEquals("Psalm 23:1", client.getCached("2025-01-03").getString("reference"));
+        assertEquals(3, client.cachedDaysAhead(day(1)));
+        // Served from disk now
+        assertEquals("John 3:16", client.fetchToday("2025-01-02").getString("reference"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void fetchToday_returnsNullOnServerError() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(500).setBody(VERSE));
+        DailyVerseClient client = newClient(1000);
+
+        assertNull(client.fetchToday("2025-01-01"));
+        assertNull(client.getCached("2025-01-01"));
+    }
+
+    @Test
+    public void fetchToday_returnsNullOnReadTimeout() throws Exception {
+        server.enqueue(new MockResponse().setBody(VERSE).setBodyDelay(2, TimeUnit.SECONDS));
+        DailyVerseClient client = newClient(200);
+
+        assertNull(client.fetchToday("2025-01-01"));
+        assertNull(client.getCached("2025-01-01"));
+    }
+}
@@ -0,0 +1,171 @@
+package com.holywordapp.audio;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * AudioCache against a local server: hits and misses, one download per chapter, reading a
+ * download while it arrives and least recently played eviction.
+ */
+public class AudioCacheTest {
+    private static final ChapterAudio GENESIS_1 = new ChapterAudio(true, 1, 1);
+    private static final ChapterAudio GENESIS_2 = new ChapterAudio(true, 1, 2);
+    private static final ChapterAudio GENESIS_3 = new ChapterAudio(true, 1, 3);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        dir = new File(folder.getRoot(), "audio");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    private AudioCache newCache(long maxBytes) {
+        return new AudioCache(dir, maxBytes) {
+            @Override
+            protected String urlFor(ChapterAudio chapter) {
+                return server.url("/" + chapter.cacheKey() + ".mp3").toString();
+            }
+        };
+    }
+
+    private static String body(int length, char fill) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, fill);
+        return new String(chars);
+    }
+
+    private static byte[] readAll(AudioCache.Stream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        long position = 0;
+        int n;
+        while ((n = stream.readAt(position, buffer, 0, buffer.length)) != -1) {
+            out.write(buffer, 0, n);
+            position += n;
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void get_countsMissThenHitAndBytesSaved() throws Exception {
+        server.enqueue(new MockResponse().setBody(body(1000, 'a')));
+        AudioCache cache = newCache(10_000);
+
+        assertNull(cache.get(GENESIS_1));
+        File file = cache.fetch(GENESIS_1).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1000, file.length());
+        assertEquals(file, cache.get(GENESIS_1));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 1e-9);
+        assertEquals(1000, cache.getBytesSaved());
+        assertEquals(1000, cache.getSizeBytes());
+        assertEquals("/" + GENESIS_1.cacheKey() + ".mp3", server.takeRequest().getPath());
+
+        // A new instance indexes what the first one left on disk
+        assertTrue(newCache(10_000).isCached(GENESIS_1));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void fetch_sharesOneDownloadPerChapter() throws Exception {
+        server.enqueue(new MockResponse().setBody(body(1000, 'a')).setBodyDelay(300, TimeUnit.MILLISECONDS));
+        AudioCache cache = newCache(10_000);
+
+        CompletableFuture<File> first = cache.fetch(GENESIS_1);
+        CompletableFuture<File> prefetched = cache.prefetch(GENESIS_1);
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), prefetched.get(5, TimeUnit.SECONDS));
+        assertEquals(first.get(), cache.fetch(GENESIS_1).get(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void stream_readsDownloadAsItArrives() throws Exception {
+        String recording = body(100_000, 's');
+        server.enqueue(new MockResponse().setBody(recording).setBodyDelay(300, TimeUnit.MILLISECONDS));
+        AudioCache cache = newCache(1_000_000);
+
+        AudioCache.Stream stream = cache.stream(GENESIS_1);
+        assertEquals(recording.length(), stream.size());
+        byte[] read = readAll(stream);
+        stream.close();
+
+        assertEquals(recording, new String(read, StandardCharsets.US_ASCII));
+        // Playing it streamed was the cache's download, not a second one
+        File file = cache.fetch(GENESIS_1).get(5, TimeUnit.SECONDS);
+        assertEquals(recording.length(), file.length());
+        assertEquals(1, server.getRequestCount());
+
+        // Once cached, a stream reads the file
+        AudioCache.Stream cached = cache.stream(GENESIS_1);
+        assertEquals(recording.length(), readAll(cached).length);
+        cached.close();
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void stream_failsWhenDownloadFails() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(500).setBody("error"));
+        AudioCache cache = newCache(10_000);
+
+        AudioCache.Stream stream = cache.stream(GENESIS_1);
+        try {
+            stream.readAt(0, new byte[16], 0, 16);
+            fail("Expected the failed download to fail the read");
+        } catch (IOException expected) {
+            // MediaPlayer reports this as a playback error
+        }
+        stream.close();
+
+        assertFalse(cache.isCached(GENESIS_1));
+        assertFalse(new File(dir, GENESIS_1.cacheKey() + ".tmp").exists());
+    }
+
+    @Test
+    public void fetch_evictsLeastRecentlyPlayed() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody(body(1000, 'e')));
+        }
+        AudioCache cache = newCache(2500);
+
+        cache.fetch(GENESIS_1).get(5, TimeUnit.SECONDS);
+        cache.fetch(GENESIS_2).get(5, TimeUnit.SECONDS);
+        assertNotNull(cache.get(GENESIS_1)); // Played again, so chapter 2 is now the oldest
+        cache.fetch(GENESIS_3).get(5, TimeUnit.SECONDS);
+
+        assertTrue(cache.isCached(GENESIS_1));
+        assertFalse(cache.isCached(GENESIS_2));
+        assertTrue(cache.isCached(GENESIS_3));
+        assertFalse(new File(dir, GENESIS_2.cacheKey() + ".mp3").exists());
+        assertEquals(2000, cache.getSizeBytes());
+    }
+}
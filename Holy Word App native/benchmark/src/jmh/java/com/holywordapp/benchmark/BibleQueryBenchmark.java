@@ -0,0 +1,250 @@
+package com.holywordapp.benchmark;
+
+import com.holywordapp.BibleSql;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Read paths of the three shipped Bible databases.
+ *
+ * Each invocation moves to the next of a fixed, seeded sample of locations so the numbers
+ * reflect a mix of short and long chapters rather than one cached page. Statements are
+ * prepared once per trial, as SQLiteDatabase's per-connection statement cache does on device.
+ * The SQL itself comes from {@link BibleSql}, the same strings the helpers run.
+ */
+@State(Scope.Benchmark)
+public class BibleQueryBenchmark {
+    private static final int SAMPLES = 1024;
+    private static final int MAX_BATCH_ARGS = 500;
+
+    /** Stand-in for BibleVerse / Verse so row mapping allocates what the app allocates */
+    static final class Row {
+        final int id;
+        final int number;
+        final String text;
+
+        Row(int id, int number, String text) {
+            this.id = id;
+            this.number = number;
+            this.text = text;
+        }
+    }
+
+    /** Stand-in for CrossReference.Reference */
+    static final class Reference {
+        final String book;
+        final int chapter;
+        final int verse;
+        String text;
+
+        Reference(String book, int chapter, int verse) {
+            this.book = book;
+            this.chapter = chapter;
+            this.verse = verse;
+        }
+    }
+
+    private Connection telugu;
+    private Connection kjv;
+    private Connection crossReferences;
+    private Map<String, Integer> teluguOrdinals;
+
+    private PreparedStatement kjvVerseText;
+    private PreparedStatement kjvChapterText;
+    private PreparedStatement teluguVerses;
+    private PreparedStatement teluguChapterById;
+    private PreparedStatement crossReferenceRows;
+
+    // Sampled locations: [book id or ordinal, chapter, verse]
+    private int[][] kjvLocations;
+    private String[] teluguBooks;
+    private int[][] teluguLocations;
+    private String[] crossReferenceBooks;
+    private int[][] crossReferenceLocations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        telugu = Fixtures.openShippedCopy(Fixtures.TELUGU);
+        kjv = Fixtures.openShippedCopy(Fixtures.KJV);
+        crossReferences = Fixtures.openShippedCopy(Fixtures.CROSS_REFERENCES);
+
+        teluguOrdinals = Fixtures.teluguBookOrdinals(telugu);
+        Fixtures.buildTeluguVerseIds(telugu, teluguOrdinals);
+        Fixtures.prepareKjv(kjv);
+
+        // KJVBibleDBHelper.Schema
+        kjvVerseText = kjv.prepareStatement(BibleSql.kjvVerseText(Fixtures.KJV_VERSES, Fixtures.KJV_BOOK_COLUMN));
+        kjvChapterText = kjv.prepareStatement(BibleSql.kjvChapterText(Fixtures.KJV_VERSES, Fixtures.KJV_BOOK_COLUMN));
+        // BibleDBHelper.getVerses
+        teluguVerses = telugu.prepareStatement(BibleSql.TELUGU_CHAPTER);
+        // VerseRepository.getChapter
+        teluguChapterById = telugu.prepareStatement(BibleSql.selectVerses(false, BibleSql.WHERE_ID_RANGE, null));
+        // CrossReferenceDBHelper.getCrossReferences
+        crossReferenceRows = crossReferences.prepareStatement(BibleSql.CROSS_REFERENCES_FROM);
+
+        Random random = new Random(Fixtures.SEED);
+        kjvLocations = sampleInts(kjv, "SELECT book_id, chapter, verse FROM KJV_verses", random);
+        teluguBooks = new String[SAMPLES];
+        teluguLocations = new int[SAMPLES][];
+        sampleNamed(telugu, "SELECT b, c, v FROM verse", random, teluguBooks, teluguLocations);
+        crossReferenceBooks = new String[SAMPLES];
+        crossReferenceLocations = new int[SAMPLES][];
+        sampleNamed(crossReferences, "SELECT DISTINCT source_book, source_chapter, source_verse FROM cross_references",
+                random, crossReferenceBooks, crossReferenceLocations);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        telugu.close();
+        kjv.close();
+        crossReferences.close();
+    }
+
+    private int nextSample() {
+        next = (next + 1) & (SAMPLES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public String kjvGetVerseText() throws SQLException {
+        int[] location = kjvLocations[nextSample()];
+        kjvVerseText.setInt(1, location[0]);
+        kjvVerseText.setInt(2, location[1]);
+        kjvVerseText.setInt(3, location[2]);
+        try (ResultSet rows = kjvVerseText.executeQuery()) {
+            return rows.next() ? rows.getString(1) : null;
+        }
+    }
+
+    @Benchmark
+    public List<Row> kjvGetVersesForChapterRange() throws SQLException {
+        int[] location = kjvLocations[nextSample()];
+        kjvChapterText.setInt(1, location[0]);
+        kjvChapterText.setInt(2, location[1]);
+        return readRows(kjvChapterText);
+    }
+
+    @Benchmark
+    public List<Row> teluguGetVerses() throws SQLException {
+        int sample = nextSample();
+        teluguVerses.setString(1, teluguBooks[sample]);
+        teluguVerses.setInt(2, teluguLocations[sample][1]);
+        return readRows(teluguVerses);
+    }
+
+    @Benchmark
+    public List<Row> repositoryGetChapter() throws SQLException {
+        int sample = nextSample();
+        int chapterStart = teluguOrdinals.get(teluguBooks[sample]) * 1000000 + teluguLocations[sample][1] * 1000;
+        teluguChapterById.setInt(1, chapterStart);
+        teluguChapterById.setInt(2, chapterStart + 999);
+        List<Row> rows = new ArrayList<>();
+        try (ResultSet result = teluguChapterById.executeQuery()) {
+            while (result.next()) {
+                int id = result.getInt(1);
+                rows.add(new Row(id, id % 1000, result.getString(2)));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Reference rows in one query, then all target texts in batched IN (...) lookups
+     */
+    @Benchmark
+    public List<Reference> getCrossReferences() throws SQLException {
+        int sample = nextSample();
+        crossReferenceRows.setString(1, crossReferenceBooks[sample]);
+        crossReferenceRows.setInt(2, crossReferenceLocations[sample][1]);
+        crossReferenceRows.setInt(3, crossReferenceLocations[sample][2]);
+
+        List<Reference> references = new ArrayList<>();
+        List<Integer> targetIds = new ArrayList<>();
+        try (ResultSet rows = crossReferenceRows.executeQuery()) {
+            while (rows.next()) {
+                Reference reference = new Reference(rows.getString(1), rows.getInt(2), rows.getInt(3));
+                Integer ordinal = teluguOrdinals.get(reference.book);
+                targetIds.add(ordinal != null ? ordinal * 1000000 + reference.chapter * 1000 + reference.verse : 0);
+                references.add(reference);
+            }
+        }
+
+        Map<Integer, String> texts = new HashMap<>();
+        for (int from = 0; from < targetIds.size(); from += MAX_BATCH_ARGS) {
+            int to = Math.min(targetIds.size(), from + MAX_BATCH_ARGS);
+            // VerseRepository.getVerseTexts; varying arity, so prepared per call just as rawQuery compiles it
+            try (PreparedStatement batch = telugu.prepareStatement(
+                    BibleSql.selectVerses(false, BibleSql.whereIdIn(to - from), null))) {
+                for (int i = from; i < to; i++) batch.setInt(i - from + 1, targetIds.get(i));
+                try (ResultSet rows = batch.executeQuery()) {
+                    while (rows.next()) texts.put(rows.getInt(1), rows.getString(2));
+                }
+            }
+        }
+        for (int i = 0; i < references.size(); i++) {
+            String text = texts.get(targetIds.get(i));
+            references.get(i).text = text != null && text.length() > 100 ? text.substring(0, 97) + "..." : text;
+        }
+        return references;
+    }
+
+    private static List<Row> readRows(PreparedStatement statement) throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                rows.add(new Row(0, result.getInt(1), result.getString(2)));
+            }
+        }
+        return rows;
+    }
+
+    private static int[][] sampleInts(Connection connection, String sql, Random random) throws SQLException {
+        List<int[]> all = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            while (rows.next()) all.add(new int[]{rows.getInt(1), rows.getInt(2), rows.getInt(3)});
+        }
+        if (all.isEmpty()) {
+            throw new IllegalStateException("No rows for " + sql);
+        }
+        int[][] sample = new int[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) sample[i] = all.get(random.nextInt(all.size()));
+        return sample;
+    }
+
+    private static void sampleNamed(Connection connection, String sql, Random random,
+                                    String[] books, int[][] locations) throws SQLException {
+        List<String> allBooks = new ArrayList<>();
+        List<int[]> all = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            while (rows.next()) {
+                allBooks.add(rows.getString(1));
+                all.add(new int[]{0, rows.getInt(2), rows.getInt(3)});
+            }
+        }
+        if (all.isEmpty()) {
+            throw new IllegalStateException("No rows for " + sql);
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            int pick = random.nextInt(all.size());
+            books[i] = allBooks.get(pick);
+            locations[i] = all.get(pick);
+        }
+    }
+}
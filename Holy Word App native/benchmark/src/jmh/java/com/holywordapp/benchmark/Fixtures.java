@@ -0,0 +1,175 @@
+package com.holywordapp.benchmark;
+
+import com.holywordapp.BibleSql;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Database fixtures shared by the benchmarks.
+ *
+ * Shipped databases are copied to a temporary directory and given the same side tables and
+ * indexes the app adds at runtime, so a benchmark sees what a device sees after first launch.
+ * Notes databases are generated from a fixed seed with the NotesDBHelper v5 schema.
+ */
+final class Fixtures {
+    static final String TELUGU = "bsi_te.db";
+    static final String KJV = "KJV.db";
+    static final String CROSS_REFERENCES = "cross_references.db";
+    // What KJVBibleDBHelper's schema probe finds in the shipped KJV.db
+    static final String KJV_VERSES = "KJV_verses";
+    static final String KJV_BOOK_COLUMN = "book_id";
+
+    // Fixed so every run, on every machine, measures the same rows
+    static final long SEED = 20240601L;
+
+    private Fixtures() {}
+
+    /**
+     * Copy of a shipped database in a fresh temporary directory
+     */
+    static Connection openShippedCopy(String name) throws IOException, SQLException {
+        File source = new File(System.getProperty("holyword.dbDir", "../app/src/main/assets"), name);
+        if (!source.isFile()) {
+            throw new IllegalStateException("Missing " + source.getAbsolutePath() +
+                    "; pass -PdbDir=<directory with the shipped databases>");
+        }
+        Path dir = Files.createTempDirectory("holyword-bench");
+        Path copy = dir.resolve(name);
+        Files.copy(source.toPath(), copy, StandardCopyOption.REPLACE_EXISTING);
+        copy.toFile().deleteOnExit();
+        dir.toFile().deleteOnExit();
+        return open(copy);
+    }
+
+    static Connection open(Path file) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.toAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            // The app opens the Bible databases with write-ahead logging
+            statement.execute("PRAGMA journal_mode=WAL");
+        }
+        return connection;
+    }
+
+    /**
+     * Telugu book names in canonical order, as the rows of bsi_te.db list them
+     */
+    static Map<String, Integer> teluguBookOrdinals(Connection telugu) throws SQLException {
+        Map<String, Integer> ordinals = new LinkedHashMap<>();
+        try (Statement statement = telugu.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT b FROM verse GROUP BY b ORDER BY MIN(rowid)")) {
+            while (rows.next()) {
+                ordinals.put(rows.getString(1), ordinals.size() + 1);
+            }
+        }
+        return ordinals;
+    }
+
+    /**
+     * verse_ids for bsi_te.db, as VerseRepository builds it on first use
+     */
+    static void buildTeluguVerseIds(Connection telugu, Map<String, Integer> ordinals) throws SQLException {
+        telugu.setAutoCommit(false);
+        try (Statement statement = telugu.createStatement()) {
+            statement.execute(BibleSql.CREATE_VERSE_IDS);
+            statement.execute(BibleSql.CREATE_BOOK_ORDINALS);
+            try (PreparedStatement insert = telugu.prepareStatement(BibleSql.INSERT_BOOK_ORDINAL)) {
+                for (Map.Entry<String, Integer> book : ordinals.entrySet()) {
+                    insert.setString(1, book.getKey());
+                    insert.setInt(2, book.getValue());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            statement.execute(BibleSql.FILL_TELUGU_VERSE_IDS);
+            statement.execute(BibleSql.DROP_BOOK_ORDINALS);
+        }
+        telugu.commit();
+        telugu.setAutoCommit(true);
+    }
+
+    /**
+     * verse_ids and the location index for KJV.db, as VerseRepository and KJVBibleDBHelper build them
+     */
+    static void prepareKjv(Connection kjv) throws SQLException {
+        try (Statement statement = kjv.createStatement()) {
+            statement.execute(BibleSql.CREATE_VERSE_IDS);
+            statement.execute(BibleSql.fillKjvVerseIds(KJV_VERSES, KJV_BOOK_COLUMN));
+            statement.execute(BibleSql.createKjvLocationIndex(KJV_VERSES, KJV_BOOK_COLUMN));
+        }
+    }
+
+    /**
+     * Notes database with the NotesDBHelper v5 schema and the given number of notes,
+     * each holding 1-5 verse references with realistic text lengths
+     */
+    static Connection createNotesDatabase(int noteCount) throws IOException, SQLException {
+        Path dir = Files.createTempDirectory("holyword-notes");
+        Path file = dir.resolve("bible_notes_" + noteCount + ".db");
+        file.toFile().deleteOnExit();
+        dir.toFile().deleteOnExit();
+
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.toAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA foreign_keys=ON");
+            statement.execute("CREATE TABLE notes(id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL)");
+            statement.execute("CREATE TABLE verse_references(id INTEGER PRIMARY KEY AUTOINCREMENT, note_id INTEGER, " +
+                    "book_name TEXT NOT NULL, chapter INTEGER NOT NULL, verse INTEGER NOT NULL, verse_text TEXT NOT NULL, " +
+                    "is_english_mode INTEGER DEFAULT 0, FOREIGN KEY(note_id) REFERENCES notes(id) ON DELETE CASCADE)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_verse_references_note_id ON verse_references(note_id)");
+        }
+
+        Random random = new Random(SEED + noteCount);
+        connection.setAutoCommit(false);
+        try (PreparedStatement note = connection.prepareStatement("INSERT INTO notes(id, title) VALUES (?, ?)");
+             PreparedStatement reference = connection.prepareStatement("INSERT INTO verse_references" +
+                     "(note_id, book_name, chapter, verse, verse_text, is_english_mode) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= noteCount; id++) {
+                note.setLong(1, id);
+                note.setString(2, "Note " + id + " " + words(random, 1 + random.nextInt(5)));
+                note.addBatch();
+                int references = 1 + random.nextInt(5);
+                for (int r = 0; r < references; r++) {
+                    reference.setLong(1, id);
+                    reference.setString(2, "Book " + (1 + random.nextInt(66)));
+                    reference.setInt(3, 1 + random.nextInt(50));
+                    reference.setInt(4, 1 + random.nextInt(40));
+                    reference.setString(5, words(random, 15 + random.nextInt(30)));
+                    reference.setInt(6, random.nextInt(2));
+                    reference.addBatch();
+                }
+                if (id % 1000 == 0) {
+                    note.executeBatch();
+                    reference.executeBatch();
+                }
+            }
+            note.executeBatch();
+            reference.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            int length = 2 + random.nextInt(8);
+            for (int c = 0; c < length; c++) sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package com.holywordapp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notes loading against synthetic databases of increasing size.
+ *
+ * getAllNotes and getNotesPage mirror NotesDBHelper; getAllNotesPerNote keeps the previous
+ * one-query-per-note loader as a baseline so the gap stays visible in the results.
+ */
+@State(Scope.Benchmark)
+public class NotesQueryBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10", "1000", "100000"})
+    public int notes;
+
+    /** Stand-in for Note */
+    static final class Note {
+        final long id;
+        final String title;
+        final List<Reference> references = new ArrayList<>();
+        int verseCount = -1;
+
+        Note(long id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+    }
+
+    /** Stand-in for VerseReference */
+    static final class Reference {
+        long id;
+        long noteId;
+        String bookName;
+        int chapter;
+        int verse;
+        String verseText;
+        boolean englishMode;
+    }
+
+    private static final String REFERENCE_COLUMNS =
+            "id, note_id, book_name, chapter, verse, verse_text, is_english_mode";
+
+    private Connection connection;
+    private PreparedStatement allNotes;
+    private PreparedStatement allReferences;
+    private PreparedStatement referencesForNote;
+    private PreparedStatement notesPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connection = Fixtures.createNotesDatabase(notes);
+        allNotes = connection.prepareStatement("SELECT id, title FROM notes ORDER BY id DESC");
+        allReferences = connection.prepareStatement("SELECT " + REFERENCE_COLUMNS + " FROM verse_references ORDER BY note_id, id");
+        referencesForNote = connection.prepareStatement("SELECT " + REFERENCE_COLUMNS + " FROM verse_references WHERE note_id = ? ORDER BY id");
+        notesPage = connection.prepareStatement("SELECT n.id, n.title," +
+                " (SELECT COUNT(*) FROM verse_references r WHERE r.note_id = n.id)" +
+                " FROM notes n WHERE n.id < ? ORDER BY n.id DESC LIMIT ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Note> getAllNotes() throws SQLException {
+        List<Note> result = new ArrayList<>();
+        Map<Long, Note> byId = new HashMap<>();
+        try (ResultSet rows = allNotes.executeQuery()) {
+            while (rows.next()) {
+                Note note = new Note(rows.getLong(1), rows.getString(2));
+                result.add(note);
+                byId.put(note.id, note);
+            }
+        }
+        try (ResultSet rows = allReferences.executeQuery()) {
+            while (rows.next()) {
+                Note note = byId.get(rows.getLong(2));
+                if (note != null) {
+                    note.references.add(readReference(rows));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Note> getNotesPage() throws SQLException {
+        List<Note> result = new ArrayList<>();
+        notesPage.setLong(1, Long.MAX_VALUE);
+        notesPage.setInt(2, PAGE_SIZE);
+        try (ResultSet rows = notesPage.executeQuery()) {
+            while (rows.next()) {
+                Note note = new Note(rows.getLong(1), rows.getString(2));
+                note.verseCount = rows.getInt(3);
+                result.add(note);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Note> getAllNotesPerNote() throws SQLException {
+        List<Note> result = new ArrayList<>();
+        try (ResultSet rows = allNotes.executeQuery()) {
+            while (rows.next()) {
+                Note note = new Note(rows.getLong(1), rows.getString(2));
+                referencesForNote.setLong(1, note.id);
+                try (ResultSet references = referencesForNote.executeQuery()) {
+                    while (references.next()) {
+                        note.references.add(readReference(references));
+                    }
+                }
+                result.add(note);
+            }
+        }
+        return result;
+    }
+
+    private static Reference readReference(ResultSet rows) throws SQLException {
+        Reference reference = new Reference();
+        reference.id = rows.getLong(1);
+        reference.noteId = rows.getLong(2);
+        reference.bookName = rows.getString(3);
+        reference.chapter = rows.getInt(4);
+        reference.verse = rows.getInt(5);
+        reference.verseText = rows.getString(6);
+        reference.englishMode = rows.getInt(7) == 1;
+        return reference;
+    }
+}
@@ -0,0 +1,37 @@
+package com.holywordapp.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Generates the app's Baseline Profile from the startup and reader journeys.
+ *
+ * Run with ./gradlew :app:generateBaselineProfile on a rooted device or emulator; the result is
+ * written under app/src/release/generated/baselineProfiles and ships with the next release.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    @Rule
+    public BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(
+                Journeys.PACKAGE_NAME,
+                scope -> {
+                    // Cold start through the launcher activity
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+
+                    // Reader: open a long chapter and scroll it
+                    Journeys.openReader(scope);
+                    Journeys.scrollChapter(scope);
+                    return null;
+                });
+    }
+}
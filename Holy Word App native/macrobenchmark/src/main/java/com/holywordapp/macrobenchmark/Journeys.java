@@ -0,0 +1,88 @@
+package com.holywordapp.macrobenchmark;
+
+import android.content.ComponentName;
+import android.content.Intent;
+import android.content.pm.ActivityInfo;
+import android.content.pm.PackageManager;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * User journeys shared by the benchmarks and the Baseline Profile generator, so the profile
+ * covers exactly the code paths that are measured.
+ */
+final class Journeys {
+    static final String PACKAGE_NAME = "com.holywordapp";
+    static final String READER_ACTIVITY = PACKAGE_NAME + ".BibleActivity";
+
+    // Psalm 119 is the longest chapter, so it is the worst case for opening and scrolling
+    static final String LONG_CHAPTER_BOOK = "Psalms";
+    static final int LONG_CHAPTER = 119;
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private Journeys() {}
+
+    static Intent readerIntent() {
+        Intent intent = new Intent();
+        intent.setClassName(PACKAGE_NAME, READER_ACTIVITY);
+        intent.putExtra("BOOK_NAME", LONG_CHAPTER_BOOK);
+        intent.putExtra("CHAPTER", LONG_CHAPTER);
+        intent.putExtra("VERSE", 1);
+        intent.putExtra("IS_ENGLISH_MODE", true);
+        return intent;
+    }
+
+    /**
+     * Open the reader on the long chapter and wait until its verses are on screen.
+     *
+     * The reader is started from the shell, which only works because the benchmarkRelease and
+     * nonMinifiedRelease manifests export it; the release manifest does not.
+     */
+    static void openReader(MacrobenchmarkScope scope) {
+        requireReaderExported();
+        scope.startActivityAndWait(readerIntent());
+        scope.getDevice().wait(Until.hasObject(By.res(PACKAGE_NAME, "recyclerViewVerses").hasChild(By.depth(1))), TIMEOUT_MS);
+    }
+
+    /**
+     * Fail with the reason instead of a shell permission denial when the installed build is
+     * not one of the benchmark variants
+     */
+    private static void requireReaderExported() {
+        PackageManager packageManager = InstrumentationRegistry.getInstrumentation().getContext().getPackageManager();
+        ActivityInfo reader;
+        try {
+            reader = packageManager.getActivityInfo(new ComponentName(PACKAGE_NAME, READER_ACTIVITY), 0);
+        } catch (PackageManager.NameNotFoundException e) {
+            throw new IllegalStateException(PACKAGE_NAME + " is not installed", e);
+        }
+        if (!reader.exported) {
+            throw new IllegalStateException(READER_ACTIVITY + " is not exported in the installed build;"
+                    + " run against benchmarkRelease or nonMinifiedRelease, whose manifests export it");
+        }
+    }
+
+    /**
+     * Fling through the open chapter and back
+     */
+    static void scrollChapter(MacrobenchmarkScope scope) {
+        UiObject2 list = scope.getDevice().findObject(By.res(PACKAGE_NAME, "recyclerViewVerses"));
+        if (list == null) {
+            return;
+        }
+        // Keep clear of the system gesture areas at the edges
+        list.setGestureMargin(scope.getDevice().getDisplayWidth() / 5);
+        for (int i = 0; i < 5; i++) {
+            list.fling(Direction.DOWN);
+            scope.getDevice().waitForIdle();
+        }
+        list.fling(Direction.UP);
+        scope.getDevice().waitForIdle();
+    }
+}
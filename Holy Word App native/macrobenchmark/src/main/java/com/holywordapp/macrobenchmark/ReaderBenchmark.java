@@ -0,0 +1,93 @@
+package com.holywordapp.macrobenchmark;
+
+import androidx.annotation.OptIn;
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.ExperimentalMetricApi;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Opening the reader on a chapter and scrolling it.
+ *
+ * Opening is measured as a warm activity start: time to initial display is the empty reader,
+ * time to full display is reportFullyDrawn once the chapter is bound. The chapter query itself
+ * is read from its PerfMetrics trace section.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ReaderBenchmark {
+    private static final int ITERATIONS = 10;
+    private static final String CHAPTER_QUERY_SECTION = "VerseRepository.getChapter";
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void openLongChapterNoCompilation() {
+        openReader(new CompilationMode.None());
+    }
+
+    @Test
+    public void openLongChapterBaselineProfile() {
+        openReader(new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    @Test
+    public void scrollLongChapterNoCompilation() {
+        scroll(new CompilationMode.None());
+    }
+
+    @Test
+    public void scrollLongChapterBaselineProfile() {
+        scroll(new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    @OptIn(markerClass = ExperimentalMetricApi.class)
+    private void openReader(CompilationMode compilationMode) {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Arrays.asList(
+                        new StartupTimingMetric(),
+                        new TraceSectionMetric(CHAPTER_QUERY_SECTION, TraceSectionMetric.Mode.First.INSTANCE,
+                                CHAPTER_QUERY_SECTION, true)),
+                compilationMode,
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> null,
+                scope -> {
+                    scope.pressHome();
+                    Journeys.openReader(scope);
+                    return null;
+                });
+    }
+
+    private void scroll(CompilationMode compilationMode) {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode,
+                null,
+                ITERATIONS,
+                scope -> {
+                    // Opening is not part of the measurement, only the scrolling below
+                    scope.pressHome();
+                    Journeys.openReader(scope);
+                    return null;
+                },
+                scope -> {
+                    Journeys.scrollChapter(scope);
+                    return null;
+                });
+    }
+}
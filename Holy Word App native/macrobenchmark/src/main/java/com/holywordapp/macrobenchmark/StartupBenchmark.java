@@ -0,0 +1,61 @@
+package com.holywordapp.macrobenchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+/**
+ * Time to first frame of the launcher activity, cold and warm, with and without the
+ * Baseline Profile. The gap between the two compilation modes is what the profile buys.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void coldStartNoCompilation() {
+        startup(StartupMode.COLD, new CompilationMode.None());
+    }
+
+    @Test
+    public void coldStartBaselineProfile() {
+        startup(StartupMode.COLD, new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    @Test
+    public void warmStartNoCompilation() {
+        startup(StartupMode.WARM, new CompilationMode.None());
+    }
+
+    @Test
+    public void warmStartBaselineProfile() {
+        startup(StartupMode.WARM, new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    private void startup(StartupMode startupMode, CompilationMode compilationMode) {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                startupMode,
+                ITERATIONS,
+                scope -> null,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    return null;
+                });
+    }
+}